@@ -21,6 +21,7 @@ import static org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.base.Pr
 import com.google.api.client.http.HttpResponse;
 import com.google.api.client.http.HttpResponseException;
 import com.google.auto.value.AutoValue;
+import com.google.cloud.teleport.util.AdaptiveBatchSizer;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.Lists;
@@ -83,9 +84,18 @@ public abstract class DatadogEventWriter
       Metrics.distribution(DatadogEventWriter.class, "write_to_datadog_batch");
   private static final Distribution SUCCESSFUL_WRITE_PAYLOAD_SIZE =
       Metrics.distribution(DatadogEventWriter.class, "write_to_datadog_bytes");
+  private static final Distribution BUFFERED_EVENTS_PER_KEY =
+      Metrics.distribution(DatadogEventWriter.class, "buffered_events_per_key");
+  private static final Distribution BUFFERED_BYTES_PER_KEY =
+      Metrics.distribution(DatadogEventWriter.class, "buffered_bytes_per_key");
+  private static final Distribution BUFFER_AGE_MS =
+      Metrics.distribution(DatadogEventWriter.class, "buffer_age_ms");
+  private static final Distribution TARGET_BATCH_SIZE_BYTES =
+      Metrics.distribution(DatadogEventWriter.class, "target_batch_size_bytes");
   private static final String BUFFER_STATE_NAME = "buffer";
   private static final String COUNT_STATE_NAME = "count";
   private static final String BUFFER_SIZE_STATE_NAME = "buffer_size";
+  private static final String BUFFER_START_STATE_NAME = "buffer_start";
   private static final String TIME_ID_NAME = "expiry";
   private static final Pattern URL_PATTERN = Pattern.compile("^http(s?)://([^:]+)(:[0-9]+)?$");
 
@@ -103,11 +113,16 @@ public abstract class DatadogEventWriter
   @StateId(BUFFER_SIZE_STATE_NAME)
   private final StateSpec<ValueState<Long>> bufferSize = StateSpecs.value();
 
+  @StateId(BUFFER_START_STATE_NAME)
+  private final StateSpec<ValueState<Long>> bufferStart = StateSpecs.value();
+
   @TimerId(TIME_ID_NAME)
   private final TimerSpec expirySpec = TimerSpecs.timer(TimeDomain.EVENT_TIME);
 
   private Integer batchCount;
   private Long maxBufferSize;
+  private Long maxBatchLatencyMillis;
+  private AdaptiveBatchSizer batchSizer;
   private DatadogEventPublisher publisher;
 
   public static Builder newBuilder() {
@@ -134,6 +149,12 @@ public abstract class DatadogEventWriter
   @Nullable
   abstract Long maxBufferSize();
 
+  @Nullable
+  abstract ValueProvider<Integer> maxBatchLatencySeconds();
+
+  @Nullable
+  abstract ValueProvider<Boolean> enableAdaptiveBatching();
+
   @Setup
   public void setup() {
 
@@ -160,6 +181,20 @@ public abstract class DatadogEventWriter
         "batchCount must be less than or equal to %s",
         MAX_BATCH_COUNT);
 
+    if (maxBatchLatencySeconds() != null && maxBatchLatencySeconds().get() != null) {
+      checkArgument(
+          maxBatchLatencySeconds().get() > 0, "maxBatchLatencySeconds must be greater than 0.");
+      maxBatchLatencyMillis = maxBatchLatencySeconds().get() * 1000L;
+      LOG.info("Max batch latency set to: {} ms", maxBatchLatencyMillis);
+    }
+
+    if (batchSizer == null
+        && enableAdaptiveBatching() != null
+        && Boolean.TRUE.equals(enableAdaptiveBatching().get())) {
+      batchSizer = AdaptiveBatchSizer.of(maxBufferSize);
+      LOG.info("Adaptive batching enabled, initial target: {} bytes", batchSizer.targetBytes());
+    }
+
     try {
       DatadogEventPublisher.Builder builder =
           DatadogEventPublisher.newBuilder().withUrl(url().get()).withApiKey(apiKey().get());
@@ -181,6 +216,7 @@ public abstract class DatadogEventWriter
       @StateId(BUFFER_STATE_NAME) BagState<DatadogEvent> bufferState,
       @StateId(COUNT_STATE_NAME) ValueState<Long> countState,
       @StateId(BUFFER_SIZE_STATE_NAME) ValueState<Long> bufferSizeState,
+      @StateId(BUFFER_START_STATE_NAME) ValueState<Long> bufferStartState,
       @TimerId(TIME_ID_NAME) Timer timer)
       throws IOException {
 
@@ -201,14 +237,18 @@ public abstract class DatadogEventWriter
 
     long count = MoreObjects.<Long>firstNonNull(countState.read(), 0L);
     long bufferSize = MoreObjects.<Long>firstNonNull(bufferSizeState.read(), 0L);
-    if (bufferSize + eventPayloadSize > maxBufferSize) {
+    if (bufferSize + eventPayloadSize > targetBufferSize()) {
       LOG.debug("Flushing batch of {} events of size {} due to max buffer size", count, bufferSize);
-      flush(receiver, bufferState, countState, bufferSizeState);
+      flush(receiver, bufferState, countState, bufferSizeState, bufferStartState);
 
       count = 0L;
       bufferSize = 0L;
     }
 
+    if (count == 0L) {
+      bufferStartState.write(System.currentTimeMillis());
+    }
+
     bufferState.add(event);
 
     count = count + 1L;
@@ -219,16 +259,35 @@ public abstract class DatadogEventWriter
 
     if (count >= batchCount) {
       LOG.debug("Flushing batch of {} events of size {} due to batch count", count, bufferSize);
-      flush(receiver, bufferState, countState, bufferSizeState);
+      flush(receiver, bufferState, countState, bufferSizeState, bufferStartState);
+    } else if (maxBatchLatencyMillis != null
+        && isBufferExpired(bufferStartState)) {
+      LOG.debug("Flushing batch of {} events of size {} due to max latency", count, bufferSize);
+      flush(receiver, bufferState, countState, bufferSizeState, bufferStartState);
     }
   }
 
+  /**
+   * Returns whether the oldest buffered event has waited for the max batch latency. A buffer whose
+   * start was not tracked, e.g. one filled before an update, starts aging now.
+   */
+  private boolean isBufferExpired(ValueState<Long> bufferStartState) {
+    long now = System.currentTimeMillis();
+    Long bufferStart = bufferStartState.read();
+    if (bufferStart == null) {
+      bufferStartState.write(now);
+      return false;
+    }
+    return now - bufferStart >= maxBatchLatencyMillis;
+  }
+
   @OnTimer(TIME_ID_NAME)
   public void onExpiry(
       OutputReceiver<DatadogWriteError> receiver,
       @StateId(BUFFER_STATE_NAME) BagState<DatadogEvent> bufferState,
       @StateId(COUNT_STATE_NAME) ValueState<Long> countState,
-      @StateId(BUFFER_SIZE_STATE_NAME) ValueState<Long> bufferSizeState)
+      @StateId(BUFFER_SIZE_STATE_NAME) ValueState<Long> bufferSizeState,
+      @StateId(BUFFER_START_STATE_NAME) ValueState<Long> bufferStartState)
       throws IOException {
 
     long count = MoreObjects.<Long>firstNonNull(countState.read(), 0L);
@@ -236,7 +295,7 @@ public abstract class DatadogEventWriter
 
     if (count > 0) {
       LOG.debug("Flushing batch of {} events of size {} due to timer", count, bufferSize);
-      flush(receiver, bufferState, countState, bufferSizeState);
+      flush(receiver, bufferState, countState, bufferSizeState, bufferStartState);
     }
   }
 
@@ -262,13 +321,23 @@ public abstract class DatadogEventWriter
       OutputReceiver<DatadogWriteError> receiver,
       @StateId(BUFFER_STATE_NAME) BagState<DatadogEvent> bufferState,
       @StateId(COUNT_STATE_NAME) ValueState<Long> countState,
-      @StateId(BUFFER_SIZE_STATE_NAME) ValueState<Long> bufferSizeState)
+      @StateId(BUFFER_SIZE_STATE_NAME) ValueState<Long> bufferSizeState,
+      @StateId(BUFFER_START_STATE_NAME) ValueState<Long> bufferStartState)
       throws IOException {
 
     if (!bufferState.isEmpty().read()) {
 
       HttpResponse response = null;
       List<DatadogEvent> events = Lists.newArrayList(bufferState.read());
+      long bytes = MoreObjects.<Long>firstNonNull(bufferSizeState.read(), 0L);
+      Long bufferStart = bufferStartState.read();
+
+      BUFFERED_EVENTS_PER_KEY.update(events.size());
+      BUFFERED_BYTES_PER_KEY.update(bytes);
+      if (bufferStart != null) {
+        BUFFER_AGE_MS.update(System.currentTimeMillis() - bufferStart);
+      }
+
       long startTime = System.nanoTime();
       try {
         // Important to close this response to avoid connection leak.
@@ -282,6 +351,7 @@ public abstract class DatadogEventWriter
           } else if (statusCode >= 500 && statusCode < 600) {
             SERVER_ERROR_REQUESTS.inc();
           }
+          adaptBatchSizeOnFailure(statusCode, bytes);
 
           logWriteFailures(
               countState,
@@ -292,13 +362,19 @@ public abstract class DatadogEventWriter
               events, response.getStatusMessage(), response.getStatusCode(), receiver);
 
         } else {
-          SUCCESSFUL_WRITE_LATENCY_MS.update(nanosToMillis(System.nanoTime() - startTime));
+          long latencyMillis = nanosToMillis(System.nanoTime() - startTime);
+          SUCCESSFUL_WRITE_LATENCY_MS.update(latencyMillis);
           SUCCESS_WRITES.inc(countState.read());
           VALID_REQUESTS.inc();
           SUCCESSFUL_WRITE_BATCH_SIZE.update(countState.read());
           SUCCESSFUL_WRITE_PAYLOAD_SIZE.update(bufferSizeState.read());
 
           LOG.debug("Successfully wrote {} events", countState.read());
+
+          if (batchSizer != null) {
+            batchSizer.onSuccess(latencyMillis, bytes);
+            TARGET_BATCH_SIZE_BYTES.update(batchSizer.targetBytes());
+          }
         }
 
       } catch (HttpResponseException e) {
@@ -310,6 +386,7 @@ public abstract class DatadogEventWriter
         } else if (statusCode >= 500 && statusCode < 600) {
           SERVER_ERROR_REQUESTS.inc();
         }
+        adaptBatchSizeOnFailure(statusCode, bytes);
 
         logWriteFailures(countState, e.getStatusCode(), e.getContent(), e.getStatusMessage());
         flushWriteFailures(events, e.getStatusMessage(), e.getStatusCode(), receiver);
@@ -328,6 +405,7 @@ public abstract class DatadogEventWriter
         bufferState.clear();
         countState.clear();
         bufferSizeState.clear();
+        bufferStartState.clear();
 
         // We've observed cases where errors at this point can cause the pipeline to keep retrying
         // the same events over and over (e.g. from Dataflow Runner's Pub/Sub implementation). Since
@@ -349,6 +427,19 @@ public abstract class DatadogEventWriter
     }
   }
 
+  /** Returns the payload size at which a batch is flushed, adapted to responses if enabled. */
+  private long targetBufferSize() {
+    return batchSizer != null ? batchSizer.targetBytes() : maxBufferSize;
+  }
+
+  /** Utility method to shrink the adaptive batch size after throttling or oversized requests. */
+  private void adaptBatchSizeOnFailure(int statusCode, long bytes) {
+    if (batchSizer != null) {
+      batchSizer.onFailure(statusCode, bytes);
+      TARGET_BATCH_SIZE_BYTES.update(batchSizer.targetBytes());
+    }
+  }
+
   /** Utility method to log write failures. */
   private void logWriteFailures(
       @StateId(COUNT_STATE_NAME) ValueState<Long> countState,
@@ -440,6 +531,10 @@ public abstract class DatadogEventWriter
 
     abstract Builder setMaxBufferSize(Long maxBufferSize);
 
+    abstract Builder setMaxBatchLatencySeconds(ValueProvider<Integer> maxBatchLatencySeconds);
+
+    abstract Builder setEnableAdaptiveBatching(ValueProvider<Boolean> enableAdaptiveBatching);
+
     abstract DatadogEventWriter autoBuild();
 
     /**
@@ -523,6 +618,28 @@ public abstract class DatadogEventWriter
       return setMaxBufferSize(maxBufferSize);
     }
 
+    /**
+     * Method to set the maximum time the oldest event of a batch waits for more events while
+     * events keep arriving.
+     *
+     * @param maxBatchLatencySeconds max latency of buffered events.
+     * @return {@link Builder}
+     */
+    public Builder withMaxBatchLatencySeconds(ValueProvider<Integer> maxBatchLatencySeconds) {
+      return setMaxBatchLatencySeconds(maxBatchLatencySeconds);
+    }
+
+    /**
+     * Method to enable adapting the batch payload size to Logs API latency and throttling
+     * responses, up to the max buffer size.
+     *
+     * @param enableAdaptiveBatching for enabling adaptive batching.
+     * @return {@link Builder}
+     */
+    public Builder withEnableAdaptiveBatching(ValueProvider<Boolean> enableAdaptiveBatching) {
+      return setEnableAdaptiveBatching(enableAdaptiveBatching);
+    }
+
     /** Build a new {@link DatadogEventWriter} objects based on the configuration. */
     public DatadogEventWriter build() {
       checkNotNull(url(), "url needs to be provided.");
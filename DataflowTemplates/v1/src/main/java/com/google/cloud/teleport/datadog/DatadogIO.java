@@ -79,6 +79,12 @@ public class DatadogIO {
     @Nullable
     abstract ValueProvider<Integer> parallelism();
 
+    @Nullable
+    abstract ValueProvider<Integer> maxBatchLatencySeconds();
+
+    @Nullable
+    abstract ValueProvider<Boolean> enableAdaptiveBatching();
+
     @Override
     public PCollection<DatadogWriteError> expand(PCollection<DatadogEvent> input) {
 
@@ -88,7 +94,9 @@ public class DatadogIO {
               .withMaxBufferSize(maxBufferSize())
               .withUrl(url())
               .withInputBatchCount(batchCount())
-              .withApiKey(apiKey());
+              .withApiKey(apiKey())
+              .withMaxBatchLatencySeconds(maxBatchLatencySeconds())
+              .withEnableAdaptiveBatching(enableAdaptiveBatching());
 
       DatadogEventWriter writer = builder.build();
       LOG.info("DatadogEventWriter configured");
@@ -120,6 +128,10 @@ public class DatadogIO {
 
       abstract Builder setParallelism(ValueProvider<Integer> parallelism);
 
+      abstract Builder setMaxBatchLatencySeconds(ValueProvider<Integer> maxBatchLatencySeconds);
+
+      abstract Builder setEnableAdaptiveBatching(ValueProvider<Boolean> enableAdaptiveBatching);
+
       abstract Write autoBuild();
 
       /**
@@ -222,6 +234,54 @@ public class DatadogIO {
         return setParallelism(ValueProvider.StaticValueProvider.of(parallelism));
       }
 
+      /**
+       * Method to set the maximum time the oldest buffered event waits for a batch to fill up.
+       *
+       * @param maxBatchLatencySeconds max latency of buffered events.
+       * @return {@link Builder}
+       */
+      public Builder withMaxBatchLatencySeconds(ValueProvider<Integer> maxBatchLatencySeconds) {
+        return setMaxBatchLatencySeconds(maxBatchLatencySeconds);
+      }
+
+      /**
+       * Same as {@link Builder#withMaxBatchLatencySeconds(ValueProvider)} but without {@link
+       * ValueProvider}.
+       *
+       * @param maxBatchLatencySeconds max latency of buffered events.
+       * @return {@link Builder}
+       */
+      public Builder withMaxBatchLatencySeconds(Integer maxBatchLatencySeconds) {
+        checkArgument(
+            maxBatchLatencySeconds != null,
+            "withMaxBatchLatencySeconds(maxBatchLatencySeconds) called with null input.");
+        return setMaxBatchLatencySeconds(
+            ValueProvider.StaticValueProvider.of(maxBatchLatencySeconds));
+      }
+
+      /**
+       * Method to enable adapting the batch payload size to Logs API latency and throttling
+       * responses, up to the max buffer size.
+       *
+       * @param enableAdaptiveBatching for enabling adaptive batching.
+       * @return {@link Builder}
+       */
+      public Builder withEnableAdaptiveBatching(ValueProvider<Boolean> enableAdaptiveBatching) {
+        return setEnableAdaptiveBatching(enableAdaptiveBatching);
+      }
+
+      /**
+       * Same as {@link Builder#withEnableAdaptiveBatching(ValueProvider)} but without {@link
+       * ValueProvider}.
+       *
+       * @param enableAdaptiveBatching for enabling adaptive batching.
+       * @return {@link Builder}
+       */
+      public Builder withEnableAdaptiveBatching(Boolean enableAdaptiveBatching) {
+        return setEnableAdaptiveBatching(
+            ValueProvider.StaticValueProvider.of(enableAdaptiveBatching));
+      }
+
       public Write build() {
         checkNotNull(url(), "Logs API url is required.");
         checkNotNull(apiKey(), "API key is required.");
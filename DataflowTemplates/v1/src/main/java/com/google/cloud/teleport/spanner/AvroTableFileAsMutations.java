@@ -21,12 +21,16 @@ import com.google.cloud.teleport.spanner.ddl.Table;
 import com.google.common.annotations.VisibleForTesting;
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.beam.sdk.coders.SerializableCoder;
 import org.apache.beam.sdk.extensions.avro.io.AvroSource;
 import org.apache.beam.sdk.io.BoundedSource;
 import org.apache.beam.sdk.io.FileIO;
 import org.apache.beam.sdk.io.fs.EmptyMatchTreatment;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Distribution;
+import org.apache.beam.sdk.metrics.Metrics;
 import org.apache.beam.sdk.options.ValueProvider;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.Keys;
@@ -54,9 +58,16 @@ class AvroTableFileAsMutations
 
   // Schema of the Spanner database that the file is going to be imported into.
   private final PCollectionView<Ddl> ddlView;
+  // Lane of ImportTransform the files are imported in, used to report metrics per lane.
+  private final int lane;
 
   public AvroTableFileAsMutations(PCollectionView<Ddl> ddlView) {
+    this(ddlView, 0);
+  }
+
+  public AvroTableFileAsMutations(PCollectionView<Ddl> ddlView, int lane) {
     this.ddlView = ddlView;
+    this.lane = lane;
   }
 
   @Override
@@ -86,7 +97,8 @@ class AvroTableFileAsMutations
         .apply("Reshuffle", Reshuffle.viaRandomKey())
         // PCollection<FileShard>
 
-        .apply("Read ranges", ParDo.of(new ReadFileRangesFn(ddlView)).withSideInputs(ddlView));
+        .apply(
+            "Read ranges", ParDo.of(new ReadFileRangesFn(ddlView, lane)).withSideInputs(ddlView));
   }
 
   /**
@@ -99,10 +111,32 @@ class AvroTableFileAsMutations
   @VisibleForTesting
   static class ReadFileRangesFn extends DoFn<FileShard, Mutation> {
 
+    private static final Counter ROWS_READ =
+        Metrics.counter(ReadFileRangesFn.class, "import_rows_read");
+    private static final Counter BYTES_READ =
+        Metrics.counter(ReadFileRangesFn.class, "import_bytes_read");
+    private static final Distribution ROWS_PER_SECOND =
+        Metrics.distribution(ReadFileRangesFn.class, "import_rows_per_second");
+    private static final Distribution BYTES_PER_SECOND =
+        Metrics.distribution(ReadFileRangesFn.class, "import_bytes_per_second");
+
     private final PCollectionView<Ddl> ddlView;
+    // The same metrics for the lane, whose number is bounded by the lanes of ImportTransform.
+    private final Counter laneRowsRead;
+    private final Counter laneBytesRead;
+    private final Distribution laneBytesPerSecond;
 
     ReadFileRangesFn(PCollectionView<Ddl> ddlView) {
+      this(ddlView, 0);
+    }
+
+    ReadFileRangesFn(PCollectionView<Ddl> ddlView, int lane) {
       this.ddlView = ddlView;
+      String prefix = "import_lane_" + lane + "_";
+      this.laneRowsRead = Metrics.counter(ReadFileRangesFn.class, prefix + "rows_read");
+      this.laneBytesRead = Metrics.counter(ReadFileRangesFn.class, prefix + "bytes_read");
+      this.laneBytesPerSecond =
+          Metrics.distribution(ReadFileRangesFn.class, prefix + "bytes_per_second");
     }
 
     @ProcessElement
@@ -121,12 +155,32 @@ class AvroTableFileAsMutations
                 .createForSubrangeOfFile(
                     f.getFile().getMetadata(), f.getRange().getFrom(), f.getRange().getTo())
                 .createReader(c.getPipelineOptions());
+        long startNanos = System.nanoTime();
+        long rows = 0;
         for (boolean more = reader.start(); more; more = reader.advance()) {
           c.output(reader.getCurrent());
+          rows++;
         }
+        long bytes = f.getRange().getTo() - f.getRange().getFrom();
+        updateMetrics(rows, bytes, startNanos);
       } catch (IOException e) {
         throw new RuntimeException(e);
       }
     }
+
+    /**
+     * Reports the import progress and read throughput of a shard, in total and for the lane.
+     * Progress is {@code import_bytes_read} out of the {@code import_bytes_total} of the files.
+     */
+    private void updateMetrics(long rows, long bytes, long startNanos) {
+      long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+      ROWS_READ.inc(rows);
+      BYTES_READ.inc(bytes);
+      ROWS_PER_SECOND.update(rows * 1000 / millis);
+      BYTES_PER_SECOND.update(bytes * 1000 / millis);
+      laneRowsRead.inc(rows);
+      laneBytesRead.inc(bytes);
+      laneBytesPerSecond.update(bytes * 1000 / millis);
+    }
   }
 }
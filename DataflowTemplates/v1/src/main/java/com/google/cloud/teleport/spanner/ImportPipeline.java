@@ -204,6 +204,34 @@ public class ImportPipeline {
     ValueProvider<RpcPriority> getSpannerPriority();
 
     void setSpannerPriority(ValueProvider<RpcPriority> value);
+
+    @TemplateParameter.Long(
+        order = 12,
+        optional = true,
+        description = "Max size of mutations sorted in memory",
+        helpText =
+            "The estimated size in bytes of the mutations that each writer sorts in memory before spilling sorted runs to the worker's local disk. Lower values reduce the worker memory needed for large rows at the cost of local disk I/O. By default, mutations are sorted in memory only.")
+    ValueProvider<Long> getMaxSortMemoryBytes();
+
+    void setMaxSortMemoryBytes(ValueProvider<Long> value);
+
+    @TemplateCreationParameter(value = "4")
+    @Description(
+        "Maximum number of lanes the interleave trees are imported in. Trees in different lanes do"
+            + " not wait on each other, and every tree gets its own lane up to this number.")
+    @Default.Integer(ImportTransform.DEFAULT_MAX_LANES)
+    int getMaxImportLanes();
+
+    void setMaxImportLanes(int value);
+
+    @TemplateCreationParameter(value = "100")
+    @Description(
+        "Number of batches of mutations each writer sorts by key before writing them. Larger values"
+            + " give better batches at the cost of worker memory, see maxSortMemoryBytes.")
+    @Default.Integer(ImportTransform.DEFAULT_GROUPING_FACTOR)
+    int getGroupingFactor();
+
+    void setGroupingFactor(int value);
   }
 
   public static void main(String[] args) {
@@ -232,14 +260,17 @@ public class ImportPipeline {
 
     p.apply(
         new ImportTransform(
-            spannerConfig,
-            options.getInputDir(),
-            options.getWaitForIndexes(),
-            options.getWaitForForeignKeys(),
-            options.getWaitForChangeStreams(),
-            options.getWaitForSequences(),
-            options.getEarlyIndexCreateFlag(),
-            options.getDdlCreationTimeoutInMinutes()));
+                spannerConfig,
+                options.getInputDir(),
+                options.getWaitForIndexes(),
+                options.getWaitForForeignKeys(),
+                options.getWaitForChangeStreams(),
+                options.getWaitForSequences(),
+                options.getEarlyIndexCreateFlag(),
+                options.getDdlCreationTimeoutInMinutes())
+            .withMaxSortMemoryBytes(options.getMaxSortMemoryBytes())
+            .withMaxLanes(options.getMaxImportLanes())
+            .withGroupingFactor(options.getGroupingFactor()));
 
     PipelineResult result = p.run();
 
@@ -15,6 +15,8 @@
  */
 package com.google.cloud.teleport.spanner;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import com.google.api.gax.longrunning.OperationFuture;
 import com.google.cloud.spanner.Database;
 import com.google.cloud.spanner.DatabaseAdminClient;
@@ -49,7 +51,9 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -72,6 +76,7 @@ import org.apache.beam.sdk.io.gcp.spanner.SpannerWriteResult;
 import org.apache.beam.sdk.io.gcp.spanner.Transaction;
 import org.apache.beam.sdk.options.ValueProvider;
 import org.apache.beam.sdk.options.ValueProvider.NestedValueProvider;
+import org.apache.beam.sdk.options.ValueProvider.StaticValueProvider;
 import org.apache.beam.sdk.transforms.Combine;
 import org.apache.beam.sdk.transforms.Create;
 import org.apache.beam.sdk.transforms.DoFn;
@@ -100,6 +105,11 @@ public class ImportTransform extends PTransform<PBegin, PDone> {
 
   private static final Logger LOG = LoggerFactory.getLogger(ImportTransform.class);
   private static final int MAX_DEPTH = 8;
+  // Default cap on the independent chains of depth levels that interleave trees are spread over.
+  // Every lane adds MAX_DEPTH write stages to the graph, so the number of lanes is fixed when the
+  // pipeline is constructed, and trees only get their own lane up to this cap.
+  public static final int DEFAULT_MAX_LANES = 4;
+  public static final int DEFAULT_GROUPING_FACTOR = 100;
 
   private final SpannerConfig spannerConfig;
   private final ValueProvider<String> importDirectory;
@@ -114,6 +124,9 @@ public class ImportTransform extends PTransform<PBegin, PDone> {
   private final ValueProvider<Boolean> waitForSequences;
   private final ValueProvider<Boolean> earlyIndexCreateFlag;
   private final ValueProvider<Integer> ddlCreationTimeoutInMinutes;
+  private ValueProvider<Long> maxSortMemoryBytes = StaticValueProvider.of(null);
+  private int maxLanes = DEFAULT_MAX_LANES;
+  private int groupingFactor = DEFAULT_GROUPING_FACTOR;
 
   public ImportTransform(
       SpannerConfig spannerConfig,
@@ -134,6 +147,37 @@ public class ImportTransform extends PTransform<PBegin, PDone> {
     this.ddlCreationTimeoutInMinutes = ddlCreationTimeoutInMinutes;
   }
 
+  /**
+   * Bounds the estimated size of the mutations each writer sorts in memory before spilling sorted
+   * runs to local disk. By default the mutations are sorted in memory only.
+   */
+  public ImportTransform withMaxSortMemoryBytes(ValueProvider<Long> maxSortMemoryBytes) {
+    this.maxSortMemoryBytes = maxSortMemoryBytes;
+    return this;
+  }
+
+  /**
+   * Caps the number of lanes the interleave trees are imported in. Each tree is loaded level by
+   * level in its lane, so trees in different lanes do not wait on each other. There are never more
+   * lanes in use than trees.
+   */
+  public ImportTransform withMaxLanes(int maxLanes) {
+    checkArgument(maxLanes >= 1, "maxLanes must be at least 1, got %s", maxLanes);
+    this.maxLanes = maxLanes;
+    return this;
+  }
+
+  /**
+   * Sets the number of batches of mutations each writer gathers and sorts by key before writing
+   * them. Larger values give better batches when the input is not sorted, at the cost of the memory
+   * needed to sort them, unless sorted runs are spilled to local disk.
+   */
+  public ImportTransform withGroupingFactor(int groupingFactor) {
+    checkArgument(groupingFactor >= 1, "groupingFactor must be at least 1, got %s", groupingFactor);
+    this.groupingFactor = groupingFactor;
+    return this;
+  }
+
   @Override
   public PDone expand(PBegin begin) {
     PCollectionView<Dialect> dialectView =
@@ -241,48 +285,84 @@ public class ImportTransform extends PTransform<PBegin, PDone> {
                       }
                     }));
 
-    PCollection<?> previousComputation = ddl;
-    for (int i = 0; i < MAX_DEPTH; i++) {
-      final int depth = i;
-      PCollection<KV<String, String>> levelFiles =
-          acc.apply(
-                  "Get Avro filenames depth " + depth,
-                  ParDo.of(
-                          new DoFn<HashMultimap<String, String>, KV<String, String>>() {
-
-                            @ProcessElement
-                            public void processElement(ProcessContext c) {
-                              HashMultimap<String, String> allFiles = c.element();
-                              HashMultimap<Integer, String> levels = c.sideInput(levelsView);
-
-                              Set<String> tables = levels.get(depth);
-                              for (String table : tables) {
-                                for (String file : allFiles.get(table)) {
-                                  c.output(KV.of(file, table));
+    // Interleave trees are spread over independent lanes, so that a slow table only holds back the
+    // tables interleaved in it and the trees sharing its lane instead of every deeper table.
+    // Foreign keys do not constrain the order, they are added once all the data is loaded.
+    final int maxLanes = this.maxLanes;
+    PCollectionView<Map<String, Integer>> lanesView =
+        acc.apply(
+                "Assign tables to lanes",
+                ParDo.of(
+                        new DoFn<HashMultimap<String, String>, Map<String, Integer>>() {
+
+                          @ProcessElement
+                          public void processElement(ProcessContext c) {
+                            Ddl ddl = c.sideInput(ddlView);
+                            Map<String, Long> filesPerTable = new HashMap<>();
+                            for (String table : c.element().keySet()) {
+                              filesPerTable.put(table, (long) c.element().get(table).size());
+                            }
+                            Map<String, Integer> lanes = ddl.perLaneView(maxLanes, filesPerTable);
+                            LOG.info("Importing tables in lanes: {}", lanes);
+                            c.output(lanes);
+                          }
+                        })
+                    .withSideInputs(ddlView))
+            .apply("Lanes as view", View.asSingleton());
+
+    List<PCollection<?>> laneComputations = new ArrayList<>();
+    for (int l = 0; l < maxLanes; l++) {
+      final int lane = l;
+      PCollection<?> previousComputation = ddl;
+      for (int i = 0; i < MAX_DEPTH; i++) {
+        final int depth = i;
+        String step = "lane " + lane + " depth " + depth;
+        PCollection<KV<String, String>> levelFiles =
+            acc.apply(
+                    "Get Avro filenames " + step,
+                    ParDo.of(
+                            new DoFn<HashMultimap<String, String>, KV<String, String>>() {
+
+                              @ProcessElement
+                              public void processElement(ProcessContext c) {
+                                HashMultimap<String, String> allFiles = c.element();
+                                HashMultimap<Integer, String> levels = c.sideInput(levelsView);
+                                Map<String, Integer> lanes = c.sideInput(lanesView);
+
+                                Set<String> tables = levels.get(depth);
+                                for (String table : tables) {
+                                  if (lanes.getOrDefault(table, 0) != lane) {
+                                    continue;
+                                  }
+                                  for (String file : allFiles.get(table)) {
+                                    c.output(KV.of(file, table));
+                                  }
                                 }
                               }
-                            }
-                          })
-                      .withSideInputs(levelsView))
-              .apply("Wait for previous depth " + depth, Wait.on(previousComputation));
-      PCollection<Mutation> mutations =
-          levelFiles.apply(
-              "Avro files as mutations " + depth, new AvroTableFileAsMutations(ddlView));
-
-      SpannerWriteResult result =
-          mutations.apply(
-              "Write mutations " + depth,
-              LocalSpannerIO.write()
-                  .withSchemaReadySignal(ddl)
-                  .withSpannerConfig(spannerConfig)
-                  .withCommitDeadline(Duration.standardMinutes(1))
-                  .withMaxCumulativeBackoff(Duration.standardHours(2))
-                  .withMaxNumMutations(10000)
-                  .withGroupingFactor(100)
-                  .withDialectView(dialectView));
-      previousComputation = result.getOutput();
+                            })
+                        .withSideInputs(levelsView, lanesView))
+                .apply("Wait for previous " + step, Wait.on(previousComputation));
+        PCollection<Mutation> mutations =
+            levelFiles.apply(
+                "Avro files as mutations " + step, new AvroTableFileAsMutations(ddlView, lane));
+
+        SpannerWriteResult result =
+            mutations.apply(
+                "Write mutations " + step,
+                LocalSpannerIO.write()
+                    .withSchemaReadySignal(ddl)
+                    .withSpannerConfig(spannerConfig)
+                    .withCommitDeadline(Duration.standardMinutes(1))
+                    .withMaxCumulativeBackoff(Duration.standardHours(2))
+                    .withMaxNumMutations(10000)
+                    .withGroupingFactor(groupingFactor)
+                    .withMaxSortMemoryBytes(maxSortMemoryBytes)
+                    .withDialectView(dialectView));
+        previousComputation = result.getOutput();
+      }
+      laneComputations.add(previousComputation);
     }
-    ddl.apply(Wait.on(previousComputation))
+    ddl.apply(Wait.on(laneComputations.toArray(new PCollection<?>[0])))
         .apply(
             "Create Indexes", new ApplyDDLTransform(spannerConfig, pendingIndexes, waitForIndexes))
         .apply(
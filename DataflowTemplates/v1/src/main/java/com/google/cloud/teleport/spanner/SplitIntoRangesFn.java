@@ -28,6 +28,8 @@ import org.apache.beam.sdk.io.FileIO.ReadableFile;
 import org.apache.beam.sdk.io.FileSystems;
 import org.apache.beam.sdk.io.fs.MatchResult.Metadata;
 import org.apache.beam.sdk.io.range.OffsetRange;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Metrics;
 import org.apache.beam.sdk.options.ValueProvider;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.values.PCollectionView;
@@ -46,6 +48,9 @@ class SplitIntoRangesFn extends DoFn<ReadableFile, FileShard> {
   static final long DEFAULT_BUNDLE_SIZE = 64 * 1024 * 1024L;
   private static final Logger LOG = LoggerFactory.getLogger(SplitIntoRangesFn.class);
 
+  private static final Counter BYTES_TOTAL =
+      Metrics.counter(SplitIntoRangesFn.class, "import_bytes_total");
+
   final PCollectionView<Map<String, String>> filenamesToTableNamesMapView;
   private final long desiredBundleSize;
   private final ValueProvider<Character> quoteChar;
@@ -92,6 +97,7 @@ class SplitIntoRangesFn extends DoFn<ReadableFile, FileShard> {
       throw new FileNotFoundException(
           "Unknown table name for file:" + filename + " in map " + filenamesToTableNamesMap);
     }
+    BYTES_TOTAL.inc(metadata.sizeBytes());
     if (!metadata.isReadSeekEfficient()) {
       // Do not shard the file.
       c.output(
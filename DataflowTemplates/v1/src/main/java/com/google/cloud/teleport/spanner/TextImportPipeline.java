@@ -299,6 +299,25 @@ public class TextImportPipeline {
     ValueProvider<String> getInvalidOutputPath();
 
     void setInvalidOutputPath(ValueProvider<String> value);
+
+    @TemplateParameter.Long(
+        order = 17,
+        optional = true,
+        description = "Max size of mutations sorted in memory",
+        helpText =
+            "The estimated size in bytes of the mutations that each writer sorts in memory before spilling sorted runs to the worker's local disk. Lower values reduce the worker memory needed for large rows at the cost of local disk I/O. By default, mutations are sorted in memory only.")
+    ValueProvider<Long> getMaxSortMemoryBytes();
+
+    void setMaxSortMemoryBytes(ValueProvider<Long> value);
+
+    @TemplateCreationParameter(value = "100")
+    @Description(
+        "Number of batches of mutations each writer sorts by key before writing them. Larger values"
+            + " give better batches at the cost of worker memory, see maxSortMemoryBytes.")
+    @Default.Integer(TextImportTransform.DEFAULT_GROUPING_FACTOR)
+    int getGroupingFactor();
+
+    void setGroupingFactor(int value);
   }
 
   public static void main(String[] args) {
@@ -327,7 +346,9 @@ public class TextImportPipeline {
 
     p.apply(
         new TextImportTransform(
-            spannerConfig, options.getImportManifest(), options.getInvalidOutputPath()));
+                spannerConfig, options.getImportManifest(), options.getInvalidOutputPath())
+            .withMaxSortMemoryBytes(options.getMaxSortMemoryBytes())
+            .withGroupingFactor(options.getGroupingFactor()));
 
     PipelineResult result = p.run();
     if (options.getWaitUntilFinish()
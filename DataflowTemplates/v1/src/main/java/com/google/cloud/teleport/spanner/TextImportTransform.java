@@ -15,6 +15,8 @@
  */
 package com.google.cloud.teleport.spanner;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import com.google.cloud.spanner.Dialect;
 import com.google.cloud.spanner.Mutation;
 import com.google.cloud.teleport.spanner.FileShard.Coder;
@@ -58,6 +60,7 @@ import org.apache.beam.sdk.io.gcp.spanner.SpannerConfig;
 import org.apache.beam.sdk.io.gcp.spanner.SpannerWriteResult;
 import org.apache.beam.sdk.io.gcp.spanner.Transaction;
 import org.apache.beam.sdk.options.ValueProvider;
+import org.apache.beam.sdk.options.ValueProvider.StaticValueProvider;
 import org.apache.beam.sdk.transforms.Combine;
 import org.apache.beam.sdk.transforms.Create;
 import org.apache.beam.sdk.transforms.DoFn;
@@ -87,11 +90,14 @@ public class TextImportTransform extends PTransform<PBegin, PDone> {
 
   private static final Logger LOG = LoggerFactory.getLogger(ImportTransform.class);
   private static final int MAX_DEPTH = 8;
+  public static final int DEFAULT_GROUPING_FACTOR = 100;
 
   private final SpannerConfig spannerConfig;
 
   private final ValueProvider<String> importManifest;
   private final ValueProvider<String> invalidOutputPath;
+  private ValueProvider<Long> maxSortMemoryBytes = StaticValueProvider.of(null);
+  private int groupingFactor = DEFAULT_GROUPING_FACTOR;
 
   public TextImportTransform(
       SpannerConfig spannerConfig,
@@ -102,6 +108,26 @@ public class TextImportTransform extends PTransform<PBegin, PDone> {
     this.invalidOutputPath = invalidOutputPath;
   }
 
+  /**
+   * Bounds the estimated size of the mutations each writer sorts in memory before spilling sorted
+   * runs to local disk. By default the mutations are sorted in memory only.
+   */
+  public TextImportTransform withMaxSortMemoryBytes(ValueProvider<Long> maxSortMemoryBytes) {
+    this.maxSortMemoryBytes = maxSortMemoryBytes;
+    return this;
+  }
+
+  /**
+   * Sets the number of batches of mutations each writer gathers and sorts by key before writing
+   * them. Larger values give better batches when the input is not sorted, at the cost of the memory
+   * needed to sort them, unless sorted runs are spilled to local disk.
+   */
+  public TextImportTransform withGroupingFactor(int groupingFactor) {
+    checkArgument(groupingFactor >= 1, "groupingFactor must be at least 1, got %s", groupingFactor);
+    this.groupingFactor = groupingFactor;
+    return this;
+  }
+
   @Override
   public PDone expand(PBegin begin) {
     PCollectionView<Transaction> tx =
@@ -208,7 +234,8 @@ public class TextImportTransform extends PTransform<PBegin, PDone> {
                       .withCommitDeadline(Duration.standardMinutes(1))
                       .withMaxCumulativeBackoff(Duration.standardHours(2))
                       .withMaxNumMutations(10000)
-                      .withGroupingFactor(100)
+                      .withGroupingFactor(groupingFactor)
+                      .withMaxSortMemoryBytes(maxSortMemoryBytes)
                       .withDialectView(dialectView));
       previousComputation = result.getOutput();
     }
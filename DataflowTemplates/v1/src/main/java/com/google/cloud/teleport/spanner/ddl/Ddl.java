@@ -33,6 +33,8 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -458,6 +460,60 @@ public class Ddl implements Serializable {
     return result;
   }
 
+  /**
+   * Assigns every interleave tree, a root table together with all the tables interleaved in it, to
+   * one of {@code lanes} lanes. Trees are placed heaviest first on the least loaded lane, so that
+   * the total weight of the lanes is balanced. All tables of a tree share a lane, which lets each
+   * lane load its tables level by level independently of the other lanes. While there are no more
+   * trees than lanes every tree gets a lane of its own, so only the first {@code min(lanes, trees)}
+   * lanes are used.
+   *
+   * @param lanes maximum number of lanes
+   * @param weights weight of each table, e.g. its number of data files; missing tables weigh 0
+   * @return the lane of each table
+   */
+  public Map<String, Integer> perLaneView(int lanes, Map<String, Long> weights) {
+    HashMultimap<String, String> trees = HashMultimap.create();
+    Map<String, Long> treeWeights = new HashMap<>();
+    for (String root : childTableNames(ROOT)) {
+      long weight = 0;
+      LinkedList<String> pending = Lists.newLinkedList();
+      pending.add(root);
+      while (!pending.isEmpty()) {
+        String tableName = pending.poll();
+        trees.put(root, tableName);
+        weight += weights.getOrDefault(tableName, 0L);
+        pending.addAll(childTableNames(tableName));
+      }
+      treeWeights.put(root, weight);
+    }
+
+    List<String> roots = new ArrayList<>(treeWeights.keySet());
+    roots.sort(
+        Comparator.comparing((String root) -> treeWeights.get(root))
+            .reversed()
+            .thenComparing(Comparator.naturalOrder()));
+    int usedLanes = Math.max(1, Math.min(lanes, roots.size()));
+    long[] laneWeights = new long[usedLanes];
+    int[] laneTrees = new int[usedLanes];
+    Map<String, Integer> result = new HashMap<>();
+    for (String root : roots) {
+      int lane = 0;
+      for (int i = 1; i < usedLanes; i++) {
+        if (laneWeights[i] < laneWeights[lane]
+            || (laneWeights[i] == laneWeights[lane] && laneTrees[i] < laneTrees[lane])) {
+          lane = i;
+        }
+      }
+      laneWeights[lane] += treeWeights.get(root);
+      laneTrees[lane]++;
+      for (String tableName : trees.get(root)) {
+        result.put(tableName, lane);
+      }
+    }
+    return result;
+  }
+
   public String prettyPrint() {
     StringBuilder sb = new StringBuilder();
     try {
@@ -15,6 +15,7 @@
  */
 package com.google.cloud.teleport.splunk;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.api.client.http.ByteArrayContent;
@@ -114,6 +115,9 @@ public abstract class HttpEventPublisher {
 
   abstract Boolean enableGzipHttpCompression();
 
+  @Nullable
+  abstract Integer maxConnections();
+
   /**
    * Executes a POST for the list of {@link SplunkEvent} objects into Splunk's Http Event Collector
    * endpoint.
@@ -122,8 +126,21 @@ public abstract class HttpEventPublisher {
    * @return {@link HttpResponse} for the POST.
    */
   public HttpResponse execute(List<SplunkEvent> events) throws IOException {
+    return post(getContent(events));
+  }
 
-    HttpContent content = getContent(events);
+  /**
+   * Executes a POST for a list of {@link SplunkEvent}s that were already serialized to JSON into
+   * Splunk's Http Event Collector endpoint. The payloads are sent as they are.
+   *
+   * @param payloads List of UTF-8 encoded JSON payloads of {@link SplunkEvent}s
+   * @return {@link HttpResponse} for the POST.
+   */
+  public HttpResponse executePayloads(List<byte[]> payloads) throws IOException {
+    return post(new SplunkPayloadContent(MEDIA_TYPE, payloads));
+  }
+
+  private HttpResponse post(HttpContent content) throws IOException {
     HttpRequest request = requestFactory().buildPostRequest(genericUrl(), content);
 
     if (enableGzipHttpCompression()) {
@@ -190,14 +207,23 @@ public abstract class HttpEventPublisher {
    * Utility method to marshall a list of {@link SplunkEvent}s into an {@link HttpContent} object
    * that can be used to create an {@link HttpRequest}.
    *
+   * <p>Gzip encoded requests are sent chunked anyway, so their events are streamed into the request
+   * through {@link SplunkEventContent} rather than materialized as a payload string first.
+   *
    * @param events List of {@link SplunkEvent}s
    * @return {@link HttpContent} that can be used to create an {@link HttpRequest}.
    */
   @VisibleForTesting
   protected HttpContent getContent(List<SplunkEvent> events) {
-    String payload = getStringPayload(events);
-    LOG.debug("Payload content: {}", payload);
-    return ByteArrayContent.fromString(CONTENT_TYPE, payload);
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Payload content: {}", getStringPayload(events));
+    }
+
+    if (enableGzipHttpCompression()) {
+      return new SplunkEventContent(MEDIA_TYPE, GSON, events);
+    }
+
+    return ByteArrayContent.fromString(CONTENT_TYPE, getStringPayload(events));
   }
 
   /** Utility method to get payload string from a list of {@link SplunkEvent}s. */
@@ -231,6 +257,10 @@ public abstract class HttpEventPublisher {
 
     abstract Builder setEnableGzipHttpCompression(Boolean enableGzipHttpCompression);
 
+    abstract Builder setMaxConnections(Integer maxConnections);
+
+    abstract Integer maxConnections();
+
     abstract Builder setRootCaCertificate(byte[] certificate);
 
     abstract byte[] rootCaCertificate();
@@ -314,6 +344,19 @@ public abstract class HttpEventPublisher {
       return setMaxElapsedMillis(maxElapsedMillis);
     }
 
+    /**
+     * Method to set the maximum number of pooled connections to the HEC endpoint. Defaults to
+     * {@value DEFAULT_MAX_CONNECTIONS}.
+     *
+     * @param maxConnections max number of parallel connections.
+     * @return {@link Builder}
+     */
+    public Builder withMaxConnections(Integer maxConnections) {
+      checkNotNull(maxConnections, "withMaxConnections(maxConnections) called with null input.");
+      checkArgument(maxConnections > 0, "maxConnections must be greater than 0.");
+      return setMaxConnections(maxConnections);
+    }
+
     /**
      * Validates and builds a {@link HttpEventPublisher} object.
      *
@@ -341,9 +384,12 @@ public abstract class HttpEventPublisher {
         setMaxElapsedMillis(ExponentialBackOff.DEFAULT_MAX_ELAPSED_TIME_MILLIS);
       }
 
+      if (maxConnections() == null) {
+        setMaxConnections(DEFAULT_MAX_CONNECTIONS);
+      }
+
       CloseableHttpClient httpClient =
-          getHttpClient(
-              DEFAULT_MAX_CONNECTIONS, disableCertificateValidation(), rootCaCertificate());
+          getHttpClient(maxConnections(), disableCertificateValidation(), rootCaCertificate());
 
       setTransport(new ApacheHttpTransport(httpClient));
       setRequestFactory(transport().createRequestFactory());
@@ -410,6 +456,7 @@ public abstract class HttpEventPublisher {
       }
 
       builder.setMaxConnTotal(maxConnections);
+      builder.setMaxConnPerRoute(maxConnections);
       builder.setDefaultRequestConfig(
           RequestConfig.custom().setCookieSpec(CookieSpecs.STANDARD).build());
 
@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.splunk;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.api.client.http.AbstractHttpContent;
+import com.google.api.client.http.HttpMediaType;
+import com.google.gson.Gson;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * {@link SplunkEventContent} is an {@link com.google.api.client.http.HttpContent} that serializes a
+ * batch of {@link SplunkEvent}s straight into the request output stream.
+ *
+ * <p>Unlike building the payload as a {@link String} first, no copy of the whole batch is ever held
+ * in memory. When the request is gzip encoded the JSON is compressed as it is written, so the only
+ * buffers involved are the per-thread encoder buffers, which are reused across requests.
+ */
+class SplunkEventContent extends AbstractHttpContent {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private static final ThreadLocal<Utf8StreamWriter> WRITER =
+      ThreadLocal.withInitial(Utf8StreamWriter::new);
+
+  private final Gson gson;
+
+  private final List<SplunkEvent> events;
+
+  SplunkEventContent(HttpMediaType mediaType, Gson gson, List<SplunkEvent> events) {
+    super(mediaType);
+    this.gson = checkNotNull(gson, "Gson cannot be null.");
+    this.events = checkNotNull(events, "SplunkEvents cannot be null.");
+  }
+
+  /** The length is not known until the batch is written, so the request is sent chunked. */
+  @Override
+  public long getLength() {
+    return -1;
+  }
+
+  /** The events are kept around, so the content can be written again if the request is retried. */
+  @Override
+  public boolean retrySupported() {
+    return true;
+  }
+
+  @Override
+  public void writeTo(OutputStream out) throws IOException {
+    Utf8StreamWriter writer = WRITER.get();
+    writer.reset(out);
+    try {
+      for (SplunkEvent event : events) {
+        gson.toJson(event, writer);
+      }
+      writer.finish();
+    } finally {
+      writer.reset(null);
+    }
+    out.flush();
+  }
+
+  /**
+   * A UTF-8 {@link Writer} that can be pointed at a new {@link OutputStream} for every request, so
+   * that its encoder and buffers are allocated once per thread rather than once per batch.
+   */
+  private static final class Utf8StreamWriter extends Writer {
+
+    private final CharsetEncoder encoder =
+        StandardCharsets.UTF_8
+            .newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE * 3);
+
+    private OutputStream out;
+
+    void reset(OutputStream out) {
+      this.out = out;
+      encoder.reset();
+      chars.clear();
+      bytes.clear();
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+      while (len > 0) {
+        int n = Math.min(len, chars.remaining());
+        chars.put(cbuf, off, n);
+        off += n;
+        len -= n;
+        if (!chars.hasRemaining()) {
+          encode(false);
+        }
+      }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+      while (len > 0) {
+        int n = Math.min(len, chars.remaining());
+        chars.put(str, off, off + n);
+        off += n;
+        len -= n;
+        if (!chars.hasRemaining()) {
+          encode(false);
+        }
+      }
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+      if (!chars.hasRemaining()) {
+        encode(false);
+      }
+      chars.put((char) c);
+    }
+
+    /** Flushes from Gson must not push partially filled buffers onto the socket. */
+    @Override
+    public void flush() {}
+
+    /** The underlying stream belongs to the HTTP request, so it is never closed here. */
+    @Override
+    public void close() {}
+
+    /** Encodes any remaining characters and writes them to the underlying stream. */
+    void finish() throws IOException {
+      encode(true);
+      while (encoder.flush(bytes).isOverflow()) {
+        drain();
+      }
+      drain();
+    }
+
+    private void encode(boolean endOfInput) throws IOException {
+      chars.flip();
+      while (true) {
+        CoderResult result = encoder.encode(chars, bytes, endOfInput);
+        if (result.isOverflow()) {
+          drain();
+        } else {
+          break;
+        }
+      }
+      // A trailing high surrogate stays in the buffer until its pair arrives.
+      chars.compact();
+    }
+
+    private void drain() throws IOException {
+      if (bytes.position() > 0) {
+        out.write(bytes.array(), 0, bytes.position());
+        bytes.clear();
+      }
+    }
+  }
+}
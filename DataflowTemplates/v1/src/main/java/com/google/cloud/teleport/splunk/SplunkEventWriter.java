@@ -21,23 +21,36 @@ import static org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.base.Pr
 import com.google.api.client.http.HttpResponse;
 import com.google.api.client.http.HttpResponseException;
 import com.google.auto.value.AutoValue;
+import com.google.cloud.teleport.util.AdaptiveBatchSizer;
 import com.google.cloud.teleport.util.GCSUtils;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.Lists;
 import com.google.common.net.InetAddresses;
 import com.google.common.net.InternetDomainName;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.annotation.Nullable;
+import org.apache.beam.sdk.coders.ByteArrayCoder;
 import org.apache.beam.sdk.metrics.Counter;
 import org.apache.beam.sdk.metrics.Distribution;
 import org.apache.beam.sdk.metrics.Metrics;
@@ -54,6 +67,7 @@ import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.windowing.BoundedWindow;
 import org.apache.beam.sdk.values.KV;
 import org.joda.time.Duration;
+import org.joda.time.Instant;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -62,6 +76,7 @@ import org.slf4j.LoggerFactory;
 public abstract class SplunkEventWriter extends DoFn<KV<Integer, SplunkEvent>, SplunkWriteError> {
 
   private static final Integer DEFAULT_BATCH_COUNT = 10;
+  private static final Integer DEFAULT_MAX_IN_FLIGHT_REQUESTS = 1;
   private static final Boolean DEFAULT_DISABLE_CERTIFICATE_VALIDATION = false;
   private static final Boolean DEFAULT_ENABLE_BATCH_LOGS = true;
   private static final Boolean DEFAULT_ENABLE_GZIP_HTTP_COMPRESSION = true;
@@ -85,8 +100,23 @@ public abstract class SplunkEventWriter extends DoFn<KV<Integer, SplunkEvent>, S
       Metrics.distribution(SplunkEventWriter.class, "unsuccessful_write_to_splunk_latency_ms");
   private static final Distribution SUCCESSFUL_WRITE_BATCH_SIZE =
       Metrics.distribution(SplunkEventWriter.class, "write_to_splunk_batch");
+  private static final Distribution IN_FLIGHT_REQUESTS =
+      Metrics.distribution(SplunkEventWriter.class, "in_flight_requests_to_splunk");
+  private static final Distribution REQUEST_QUEUE_TIME_MS =
+      Metrics.distribution(SplunkEventWriter.class, "write_to_splunk_queue_time_ms");
+  private static final Distribution BUFFERED_EVENTS_PER_KEY =
+      Metrics.distribution(SplunkEventWriter.class, "buffered_events_per_key");
+  private static final Distribution BUFFERED_BYTES_PER_KEY =
+      Metrics.distribution(SplunkEventWriter.class, "buffered_bytes_per_key");
+  private static final Distribution BUFFER_AGE_MS =
+      Metrics.distribution(SplunkEventWriter.class, "buffer_age_ms");
+  private static final Distribution TARGET_BATCH_SIZE_BYTES =
+      Metrics.distribution(SplunkEventWriter.class, "target_batch_size_bytes");
   private static final String BUFFER_STATE_NAME = "buffer";
+  private static final String PAYLOAD_BUFFER_STATE_NAME = "payload_buffer";
   private static final String COUNT_STATE_NAME = "count";
+  private static final String BUFFER_SIZE_STATE_NAME = "buffer_size";
+  private static final String BUFFER_START_STATE_NAME = "buffer_start";
   private static final String TIME_ID_NAME = "expiry";
   private static final Pattern URL_PATTERN = Pattern.compile("^http(s?)://([^:]+)(:[0-9]+)?$");
 
@@ -98,9 +128,19 @@ public abstract class SplunkEventWriter extends DoFn<KV<Integer, SplunkEvent>, S
   @StateId(BUFFER_STATE_NAME)
   private final StateSpec<BagState<SplunkEvent>> buffer = StateSpecs.bag();
 
+  // Events whose payload size is tracked are buffered as the JSON they were serialized to.
+  @StateId(PAYLOAD_BUFFER_STATE_NAME)
+  private final StateSpec<BagState<byte[]>> payloadBuffer = StateSpecs.bag(ByteArrayCoder.of());
+
   @StateId(COUNT_STATE_NAME)
   private final StateSpec<ValueState<Long>> count = StateSpecs.value();
 
+  @StateId(BUFFER_SIZE_STATE_NAME)
+  private final StateSpec<ValueState<Long>> bufferSize = StateSpecs.value();
+
+  @StateId(BUFFER_START_STATE_NAME)
+  private final StateSpec<ValueState<Long>> bufferStart = StateSpecs.value();
+
   @TimerId(TIME_ID_NAME)
   private final TimerSpec expirySpec = TimerSpecs.timer(TimeDomain.EVENT_TIME);
 
@@ -108,7 +148,14 @@ public abstract class SplunkEventWriter extends DoFn<KV<Integer, SplunkEvent>, S
   private Boolean disableValidation;
   private Boolean enableBatchLogs;
   private Boolean enableGzipHttpCompression;
+  private Integer maxInFlightRequests;
+  private Long maxBatchSizeBytes;
+  private Long maxBatchLatencyMillis;
+  private AdaptiveBatchSizer batchSizer;
   private HttpEventPublisher publisher;
+  private ExecutorService requestExecutor;
+  private Semaphore inFlightPermits;
+  private List<PendingWrite> pendingWrites;
 
   private static final Gson GSON =
       new GsonBuilder().setFieldNamingStrategy(f -> f.getName().toLowerCase()).create();
@@ -138,6 +185,18 @@ public abstract class SplunkEventWriter extends DoFn<KV<Integer, SplunkEvent>, S
   @Nullable
   abstract ValueProvider<Integer> inputBatchCount();
 
+  @Nullable
+  abstract ValueProvider<Integer> maxInFlightRequests();
+
+  @Nullable
+  abstract ValueProvider<Long> maxBatchSizeBytes();
+
+  @Nullable
+  abstract ValueProvider<Integer> maxBatchLatencySeconds();
+
+  @Nullable
+  abstract ValueProvider<Boolean> enableAdaptiveBatching();
+
   @Setup
   public void setup() {
 
@@ -189,13 +248,53 @@ public abstract class SplunkEventWriter extends DoFn<KV<Integer, SplunkEvent>, S
       LOG.info("Disable certificate validation set to: {}", disableValidation);
     }
 
+    // Either user supplied or default maxInFlightRequests.
+    if (maxInFlightRequests == null) {
+
+      if (maxInFlightRequests() != null) {
+        maxInFlightRequests = maxInFlightRequests().get();
+      }
+
+      maxInFlightRequests =
+          MoreObjects.firstNonNull(maxInFlightRequests, DEFAULT_MAX_IN_FLIGHT_REQUESTS);
+      checkArgument(maxInFlightRequests > 0, "maxInFlightRequests must be greater than 0.");
+      LOG.info("Max in-flight requests set to: {}", maxInFlightRequests);
+    }
+
+    if (maxBatchSizeBytes == null
+        && maxBatchSizeBytes() != null
+        && maxBatchSizeBytes().get() != null) {
+      maxBatchSizeBytes = maxBatchSizeBytes().get();
+      checkArgument(maxBatchSizeBytes > 0, "maxBatchSizeBytes must be greater than 0.");
+      LOG.info("Max batch size set to: {} bytes", maxBatchSizeBytes);
+    }
+
+    if (maxBatchLatencyMillis == null
+        && maxBatchLatencySeconds() != null
+        && maxBatchLatencySeconds().get() != null) {
+      checkArgument(
+          maxBatchLatencySeconds().get() > 0, "maxBatchLatencySeconds must be greater than 0.");
+      maxBatchLatencyMillis = maxBatchLatencySeconds().get() * 1000L;
+      LOG.info("Max batch latency set to: {} ms", maxBatchLatencyMillis);
+    }
+
+    if (batchSizer == null
+        && enableAdaptiveBatching() != null
+        && Boolean.TRUE.equals(enableAdaptiveBatching().get())) {
+      checkArgument(
+          maxBatchSizeBytes != null, "maxBatchSizeBytes is required for adaptive batching.");
+      batchSizer = AdaptiveBatchSizer.of(maxBatchSizeBytes);
+      LOG.info("Adaptive batching enabled, initial target: {} bytes", batchSizer.targetBytes());
+    }
+
     try {
       HttpEventPublisher.Builder builder =
           HttpEventPublisher.newBuilder()
               .withUrl(url().get())
               .withToken(token().get())
               .withDisableCertificateValidation(disableValidation)
-              .withEnableGzipHttpCompression(enableGzipHttpCompression);
+              .withEnableGzipHttpCompression(enableGzipHttpCompression)
+              .withMaxConnections(maxInFlightRequests);
 
       if (rootCaCertificatePath() != null && rootCaCertificatePath().get() != null) {
         builder.withRootCaCertificate(GCSUtils.getGcsFileAsBytes(rootCaCertificatePath().get()));
@@ -204,6 +303,18 @@ public abstract class SplunkEventWriter extends DoFn<KV<Integer, SplunkEvent>, S
       publisher = builder.build();
       LOG.info("Successfully created HttpEventPublisher");
 
+      if (maxInFlightRequests > 1) {
+        requestExecutor =
+            Executors.newFixedThreadPool(
+                maxInFlightRequests,
+                new ThreadFactoryBuilder()
+                    .setDaemon(true)
+                    .setNameFormat("splunk-event-writer-%d")
+                    .build());
+        inFlightPermits = new Semaphore(maxInFlightRequests);
+        pendingWrites = new ArrayList<>();
+      }
+
     } catch (CertificateException
         | NoSuchAlgorithmException
         | KeyStoreException
@@ -214,20 +325,67 @@ public abstract class SplunkEventWriter extends DoFn<KV<Integer, SplunkEvent>, S
     }
   }
 
+  @StartBundle
+  public void startBundle() {
+    if (pendingWrites != null) {
+      pendingWrites.clear();
+    }
+  }
+
   @ProcessElement
   public void processElement(
       @Element KV<Integer, SplunkEvent> input,
+      @Timestamp Instant timestamp,
       OutputReceiver<SplunkWriteError> receiver,
       BoundedWindow window,
       @StateId(BUFFER_STATE_NAME) BagState<SplunkEvent> bufferState,
+      @StateId(PAYLOAD_BUFFER_STATE_NAME) BagState<byte[]> payloadBufferState,
       @StateId(COUNT_STATE_NAME) ValueState<Long> countState,
+      @StateId(BUFFER_SIZE_STATE_NAME) ValueState<Long> bufferSizeState,
+      @StateId(BUFFER_START_STATE_NAME) ValueState<Long> bufferStartState,
       @TimerId(TIME_ID_NAME) Timer timer)
       throws IOException {
 
     Long count = MoreObjects.<Long>firstNonNull(countState.read(), 0L);
     SplunkEvent event = input.getValue();
     INPUT_COUNTER.inc();
-    bufferState.add(event);
+
+    drainCompletedWrites(receiver, window);
+
+    byte[] payload = null;
+    if (maxBatchSizeBytes != null) {
+      // The event is serialized once, its payload is buffered and sent as it is.
+      payload = GSON.toJson(event).getBytes(StandardCharsets.UTF_8);
+      long eventSize = payload.length;
+      long bufferSize = MoreObjects.<Long>firstNonNull(bufferSizeState.read(), 0L);
+      if (count > 0 && bufferSize + eventSize > targetBatchSizeBytes()) {
+        if (enableBatchLogs) {
+          LOG.info("Flushing batch of {} events of size {} due to batch size", count, bufferSize);
+        }
+        flush(
+            receiver,
+            window,
+            timestamp,
+            bufferState,
+            payloadBufferState,
+            countState,
+            bufferSizeState,
+            bufferStartState);
+        count = 0L;
+        bufferSize = 0L;
+      }
+      bufferSizeState.write(bufferSize + eventSize);
+    }
+
+    if (count == 0) {
+      bufferStartState.write(System.currentTimeMillis());
+    }
+
+    if (payload != null) {
+      payloadBufferState.add(payload);
+    } else {
+      bufferState.add(event);
+    }
     count += 1;
     countState.write(count);
     timer.offset(Duration.standardSeconds(DEFAULT_FLUSH_DELAY)).setRelative();
@@ -236,27 +394,99 @@ public abstract class SplunkEventWriter extends DoFn<KV<Integer, SplunkEvent>, S
       if (enableBatchLogs) {
         LOG.info("Flushing batch of {} events", count);
       }
-      flush(receiver, bufferState, countState);
+      flush(
+          receiver,
+          window,
+          timestamp,
+          bufferState,
+          payloadBufferState,
+          countState,
+          bufferSizeState,
+          bufferStartState);
+    } else if (maxBatchLatencyMillis != null && isBufferExpired(bufferStartState)) {
+      if (enableBatchLogs) {
+        LOG.info("Flushing batch of {} events due to max batch latency", count);
+      }
+      flush(
+          receiver,
+          window,
+          timestamp,
+          bufferState,
+          payloadBufferState,
+          countState,
+          bufferSizeState,
+          bufferStartState);
+    }
+  }
+
+  /**
+   * Returns whether the oldest buffered event has waited for the max batch latency. A buffer whose
+   * start was not tracked, e.g. one filled before an update, starts aging now.
+   */
+  private boolean isBufferExpired(ValueState<Long> bufferStartState) {
+    long now = System.currentTimeMillis();
+    Long bufferStart = bufferStartState.read();
+    if (bufferStart == null) {
+      bufferStartState.write(now);
+      return false;
     }
+    return now - bufferStart >= maxBatchLatencyMillis;
   }
 
   @OnTimer(TIME_ID_NAME)
   public void onExpiry(
+      @Timestamp Instant timestamp,
       OutputReceiver<SplunkWriteError> receiver,
+      BoundedWindow window,
       @StateId(BUFFER_STATE_NAME) BagState<SplunkEvent> bufferState,
-      @StateId(COUNT_STATE_NAME) ValueState<Long> countState)
+      @StateId(PAYLOAD_BUFFER_STATE_NAME) BagState<byte[]> payloadBufferState,
+      @StateId(COUNT_STATE_NAME) ValueState<Long> countState,
+      @StateId(BUFFER_SIZE_STATE_NAME) ValueState<Long> bufferSizeState,
+      @StateId(BUFFER_START_STATE_NAME) ValueState<Long> bufferStartState)
       throws IOException {
 
+    drainCompletedWrites(receiver, window);
+
     if (MoreObjects.<Long>firstNonNull(countState.read(), 0L) > 0) {
       if (enableBatchLogs) {
         LOG.info("Flushing window with {} events", countState.read());
       }
-      flush(receiver, bufferState, countState);
+      flush(
+          receiver,
+          window,
+          timestamp,
+          bufferState,
+          payloadBufferState,
+          countState,
+          bufferSizeState,
+          bufferStartState);
     }
   }
 
+  @FinishBundle
+  public void finishBundle(FinishBundleContext context) {
+    if (pendingWrites == null || pendingWrites.isEmpty()) {
+      return;
+    }
+
+    // The bundle cannot be committed while requests are still in flight, otherwise failed events
+    // would never make it to the error output.
+    for (PendingWrite pendingWrite : pendingWrites) {
+      handleWriteResult(
+          awaitWriteResult(pendingWrite.result),
+          pendingWrite.batch,
+          pendingWrite.bytes,
+          error -> context.output(error, pendingWrite.timestamp, pendingWrite.window));
+    }
+    pendingWrites.clear();
+  }
+
   @Teardown
   public void tearDown() {
+    if (this.requestExecutor != null) {
+      this.requestExecutor.shutdownNow();
+    }
+
     if (this.publisher != null) {
       try {
         this.publisher.close();
@@ -269,108 +499,241 @@ public abstract class SplunkEventWriter extends DoFn<KV<Integer, SplunkEvent>, S
   }
 
   /**
-   * Utility method to flush a batch of events via {@link HttpEventPublisher}.
+   * Utility method to flush a batch of events via {@link HttpEventPublisher}. When more than one
+   * in-flight request is allowed the batch is handed off to the request executor and its result is
+   * reported once the HEC responds, otherwise the batch is written synchronously.
    *
    * @param receiver Receiver to write {@link SplunkWriteError}s to
+   * @param window Window of the buffered events
+   * @param timestamp Timestamp to use for {@link SplunkWriteError}s emitted at bundle finish
    */
   private void flush(
       OutputReceiver<SplunkWriteError> receiver,
+      BoundedWindow window,
+      Instant timestamp,
       @StateId(BUFFER_STATE_NAME) BagState<SplunkEvent> bufferState,
-      @StateId(COUNT_STATE_NAME) ValueState<Long> countState)
+      @StateId(PAYLOAD_BUFFER_STATE_NAME) BagState<byte[]> payloadBufferState,
+      @StateId(COUNT_STATE_NAME) ValueState<Long> countState,
+      @StateId(BUFFER_SIZE_STATE_NAME) ValueState<Long> bufferSizeState,
+      @StateId(BUFFER_START_STATE_NAME) ValueState<Long> bufferStartState)
       throws IOException {
 
-    if (!bufferState.isEmpty().read()) {
+    // Both buffers are read, so that no events are left behind when an update turns the payload
+    // size tracking on or off.
+    bufferState.readLater();
+    payloadBufferState.readLater();
+    List<SplunkEvent> events = Lists.newArrayList(bufferState.read());
+    List<byte[]> payloads = Lists.newArrayList(payloadBufferState.read());
 
-      HttpResponse response = null;
-      List<SplunkEvent> events = Lists.newArrayList(bufferState.read());
-      long startTime = System.nanoTime();
+    if (!events.isEmpty() || !payloads.isEmpty()) {
+
+      Batch batch = Batch.of(events, payloads);
+      long bytes = MoreObjects.<Long>firstNonNull(bufferSizeState.read(), 0L);
+      Long bufferStart = bufferStartState.read();
+
+      BUFFERED_EVENTS_PER_KEY.update(batch.size());
+      if (maxBatchSizeBytes != null) {
+        BUFFERED_BYTES_PER_KEY.update(bytes);
+      }
+      if (bufferStart != null) {
+        BUFFER_AGE_MS.update(System.currentTimeMillis() - bufferStart);
+      }
+
+      // States are cleared regardless of write success or failure since we
+      // write failed events to an output PCollection.
+      bufferState.clear();
+      payloadBufferState.clear();
+      countState.clear();
+      bufferSizeState.clear();
+      bufferStartState.clear();
+
+      if (requestExecutor == null) {
+        handleWriteResult(publish(batch, System.nanoTime()), batch, bytes, receiver::output);
+      } else {
+        submit(batch, bytes, window, timestamp);
+      }
+    }
+  }
+
+  /**
+   * Hands a batch off to the request executor, blocking while {@code maxInFlightRequests} requests
+   * are already outstanding.
+   */
+  private void submit(Batch batch, long bytes, BoundedWindow window, Instant timestamp) {
+    long enqueuedNanos = System.nanoTime();
+    try {
+      inFlightPermits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while waiting for an in-flight request slot.", e);
+    }
+    IN_FLIGHT_REQUESTS.update(maxInFlightRequests - inFlightPermits.availablePermits());
+
+    Future<WriteResult> result;
+    try {
+      result =
+          requestExecutor.submit(
+              () -> {
+                try {
+                  return publish(batch, enqueuedNanos);
+                } finally {
+                  inFlightPermits.release();
+                }
+              });
+    } catch (RejectedExecutionException e) {
+      inFlightPermits.release();
+      throw e;
+    }
+    pendingWrites.add(new PendingWrite(batch, bytes, window, timestamp, result));
+  }
+
+  /**
+   * Reports the results of in-flight requests that have already completed for the given window.
+   * Requests that are still running, or that belong to other windows, are reported later.
+   */
+  private void drainCompletedWrites(
+      OutputReceiver<SplunkWriteError> receiver, BoundedWindow window) {
+    if (pendingWrites == null || pendingWrites.isEmpty()) {
+      return;
+    }
+
+    Iterator<PendingWrite> iterator = pendingWrites.iterator();
+    while (iterator.hasNext()) {
+      PendingWrite pendingWrite = iterator.next();
+      if (pendingWrite.result.isDone() && pendingWrite.window.equals(window)) {
+        iterator.remove();
+        handleWriteResult(
+            awaitWriteResult(pendingWrite.result),
+            pendingWrite.batch,
+            pendingWrite.bytes,
+            receiver::output);
+      }
+    }
+  }
+
+  /**
+   * Posts a batch of events to HEC and captures the outcome. This method does not touch any Beam
+   * state or metrics, so that it can safely run outside the DoFn thread.
+   *
+   * @param batch {@link Batch} of events to write
+   * @param enqueuedNanos {@link System#nanoTime()} at which the batch was ready to be sent
+   */
+  private WriteResult publish(Batch batch, long enqueuedNanos) {
+
+    HttpResponse response = null;
+    long startTime = System.nanoTime();
+    try {
+      // Important to close this response to avoid connection leak.
+      response = batch.publish(publisher);
+      if (!response.isSuccessStatusCode()) {
+        long latency = System.nanoTime() - startTime;
+        return WriteResult.failure(
+            response.getStatusCode(),
+            response.parseAsString(),
+            response.getStatusMessage(),
+            startTime - enqueuedNanos,
+            latency);
+      }
+
+      return WriteResult.success(startTime - enqueuedNanos, System.nanoTime() - startTime);
+
+    } catch (HttpResponseException e) {
+      return WriteResult.failure(
+          e.getStatusCode(),
+          e.getContent(),
+          e.getStatusMessage(),
+          startTime - enqueuedNanos,
+          System.nanoTime() - startTime);
+
+    } catch (IOException ioe) {
+      return WriteResult.failure(
+          null,
+          ioe.toString(),
+          ioe.toString(),
+          startTime - enqueuedNanos,
+          System.nanoTime() - startTime);
+
+    } finally {
+      // We've observed cases where errors at this point can cause the pipeline to keep retrying
+      // the same events over and over (e.g. from Dataflow Runner's Pub/Sub implementation). Since
+      // the events have either been published or wrapped for error handling, we can safely
+      // ignore this error, though there may or may not be a leak of some type depending on
+      // HttpResponse's implementation. However, any potential leak would still happen if we let
+      // the exception fall through, so this isn't considered a major issue.
       try {
-        // Important to close this response to avoid connection leak.
-        response = publisher.execute(events);
-        if (!response.isSuccessStatusCode()) {
-          UNSUCCESSFUL_WRITE_LATENCY_MS.update(nanosToMillis(System.nanoTime() - startTime));
-          FAILED_WRITES.inc(countState.read());
-          int statusCode = response.getStatusCode();
-          if (statusCode >= 400 && statusCode < 500) {
-            INVALID_REQUESTS.inc();
-          } else if (statusCode >= 500 && statusCode < 600) {
-            SERVER_ERROR_REQUESTS.inc();
-          }
-
-          logWriteFailures(
-              countState,
-              response.getStatusCode(),
-              response.parseAsString(),
-              response.getStatusMessage());
-          flushWriteFailures(
-              events, response.getStatusMessage(), response.getStatusCode(), receiver);
-
-        } else {
-          SUCCESSFUL_WRITE_LATENCY_MS.update(nanosToMillis(System.nanoTime() - startTime));
-          SUCCESS_WRITES.inc(countState.read());
-          VALID_REQUESTS.inc();
-          SUCCESSFUL_WRITE_BATCH_SIZE.update(countState.read());
-
-          if (enableBatchLogs) {
-            LOG.info("Successfully wrote {} events", countState.read());
-          }
+        if (response != null) {
+          response.ignore();
         }
+      } catch (IOException e) {
+        LOG.warn(
+            "Error ignoring response from Splunk. Messages should still have published, but there"
+                + " might be a connection leak.",
+            e);
+      }
+    }
+  }
 
-      } catch (HttpResponseException e) {
-        UNSUCCESSFUL_WRITE_LATENCY_MS.update(nanosToMillis(System.nanoTime() - startTime));
-        FAILED_WRITES.inc(countState.read());
-        int statusCode = e.getStatusCode();
-        if (statusCode >= 400 && statusCode < 500) {
-          INVALID_REQUESTS.inc();
-        } else if (statusCode >= 500 && statusCode < 600) {
-          SERVER_ERROR_REQUESTS.inc();
-        }
+  /**
+   * Utility method to update metrics for a completed request and un-batch failed events.
+   *
+   * @param result {@link WriteResult} of the request
+   * @param batch {@link Batch} of events sent in the request
+   * @param bytes Payload size of the events, if tracked
+   * @param output Consumer to write {@link SplunkWriteError}s to
+   */
+  private void handleWriteResult(
+      WriteResult result,
+      Batch batch,
+      long bytes,
+      Consumer<SplunkWriteError> output) {
+
+    if (requestExecutor != null) {
+      REQUEST_QUEUE_TIME_MS.update(nanosToMillis(result.queueNanos));
+    }
 
-        logWriteFailures(countState, e.getStatusCode(), e.getContent(), e.getStatusMessage());
-        flushWriteFailures(events, e.getStatusMessage(), e.getStatusCode(), receiver);
-
-      } catch (IOException ioe) {
-        UNSUCCESSFUL_WRITE_LATENCY_MS.update(nanosToMillis(System.nanoTime() - startTime));
-        FAILED_WRITES.inc(countState.read());
-        INVALID_REQUESTS.inc();
-
-        logWriteFailures(countState, 0, ioe.toString(), null);
-        flushWriteFailures(events, ioe.toString(), null, receiver);
-
-      } finally {
-        // States are cleared regardless of write success or failure since we
-        // write failed events to an output PCollection.
-        bufferState.clear();
-        countState.clear();
-
-        // We've observed cases where errors at this point can cause the pipeline to keep retrying
-        // the same events over and over (e.g. from Dataflow Runner's Pub/Sub implementation). Since
-        // the events have either been published or wrapped for error handling, we can safely
-        // ignore this error, though there may or may not be a leak of some type depending on
-        // HttpResponse's implementation. However, any potential leak would still happen if we let
-        // the exception fall through, so this isn't considered a major issue.
-        try {
-          if (response != null) {
-            response.ignore();
-          }
-        } catch (IOException e) {
-          LOG.warn(
-              "Error ignoring response from Splunk. Messages should still have published, but there"
-                  + " might be a connection leak.",
-              e);
-        }
+    if (batchSizer != null) {
+      if (result.success) {
+        batchSizer.onSuccess(nanosToMillis(result.latencyNanos), bytes);
+      } else if (result.statusCode != null) {
+        batchSizer.onFailure(result.statusCode, bytes);
       }
+      TARGET_BATCH_SIZE_BYTES.update(batchSizer.targetBytes());
     }
+
+    if (result.success) {
+      SUCCESSFUL_WRITE_LATENCY_MS.update(nanosToMillis(result.latencyNanos));
+      SUCCESS_WRITES.inc(batch.size());
+      VALID_REQUESTS.inc();
+      SUCCESSFUL_WRITE_BATCH_SIZE.update(batch.size());
+
+      if (enableBatchLogs) {
+        LOG.info("Successfully wrote {} events", batch.size());
+      }
+      return;
+    }
+
+    UNSUCCESSFUL_WRITE_LATENCY_MS.update(nanosToMillis(result.latencyNanos));
+    FAILED_WRITES.inc(batch.size());
+    if (result.statusCode == null) {
+      INVALID_REQUESTS.inc();
+    } else if (result.statusCode >= 400 && result.statusCode < 500) {
+      INVALID_REQUESTS.inc();
+    } else if (result.statusCode >= 500 && result.statusCode < 600) {
+      SERVER_ERROR_REQUESTS.inc();
+    }
+
+    logWriteFailures(
+        batch.size(),
+        MoreObjects.firstNonNull(result.statusCode, 0),
+        result.content,
+        result.statusCode == null ? null : result.statusMessage);
+    flushWriteFailures(batch, result.statusMessage, result.statusCode, output);
   }
 
   /** Utility method to log write failures. */
-  private void logWriteFailures(
-      @StateId(COUNT_STATE_NAME) ValueState<Long> countState,
-      int statusCode,
-      String content,
-      String statusMessage) {
+  private void logWriteFailures(int count, int statusCode, String content, String statusMessage) {
     if (enableBatchLogs) {
-      LOG.error("Failed to write {} events", countState.read());
+      LOG.error("Failed to write {} events", count);
     }
     LOG.error(
         "Error writing to Splunk. StatusCode: {}, content: {}, StatusMessage: {}",
@@ -382,18 +745,15 @@ public abstract class SplunkEventWriter extends DoFn<KV<Integer, SplunkEvent>, S
   /**
    * Utility method to un-batch and flush failed write events.
    *
-   * @param events List of {@link SplunkEvent}s to un-batch
+   * @param batch {@link Batch} of events to un-batch
    * @param statusMessage Status message to be added to {@link SplunkWriteError}
    * @param statusCode Status code to be added to {@link SplunkWriteError}
-   * @param receiver Receiver to write {@link SplunkWriteError}s to
+   * @param output Consumer to write {@link SplunkWriteError}s to
    */
   private static void flushWriteFailures(
-      List<SplunkEvent> events,
-      String statusMessage,
-      Integer statusCode,
-      OutputReceiver<SplunkWriteError> receiver) {
+      Batch batch, String statusMessage, Integer statusCode, Consumer<SplunkWriteError> output) {
 
-    checkNotNull(events, "SplunkEvents cannot be null.");
+    checkNotNull(batch, "SplunkEvents cannot be null.");
 
     SplunkWriteError.Builder builder = SplunkWriteError.newBuilder();
 
@@ -405,14 +765,30 @@ public abstract class SplunkEventWriter extends DoFn<KV<Integer, SplunkEvent>, S
       builder.withStatusCode(statusCode);
     }
 
-    for (SplunkEvent event : events) {
-      String payload = GSON.toJson(event);
+    for (String payload : batch.payloadStrings()) {
       SplunkWriteError error = builder.withPayload(payload).build();
 
-      receiver.output(error);
+      output.accept(error);
     }
   }
 
+  /** Waits for an in-flight request to complete and returns its {@link WriteResult}. */
+  private static WriteResult awaitWriteResult(Future<WriteResult> result) {
+    try {
+      return result.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while waiting for Splunk response.", e);
+    } catch (ExecutionException e) {
+      throw new RuntimeException("Error writing events to Splunk.", e.getCause());
+    }
+  }
+
+  /** Returns the payload size at which a batch is flushed, adapted to HEC responses if enabled. */
+  private long targetBatchSizeBytes() {
+    return batchSizer != null ? batchSizer.targetBytes() : maxBatchSizeBytes;
+  }
+
   /**
    * Checks whether the HEC URL matches the format PROTOCOL://HOST[:PORT].
    *
@@ -438,6 +814,117 @@ public abstract class SplunkEventWriter extends DoFn<KV<Integer, SplunkEvent>, S
     return Math.round(((double) ns) / 1e6);
   }
 
+  /** Outcome of a single HEC request. */
+  private static final class WriteResult {
+
+    private final boolean success;
+    @Nullable private final Integer statusCode;
+    @Nullable private final String content;
+    @Nullable private final String statusMessage;
+    private final long queueNanos;
+    private final long latencyNanos;
+
+    private WriteResult(
+        boolean success,
+        @Nullable Integer statusCode,
+        @Nullable String content,
+        @Nullable String statusMessage,
+        long queueNanos,
+        long latencyNanos) {
+      this.success = success;
+      this.statusCode = statusCode;
+      this.content = content;
+      this.statusMessage = statusMessage;
+      this.queueNanos = queueNanos;
+      this.latencyNanos = latencyNanos;
+    }
+
+    static WriteResult success(long queueNanos, long latencyNanos) {
+      return new WriteResult(true, null, null, null, queueNanos, latencyNanos);
+    }
+
+    /** A {@code null} status code denotes a request that failed without an HTTP response. */
+    static WriteResult failure(
+        @Nullable Integer statusCode,
+        String content,
+        String statusMessage,
+        long queueNanos,
+        long latencyNanos) {
+      return new WriteResult(false, statusCode, content, statusMessage, queueNanos, latencyNanos);
+    }
+  }
+
+  /**
+   * The events of a flushed buffer, either as {@link SplunkEvent}s or as the JSON payloads they
+   * were serialized to when buffered.
+   */
+  private static final class Batch {
+
+    @Nullable private final List<SplunkEvent> events;
+    @Nullable private final List<byte[]> payloads;
+
+    private Batch(@Nullable List<SplunkEvent> events, @Nullable List<byte[]> payloads) {
+      this.events = events;
+      this.payloads = payloads;
+    }
+
+    /** Creates a batch, serializing the events only if others were buffered as payloads. */
+    private static Batch of(List<SplunkEvent> events, List<byte[]> payloads) {
+      if (payloads.isEmpty()) {
+        return new Batch(events, null);
+      }
+      for (SplunkEvent event : events) {
+        payloads.add(GSON.toJson(event).getBytes(StandardCharsets.UTF_8));
+      }
+      return new Batch(null, payloads);
+    }
+
+    private int size() {
+      return events != null ? events.size() : payloads.size();
+    }
+
+    private HttpResponse publish(HttpEventPublisher publisher) throws IOException {
+      return events != null ? publisher.execute(events) : publisher.executePayloads(payloads);
+    }
+
+    private List<String> payloadStrings() {
+      List<String> strings = new ArrayList<>(size());
+      if (events != null) {
+        for (SplunkEvent event : events) {
+          strings.add(GSON.toJson(event));
+        }
+      } else {
+        for (byte[] payload : payloads) {
+          strings.add(new String(payload, StandardCharsets.UTF_8));
+        }
+      }
+      return strings;
+    }
+  }
+
+  /** A batch handed off to the request executor whose result has not been reported yet. */
+  private static final class PendingWrite {
+
+    private final Batch batch;
+    private final long bytes;
+    private final BoundedWindow window;
+    private final Instant timestamp;
+    private final Future<WriteResult> result;
+
+    private PendingWrite(
+        Batch batch,
+        long bytes,
+        BoundedWindow window,
+        Instant timestamp,
+        Future<WriteResult> result) {
+      this.batch = batch;
+      this.bytes = bytes;
+      this.window = window;
+      this.timestamp = timestamp;
+      this.result = result;
+    }
+  }
+
   @AutoValue.Builder
   abstract static class Builder {
 
@@ -460,6 +947,14 @@ public abstract class SplunkEventWriter extends DoFn<KV<Integer, SplunkEvent>, S
 
     abstract Builder setInputBatchCount(ValueProvider<Integer> inputBatchCount);
 
+    abstract Builder setMaxInFlightRequests(ValueProvider<Integer> maxInFlightRequests);
+
+    abstract Builder setMaxBatchSizeBytes(ValueProvider<Long> maxBatchSizeBytes);
+
+    abstract Builder setMaxBatchLatencySeconds(ValueProvider<Integer> maxBatchLatencySeconds);
+
+    abstract Builder setEnableAdaptiveBatching(ValueProvider<Boolean> enableAdaptiveBatching);
+
     abstract SplunkEventWriter autoBuild();
 
     /**
@@ -520,6 +1015,50 @@ public abstract class SplunkEventWriter extends DoFn<KV<Integer, SplunkEvent>, S
       return setInputBatchCount(inputBatchCount);
     }
 
+    /**
+     * Method to set the maximum number of concurrent in-flight requests to HEC. Values greater than
+     * 1 enable asynchronous writes over a pool of as many connections.
+     *
+     * @param maxInFlightRequests max number of in-flight post requests.
+     * @return {@link Builder}
+     */
+    public Builder withMaxInFlightRequests(ValueProvider<Integer> maxInFlightRequests) {
+      return setMaxInFlightRequests(maxInFlightRequests);
+    }
+
+    /**
+     * Method to set the maximum payload size of a batch in bytes. A batch is flushed before adding
+     * an event would exceed it.
+     *
+     * @param maxBatchSizeBytes max payload size of post requests.
+     * @return {@link Builder}
+     */
+    public Builder withMaxBatchSizeBytes(ValueProvider<Long> maxBatchSizeBytes) {
+      return setMaxBatchSizeBytes(maxBatchSizeBytes);
+    }
+
+    /**
+     * Method to set the maximum time the oldest event of a batch waits for more events while
+     * events keep arriving.
+     *
+     * @param maxBatchLatencySeconds max latency of buffered events.
+     * @return {@link Builder}
+     */
+    public Builder withMaxBatchLatencySeconds(ValueProvider<Integer> maxBatchLatencySeconds) {
+      return setMaxBatchLatencySeconds(maxBatchLatencySeconds);
+    }
+
+    /**
+     * Method to enable adapting the batch size to HEC latency and throttling responses, up to
+     * {@code maxBatchSizeBytes}.
+     *
+     * @param enableAdaptiveBatching for enabling adaptive batching.
+     * @return {@link Builder}
+     */
+    public Builder withEnableAdaptiveBatching(ValueProvider<Boolean> enableAdaptiveBatching) {
+      return setEnableAdaptiveBatching(enableAdaptiveBatching);
+    }
+
     /**
      * Method to disable certificate validation.
      *
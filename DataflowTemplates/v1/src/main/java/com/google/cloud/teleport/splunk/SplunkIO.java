@@ -81,6 +81,18 @@ public class SplunkIO {
     @Nullable
     abstract ValueProvider<Boolean> enableGzipHttpCompression();
 
+    @Nullable
+    abstract ValueProvider<Integer> maxInFlightRequests();
+
+    @Nullable
+    abstract ValueProvider<Long> maxBatchSizeBytes();
+
+    @Nullable
+    abstract ValueProvider<Integer> maxBatchLatencySeconds();
+
+    @Nullable
+    abstract ValueProvider<Boolean> enableAdaptiveBatching();
+
     @Override
     public PCollection<SplunkWriteError> expand(PCollection<SplunkEvent> input) {
 
@@ -93,7 +105,11 @@ public class SplunkIO {
               .withToken((token()))
               .withRootCaCertificatePath(rootCaCertificatePath())
               .withEnableBatchLogs(enableBatchLogs())
-              .withEnableGzipHttpCompression(enableGzipHttpCompression());
+              .withEnableGzipHttpCompression(enableGzipHttpCompression())
+              .withMaxInFlightRequests(maxInFlightRequests())
+              .withMaxBatchSizeBytes(maxBatchSizeBytes())
+              .withMaxBatchLatencySeconds(maxBatchLatencySeconds())
+              .withEnableAdaptiveBatching(enableAdaptiveBatching());
 
       SplunkEventWriter writer = builder.build();
       LOG.info("SplunkEventWriter configured");
@@ -131,6 +147,14 @@ public class SplunkIO {
       abstract Builder setEnableGzipHttpCompression(
           ValueProvider<Boolean> enableGzipHttpCompression);
 
+      abstract Builder setMaxInFlightRequests(ValueProvider<Integer> maxInFlightRequests);
+
+      abstract Builder setMaxBatchSizeBytes(ValueProvider<Long> maxBatchSizeBytes);
+
+      abstract Builder setMaxBatchLatencySeconds(ValueProvider<Integer> maxBatchLatencySeconds);
+
+      abstract Builder setEnableAdaptiveBatching(ValueProvider<Boolean> enableAdaptiveBatching);
+
       abstract Write autoBuild();
 
       /**
@@ -323,6 +347,102 @@ public class SplunkIO {
             ValueProvider.StaticValueProvider.of(enableGzipHttpCompression));
       }
 
+      /**
+       * Method to set the maximum number of in-flight requests per writer. Values greater than 1
+       * send batches asynchronously over a pool of as many HEC connections.
+       *
+       * @param maxInFlightRequests max number of in-flight post requests.
+       * @return {@link Builder}
+       */
+      public Builder withMaxInFlightRequests(ValueProvider<Integer> maxInFlightRequests) {
+        return setMaxInFlightRequests(maxInFlightRequests);
+      }
+
+      /**
+       * Same as {@link Builder#withMaxInFlightRequests(ValueProvider)} but without a {@link
+       * ValueProvider}.
+       *
+       * @param maxInFlightRequests max number of in-flight post requests.
+       * @return {@link Builder}
+       */
+      public Builder withMaxInFlightRequests(Integer maxInFlightRequests) {
+        checkArgument(
+            maxInFlightRequests != null,
+            "withMaxInFlightRequests(maxInFlightRequests) called with null input.");
+        return setMaxInFlightRequests(ValueProvider.StaticValueProvider.of(maxInFlightRequests));
+      }
+
+      /**
+       * Method to set the maximum payload size of a batch in bytes.
+       *
+       * @param maxBatchSizeBytes max payload size of post requests.
+       * @return {@link Builder}
+       */
+      public Builder withMaxBatchSizeBytes(ValueProvider<Long> maxBatchSizeBytes) {
+        return setMaxBatchSizeBytes(maxBatchSizeBytes);
+      }
+
+      /**
+       * Same as {@link Builder#withMaxBatchSizeBytes(ValueProvider)} but without a {@link
+       * ValueProvider}.
+       *
+       * @param maxBatchSizeBytes max payload size of post requests.
+       * @return {@link Builder}
+       */
+      public Builder withMaxBatchSizeBytes(Long maxBatchSizeBytes) {
+        checkArgument(
+            maxBatchSizeBytes != null,
+            "withMaxBatchSizeBytes(maxBatchSizeBytes) called with null input.");
+        return setMaxBatchSizeBytes(ValueProvider.StaticValueProvider.of(maxBatchSizeBytes));
+      }
+
+      /**
+       * Method to set the maximum time the oldest buffered event waits for a batch to fill up.
+       *
+       * @param maxBatchLatencySeconds max latency of buffered events.
+       * @return {@link Builder}
+       */
+      public Builder withMaxBatchLatencySeconds(ValueProvider<Integer> maxBatchLatencySeconds) {
+        return setMaxBatchLatencySeconds(maxBatchLatencySeconds);
+      }
+
+      /**
+       * Same as {@link Builder#withMaxBatchLatencySeconds(ValueProvider)} but without a {@link
+       * ValueProvider}.
+       *
+       * @param maxBatchLatencySeconds max latency of buffered events.
+       * @return {@link Builder}
+       */
+      public Builder withMaxBatchLatencySeconds(Integer maxBatchLatencySeconds) {
+        checkArgument(
+            maxBatchLatencySeconds != null,
+            "withMaxBatchLatencySeconds(maxBatchLatencySeconds) called with null input.");
+        return setMaxBatchLatencySeconds(
+            ValueProvider.StaticValueProvider.of(maxBatchLatencySeconds));
+      }
+
+      /**
+       * Method to enable adapting the batch size to HEC latency and throttling responses.
+       *
+       * @param enableAdaptiveBatching for enabling adaptive batching.
+       * @return {@link Builder}
+       */
+      public Builder withEnableAdaptiveBatching(ValueProvider<Boolean> enableAdaptiveBatching) {
+        return setEnableAdaptiveBatching(enableAdaptiveBatching);
+      }
+
+      /**
+       * Same as {@link Builder#withEnableAdaptiveBatching(ValueProvider)} but without a {@link
+       * ValueProvider}.
+       *
+       * @param enableAdaptiveBatching for enabling adaptive batching.
+       * @return {@link Builder}
+       */
+      public Builder withEnableAdaptiveBatching(Boolean enableAdaptiveBatching) {
+        return setEnableAdaptiveBatching(
+            ValueProvider.StaticValueProvider.of(enableAdaptiveBatching));
+      }
+
       public Write build() {
         checkNotNull(url(), "HEC url is required.");
         checkNotNull(token(), "Authorization token is required.");
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.splunk;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.api.client.http.AbstractHttpContent;
+import com.google.api.client.http.HttpMediaType;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * {@link SplunkPayloadContent} is an {@link com.google.api.client.http.HttpContent} made of {@link
+ * SplunkEvent}s that were already serialized to JSON, written to the request as they are.
+ *
+ * <p>The payloads are neither serialized again nor concatenated into a single array, and their
+ * total length is known up front.
+ */
+class SplunkPayloadContent extends AbstractHttpContent {
+
+  private final List<byte[]> payloads;
+
+  private final long length;
+
+  SplunkPayloadContent(HttpMediaType mediaType, List<byte[]> payloads) {
+    super(mediaType);
+    this.payloads = checkNotNull(payloads, "Payloads cannot be null.");
+    long length = 0;
+    for (byte[] payload : payloads) {
+      length += payload.length;
+    }
+    this.length = length;
+  }
+
+  @Override
+  public long getLength() {
+    return length;
+  }
+
+  /** The payloads are kept around, so the content can be written again on a retried request. */
+  @Override
+  public boolean retrySupported() {
+    return true;
+  }
+
+  @Override
+  public void writeTo(OutputStream out) throws IOException {
+    for (byte[] payload : payloads) {
+      out.write(payload);
+    }
+    out.flush();
+  }
+}
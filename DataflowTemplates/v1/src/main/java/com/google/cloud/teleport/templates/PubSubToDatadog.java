@@ -246,6 +246,8 @@ public class PubSubToDatadog {
                     .withUrl(options.getUrl())
                     .withBatchCount(options.getBatchCount())
                     .withParallelism(options.getParallelism())
+                    .withMaxBatchLatencySeconds(options.getMaxBatchLatencySeconds())
+                    .withEnableAdaptiveBatching(options.getEnableAdaptiveBatching())
                     .build());
 
     // 5a) Wrap write failures into a FailsafeElement.
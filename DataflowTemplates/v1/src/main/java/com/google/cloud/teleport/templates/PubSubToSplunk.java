@@ -252,6 +252,10 @@ public class PubSubToSplunk {
                     .withRootCaCertificatePath(options.getRootCaCertificatePath())
                     .withEnableBatchLogs(options.getEnableBatchLogs())
                     .withEnableGzipHttpCompression(options.getEnableGzipHttpCompression())
+                    .withMaxInFlightRequests(options.getMaxInFlightRequests())
+                    .withMaxBatchSizeBytes(options.getMaxBatchSizeBytes())
+                    .withMaxBatchLatencySeconds(options.getMaxBatchLatencySeconds())
+                    .withEnableAdaptiveBatching(options.getEnableAdaptiveBatching())
                     .build());
 
     // 5a) Wrap write failures into a FailsafeElement.
@@ -178,6 +178,26 @@ public class DatadogConverters {
     ValueProvider<String> getApiKeySource();
 
     void setApiKeySource(ValueProvider<String> apiKeySource);
+
+    @TemplateParameter.Integer(
+        order = 9,
+        optional = true,
+        description = "Maximum batch latency in seconds.",
+        helpText =
+            "The maximum time in seconds that the oldest event of a batch waits for the batch to fill up while events keep arriving. By default, a batch waits until it is full or no event arrives for 2 seconds.")
+    ValueProvider<Integer> getMaxBatchLatencySeconds();
+
+    void setMaxBatchLatencySeconds(ValueProvider<Integer> maxBatchLatencySeconds);
+
+    @TemplateParameter.Boolean(
+        order = 10,
+        optional = true,
+        description = "Enable adaptive batching.",
+        helpText =
+            "Whether the batch payload size should adapt to the write latency and throttling responses (HTTP 413, 429 and 503) of the Datadog Logs API, up to the 5MB payload limit. The default is `false`.")
+    ValueProvider<Boolean> getEnableAdaptiveBatching();
+
+    void setEnableAdaptiveBatching(ValueProvider<Boolean> enableAdaptiveBatching);
   }
 
   private static class FailsafeStringToDatadogEvent
@@ -35,7 +35,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import javax.script.Invocable;
@@ -48,6 +51,7 @@ import org.apache.beam.sdk.io.fs.MatchResult;
 import org.apache.beam.sdk.io.fs.MatchResult.Metadata;
 import org.apache.beam.sdk.io.fs.MatchResult.Status;
 import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Distribution;
 import org.apache.beam.sdk.metrics.Metrics;
 import org.apache.beam.sdk.options.Default;
 import org.apache.beam.sdk.options.PipelineOptions;
@@ -133,12 +137,29 @@ public abstract class JavascriptTextTransformer {
     @Nullable
     public abstract Integer reloadIntervalMinutes();
 
-    private static LoadingCache<JavascriptRuntime, Invocable> cache =
+    /**
+     * Maximum number of engines compiled for the UDF. When not set, an engine is compiled for every
+     * thread that invokes the UDF concurrently, so the pool grows to the harness thread count.
+     */
+    @Nullable
+    public abstract Integer maxPoolSize();
+
+    // Invocable returned by getInvocable(), recompiled when a reload replaces its pool.
+    @Nullable private transient EnginePool invocablePool;
+    @Nullable private transient Invocable invocable;
+
+    private static final Distribution JAVASCRIPT_POOL_WAIT_US =
+        Metrics.distribution(JavascriptTextTransformer.class, "javascript_pool_wait_us");
+
+    private static final Distribution JAVASCRIPT_INVOCATION_LATENCY_US =
+        Metrics.distribution(JavascriptTextTransformer.class, "javascript_invocation_latency_us");
+
+    private static LoadingCache<JavascriptRuntime, EnginePool> cache =
         Caffeine.newBuilder()
             .expireAfter(
-                new Expiry<JavascriptRuntime, Invocable>() {
+                new Expiry<JavascriptRuntime, EnginePool>() {
                   public long expireAfterCreate(
-                      JavascriptRuntime runtime, Invocable invocable, long currentTime) {
+                      JavascriptRuntime runtime, EnginePool pool, long currentTime) {
                     // Do not expire if reload is disabled
                     if (runtime.reloadIntervalMinutes() == null
                         || runtime.reloadIntervalMinutes() <= 0) {
@@ -149,7 +170,7 @@ public abstract class JavascriptTextTransformer {
 
                   public long expireAfterUpdate(
                       JavascriptRuntime runtime,
-                      Invocable invocable,
+                      EnginePool pool,
                       long currentTime,
                       long currentDuration) {
                     return currentDuration;
@@ -157,13 +178,13 @@ public abstract class JavascriptTextTransformer {
 
                   public long expireAfterRead(
                       JavascriptRuntime runtime,
-                      Invocable invocable,
+                      EnginePool pool,
                       long currentTime,
                       long currentDuration) {
                     return currentDuration;
                   }
                 })
-            .build(runtime -> buildInvocable(runtime));
+            .build(runtime -> buildEnginePool(runtime));
 
     /** Builder for {@link JavascriptTextTransformer}. */
     @AutoValue.Builder
@@ -174,7 +195,17 @@ public abstract class JavascriptTextTransformer {
 
       public abstract Builder setReloadIntervalMinutes(@Nullable Integer value);
 
-      public abstract JavascriptRuntime build();
+      public abstract Builder setMaxPoolSize(@Nullable Integer value);
+
+      abstract JavascriptRuntime autoBuild();
+
+      public JavascriptRuntime build() {
+        JavascriptRuntime runtime = autoBuild();
+        checkArgument(
+            runtime.maxPoolSize() == null || runtime.maxPoolSize() > 0,
+            "maxPoolSize must be greater than 0.");
+        return runtime;
+      }
     }
 
     /**
@@ -187,18 +218,30 @@ public abstract class JavascriptTextTransformer {
     }
 
     /**
-     * Gets a cached Javascript Invocable, if fileSystemPath() not set, returns null.
+     * Gets a Javascript Invocable compiled from the cached scripts, if fileSystemPath() not set,
+     * returns null. The Invocable is compiled once per runtime and version of the scripts, and is
+     * not shared with {@link #invoke(String)}, so the owner of this runtime may use it without
+     * further synchronization.
      *
      * @return a Javascript Invocable or null
      */
     @Nullable
-    public Invocable getInvocable() {
+    public synchronized Invocable getInvocable() {
 
       // return null if no UDF path specified.
       if (Strings.isNullOrEmpty(fileSystemPath())) {
         return null;
       }
-      return cache.get(this);
+      EnginePool pool = cache.get(this);
+      if (pool != invocablePool) {
+        try {
+          invocable = newInvocable(pool.scripts);
+        } catch (ScriptException e) {
+          throw new RuntimeException("Failed to compile the JavaScript UDF.", e);
+        }
+        invocablePool = pool;
+      }
+      return invocable;
     }
 
     public static Invocable buildInvocable(JavascriptRuntime runtime)
@@ -208,6 +251,13 @@ public abstract class JavascriptTextTransformer {
       return newInvocable(scripts);
     }
 
+    private static EnginePool buildEnginePool(JavascriptRuntime runtime)
+        throws IOException, ScriptException {
+      Collection<String> scripts = getScripts(runtime.fileSystemPath());
+      return new EnginePool(
+          scripts, runtime.maxPoolSize() != null ? runtime.maxPoolSize() : Integer.MAX_VALUE);
+    }
+
     /**
      * Factory method for making a new Invocable.
      *
@@ -253,14 +303,25 @@ public abstract class JavascriptTextTransformer {
      */
     @Nullable
     public String invoke(String data) throws ScriptException, IOException, NoSuchMethodException {
-      Invocable invocable = getInvocable();
-      if (invocable == null) {
+      if (Strings.isNullOrEmpty(fileSystemPath())) {
         throw new RuntimeException("No UDF was loaded");
       }
 
+      // Engines are released to the pool they were borrowed from, so an invocation that overlaps a
+      // reload completes on the old scripts and the old pool is dropped once all engines are back.
+      EnginePool pool = cache.get(this);
+      long waitStart = System.nanoTime();
+      Invocable invocable = pool.borrow();
+      long invokeStart = System.nanoTime();
+      JAVASCRIPT_POOL_WAIT_US.update(TimeUnit.NANOSECONDS.toMicros(invokeStart - waitStart));
+
       Object result;
-      synchronized (invocable) {
+      try {
         result = invocable.invokeFunction(functionName(), data);
+      } finally {
+        pool.release(invocable);
+        JAVASCRIPT_INVOCATION_LATENCY_US.update(
+            TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - invokeStart));
       }
       if (result == null || ScriptObjectMirror.isUndefined(result)) {
         return null;
@@ -300,6 +361,56 @@ public abstract class JavascriptTextTransformer {
               })
           .collect(Collectors.toList());
     }
+
+    /**
+     * Engines compiled from one version of the UDF scripts. A Nashorn engine must not be used by
+     * two threads at once, so each invocation borrows an engine for its own use instead of
+     * synchronizing on a single shared one. Engines are compiled lazily, up to {@code maxSize}.
+     */
+    private static final class EnginePool {
+
+      private final Collection<String> scripts;
+
+      private final int maxSize;
+
+      private final BlockingQueue<Invocable> idle = new LinkedBlockingQueue<>();
+
+      private final AtomicInteger size = new AtomicInteger();
+
+      EnginePool(Collection<String> scripts, int maxSize) throws ScriptException {
+        this.scripts = scripts;
+        this.maxSize = maxSize;
+        // Compile one engine up front so that broken scripts still fail when the UDF is loaded.
+        idle.add(newInvocable(scripts));
+        size.set(1);
+      }
+
+      Invocable borrow() throws ScriptException, IOException {
+        Invocable invocable = idle.poll();
+        if (invocable != null) {
+          return invocable;
+        }
+        if (size.incrementAndGet() <= maxSize) {
+          try {
+            return newInvocable(scripts);
+          } catch (ScriptException | RuntimeException e) {
+            size.decrementAndGet();
+            throw e;
+          }
+        }
+        size.decrementAndGet();
+        try {
+          return idle.take();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException("Interrupted while waiting for a JavaScript engine.", e);
+        }
+      }
+
+      void release(Invocable invocable) {
+        idle.add(invocable);
+      }
+    }
   }
 
   /** Transforms Text Strings via a Javascript UDF. */
@@ -225,6 +225,46 @@ public class SplunkConverters {
     ValueProvider<Boolean> getEnableGzipHttpCompression();
 
     void setEnableGzipHttpCompression(ValueProvider<Boolean> enableGzipHttpCompression);
+
+    @TemplateParameter.Integer(
+        order = 13,
+        optional = true,
+        description = "Maximum number of in-flight requests per writer.",
+        helpText =
+            "The maximum number of HEC requests that each writer keeps in flight at once. Values greater than 1 send batches asynchronously over a pool of as many connections, and failed batches are reported as their responses arrive. Defaults to 1 (synchronous requests).")
+    ValueProvider<Integer> getMaxInFlightRequests();
+
+    void setMaxInFlightRequests(ValueProvider<Integer> maxInFlightRequests);
+
+    @TemplateParameter.Long(
+        order = 14,
+        optional = true,
+        description = "Maximum batch payload size in bytes.",
+        helpText =
+            "The maximum size in bytes of the JSON payload of a batch sent to Splunk HEC. A batch is sent before adding an event would exceed this size. By default, batches are only bounded by `batchCount`.")
+    ValueProvider<Long> getMaxBatchSizeBytes();
+
+    void setMaxBatchSizeBytes(ValueProvider<Long> maxBatchSizeBytes);
+
+    @TemplateParameter.Integer(
+        order = 15,
+        optional = true,
+        description = "Maximum batch latency in seconds.",
+        helpText =
+            "The maximum time in seconds that the oldest event of a batch waits for the batch to fill up while events keep arriving. By default, a batch waits until it is full or no event arrives for 2 seconds.")
+    ValueProvider<Integer> getMaxBatchLatencySeconds();
+
+    void setMaxBatchLatencySeconds(ValueProvider<Integer> maxBatchLatencySeconds);
+
+    @TemplateParameter.Boolean(
+        order = 16,
+        optional = true,
+        description = "Enable adaptive batching.",
+        helpText =
+            "Specifies whether the batch payload size should adapt to the write latency and throttling responses (HTTP 413, 429 and 503) of Splunk HEC, up to `maxBatchSizeBytes`, which must be set. Default: `false`.")
+    ValueProvider<Boolean> getEnableAdaptiveBatching();
+
+    void setEnableAdaptiveBatching(ValueProvider<Boolean> enableAdaptiveBatching);
   }
 
   private static class FailsafeStringToSplunkEvent
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * The {@link AdaptiveBatchSizer} class tracks the target size, in bytes, of batches written to an
+ * HTTP endpoint and adapts it to the responses observed for previous batches.
+ *
+ * <p>The target grows additively after successful writes that filled at least half of it and
+ * completed within the latency goal. It is halved after slow writes, payload too large (HTTP 413)
+ * and throttling (HTTP 429 or 503) responses. The target always stays between the configured
+ * minimum and maximum.
+ *
+ * <p>Instances are not thread-safe and are meant to be owned by a single DoFn instance.
+ */
+public class AdaptiveBatchSizer {
+
+  /** Default latency goal for a single successful write, in milliseconds. */
+  public static final long DEFAULT_TARGET_LATENCY_MILLIS = 1000L;
+
+  private static final long DEFAULT_MIN_BYTES = 16L * 1024;
+
+  private static final int INCREASE_STEPS = 20;
+
+  private static final int STATUS_PAYLOAD_TOO_LARGE = 413;
+
+  private static final int STATUS_TOO_MANY_REQUESTS = 429;
+
+  private static final int STATUS_SERVICE_UNAVAILABLE = 503;
+
+  private final long minBytes;
+
+  private final long maxBytes;
+
+  private final long increment;
+
+  private final long targetLatencyMillis;
+
+  private long targetBytes;
+
+  private AdaptiveBatchSizer(long minBytes, long maxBytes, long targetLatencyMillis) {
+    this.minBytes = minBytes;
+    this.maxBytes = maxBytes;
+    this.increment = Math.max(1L, (maxBytes - minBytes) / INCREASE_STEPS);
+    this.targetLatencyMillis = targetLatencyMillis;
+    this.targetBytes = Math.max(minBytes, maxBytes / 4);
+  }
+
+  /**
+   * Creates a sizer that adapts between a small lower bound and {@code maxBytes}, with the {@link
+   * #DEFAULT_TARGET_LATENCY_MILLIS default latency goal}.
+   *
+   * @param maxBytes upper bound of the target batch size, usually the endpoint's payload limit.
+   */
+  public static AdaptiveBatchSizer of(long maxBytes) {
+    return of(Math.min(DEFAULT_MIN_BYTES, maxBytes), maxBytes, DEFAULT_TARGET_LATENCY_MILLIS);
+  }
+
+  /**
+   * Creates a sizer that adapts between {@code minBytes} and {@code maxBytes}.
+   *
+   * @param minBytes lower bound of the target batch size.
+   * @param maxBytes upper bound of the target batch size.
+   * @param targetLatencyMillis successful writes slower than this shrink the target.
+   */
+  public static AdaptiveBatchSizer of(long minBytes, long maxBytes, long targetLatencyMillis) {
+    checkArgument(minBytes > 0, "minBytes must be greater than 0.");
+    checkArgument(maxBytes >= minBytes, "maxBytes must be greater than or equal to minBytes.");
+    checkArgument(targetLatencyMillis > 0, "targetLatencyMillis must be greater than 0.");
+    return new AdaptiveBatchSizer(minBytes, maxBytes, targetLatencyMillis);
+  }
+
+  /** Returns the current target size of a batch in bytes. */
+  public long targetBytes() {
+    return targetBytes;
+  }
+
+  /**
+   * Records a successful write.
+   *
+   * @param latencyMillis time it took to write the batch.
+   * @param batchBytes size of the batch that was written.
+   */
+  public void onSuccess(long latencyMillis, long batchBytes) {
+    if (latencyMillis > targetLatencyMillis) {
+      decrease();
+    } else if (batchBytes * 2 >= targetBytes) {
+      // Only grow when batches actually come close to the target, otherwise a low-traffic key
+      // would push the target up without the endpoint ever seeing batches of that size.
+      targetBytes = Math.min(maxBytes, targetBytes + increment);
+    }
+  }
+
+  /**
+   * Records a failed write.
+   *
+   * @param statusCode HTTP status code of the response.
+   * @param batchBytes size of the batch that failed.
+   */
+  public void onFailure(int statusCode, long batchBytes) {
+    if (statusCode == STATUS_PAYLOAD_TOO_LARGE) {
+      // The batch may have been smaller than the target, e.g. when the endpoint limit is lower
+      // than the configured maximum, so shrink relative to whichever was smaller.
+      targetBytes = Math.max(minBytes, Math.min(targetBytes, batchBytes) / 2);
+    } else if (statusCode == STATUS_TOO_MANY_REQUESTS || statusCode == STATUS_SERVICE_UNAVAILABLE) {
+      decrease();
+    }
+  }
+
+  private void decrease() {
+    targetBytes = Math.max(minBytes, targetBytes / 2);
+  }
+}
@@ -57,8 +57,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.OptionalInt;
 import java.util.concurrent.TimeUnit;
@@ -66,7 +66,7 @@ import org.apache.beam.runners.core.metrics.GcpResourceIdentifiers;
 import org.apache.beam.runners.core.metrics.MonitoringInfoConstants;
 import org.apache.beam.runners.core.metrics.ServiceCallMetric;
 import org.apache.beam.sdk.coders.Coder;
-import org.apache.beam.sdk.coders.SerializableCoder;
+import org.apache.beam.sdk.coders.IterableCoder;
 import org.apache.beam.sdk.io.gcp.spanner.changestreams.ChangeStreamMetrics;
 import org.apache.beam.sdk.io.gcp.spanner.changestreams.action.ActionFactory;
 import org.apache.beam.sdk.io.gcp.spanner.changestreams.dao.DaoFactory;
@@ -254,7 +254,9 @@ import org.slf4j.LoggerFactory;
  *
  * <p>Note that each worker will need enough memory to hold {@code GroupingFactor x
  * MaxBatchSizeBytes} Mutations, so if you have a large {@code MaxBatchSize} you may need to reduce
- * {@code GroupingFactor}
+ * {@code GroupingFactor} or set {@link Write#withMaxSortMemoryBytes(long)
+ * withMaxSortMemoryBytes()}, which spills sorted runs of Mutations to local disk instead of holding
+ * the whole group in memory.
  *
  * <p>While Grouping and Batching increases write efficiency, it dramatically increases the latency
  * between when a Mutation is received by the transform, and when it is actually written to the
@@ -964,6 +966,8 @@ public class LocalSpannerIO {
 
     abstract OptionalInt getGroupingFactor();
 
+    abstract @Nullable ValueProvider<Long> getMaxSortMemoryBytes();
+
     abstract @Nullable PCollectionView<Dialect> getDialectView();
 
     abstract Builder toBuilder();
@@ -985,6 +989,8 @@ public class LocalSpannerIO {
 
       abstract Builder setGroupingFactor(int groupingFactor);
 
+      abstract Builder setMaxSortMemoryBytes(ValueProvider<Long> maxSortMemoryBytes);
+
       abstract Builder setDialectView(PCollectionView<Dialect> dialect);
 
       abstract Write build();
@@ -1138,6 +1144,25 @@ public class LocalSpannerIO {
       return toBuilder().setGroupingFactor(groupingFactor).build();
     }
 
+    /**
+     * Specifies the estimated size of the mutations held in memory while sorting them for
+     * batching. Once exceeded, the sorted mutations are spilled to local disk and merged with the
+     * rest when the group is complete, which allows large grouping factors with bounded memory use.
+     * By default all mutations of a group are sorted in memory.
+     */
+    public Write withMaxSortMemoryBytes(long maxSortMemoryBytes) {
+      checkArgument(maxSortMemoryBytes > 0, "maxSortMemoryBytes must be greater than 0");
+      return withMaxSortMemoryBytes(StaticValueProvider.of(maxSortMemoryBytes));
+    }
+
+    /**
+     * Same as {@link #withMaxSortMemoryBytes(long)} but with a {@link ValueProvider}. A missing or
+     * non-positive value sorts all mutations of a group in memory.
+     */
+    public Write withMaxSortMemoryBytes(ValueProvider<Long> maxSortMemoryBytes) {
+      return toBuilder().setMaxSortMemoryBytes(maxSortMemoryBytes).build();
+    }
+
     public Write withLowPriority() {
       SpannerConfig config = getSpannerConfig();
       return withSpannerConfig(config.withRpcPriority(RpcPriority.LOW));
@@ -1154,6 +1179,7 @@ public class LocalSpannerIO {
 
       return input
           .apply("To mutation group", ParDo.of(new ToMutationGroupFn()))
+          .setCoder(MutationGroupCoder.of())
           .apply("Write mutations to Cloud Spanner", new WriteGrouped(this));
     }
 
@@ -1183,6 +1209,9 @@ public class LocalSpannerIO {
                       ? Integer.toString(getGroupingFactor().getAsInt())
                       : "DEFAULT"))
               .withLabel("Number of batches to sort over"));
+      builder.addIfNotNull(
+          DisplayData.item("maxSortMemoryBytes", getMaxSortMemoryBytes())
+              .withLabel("Max size of mutations sorted in memory"));
     }
   }
 
@@ -1227,8 +1256,7 @@ public class LocalSpannerIO {
     private static final TupleTag<Void> MAIN_OUT_TAG = new TupleTag<Void>("mainOut") {};
     private static final TupleTag<MutationGroup> FAILED_MUTATIONS_TAG =
         new TupleTag<MutationGroup>("failedMutations") {};
-    private static final SerializableCoder<MutationGroup> CODER =
-        SerializableCoder.of(MutationGroup.class);
+    private static final MutationGroupCoder CODER = MutationGroupCoder.of();
 
     public WriteGrouped(Write spec) {
       this.spec = spec;
@@ -1259,7 +1287,10 @@ public class LocalSpannerIO {
         LOG.info("Batching of mutationGroups is disabled");
         TypeDescriptor<Iterable<MutationGroup>> descriptor =
             new TypeDescriptor<Iterable<MutationGroup>>() {};
-        batches = input.apply(MapElements.into(descriptor).via(ImmutableList::of));
+        batches =
+            input
+                .apply(MapElements.into(descriptor).via(ImmutableList::of))
+                .setCoder(IterableCoder.of(CODER));
       } else {
 
         // First, read the Cloud Spanner schema.
@@ -1298,6 +1329,8 @@ public class LocalSpannerIO {
                         .withSideInputs(schemaView)
                         .withOutputTags(
                             BATCHABLE_MUTATIONS_TAG, TupleTagList.of(UNBATCHABLE_MUTATIONS_TAG)));
+        filteredMutations.get(BATCHABLE_MUTATIONS_TAG).setCoder(CODER);
+        filteredMutations.get(UNBATCHABLE_MUTATIONS_TAG).setCoder(IterableCoder.of(CODER));
 
         // Build a set of Mutation groups from the current bundle,
         // sort them by table/key then split into batches.
@@ -1317,8 +1350,10 @@ public class LocalSpannerIO {
                                         input.isBounded() == IsBounded.BOUNDED
                                             ? DEFAULT_GROUPING_FACTOR
                                             : 1),
+                                spec.getMaxSortMemoryBytes(),
                                 schemaView))
-                        .withSideInputs(schemaView));
+                        .withSideInputs(schemaView))
+                .setCoder(IterableCoder.of(CODER));
 
         // Merge the batched and unbatchable mutation PCollections and write to Spanner.
         batches =
@@ -1334,6 +1369,7 @@ public class LocalSpannerIO {
                       new WriteToSpannerFn(
                           spec.getSpannerConfig(), spec.getFailureMode(), FAILED_MUTATIONS_TAG))
                   .withOutputTags(MAIN_OUT_TAG, TupleTagList.of(FAILED_MUTATIONS_TAG)));
+      result.get(FAILED_MUTATIONS_TAG).setCoder(CODER);
 
       return new SpannerWriteResult(
           input.getPipeline(),
@@ -1699,8 +1735,10 @@ public class LocalSpannerIO {
     private final long maxSortableSizeBytes;
     private final long maxSortableNumMutations;
     private final long maxSortableNumRows;
+    private final @Nullable ValueProvider<Long> maxSortMemoryBytes;
+    private final boolean spillable;
     private final PCollectionView<SpannerSchema> schemaView;
-    private final ArrayList<MutationGroupContainer> mutationsToSort = new ArrayList<>();
+    private transient MutationGroupSorter mutationsToSort;
 
     // total size of MutationGroups in mutationsToSort.
     private long sortableSizeBytes = 0;
@@ -1715,6 +1753,23 @@ public class LocalSpannerIO {
         long maxNumRows,
         long groupingFactor,
         PCollectionView<SpannerSchema> schemaView) {
+      this(maxBatchSizeBytes, maxNumMutations, maxNumRows, groupingFactor, null, schemaView);
+    }
+
+    /**
+     * Creates the DoFn.
+     *
+     * @param maxSortMemoryBytes when positive, mutation groups beyond this estimated size are
+     *     spilled to local disk in sorted runs while gathering, which bounds the heap used by large
+     *     grouping factors. Otherwise all gathered groups are sorted in memory.
+     */
+    GatherSortCreateBatchesFn(
+        long maxBatchSizeBytes,
+        long maxNumMutations,
+        long maxNumRows,
+        long groupingFactor,
+        @Nullable ValueProvider<Long> maxSortMemoryBytes,
+        PCollectionView<SpannerSchema> schemaView) {
       this.maxBatchSizeBytes = maxBatchSizeBytes;
       this.maxBatchNumMutations = maxNumMutations;
       this.maxBatchNumRows = maxNumRows;
@@ -1726,18 +1781,48 @@ public class LocalSpannerIO {
       this.maxSortableSizeBytes = maxBatchSizeBytes * groupingFactor;
       this.maxSortableNumMutations = maxNumMutations * groupingFactor;
       this.maxSortableNumRows = maxNumRows * groupingFactor;
+      this.maxSortMemoryBytes = maxSortMemoryBytes;
+      // Without grouping a single batch is gathered, which is never worth spilling.
+      this.spillable = groupingFactor > 1;
       this.schemaView = schemaView;
 
       initSorter();
     }
 
+    @Setup
+    public synchronized void setup() {
+      initSorter();
+    }
+
+    @Teardown
+    public synchronized void teardown() {
+      initSorter();
+    }
+
     private synchronized void initSorter() {
-      mutationsToSort.clear();
+      if (mutationsToSort == null) {
+        mutationsToSort = new MutationGroupSorter(sortMemoryBytes());
+      } else {
+        mutationsToSort.clear();
+      }
       sortableSizeBytes = 0;
       sortableNumCells = 0;
       sortableNumRows = 0;
     }
 
+    /**
+     * Returns the spill threshold of the sorter. Runtime template parameters are not accessible
+     * while the pipeline is constructed, so the sorter created then never spills; it is transient
+     * and recreated on the worker with the resolved value.
+     */
+    private long sortMemoryBytes() {
+      if (!spillable || maxSortMemoryBytes == null || !maxSortMemoryBytes.isAccessible()) {
+        return Long.MAX_VALUE;
+      }
+      Long bytes = maxSortMemoryBytes.get();
+      return bytes != null && bytes > 0 ? bytes : Long.MAX_VALUE;
+    }
+
     @FinishBundle
     public synchronized void finishBundle(FinishBundleContext c) throws Exception {
       sortAndOutputBatches(new OutputReceiverForFinishBundle(c));
@@ -1753,14 +1838,13 @@ public class LocalSpannerIO {
 
         if (maxSortableNumMutations == maxBatchNumMutations) {
           // no grouping is occurring, no need to sort and make batches, just output what we have.
-          outputBatch(out, 0, mutationsToSort.size());
+          outputBatch(out, mutationsToSort.unsorted());
           return;
         }
 
         // Sort then split the sorted mutations into batches.
-        mutationsToSort.sort(Comparator.naturalOrder());
-        int batchStart = 0;
-        int batchEnd = 0;
+        Iterator<MutationGroupContainer> sorted = mutationsToSort.sorted();
+        List<MutationGroupContainer> batch = new ArrayList<>();
 
         // total size of the current batch.
         long batchSizeBytes = 0;
@@ -1770,29 +1854,30 @@ public class LocalSpannerIO {
         long batchRows = 0;
 
         // collect and output batches.
-        while (batchEnd < mutationsToSort.size()) {
-          MutationGroupContainer mg = mutationsToSort.get(batchEnd);
+        while (sorted.hasNext()) {
+          MutationGroupContainer mg = sorted.next();
 
-          if (((batchCells + mg.numCells) > maxBatchNumMutations)
-              || ((batchSizeBytes + mg.sizeBytes) > maxBatchSizeBytes
-                  || (batchRows + mg.numRows > maxBatchNumRows))) {
+          if (!batch.isEmpty()
+              && (((batchCells + mg.numCells) > maxBatchNumMutations)
+                  || ((batchSizeBytes + mg.sizeBytes) > maxBatchSizeBytes
+                      || (batchRows + mg.numRows > maxBatchNumRows)))) {
             // Cannot add new element, current batch is full; output.
-            outputBatch(out, batchStart, batchEnd);
-            batchStart = batchEnd;
+            outputBatch(out, batch);
+            batch = new ArrayList<>();
             batchSizeBytes = 0;
             batchCells = 0;
             batchRows = 0;
           }
 
-          batchEnd++;
+          batch.add(mg);
           batchSizeBytes += mg.sizeBytes;
           batchCells += mg.numCells;
           batchRows += mg.numRows;
         }
 
-        if (batchStart < batchEnd) {
+        if (!batch.isEmpty()) {
           // output remaining elements
-          outputBatch(out, batchStart, mutationsToSort.size());
+          outputBatch(out, batch);
         }
       } finally {
         initSorter();
@@ -1800,11 +1885,8 @@ public class LocalSpannerIO {
     }
 
     private void outputBatch(
-        OutputReceiver<Iterable<MutationGroup>> out, int batchStart, int batchEnd) {
-      out.output(
-          mutationsToSort.subList(batchStart, batchEnd).stream()
-              .map(o -> o.mutationGroup)
-              .collect(toList()));
+        OutputReceiver<Iterable<MutationGroup>> out, List<MutationGroupContainer> batch) {
+      out.output(batch.stream().map(o -> o.mutationGroup).collect(toList()));
     }
 
     @ProcessElement
@@ -1834,7 +1916,7 @@ public class LocalSpannerIO {
     }
 
     // Container class to store a MutationGroup, its sortable encoded key and its statistics.
-    private static final class MutationGroupContainer
+    static final class MutationGroupContainer
         implements Comparable<MutationGroupContainer> {
 
       final MutationGroup mutationGroup;
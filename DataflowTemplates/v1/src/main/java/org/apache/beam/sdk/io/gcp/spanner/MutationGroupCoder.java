@@ -0,0 +1,462 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.beam.sdk.io.gcp.spanner;
+
+import com.google.cloud.ByteArray;
+import com.google.cloud.Date;
+import com.google.cloud.Timestamp;
+import com.google.cloud.spanner.Mutation;
+import com.google.cloud.spanner.Mutation.Op;
+import com.google.cloud.spanner.Type;
+import com.google.cloud.spanner.Value;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.beam.sdk.coders.AtomicCoder;
+import org.apache.beam.sdk.coders.ByteArrayCoder;
+import org.apache.beam.sdk.coders.CoderException;
+import org.apache.beam.sdk.coders.DoubleCoder;
+import org.apache.beam.sdk.coders.FloatCoder;
+import org.apache.beam.sdk.coders.SerializableCoder;
+import org.apache.beam.sdk.coders.StringUtf8Coder;
+import org.apache.beam.sdk.coders.VarIntCoder;
+import org.apache.beam.sdk.coders.VarLongCoder;
+
+/**
+ * A compact binary {@link org.apache.beam.sdk.coders.Coder} for {@link MutationGroup}.
+ *
+ * <p>Table and column names are written once per group into a dictionary and mutations refer to
+ * them by index. Values are written with a one byte type tag followed by a typed encoding, e.g. a
+ * variable length long for {@code INT64} or seconds and nanos for {@code TIMESTAMP}. Delete
+ * mutations and mutations holding values of other types, such as protos, fall back to Java
+ * serialization of that single mutation.
+ */
+public class MutationGroupCoder extends AtomicCoder<MutationGroup> {
+
+  private static final MutationGroupCoder INSTANCE = new MutationGroupCoder();
+
+  private static final VarIntCoder VAR_INT_CODER = VarIntCoder.of();
+  private static final VarLongCoder VAR_LONG_CODER = VarLongCoder.of();
+  private static final StringUtf8Coder STRING_CODER = StringUtf8Coder.of();
+  private static final ByteArrayCoder BYTE_ARRAY_CODER = ByteArrayCoder.of();
+  private static final DoubleCoder DOUBLE_CODER = DoubleCoder.of();
+  private static final FloatCoder FLOAT_CODER = FloatCoder.of();
+  private static final SerializableCoder<Mutation> MUTATION_CODER =
+      SerializableCoder.of(Mutation.class);
+
+  // Operations of the compactly encoded mutations, the index is written as the mutation marker.
+  private static final List<Op> OPS =
+      Arrays.asList(Op.INSERT, Op.UPDATE, Op.INSERT_OR_UPDATE, Op.REPLACE);
+  private static final int SERIALIZED_MUTATION = OPS.size();
+
+  // Value types with a compact encoding, the index is stored in the low bits of the type tag.
+  private static final List<Type.Code> CODES =
+      Arrays.asList(
+          Type.Code.BOOL,
+          Type.Code.INT64,
+          Type.Code.FLOAT64,
+          Type.Code.FLOAT32,
+          Type.Code.STRING,
+          Type.Code.BYTES,
+          Type.Code.TIMESTAMP,
+          Type.Code.DATE,
+          Type.Code.NUMERIC,
+          Type.Code.JSON,
+          Type.Code.PG_NUMERIC,
+          Type.Code.PG_JSONB);
+  private static final int CODE_MASK = 0x1f;
+  private static final int ARRAY_FLAG = 0x20;
+  private static final int NULL_FLAG = 0x40;
+  private static final int COMMIT_TIMESTAMP_FLAG = 0x80;
+
+  public static MutationGroupCoder of() {
+    return INSTANCE;
+  }
+
+  @Override
+  public void encode(MutationGroup value, OutputStream out) throws CoderException, IOException {
+    List<Mutation> mutations = new ArrayList<>(1 + value.attached().size());
+    mutations.add(value.primary());
+    mutations.addAll(value.attached());
+
+    Map<String, Integer> names = new LinkedHashMap<>();
+    for (Mutation m : mutations) {
+      if (isCompact(m)) {
+        names.putIfAbsent(m.getTable(), names.size());
+        for (String column : m.getColumns()) {
+          names.putIfAbsent(column, names.size());
+        }
+      }
+    }
+    VAR_INT_CODER.encode(names.size(), out);
+    for (String name : names.keySet()) {
+      STRING_CODER.encode(name, out);
+    }
+
+    VAR_INT_CODER.encode(mutations.size(), out);
+    for (Mutation m : mutations) {
+      if (!isCompact(m)) {
+        out.write(SERIALIZED_MUTATION);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MUTATION_CODER.encode(m, bytes);
+        BYTE_ARRAY_CODER.encode(bytes.toByteArray(), out);
+        continue;
+      }
+      out.write(OPS.indexOf(m.getOperation()));
+      VAR_INT_CODER.encode(names.get(m.getTable()), out);
+      List<String> columns = new ArrayList<>();
+      m.getColumns().forEach(columns::add);
+      VAR_INT_CODER.encode(columns.size(), out);
+      Iterator<Value> values = m.getValues().iterator();
+      for (String column : columns) {
+        VAR_INT_CODER.encode(names.get(column), out);
+        encodeValue(values.next(), out);
+      }
+    }
+  }
+
+  @Override
+  public MutationGroup decode(InputStream in) throws CoderException, IOException {
+    int numNames = VAR_INT_CODER.decode(in);
+    String[] names = new String[numNames];
+    for (int i = 0; i < numNames; i++) {
+      names[i] = STRING_CODER.decode(in);
+    }
+
+    int numMutations = VAR_INT_CODER.decode(in);
+    List<Mutation> mutations = new ArrayList<>(numMutations);
+    for (int i = 0; i < numMutations; i++) {
+      int marker = readByte(in);
+      if (marker == SERIALIZED_MUTATION) {
+        byte[] bytes = BYTE_ARRAY_CODER.decode(in);
+        mutations.add(MUTATION_CODER.decode(new ByteArrayInputStream(bytes)));
+        continue;
+      }
+      if (marker < 0 || marker >= OPS.size()) {
+        throw new CoderException("Unknown mutation marker " + marker);
+      }
+      Mutation.WriteBuilder builder = newBuilder(OPS.get(marker), names[VAR_INT_CODER.decode(in)]);
+      int numColumns = VAR_INT_CODER.decode(in);
+      for (int c = 0; c < numColumns; c++) {
+        builder.set(names[VAR_INT_CODER.decode(in)]).to(decodeValue(in));
+      }
+      mutations.add(builder.build());
+    }
+    return MutationGroup.create(mutations.get(0), mutations.subList(1, mutations.size()));
+  }
+
+  private static boolean isCompact(Mutation m) {
+    if (!OPS.contains(m.getOperation())) {
+      return false;
+    }
+    for (Value v : m.getValues()) {
+      Type type = v.getType();
+      Type.Code code =
+          type.getCode() == Type.Code.ARRAY
+              ? type.getArrayElementType().getCode()
+              : type.getCode();
+      if (!CODES.contains(code)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static Mutation.WriteBuilder newBuilder(Op op, String table) {
+    switch (op) {
+      case INSERT:
+        return Mutation.newInsertBuilder(table);
+      case UPDATE:
+        return Mutation.newUpdateBuilder(table);
+      case INSERT_OR_UPDATE:
+        return Mutation.newInsertOrUpdateBuilder(table);
+      case REPLACE:
+        return Mutation.newReplaceBuilder(table);
+      default:
+        throw new IllegalArgumentException("Unsupported operation " + op);
+    }
+  }
+
+  private static void encodeValue(Value v, OutputStream out) throws IOException {
+    Type type = v.getType();
+    boolean isArray = type.getCode() == Type.Code.ARRAY;
+    Type.Code code = isArray ? type.getArrayElementType().getCode() : type.getCode();
+    int tag = CODES.indexOf(code) | (isArray ? ARRAY_FLAG : 0);
+    if (v.isNull()) {
+      out.write(tag | NULL_FLAG);
+    } else if (!isArray && v.isCommitTimestamp()) {
+      out.write(tag | COMMIT_TIMESTAMP_FLAG);
+    } else if (isArray) {
+      out.write(tag);
+      List<?> elements = getArray(v, code);
+      VAR_INT_CODER.encode(elements.size(), out);
+      for (Object element : elements) {
+        if (element == null) {
+          out.write(0);
+        } else {
+          out.write(1);
+          encodeElement(code, element, out);
+        }
+      }
+    } else {
+      out.write(tag);
+      encodeElement(code, getScalar(v, code), out);
+    }
+  }
+
+  private static Value decodeValue(InputStream in) throws IOException {
+    int tag = readByte(in);
+    int index = tag & CODE_MASK;
+    if (index >= CODES.size()) {
+      throw new CoderException("Unknown value type tag " + tag);
+    }
+    Type.Code code = CODES.get(index);
+    boolean isNull = (tag & NULL_FLAG) != 0;
+    if ((tag & COMMIT_TIMESTAMP_FLAG) != 0) {
+      return Value.timestamp(Value.COMMIT_TIMESTAMP);
+    }
+    if ((tag & ARRAY_FLAG) == 0) {
+      return toScalar(code, isNull ? null : decodeElement(code, in));
+    }
+    if (isNull) {
+      return toArray(code, null);
+    }
+    int size = VAR_INT_CODER.decode(in);
+    List<Object> elements = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      elements.add(readByte(in) == 0 ? null : decodeElement(code, in));
+    }
+    return toArray(code, elements);
+  }
+
+  private static void encodeElement(Type.Code code, Object element, OutputStream out)
+      throws IOException {
+    switch (code) {
+      case BOOL:
+        out.write((Boolean) element ? 1 : 0);
+        break;
+      case INT64:
+        VAR_LONG_CODER.encode((Long) element, out);
+        break;
+      case FLOAT64:
+        DOUBLE_CODER.encode((Double) element, out);
+        break;
+      case FLOAT32:
+        FLOAT_CODER.encode((Float) element, out);
+        break;
+      case STRING:
+      case JSON:
+      case PG_NUMERIC:
+      case PG_JSONB:
+        STRING_CODER.encode((String) element, out);
+        break;
+      case BYTES:
+        BYTE_ARRAY_CODER.encode(((ByteArray) element).toByteArray(), out);
+        break;
+      case TIMESTAMP:
+        Timestamp timestamp = (Timestamp) element;
+        VAR_LONG_CODER.encode(timestamp.getSeconds(), out);
+        VAR_INT_CODER.encode(timestamp.getNanos(), out);
+        break;
+      case DATE:
+        Date date = (Date) element;
+        VAR_INT_CODER.encode(date.getYear(), out);
+        out.write(date.getMonth());
+        out.write(date.getDayOfMonth());
+        break;
+      case NUMERIC:
+        BigDecimal numeric = (BigDecimal) element;
+        VAR_INT_CODER.encode(numeric.scale(), out);
+        BYTE_ARRAY_CODER.encode(numeric.unscaledValue().toByteArray(), out);
+        break;
+      default:
+        throw new CoderException("Unsupported type " + code);
+    }
+  }
+
+  private static Object decodeElement(Type.Code code, InputStream in) throws IOException {
+    switch (code) {
+      case BOOL:
+        return readByte(in) != 0;
+      case INT64:
+        return VAR_LONG_CODER.decode(in);
+      case FLOAT64:
+        return DOUBLE_CODER.decode(in);
+      case FLOAT32:
+        return FLOAT_CODER.decode(in);
+      case STRING:
+      case JSON:
+      case PG_NUMERIC:
+      case PG_JSONB:
+        return STRING_CODER.decode(in);
+      case BYTES:
+        return ByteArray.copyFrom(BYTE_ARRAY_CODER.decode(in));
+      case TIMESTAMP:
+        long seconds = VAR_LONG_CODER.decode(in);
+        return Timestamp.ofTimeSecondsAndNanos(seconds, VAR_INT_CODER.decode(in));
+      case DATE:
+        int year = VAR_INT_CODER.decode(in);
+        int month = readByte(in);
+        return Date.fromYearMonthDay(year, month, readByte(in));
+      case NUMERIC:
+        int scale = VAR_INT_CODER.decode(in);
+        return new BigDecimal(new BigInteger(BYTE_ARRAY_CODER.decode(in)), scale);
+      default:
+        throw new CoderException("Unsupported type " + code);
+    }
+  }
+
+  private static Object getScalar(Value v, Type.Code code) {
+    switch (code) {
+      case BOOL:
+        return v.getBool();
+      case INT64:
+        return v.getInt64();
+      case FLOAT64:
+        return v.getFloat64();
+      case FLOAT32:
+        return v.getFloat32();
+      case STRING:
+      case PG_NUMERIC:
+        return v.getString();
+      case JSON:
+        return v.getJson();
+      case PG_JSONB:
+        return v.getPgJsonb();
+      case BYTES:
+        return v.getBytes();
+      case TIMESTAMP:
+        return v.getTimestamp();
+      case DATE:
+        return v.getDate();
+      case NUMERIC:
+        return v.getNumeric();
+      default:
+        throw new IllegalArgumentException("Unsupported type " + code);
+    }
+  }
+
+  private static List<?> getArray(Value v, Type.Code code) {
+    switch (code) {
+      case BOOL:
+        return v.getBoolArray();
+      case INT64:
+        return v.getInt64Array();
+      case FLOAT64:
+        return v.getFloat64Array();
+      case FLOAT32:
+        return v.getFloat32Array();
+      case STRING:
+      case PG_NUMERIC:
+        return v.getStringArray();
+      case JSON:
+        return v.getJsonArray();
+      case PG_JSONB:
+        return v.getPgJsonbArray();
+      case BYTES:
+        return v.getBytesArray();
+      case TIMESTAMP:
+        return v.getTimestampArray();
+      case DATE:
+        return v.getDateArray();
+      case NUMERIC:
+        return v.getNumericArray();
+      default:
+        throw new IllegalArgumentException("Unsupported type " + code);
+    }
+  }
+
+  private static Value toScalar(Type.Code code, Object element) {
+    switch (code) {
+      case BOOL:
+        return Value.bool((Boolean) element);
+      case INT64:
+        return Value.int64((Long) element);
+      case FLOAT64:
+        return Value.float64((Double) element);
+      case FLOAT32:
+        return Value.float32((Float) element);
+      case STRING:
+        return Value.string((String) element);
+      case PG_NUMERIC:
+        return Value.pgNumeric((String) element);
+      case JSON:
+        return Value.json((String) element);
+      case PG_JSONB:
+        return Value.pgJsonb((String) element);
+      case BYTES:
+        return Value.bytes((ByteArray) element);
+      case TIMESTAMP:
+        return Value.timestamp((Timestamp) element);
+      case DATE:
+        return Value.date((Date) element);
+      case NUMERIC:
+        return Value.numeric((BigDecimal) element);
+      default:
+        throw new IllegalArgumentException("Unsupported type " + code);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Value toArray(Type.Code code, List<?> elements) {
+    switch (code) {
+      case BOOL:
+        return Value.boolArray((Iterable<Boolean>) elements);
+      case INT64:
+        return Value.int64Array((Iterable<Long>) elements);
+      case FLOAT64:
+        return Value.float64Array((Iterable<Double>) elements);
+      case FLOAT32:
+        return Value.float32Array((Iterable<Float>) elements);
+      case STRING:
+        return Value.stringArray((Iterable<String>) elements);
+      case PG_NUMERIC:
+        return Value.pgNumericArray((Iterable<String>) elements);
+      case JSON:
+        return Value.jsonArray((Iterable<String>) elements);
+      case PG_JSONB:
+        return Value.pgJsonbArray((Iterable<String>) elements);
+      case BYTES:
+        return Value.bytesArray((Iterable<ByteArray>) elements);
+      case TIMESTAMP:
+        return Value.timestampArray((Iterable<Timestamp>) elements);
+      case DATE:
+        return Value.dateArray((Iterable<Date>) elements);
+      case NUMERIC:
+        return Value.numericArray((Iterable<BigDecimal>) elements);
+      default:
+        throw new IllegalArgumentException("Unsupported type " + code);
+    }
+  }
+
+  private static int readByte(InputStream in) throws IOException {
+    int b = in.read();
+    if (b < 0) {
+      throw new CoderException("Unexpected end of stream");
+    }
+    return b;
+  }
+}
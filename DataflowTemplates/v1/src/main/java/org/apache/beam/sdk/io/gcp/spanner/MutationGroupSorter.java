@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.beam.sdk.io.gcp.spanner;
+
+import static org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.base.Preconditions.checkArgument;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import org.apache.beam.sdk.io.gcp.spanner.LocalSpannerIO.GatherSortCreateBatchesFn.MutationGroupContainer;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.collect.AbstractIterator;
+import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.collect.Iterators;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sorts {@link MutationGroupContainer MutationGroupContainers} by their encoded table name and key
+ * while keeping at most about {@code maxMemoryBytes} of them on the heap.
+ *
+ * <p>Whenever the buffered groups exceed the memory limit, they are sorted and written as a run to
+ * a temporary local file. {@link #sorted()} then does a k-way merge of the runs and the groups left
+ * in memory. Without spilled runs this is a plain in-memory sort.
+ *
+ * <p>Instances are not thread-safe and are meant to be owned by a single DoFn instance.
+ */
+class MutationGroupSorter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MutationGroupSorter.class);
+
+  // Rough heap overhead of a buffered group on top of its mutation and key bytes.
+  private static final long ENTRY_OVERHEAD_BYTES = 64;
+
+  private static final Counter SPILLED_RUNS =
+      Metrics.counter(MutationGroupSorter.class, "mutation_group_sort_spilled_runs");
+
+  private static final Counter SPILLED_BYTES =
+      Metrics.counter(MutationGroupSorter.class, "mutation_group_sort_spilled_bytes");
+
+  private final long maxMemoryBytes;
+
+  private final List<MutationGroupContainer> buffer = new ArrayList<>();
+
+  private final List<Run> runs = new ArrayList<>();
+
+  private final List<Closeable> openReaders = new ArrayList<>();
+
+  private long bufferedBytes = 0;
+
+  /**
+   * Creates a sorter.
+   *
+   * @param maxMemoryBytes estimated size of the groups kept in memory before a run is spilled to
+   *     disk, {@link Long#MAX_VALUE} to always sort in memory
+   */
+  MutationGroupSorter(long maxMemoryBytes) {
+    checkArgument(maxMemoryBytes > 0, "maxMemoryBytes must be greater than 0.");
+    this.maxMemoryBytes = maxMemoryBytes;
+  }
+
+  void add(MutationGroupContainer container) throws IOException {
+    buffer.add(container);
+    bufferedBytes += container.sizeBytes + container.encodedKey.length + ENTRY_OVERHEAD_BYTES;
+    if (bufferedBytes > maxMemoryBytes) {
+      spill();
+    }
+  }
+
+  boolean isEmpty() {
+    return buffer.isEmpty() && runs.isEmpty();
+  }
+
+  /** Returns the groups added so far, in no particular order. Only valid without spilled runs. */
+  List<MutationGroupContainer> unsorted() {
+    checkArgument(runs.isEmpty(), "Groups were spilled to disk and have to be read sorted.");
+    return buffer;
+  }
+
+  /**
+   * Returns all the groups added so far, sorted by encoded key. The iterator reads spilled runs
+   * lazily and is valid until {@link #clear()}.
+   */
+  Iterator<MutationGroupContainer> sorted() throws IOException {
+    buffer.sort(Comparator.naturalOrder());
+    if (runs.isEmpty()) {
+      return buffer.iterator();
+    }
+    List<Iterator<MutationGroupContainer>> sources = new ArrayList<>(runs.size() + 1);
+    for (Run run : runs) {
+      sources.add(open(run));
+    }
+    sources.add(buffer.iterator());
+    return Iterators.mergeSorted(sources, Comparator.naturalOrder());
+  }
+
+  /** Drops all groups and deletes the spilled runs. */
+  void clear() {
+    for (Closeable reader : openReaders) {
+      try {
+        reader.close();
+      } catch (IOException e) {
+        LOG.warn("Failed to close sorted run", e);
+      }
+    }
+    openReaders.clear();
+    for (Run run : runs) {
+      if (!run.file.delete()) {
+        LOG.warn("Failed to delete sorted run {}", run.file);
+      }
+    }
+    runs.clear();
+    buffer.clear();
+    bufferedBytes = 0;
+  }
+
+  private void spill() throws IOException {
+    buffer.sort(Comparator.naturalOrder());
+    File file = File.createTempFile("spanner-mutation-sort-", ".run");
+    runs.add(new Run(file, buffer.size()));
+    try (DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+      for (MutationGroupContainer container : buffer) {
+        out.writeInt(container.encodedKey.length);
+        out.write(container.encodedKey);
+        out.writeLong(container.sizeBytes);
+        out.writeLong(container.numCells);
+        out.writeLong(container.numRows);
+        MutationGroupCoder.of().encode(container.mutationGroup, out);
+      }
+      out.flush();
+      SPILLED_BYTES.inc(out.size());
+    }
+    SPILLED_RUNS.inc();
+    buffer.clear();
+    bufferedBytes = 0;
+  }
+
+  private Iterator<MutationGroupContainer> open(Run run) throws IOException {
+    DataInputStream in =
+        new DataInputStream(new BufferedInputStream(new FileInputStream(run.file)));
+    openReaders.add(in);
+    return new AbstractIterator<MutationGroupContainer>() {
+      private int remaining = run.count;
+
+      @Override
+      protected MutationGroupContainer computeNext() {
+        if (remaining == 0) {
+          return endOfData();
+        }
+        remaining--;
+        try {
+          byte[] encodedKey = new byte[in.readInt()];
+          in.readFully(encodedKey);
+          long sizeBytes = in.readLong();
+          long numCells = in.readLong();
+          long numRows = in.readLong();
+          MutationGroup mutationGroup = MutationGroupCoder.of().decode(in);
+          return new MutationGroupContainer(
+              mutationGroup, sizeBytes, numCells, numRows, encodedKey);
+        } catch (IOException e) {
+          throw new UncheckedIOException("Failed to read sorted run " + run.file, e);
+        }
+      }
+    };
+  }
+
+  /** A sorted run spilled to a local file. */
+  private static final class Run {
+
+    final File file;
+
+    final int count;
+
+    Run(File file, int count) {
+      this.file = file;
+      this.count = count;
+    }
+  }
+}
@@ -30,8 +30,11 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import org.apache.avro.Schema;
 import org.apache.avro.SchemaBuilder;
@@ -40,14 +43,20 @@ import org.apache.avro.generic.GenericDatumWriter;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.generic.GenericRecordBuilder;
 import org.apache.avro.io.DatumWriter;
+import org.apache.beam.sdk.Pipeline;
 import org.apache.beam.sdk.Pipeline.PipelineExecutionException;
+import org.apache.beam.sdk.Pipeline.PipelineVisitor;
+import org.apache.beam.sdk.io.gcp.spanner.LocalSpannerIO;
+import org.apache.beam.sdk.io.gcp.spanner.SpannerConfig;
 import org.apache.beam.sdk.options.ValueProvider;
 import org.apache.beam.sdk.options.ValueProvider.StaticValueProvider;
+import org.apache.beam.sdk.runners.TransformHierarchy;
 import org.apache.beam.sdk.testing.PAssert;
 import org.apache.beam.sdk.testing.TestPipeline;
 import org.apache.beam.sdk.transforms.Create;
 import org.apache.beam.sdk.transforms.ParDo;
 import org.apache.beam.sdk.transforms.View;
+import org.apache.beam.sdk.transforms.display.DisplayData;
 import org.apache.beam.sdk.values.KV;
 import org.apache.beam.sdk.values.PCollection;
 import org.apache.beam.sdk.values.PCollectionView;
@@ -313,4 +322,49 @@ public class ImportTransformTest {
             });
     pipeline.run();
   }
+
+  @Test
+  public void writersUseGroupingFactor() {
+    SpannerConfig spannerConfig =
+        SpannerConfig.create()
+            .withProjectId("project")
+            .withInstanceId("instance")
+            .withDatabaseId("database");
+    Pipeline p = Pipeline.create();
+    p.apply(
+        new ImportTransform(
+                spannerConfig,
+                StaticValueProvider.of("gs://bucket/export"),
+                StaticValueProvider.of(false),
+                StaticValueProvider.of(false),
+                StaticValueProvider.of(false),
+                StaticValueProvider.of(false),
+                StaticValueProvider.of(true),
+                StaticValueProvider.of(30))
+            .withMaxLanes(2)
+            .withGroupingFactor(500));
+
+    // Every depth level of both lanes has its own writer.
+    assertEquals(Collections.nCopies(16, "500"), writerGroupingFactors(p));
+  }
+
+  /** Returns the grouping factor of every Cloud Spanner writer in the pipeline. */
+  private static List<Object> writerGroupingFactors(Pipeline p) {
+    List<Object> groupingFactors = new ArrayList<>();
+    p.traverseTopologically(
+        new PipelineVisitor.Defaults() {
+          @Override
+          public CompositeBehavior enterCompositeTransform(TransformHierarchy.Node node) {
+            if (node.getTransform() instanceof LocalSpannerIO.Write) {
+              for (DisplayData.Item item : DisplayData.from(node.getTransform()).items()) {
+                if (item.getKey().equals("groupingFactor")) {
+                  groupingFactors.add(item.getValue());
+                }
+              }
+            }
+            return CompositeBehavior.ENTER_TRANSFORM;
+          }
+        });
+    return groupingFactors;
+  }
 }
@@ -37,10 +37,12 @@ import com.google.cloud.teleport.spanner.proto.ExportProtos.Export;
 import com.google.common.base.Optional;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import org.junit.Test;
 
 /** Test coverage for {@link Ddl}. */
@@ -389,6 +391,64 @@ public class DdlTest {
     assertNotNull(ddl.hashCode());
   }
 
+  @Test
+  public void perLaneView() {
+    Ddl.Builder builder = Ddl.builder();
+    for (String name : ImmutableList.of("Users", "Orders", "Items", "Logs")) {
+      builder
+          .createTable(name)
+          .column("id")
+          .int64()
+          .endColumn()
+          .primaryKey()
+          .asc("id")
+          .end()
+          .endTable();
+    }
+    Ddl ddl =
+        builder
+            .createTable("Account")
+            .column("id")
+            .int64()
+            .endColumn()
+            .primaryKey()
+            .asc("id")
+            .end()
+            .interleaveInParent("Users")
+            .endTable()
+            .build();
+
+    Map<String, Integer> lanes =
+        ddl.perLaneView(2, ImmutableMap.of("users", 5L, "account", 4L, "orders", 6L, "items", 2L));
+
+    assertEquals(
+        ImmutableMap.of("users", 0, "account", 0, "orders", 1, "items", 1, "logs", 1), lanes);
+    assertEquals(5, ddl.perLaneView(8, ImmutableMap.of()).size());
+  }
+
+  @Test
+  public void perLaneViewGivesEveryTreeItsOwnLane() {
+    Ddl.Builder builder = Ddl.builder();
+    for (String name : ImmutableList.of("Users", "Orders", "Items")) {
+      builder
+          .createTable(name)
+          .column("id")
+          .int64()
+          .endColumn()
+          .primaryKey()
+          .asc("id")
+          .end()
+          .endTable();
+    }
+    Ddl ddl = builder.build();
+
+    Map<String, Integer> lanes = ddl.perLaneView(8, ImmutableMap.of());
+
+    assertEquals(ImmutableSet.of(0, 1, 2), ImmutableSet.copyOf(lanes.values()));
+    assertEquals(
+        ImmutableSet.of(0), ImmutableSet.copyOf(ddl.perLaneView(1, ImmutableMap.of()).values()));
+  }
+
   @Test
   public void pgInterleaves() {
     Ddl ddl =
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.splunk;
+
+import com.google.api.client.http.ByteArrayContent;
+import com.google.api.client.http.HttpContent;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH benchmark comparing the {@link String} based HEC payload with the streaming {@link
+ * SplunkEventContent}, both written through gzip as they are on the wire.
+ *
+ * <p>Run from the v1 module after {@code mvn test-compile} with:
+ *
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) org.openjdk.jmh.Main \
+ *     HttpEventPublisherBenchmark -prof gc
+ * </pre>
+ *
+ * where {@code cp.txt} holds the output of {@code mvn dependency:build-classpath
+ * -Dmdep.outputFile=cp.txt}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HttpEventPublisherBenchmark {
+
+  private static final String CONTENT_TYPE = "application/json";
+
+  @Param({"10", "100", "1000", "10000"})
+  public int batchSize;
+
+  private HttpEventPublisher publisher;
+
+  private List<SplunkEvent> events;
+
+  @Setup
+  public void setup() throws Exception {
+    publisher =
+        HttpEventPublisher.newBuilder()
+            .withUrl("http://localhost:8088")
+            .withToken("test-token")
+            .withDisableCertificateValidation(false)
+            .withEnableGzipHttpCompression(true)
+            .build();
+
+    events = new ArrayList<>(batchSize);
+    for (int i = 0; i < batchSize; i++) {
+      events.add(
+          SplunkEvent.newBuilder()
+              .withEvent(
+                  "{\"message\":\"benchmark-event-"
+                      + i
+                      + "\",\"severity\":\"INFO\",\"resource\":{\"type\":\"gce_instance\"}}")
+              .withHost("test-host")
+              .withIndex("test-index")
+              .withSource("test-source")
+              .withSourceType("test-source-type")
+              .withTime(1700000000000L + i)
+              .build());
+    }
+  }
+
+  @Benchmark
+  public void stringPayload(Blackhole blackhole) throws IOException {
+    HttpContent content =
+        ByteArrayContent.fromString(CONTENT_TYPE, publisher.getStringPayload(events));
+    writeGzipped(content, blackhole);
+  }
+
+  @Benchmark
+  public void streamingPayload(Blackhole blackhole) throws IOException {
+    writeGzipped(publisher.getContent(events), blackhole);
+  }
+
+  private static void writeGzipped(HttpContent content, Blackhole blackhole) throws IOException {
+    CountingOutputStream sink = new CountingOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(sink)) {
+      content.writeTo(gzip);
+    }
+    blackhole.consume(sink.count);
+  }
+
+  /** Stands in for the socket, keeping only the number of bytes written. */
+  private static final class CountingOutputStream extends OutputStream {
+
+    private long count;
+
+    @Override
+    public void write(int b) {
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      count += len;
+    }
+  }
+}
@@ -159,6 +159,39 @@ public class HttpEventPublisherTest {
     }
   }
 
+  /** Test that serialized events are posted as they are. */
+  @Test
+  public void executePayloadsTest() throws Exception {
+    mockServerListening(200);
+    String payload1 =
+        "{\"time\":12345,\"host\":\"test-host-1\",\"source\":\"test-source-1\","
+            + "\"sourcetype\":\"test-source-type-1\",\"index\":\"test-index-1\","
+            + "\"event\":\"test-event-1\"}";
+    String payload2 =
+        "{\"time\":12345,\"host\":\"test-host-2\",\"source\":\"test-source-2\","
+            + "\"sourcetype\":\"test-source-type-2\",\"index\":\"test-index-2\","
+            + "\"event\":\"test-event-2\"}";
+
+    HttpEventPublisher publisher =
+        HttpEventPublisher.newBuilder()
+            .withUrl("http://localhost:" + mockServer.getPort())
+            .withToken("test-token")
+            .withDisableCertificateValidation(false)
+            .withEnableGzipHttpCompression(false)
+            .build();
+    publisher
+        .executePayloads(
+            ImmutableList.of(
+                payload1.getBytes(StandardCharsets.UTF_8),
+                payload2.getBytes(StandardCharsets.UTF_8)))
+        .ignore();
+
+    // The body is the same as if the events had been serialized by the publisher.
+    mockServer.verify(
+        HttpRequest.request(EXPECTED_PATH).withBody(publisher.getStringPayload(SPLUNK_EVENTS)),
+        VerificationTimes.once());
+  }
+
   @Test
   public void genericURLTest()
       throws NoSuchAlgorithmException, KeyStoreException, KeyManagementException, IOException {
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.splunk;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.api.client.http.HttpMediaType;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/** Unit tests for {@link SplunkEventContent} class. */
+public class SplunkEventContentTest {
+
+  private static final Gson GSON =
+      new GsonBuilder().setFieldNamingStrategy(f -> f.getName().toLowerCase()).create();
+
+  private static final HttpMediaType MEDIA_TYPE = new HttpMediaType("application/json");
+
+  /** Test that events are written exactly as the concatenated JSON payload. */
+  @Test
+  public void testWriteToMatchesStringPayload() throws IOException {
+    List<SplunkEvent> events =
+        ImmutableList.of(
+            SplunkEvent.newBuilder()
+                .withEvent("test-event-1")
+                .withHost("test-host-1")
+                .withIndex("test-index-1")
+                .withSource("test-source-1")
+                .withSourceType("test-source-type-1")
+                .withTime(12345L)
+                .build(),
+            SplunkEvent.newBuilder().withEvent("test-event-2").build());
+
+    assertThat(write(new SplunkEventContent(MEDIA_TYPE, GSON, events)))
+        .isEqualTo(
+            "{\"time\":12345,\"host\":\"test-host-1\",\"source\":\"test-source-1\","
+                + "\"sourcetype\":\"test-source-type-1\",\"index\":\"test-index-1\","
+                + "\"event\":\"test-event-1\"}{\"event\":\"test-event-2\"}");
+  }
+
+  /** Test that multi-byte characters spanning the encoder buffer boundaries are kept intact. */
+  @Test
+  public void testWriteToLargeMultiByteBatch() throws IOException {
+    List<SplunkEvent> events = new ArrayList<>();
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 500; i++) {
+      SplunkEvent event =
+          SplunkEvent.newBuilder()
+              .withEvent(Strings.repeat("a", i) + "\u00e9\u4e2d\ud83d\ude00" + i)
+              .withHost("host-" + i)
+              .build();
+      events.add(event);
+      expected.append(GSON.toJson(event));
+    }
+
+    assertThat(write(new SplunkEventContent(MEDIA_TYPE, GSON, events)))
+        .isEqualTo(expected.toString());
+  }
+
+  /** Test that the content can be written more than once, as needed for retries. */
+  @Test
+  public void testWriteToIsRepeatable() throws IOException {
+    SplunkEventContent content =
+        new SplunkEventContent(
+            MEDIA_TYPE, GSON, ImmutableList.of(SplunkEvent.newBuilder().withEvent("e").build()));
+
+    assertThat(content.retrySupported()).isTrue();
+    assertThat(content.getLength()).isEqualTo(-1);
+    assertThat(write(content)).isEqualTo(write(content));
+  }
+
+  private static String write(SplunkEventContent content) throws IOException {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    content.writeTo(bos);
+    return new String(bos.toByteArray(), StandardCharsets.UTF_8);
+  }
+}
@@ -278,6 +278,69 @@ public class SplunkEventWriterTest {
     mockServer.verify(HttpRequest.request(EXPECTED_PATH), VerificationTimes.once());
   }
 
+  /** Test that batches are flushed before exceeding the max batch size in bytes. */
+  @Test
+  @Category(NeedsRunner.class)
+  public void successfulSplunkWriteBatchSizeBytesTest() {
+
+    // Create server expectation for success.
+    mockServerListening(200);
+
+    int testPort = mockServer.getPort();
+
+    List<KV<Integer, SplunkEvent>> testEvents =
+        ImmutableList.of(
+            KV.of(
+                123,
+                SplunkEvent.newBuilder()
+                    .withEvent("test-event-1")
+                    .withHost("test-host-1")
+                    .withIndex("test-index-1")
+                    .withSource("test-source-1")
+                    .withSourceType("test-source-type-1")
+                    .withTime(12345L)
+                    .build()),
+            KV.of(
+                123,
+                SplunkEvent.newBuilder()
+                    .withEvent("test-event-2")
+                    .withHost("test-host-2")
+                    .withIndex("test-index-2")
+                    .withSource("test-source-2")
+                    .withSourceType("test-source-type-2")
+                    .withTime(12345L)
+                    .build()));
+
+    PCollection<SplunkWriteError> actual =
+        pipeline
+            .apply(
+                "Create Input data",
+                Create.of(testEvents)
+                    .withCoder(KvCoder.of(BigEndianIntegerCoder.of(), SplunkEventCoder.of())))
+            .apply(
+                "SplunkEventWriter",
+                ParDo.of(
+                    SplunkEventWriter.newBuilder()
+                        .withUrl(Joiner.on(':').join("http://localhost", testPort))
+                        .withInputBatchCount(
+                            StaticValueProvider.of(
+                                testEvents.size())) // count alone would send a single batch.
+                        .withMaxBatchSizeBytes(
+                            StaticValueProvider.of(150L)) // each event is about 140 bytes.
+                        .withToken("test-token")
+                        .build()))
+            .setCoder(SplunkWriteErrorCoder.of());
+
+    // All successful responses.
+    PAssert.that(actual).empty();
+
+    pipeline.run();
+
+    // Server received one POST request per event.
+    mockServer.verify(
+        HttpRequest.request(EXPECTED_PATH), VerificationTimes.exactly(testEvents.size()));
+  }
+
   /** Test failed POST request. */
   @Test
   @Category(NeedsRunner.class)
@@ -337,6 +400,155 @@ public class SplunkEventWriterTest {
     mockServer.verify(HttpRequest.request(EXPECTED_PATH), VerificationTimes.once());
   }
 
+  /** Test successful POST requests with several batches in flight at once. */
+  @Test
+  @Category(NeedsRunner.class)
+  public void successfulSplunkWriteMultipleInFlightTest() {
+
+    // Create server expectation for success.
+    mockServerListening(200);
+
+    int testPort = mockServer.getPort();
+
+    List<KV<Integer, SplunkEvent>> testEvents =
+        ImmutableList.of(
+            KV.of(
+                123,
+                SplunkEvent.newBuilder()
+                    .withEvent("test-event-1")
+                    .withHost("test-host-1")
+                    .withIndex("test-index-1")
+                    .withSource("test-source-1")
+                    .withSourceType("test-source-type-1")
+                    .withTime(12345L)
+                    .build()),
+            KV.of(
+                123,
+                SplunkEvent.newBuilder()
+                    .withEvent("test-event-2")
+                    .withHost("test-host-2")
+                    .withIndex("test-index-2")
+                    .withSource("test-source-2")
+                    .withSourceType("test-source-type-2")
+                    .withTime(12345L)
+                    .build()),
+            KV.of(
+                123,
+                SplunkEvent.newBuilder()
+                    .withEvent("test-event-3")
+                    .withHost("test-host-3")
+                    .withIndex("test-index-3")
+                    .withSource("test-source-3")
+                    .withSourceType("test-source-type-3")
+                    .withTime(12345L)
+                    .build()));
+
+    PCollection<SplunkWriteError> actual =
+        pipeline
+            .apply(
+                "Create Input data",
+                Create.of(testEvents)
+                    .withCoder(KvCoder.of(BigEndianIntegerCoder.of(), SplunkEventCoder.of())))
+            .apply(
+                "SplunkEventWriter",
+                ParDo.of(
+                    SplunkEventWriter.newBuilder()
+                        .withUrl(Joiner.on(':').join("http://localhost", testPort))
+                        .withInputBatchCount(
+                            StaticValueProvider.of(1)) // Test one request per SplunkEvent
+                        .withMaxInFlightRequests(StaticValueProvider.of(2))
+                        .withToken("test-token")
+                        .build()))
+            .setCoder(SplunkWriteErrorCoder.of());
+
+    // All successful responses.
+    PAssert.that(actual).empty();
+
+    pipeline.run();
+
+    // Server received exactly the expected number of POST requests.
+    mockServer.verify(
+        HttpRequest.request(EXPECTED_PATH), VerificationTimes.exactly(testEvents.size()));
+  }
+
+  /** Test failed POST requests with several batches in flight at once. */
+  @Test
+  @Category(NeedsRunner.class)
+  public void failedSplunkWriteMultipleInFlightTest() {
+
+    // Create server expectation for FAILURE.
+    mockServerListening(404);
+
+    int testPort = mockServer.getPort();
+
+    List<KV<Integer, SplunkEvent>> testEvents =
+        ImmutableList.of(
+            KV.of(
+                123,
+                SplunkEvent.newBuilder()
+                    .withEvent("test-event-1")
+                    .withHost("test-host-1")
+                    .withIndex("test-index-1")
+                    .withSource("test-source-1")
+                    .withSourceType("test-source-type-1")
+                    .withTime(12345L)
+                    .build()),
+            KV.of(
+                123,
+                SplunkEvent.newBuilder()
+                    .withEvent("test-event-2")
+                    .withHost("test-host-2")
+                    .withIndex("test-index-2")
+                    .withSource("test-source-2")
+                    .withSourceType("test-source-type-2")
+                    .withTime(12345L)
+                    .build()));
+
+    PCollection<SplunkWriteError> actual =
+        pipeline
+            .apply(
+                "Create Input data",
+                Create.of(testEvents)
+                    .withCoder(KvCoder.of(BigEndianIntegerCoder.of(), SplunkEventCoder.of())))
+            .apply(
+                "SplunkEventWriter",
+                ParDo.of(
+                    SplunkEventWriter.newBuilder()
+                        .withUrl(Joiner.on(':').join("http://localhost", testPort))
+                        .withInputBatchCount(
+                            StaticValueProvider.of(1)) // Test one request per SplunkEvent
+                        .withMaxInFlightRequests(StaticValueProvider.of(2))
+                        .withToken("test-token")
+                        .build()))
+            .setCoder(SplunkWriteErrorCoder.of());
+
+    // Expect a 404 Not found SplunkWriteError per event.
+    PAssert.that(actual)
+        .containsInAnyOrder(
+            SplunkWriteError.newBuilder()
+                .withStatusCode(404)
+                .withStatusMessage("Not Found")
+                .withPayload(
+                    "{\"time\":12345,\"host\":\"test-host-1\","
+                        + "\"source\":\"test-source-1\",\"sourcetype\":\"test-source-type-1\","
+                        + "\"index\":\"test-index-1\",\"event\":\"test-event-1\"}")
+                .build(),
+            SplunkWriteError.newBuilder()
+                .withStatusCode(404)
+                .withStatusMessage("Not Found")
+                .withPayload(
+                    "{\"time\":12345,\"host\":\"test-host-2\","
+                        + "\"source\":\"test-source-2\",\"sourcetype\":\"test-source-type-2\","
+                        + "\"index\":\"test-index-2\",\"event\":\"test-event-2\"}")
+                .build());
+
+    pipeline.run();
+
+    // Server received exactly the expected number of POST requests.
+    mockServer.verify(
+        HttpRequest.request(EXPECTED_PATH), VerificationTimes.exactly(testEvents.size()));
+  }
+
   private void mockServerListening(int statusCode) {
     mockServer
         .when(HttpRequest.request(EXPECTED_PATH))
@@ -23,6 +23,7 @@ import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 
 import com.google.cloud.teleport.coders.FailsafeElementCoder;
@@ -33,10 +34,15 @@ import com.google.cloud.teleport.values.FailsafeElement;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.Resources;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.script.Invocable;
 import org.apache.beam.sdk.coders.CoderRegistry;
 import org.apache.beam.sdk.coders.StringUtf8Coder;
 import org.apache.beam.sdk.io.gcp.pubsub.PubsubMessage;
@@ -99,6 +105,21 @@ public class JavascriptTextTransformerTest {
     javascriptRuntime.getInvocable();
   }
 
+  /** Test {@link JavascriptRuntime#getInvocable} compiles the scripts once per runtime. */
+  @Test
+  public void testGetInvocableIsCached() throws Exception {
+    JavascriptRuntime javascriptRuntime =
+        JavascriptRuntime.newBuilder()
+            .setFunctionName("transform")
+            .setFileSystemPath(TRANSFORM_FILE_PATH)
+            .build();
+
+    Invocable invocable = javascriptRuntime.getInvocable();
+
+    assertThat(invocable, is(notNullValue()));
+    assertSame(invocable, javascriptRuntime.getInvocable());
+  }
+
   /** Test {@link JavascriptRuntime#getInvocable} throws ScriptException if error in script. */
   @Test
   public void testInvokeScriptException() throws Exception {
@@ -161,6 +182,37 @@ public class JavascriptTextTransformerTest {
     assertNull(data);
   }
 
+  /**
+   * Test {@link JavascriptRuntime#invoke(String)} returns the right result for every element when
+   * called from many threads, both with a lazily grown and with a bounded engine pool.
+   */
+  @Test
+  public void testInvokeConcurrently() throws Exception {
+    for (Integer maxPoolSize : Arrays.asList(null, 2)) {
+      JavascriptRuntime javascriptRuntime =
+          JavascriptRuntime.newBuilder()
+              .setFileSystemPath(TRANSFORM_FILE_PATH)
+              .setFunctionName("transform")
+              .setReloadIntervalMinutes(0)
+              .setMaxPoolSize(maxPoolSize)
+              .build();
+      ExecutorService executor = Executors.newFixedThreadPool(8);
+      try {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+          String data = "{\"answerToLife\":" + i + "}";
+          results.add(executor.submit(() -> javascriptRuntime.invoke(data)));
+        }
+        for (int i = 0; i < results.size(); i++) {
+          assertEquals(
+              "{\"answerToLife\":" + i + ",\"someProp\":\"someValue\"}", results.get(i).get());
+        }
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+  }
+
   /**
    * Test {@link TransformTextViaJavascript} returns transformed data when a good javascript
    * transform given.
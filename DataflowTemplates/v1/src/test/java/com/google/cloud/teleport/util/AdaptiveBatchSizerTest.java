@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.util;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Test for {@link AdaptiveBatchSizer}. */
+@RunWith(JUnit4.class)
+public final class AdaptiveBatchSizerTest {
+
+  @Test
+  public void testInitialTarget() {
+    assertThat(AdaptiveBatchSizer.of(1000, 8000, 100).targetBytes()).isEqualTo(2000);
+    assertThat(AdaptiveBatchSizer.of(1000, 2000, 100).targetBytes()).isEqualTo(1000);
+  }
+
+  @Test
+  public void testGrowsUpToMaxOnFastFullBatches() {
+    AdaptiveBatchSizer sizer = AdaptiveBatchSizer.of(1000, 21000, 100);
+
+    sizer.onSuccess(10, sizer.targetBytes());
+    assertThat(sizer.targetBytes()).isEqualTo(6250);
+
+    for (int i = 0; i < 100; i++) {
+      sizer.onSuccess(10, sizer.targetBytes());
+    }
+    assertThat(sizer.targetBytes()).isEqualTo(21000);
+  }
+
+  @Test
+  public void testDoesNotGrowOnSmallBatches() {
+    AdaptiveBatchSizer sizer = AdaptiveBatchSizer.of(1000, 21000, 100);
+
+    sizer.onSuccess(10, 100);
+
+    assertThat(sizer.targetBytes()).isEqualTo(5250);
+  }
+
+  @Test
+  public void testShrinksOnSlowWrites() {
+    AdaptiveBatchSizer sizer = AdaptiveBatchSizer.of(1000, 20000, 100);
+
+    sizer.onSuccess(500, sizer.targetBytes());
+    assertThat(sizer.targetBytes()).isEqualTo(2500);
+
+    for (int i = 0; i < 10; i++) {
+      sizer.onSuccess(500, sizer.targetBytes());
+    }
+    assertThat(sizer.targetBytes()).isEqualTo(1000);
+  }
+
+  @Test
+  public void testShrinksOnThrottling() {
+    AdaptiveBatchSizer sizer = AdaptiveBatchSizer.of(1000, 20000, 100);
+
+    sizer.onFailure(503, 5000);
+    assertThat(sizer.targetBytes()).isEqualTo(2500);
+
+    sizer.onFailure(429, 2500);
+    assertThat(sizer.targetBytes()).isEqualTo(1250);
+
+    sizer.onFailure(400, 1250);
+    assertThat(sizer.targetBytes()).isEqualTo(1250);
+  }
+
+  @Test
+  public void testShrinksBelowRejectedBatchOnPayloadTooLarge() {
+    AdaptiveBatchSizer sizer = AdaptiveBatchSizer.of(1000, 20000, 100);
+
+    sizer.onFailure(413, 3000);
+
+    assertThat(sizer.targetBytes()).isEqualTo(1500);
+  }
+
+  @Test
+  public void testInvalidBounds() {
+    assertThrows(IllegalArgumentException.class, () -> AdaptiveBatchSizer.of(0, 10, 100));
+    assertThrows(IllegalArgumentException.class, () -> AdaptiveBatchSizer.of(10, 5, 100));
+    assertThrows(IllegalArgumentException.class, () -> AdaptiveBatchSizer.of(1, 10, 0));
+  }
+}
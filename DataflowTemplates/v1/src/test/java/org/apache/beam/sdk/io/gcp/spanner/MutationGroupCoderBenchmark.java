@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.beam.sdk.io.gcp.spanner;
+
+import com.google.cloud.ByteArray;
+import com.google.cloud.Date;
+import com.google.cloud.Timestamp;
+import com.google.cloud.spanner.Mutation;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.beam.sdk.coders.Coder;
+import org.apache.beam.sdk.coders.CoderException;
+import org.apache.beam.sdk.coders.IterableCoder;
+import org.apache.beam.sdk.coders.SerializableCoder;
+import org.apache.beam.sdk.util.CoderUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark comparing Java serialization of {@link MutationGroup} with {@link
+ * MutationGroupCoder} on a batch shaped like the ones written by the Spanner import.
+ *
+ * <p>The encoded size of a batch, which is what a shuffle of the batch costs, is printed during
+ * setup. Run from the v1 module after {@code mvn test-compile} with:
+ *
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) org.openjdk.jmh.Main \
+ *     MutationGroupCoderBenchmark -prof gc
+ * </pre>
+ *
+ * where {@code cp.txt} holds the output of {@code mvn dependency:build-classpath
+ * -Dmdep.outputFile=cp.txt}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MutationGroupCoderBenchmark {
+
+  private static final int BATCH_SIZE = 1000;
+
+  @Param({"serializable", "compact"})
+  public String coderName;
+
+  private Coder<Iterable<MutationGroup>> coder;
+
+  private List<MutationGroup> batch;
+
+  private byte[] encoded;
+
+  @Setup
+  public void setup() throws CoderException {
+    coder =
+        IterableCoder.of(
+            "compact".equals(coderName)
+                ? MutationGroupCoder.of()
+                : SerializableCoder.of(MutationGroup.class));
+
+    batch = new ArrayList<>(BATCH_SIZE);
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      batch.add(
+          MutationGroup.create(
+              Mutation.newInsertOrUpdateBuilder("Orders")
+                  .set("CustomerId")
+                  .to(1000L + i / 10)
+                  .set("OrderId")
+                  .to((long) i)
+                  .set("Status")
+                  .to(i % 3 == 0 ? "SHIPPED" : "PENDING")
+                  .set("Amount")
+                  .to(new BigDecimal("1234.56").add(BigDecimal.valueOf(i)))
+                  .set("Discount")
+                  .to(i * 0.01d)
+                  .set("CreatedAt")
+                  .to(Timestamp.ofTimeSecondsAndNanos(1700000000L + i, i * 1000))
+                  .set("DeliveryDate")
+                  .to(Date.fromYearMonthDay(2024, 1 + i % 12, 1 + i % 28))
+                  .set("Notes")
+                  .to(i % 2 == 0 ? null : "Leave at the front door")
+                  .set("Payload")
+                  .to(ByteArray.copyFrom(new byte[64]))
+                  .set("Tags")
+                  .toStringArray(Arrays.asList("priority", "gift"))
+                  .build()));
+    }
+    encoded = CoderUtils.encodeToByteArray(coder, batch);
+    System.out.printf(
+        "%n%s: %d bytes for %d mutation groups%n", coderName, encoded.length, BATCH_SIZE);
+  }
+
+  @Benchmark
+  public byte[] encode() throws CoderException {
+    return CoderUtils.encodeToByteArray(coder, batch);
+  }
+
+  @Benchmark
+  public Iterable<MutationGroup> decode() throws CoderException {
+    return CoderUtils.decodeFromByteArray(coder, encoded);
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.beam.sdk.io.gcp.spanner;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.cloud.ByteArray;
+import com.google.cloud.Date;
+import com.google.cloud.Timestamp;
+import com.google.cloud.spanner.Key;
+import com.google.cloud.spanner.KeySet;
+import com.google.cloud.spanner.Mutation;
+import com.google.cloud.spanner.Value;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import org.apache.beam.sdk.coders.SerializableCoder;
+import org.apache.beam.sdk.testing.CoderProperties;
+import org.apache.beam.sdk.util.CoderUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** A test of {@link MutationGroupCoder}. */
+@RunWith(JUnit4.class)
+public class MutationGroupCoderTest {
+
+  @Test
+  public void testScalarValues() throws Exception {
+    Mutation mutation =
+        Mutation.newInsertOrUpdateBuilder("test")
+            .set("bool")
+            .to(true)
+            .set("int64")
+            .to(-42L)
+            .set("float64")
+            .to(1.5d)
+            .set("string")
+            .to("été")
+            .set("bytes")
+            .to(ByteArray.copyFrom(new byte[] {0, 1, 2}))
+            .set("timestamp")
+            .to(Timestamp.ofTimeSecondsAndNanos(-1000L, 123))
+            .set("commitTimestamp")
+            .to(Value.COMMIT_TIMESTAMP)
+            .set("date")
+            .to(Date.fromYearMonthDay(2024, 2, 29))
+            .set("numeric")
+            .to(new BigDecimal("-12345678901234567890.123456789"))
+            .set("json")
+            .to(Value.json("{\"a\":1}"))
+            .set("pgNumeric")
+            .to(Value.pgNumeric("NaN"))
+            .set("pgJsonb")
+            .to(Value.pgJsonb("{}"))
+            .set("nullString")
+            .to((String) null)
+            .set("nullInt64")
+            .to((Long) null)
+            .build();
+
+    CoderProperties.coderDecodeEncodeEqual(MutationGroupCoder.of(), MutationGroup.create(mutation));
+  }
+
+  @Test
+  public void testArrayValues() throws Exception {
+    Mutation mutation =
+        Mutation.newInsertBuilder("test")
+            .set("bools")
+            .toBoolArray(Arrays.asList(true, null, false))
+            .set("int64s")
+            .toInt64Array(Arrays.asList(1L, null, Long.MIN_VALUE))
+            .set("float64s")
+            .toFloat64Array(Arrays.asList(0.25d, null))
+            .set("strings")
+            .toStringArray(Arrays.asList("a", null, ""))
+            .set("timestamps")
+            .toTimestampArray(Arrays.asList(Timestamp.ofTimeMicroseconds(1L), null))
+            .set("dates")
+            .toDateArray(Arrays.asList(Date.fromYearMonthDay(1, 1, 1), null))
+            .set("numerics")
+            .toNumericArray(Arrays.asList(BigDecimal.ONE, null))
+            .set("emptyArray")
+            .toStringArray(Arrays.asList())
+            .set("nullArray")
+            .toInt64Array((Iterable<Long>) null)
+            .build();
+
+    CoderProperties.coderDecodeEncodeEqual(MutationGroupCoder.of(), MutationGroup.create(mutation));
+  }
+
+  @Test
+  public void testGroupWithDeleteAndAttachedMutations() throws Exception {
+    MutationGroup group =
+        MutationGroup.create(
+            Mutation.newUpdateBuilder("parent").set("id").to(1L).set("name").to("a").build(),
+            Mutation.newReplaceBuilder("child").set("id").to(1L).set("childId").to(2L).build(),
+            Mutation.delete("child", KeySet.singleKey(Key.of(1L, 3L))),
+            Mutation.newInsertBuilder("child").set("id").to(1L).set("childId").to(4L).build());
+
+    CoderProperties.coderDecodeEncodeEqual(MutationGroupCoder.of(), group);
+  }
+
+  @Test
+  public void testSmallerThanJavaSerialization() throws Exception {
+    MutationGroup group =
+        MutationGroup.create(
+            Mutation.newInsertOrUpdateBuilder("Singers")
+                .set("SingerId")
+                .to(12345L)
+                .set("FirstName")
+                .to("Marc")
+                .set("LastName")
+                .to("Richards")
+                .build());
+
+    int compact = CoderUtils.encodeToByteArray(MutationGroupCoder.of(), group).length;
+    int serialized =
+        CoderUtils.encodeToByteArray(SerializableCoder.of(MutationGroup.class), group).length;
+
+    assertThat(compact * 5).isLessThan(serialized);
+  }
+}
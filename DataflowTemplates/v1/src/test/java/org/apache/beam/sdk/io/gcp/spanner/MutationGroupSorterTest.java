@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.beam.sdk.io.gcp.spanner;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.cloud.spanner.Mutation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import org.apache.beam.sdk.io.gcp.spanner.LocalSpannerIO.GatherSortCreateBatchesFn.MutationGroupContainer;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** A test of {@link MutationGroupSorter}. */
+@RunWith(JUnit4.class)
+public class MutationGroupSorterTest {
+
+  @Test
+  public void testSortInMemory() throws Exception {
+    assertSorts(new MutationGroupSorter(Long.MAX_VALUE), 100);
+  }
+
+  @Test
+  public void testSortWithSpilledRuns() throws Exception {
+    // Small enough to spill a run every few groups.
+    assertSorts(new MutationGroupSorter(1000), 1000);
+  }
+
+  @Test
+  public void testClearDropsSpilledRuns() throws Exception {
+    MutationGroupSorter sorter = new MutationGroupSorter(1);
+    sorter.add(container(1L));
+    sorter.add(container(2L));
+
+    sorter.clear();
+
+    assertThat(sorter.isEmpty()).isTrue();
+    assertThat(sorter.sorted().hasNext()).isFalse();
+  }
+
+  private static void assertSorts(MutationGroupSorter sorter, int count) throws Exception {
+    List<Long> ids = new ArrayList<>();
+    Random random = new Random(42);
+    for (int i = 0; i < count; i++) {
+      long id = random.nextInt(Integer.MAX_VALUE);
+      ids.add(id);
+      sorter.add(container(id));
+    }
+    Collections.sort(ids);
+
+    List<Long> sorted = new ArrayList<>();
+    Iterator<MutationGroupContainer> it = sorter.sorted();
+    while (it.hasNext()) {
+      MutationGroupContainer container = it.next();
+      assertThat(container.numRows).isEqualTo(1L);
+      sorted.add(container.mutationGroup.primary().asMap().get("id").getInt64());
+    }
+    sorter.clear();
+
+    assertThat(sorted).isEqualTo(ids);
+  }
+
+  private static MutationGroupContainer container(long id) {
+    Mutation mutation = Mutation.newInsertBuilder("test").set("id").to(id).build();
+    // Big endian keys sort like the non-negative ids.
+    byte[] key = new byte[8];
+    for (int i = 0; i < 8; i++) {
+      key[i] = (byte) (id >>> (56 - 8 * i));
+    }
+    return new MutationGroupContainer(MutationGroup.create(mutation), 8, 1, 1, key);
+  }
+}
@@ -32,8 +32,16 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import javax.script.Invocable;
@@ -53,10 +61,12 @@ import org.apache.beam.sdk.options.PipelineOptions;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.PTransform;
 import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.windowing.BoundedWindow;
 import org.apache.beam.sdk.values.PCollection;
 import org.apache.beam.sdk.values.PCollectionTuple;
 import org.apache.beam.sdk.values.TupleTag;
 import org.apache.beam.sdk.values.TupleTagList;
+import org.apache.beam.sdk.values.ValueInSingleWindow;
 import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.base.Strings;
 import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.base.Throwables;
 import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.io.CharStreams;
@@ -138,15 +148,63 @@ public abstract class JavascriptTextTransformer {
     @Nullable
     public abstract Integer reloadIntervalMinutes();
 
+    /**
+     * Maximum number of engines compiled for the UDF. When not set, an engine is compiled for every
+     * thread that invokes the UDF concurrently, so the pool grows to the harness thread count.
+     */
+    @Nullable
+    public abstract Integer maxPoolSize();
+
     private static final Distribution JAVASCRIPT_RELOAD_LATENCY_MS =
         Metrics.distribution(JavascriptTextTransformer.class, "javascript_reload_latency_ms");
 
-    private static LoadingCache<JavascriptRuntime, Invocable> cache =
+    // Invocable returned by getInvocable(), recompiled when a reload replaces its pool.
+    @Nullable private transient EnginePool invocablePool;
+    @Nullable private transient Invocable invocable;
+
+    private static final Distribution JAVASCRIPT_POOL_WAIT_US =
+        Metrics.distribution(JavascriptTextTransformer.class, "javascript_pool_wait_us");
+
+    private static final Distribution JAVASCRIPT_INVOCATION_LATENCY_US =
+        Metrics.distribution(JavascriptTextTransformer.class, "javascript_invocation_latency_us");
+
+    private static final Distribution JAVASCRIPT_BATCH_SIZE =
+        Metrics.distribution(JavascriptTextTransformer.class, "javascript_batch_size");
+
+    private static final String BATCH_FUNCTION_NAME = "__dataflowTemplatesInvokeBatch";
+
+    /**
+     * Applies the UDF to every input within the engine, so that a batch crosses the Java to
+     * JavaScript boundary once. Errors are caught per input and returned in place of its output.
+     */
+    private static final String BATCH_FUNCTION =
+        "function "
+            + BATCH_FUNCTION_NAME
+            + "(functionName, inputs) {\n"
+            + "  var fn = this[functionName];\n"
+            + "  if (typeof fn !== 'function') {\n"
+            + "    return null;\n"
+            + "  }\n"
+            + "  var Throwable = Java.type('java.lang.Throwable');\n"
+            + "  var ScriptException = Java.type('javax.script.ScriptException');\n"
+            + "  var outputs = new (Java.type('java.lang.Object[]'))(inputs.length);\n"
+            + "  for (var i = 0; i < inputs.length; i++) {\n"
+            + "    try {\n"
+            + "      var output = fn(inputs[i]);\n"
+            + "      outputs[i] = output === undefined ? null : output;\n"
+            + "    } catch (e) {\n"
+            + "      outputs[i] = e instanceof Throwable ? e : new ScriptException(String(e));\n"
+            + "    }\n"
+            + "  }\n"
+            + "  return outputs;\n"
+            + "}\n";
+
+    private static LoadingCache<JavascriptRuntime, EnginePool> cache =
         Caffeine.newBuilder()
             .expireAfter(
-                new Expiry<JavascriptRuntime, Invocable>() {
+                new Expiry<JavascriptRuntime, EnginePool>() {
                   public long expireAfterCreate(
-                      JavascriptRuntime runtime, Invocable invocable, long currentTime) {
+                      JavascriptRuntime runtime, EnginePool pool, long currentTime) {
                     // Do not expire if reload is disabled
                     if (runtime.reloadIntervalMinutes() == null
                         || runtime.reloadIntervalMinutes() <= 0) {
@@ -157,7 +215,7 @@ public abstract class JavascriptTextTransformer {
 
                   public long expireAfterUpdate(
                       JavascriptRuntime runtime,
-                      Invocable invocable,
+                      EnginePool pool,
                       long currentTime,
                       long currentDuration) {
                     return currentDuration;
@@ -165,13 +223,13 @@ public abstract class JavascriptTextTransformer {
 
                   public long expireAfterRead(
                       JavascriptRuntime runtime,
-                      Invocable invocable,
+                      EnginePool pool,
                       long currentTime,
                       long currentDuration) {
                     return currentDuration;
                   }
                 })
-            .build(runtime -> buildInvocable(runtime));
+            .build(runtime -> buildEnginePool(runtime));
 
     private Instant lastRefreshCheck = Instant.now();
 
@@ -184,7 +242,17 @@ public abstract class JavascriptTextTransformer {
 
       public abstract Builder setReloadIntervalMinutes(@Nullable Integer value);
 
-      public abstract JavascriptRuntime build();
+      public abstract Builder setMaxPoolSize(@Nullable Integer value);
+
+      abstract JavascriptRuntime autoBuild();
+
+      public JavascriptRuntime build() {
+        JavascriptRuntime runtime = autoBuild();
+        checkArgument(
+            runtime.maxPoolSize() == null || runtime.maxPoolSize() > 0,
+            "maxPoolSize must be greater than 0.");
+        return runtime;
+      }
     }
 
     /**
@@ -197,19 +265,27 @@ public abstract class JavascriptTextTransformer {
     }
 
     /**
-     * Gets a cached Javascript Invocable, if fileSystemPath() not set, returns null.
+     * Gets a Javascript Invocable compiled from the cached scripts, if fileSystemPath() not set,
+     * returns null. The Invocable is compiled once per runtime and version of the scripts, and is
+     * not shared with {@link #invoke(String)}, so the owner of this runtime may use it without
+     * further synchronization.
      *
      * @return a Javascript Invocable or null
      */
     @Nullable
-    public Invocable getInvocable() throws ScriptException, IOException {
+    public synchronized Invocable getInvocable() throws ScriptException, IOException {
 
       // return null if no UDF path specified.
       if (Strings.isNullOrEmpty(fileSystemPath())) {
         return null;
       }
 
-      return cache.get(this);
+      EnginePool pool = cache.get(this);
+      if (pool != invocablePool) {
+        invocable = newInvocable(pool.scripts);
+        invocablePool = pool;
+      }
+      return invocable;
     }
 
     /**
@@ -223,15 +299,17 @@ public abstract class JavascriptTextTransformer {
       for (String script : scripts) {
         engine.eval(script);
       }
+      engine.eval(BATCH_FUNCTION);
       JAVASCRIPT_RELOAD_LATENCY_MS.update(Instant.now().toEpochMilli() - startTime);
       return (Invocable) engine;
     }
 
-    private static Invocable buildInvocable(JavascriptRuntime runtime)
+    private static EnginePool buildEnginePool(JavascriptRuntime runtime)
         throws IOException, ScriptException {
       // List of all scripts read from the filesystem
       Collection<String> scripts = getScripts(runtime.fileSystemPath());
-      return newInvocable(scripts);
+      return new EnginePool(
+          scripts, runtime.maxPoolSize() != null ? runtime.maxPoolSize() : Integer.MAX_VALUE);
     }
 
     private static ScriptEngine getJavaScriptEngine() {
@@ -265,14 +343,25 @@ public abstract class JavascriptTextTransformer {
      */
     @Nullable
     public String invoke(String data) throws ScriptException, IOException, NoSuchMethodException {
-      Invocable invocable = getInvocable();
-      if (invocable == null) {
+      if (Strings.isNullOrEmpty(fileSystemPath())) {
         throw new RuntimeException("No UDF was loaded");
       }
 
+      // Engines are released to the pool they were borrowed from, so an invocation that overlaps a
+      // reload completes on the old scripts and the old pool is dropped once all engines are back.
+      EnginePool pool = cache.get(this);
+      long waitStart = System.nanoTime();
+      Invocable invocable = pool.borrow();
+      long invokeStart = System.nanoTime();
+      JAVASCRIPT_POOL_WAIT_US.update(TimeUnit.NANOSECONDS.toMicros(invokeStart - waitStart));
+
       Object result;
-      synchronized (invocable) {
+      try {
         result = invocable.invokeFunction(functionName(), data);
+      } finally {
+        pool.release(invocable);
+        JAVASCRIPT_INVOCATION_LATENCY_US.update(
+            TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - invokeStart));
       }
       if (result == null || ScriptObjectMirror.isUndefined(result)) {
         return null;
@@ -285,6 +374,61 @@ public abstract class JavascriptTextTransformer {
       }
     }
 
+    /**
+     * Invokes the UDF with each of the specified inputs, using a single call into the engine for
+     * the whole batch. An error raised by the UDF for one input is returned as the result of that
+     * input and does not affect the others.
+     *
+     * @param data inputs to pass to the invocable function, one at a time
+     * @return one {@link InvokeResult} per input, in the same order
+     */
+    public List<InvokeResult> invokeBatch(List<String> data)
+        throws ScriptException, IOException, NoSuchMethodException {
+      if (Strings.isNullOrEmpty(fileSystemPath())) {
+        throw new RuntimeException("No UDF was loaded");
+      }
+
+      EnginePool pool = cache.get(this);
+      long waitStart = System.nanoTime();
+      Invocable invocable = pool.borrow();
+      long invokeStart = System.nanoTime();
+      JAVASCRIPT_POOL_WAIT_US.update(TimeUnit.NANOSECONDS.toMicros(invokeStart - waitStart));
+
+      Object result;
+      try {
+        result =
+            invocable.invokeFunction(
+                BATCH_FUNCTION_NAME, functionName(), data.toArray(new String[0]));
+      } finally {
+        pool.release(invocable);
+        JAVASCRIPT_INVOCATION_LATENCY_US.update(
+            TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - invokeStart));
+      }
+      JAVASCRIPT_BATCH_SIZE.update(data.size());
+      if (!(result instanceof Object[])) {
+        throw new NoSuchMethodException("No such function " + functionName());
+      }
+
+      Object[] outputs = (Object[]) result;
+      List<InvokeResult> results = new ArrayList<>(outputs.length);
+      for (Object output : outputs) {
+        if (output == null) {
+          results.add(InvokeResult.ofOutput(null));
+        } else if (output instanceof CharSequence) {
+          results.add(InvokeResult.ofOutput(output.toString()));
+        } else if (output instanceof Throwable) {
+          results.add(InvokeResult.ofError((Throwable) output));
+        } else {
+          String className = output.getClass().getName();
+          results.add(
+              InvokeResult.ofError(
+                  new RuntimeException(
+                      "UDF Function did not return a String. Instead got: " + className)));
+        }
+      }
+      return results;
+    }
+
     /**
      * Loads into memory scripts from a File System from a given path. Supports any file system that
      * {@link FileSystems} supports.
@@ -312,6 +456,77 @@ public abstract class JavascriptTextTransformer {
               })
           .collect(Collectors.toList());
     }
+
+    /**
+     * Engines compiled from one version of the UDF scripts. A Nashorn engine must not be used by
+     * two threads at once, so each invocation borrows an engine for its own use instead of
+     * synchronizing on a single shared one. Engines are compiled lazily, up to {@code maxSize}.
+     */
+    private static final class EnginePool {
+
+      private final Collection<String> scripts;
+
+      private final int maxSize;
+
+      private final BlockingQueue<Invocable> idle = new LinkedBlockingQueue<>();
+
+      private final AtomicInteger size = new AtomicInteger();
+
+      EnginePool(Collection<String> scripts, int maxSize) throws ScriptException {
+        this.scripts = scripts;
+        this.maxSize = maxSize;
+        // Compile one engine up front so that broken scripts still fail when the UDF is loaded.
+        idle.add(newInvocable(scripts));
+        size.set(1);
+      }
+
+      Invocable borrow() throws ScriptException, IOException {
+        Invocable invocable = idle.poll();
+        if (invocable != null) {
+          return invocable;
+        }
+        if (size.incrementAndGet() <= maxSize) {
+          try {
+            return newInvocable(scripts);
+          } catch (ScriptException | RuntimeException e) {
+            size.decrementAndGet();
+            throw e;
+          }
+        }
+        size.decrementAndGet();
+        try {
+          return idle.take();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException("Interrupted while waiting for a JavaScript engine.", e);
+        }
+      }
+
+      void release(Invocable invocable) {
+        idle.add(invocable);
+      }
+    }
+  }
+
+  /** The result of applying the UDF to one input of {@link JavascriptRuntime#invokeBatch}. */
+  @AutoValue
+  public abstract static class InvokeResult {
+
+    /** The data transformed by the UDF, or null if the UDF returned nothing or failed. */
+    @Nullable
+    public abstract String output();
+
+    /** The error raised by the UDF, or null if it succeeded. */
+    @Nullable
+    public abstract Throwable error();
+
+    static InvokeResult ofOutput(@Nullable String output) {
+      return new AutoValue_JavascriptTextTransformer_InvokeResult(output, null);
+    }
+
+    static InvokeResult ofError(Throwable error) {
+      return new AutoValue_JavascriptTextTransformer_InvokeResult(null, error);
+    }
   }
 
   /** Transforms Text Strings via a Javascript UDF. */
@@ -324,6 +539,13 @@ public abstract class JavascriptTextTransformer {
 
     public abstract @Nullable Integer reloadIntervalMinutes();
 
+    /**
+     * Number of elements passed to the UDF in a single call into the engine. Elements are buffered
+     * per window and transformed once a batch is full, or at the end of the bundle. Batching is
+     * disabled when not set or at most 1.
+     */
+    public abstract @Nullable Integer batchSize();
+
     /** Builder for {@link TransformTextViaJavascript}. */
     @AutoValue.Builder
     public abstract static class Builder {
@@ -333,6 +555,8 @@ public abstract class JavascriptTextTransformer {
 
       public abstract Builder setReloadIntervalMinutes(@Nullable Integer value);
 
+      public abstract Builder setBatchSize(@Nullable Integer value);
+
       public abstract TransformTextViaJavascript build();
     }
 
@@ -346,6 +570,10 @@ public abstract class JavascriptTextTransformer {
           ParDo.of(
               new DoFn<String, String>() {
                 private JavascriptRuntime javascriptRuntime;
+                private Map<BoundedWindow, List<ValueInSingleWindow<String>>> batches;
+                // Results of the batches invoked while processing, output when the bundle
+                // finishes with the timestamp and window of their own element.
+                private List<ValueInSingleWindow<String>> results;
 
                 @Setup
                 public void setup() {
@@ -358,11 +586,36 @@ public abstract class JavascriptTextTransformer {
                   }
                 }
 
+                @StartBundle
+                public void startBundle() {
+                  batches = new HashMap<>();
+                  results = new ArrayList<>();
+                }
+
                 @ProcessElement
-                public void processElement(ProcessContext c)
+                public void processElement(ProcessContext c, BoundedWindow window)
                     throws IOException, NoSuchMethodException, ScriptException {
                   String element = c.element();
 
+                  if (javascriptRuntime != null && isBatched(batchSize())) {
+                    List<ValueInSingleWindow<String>> batch =
+                        batches.computeIfAbsent(window, w -> new ArrayList<>());
+                    batch.add(ValueInSingleWindow.of(element, c.timestamp(), window, c.pane()));
+                    if (batch.size() >= batchSize()) {
+                      invokeBatch(
+                          batch,
+                          (output, value) ->
+                              results.add(
+                                  ValueInSingleWindow.of(
+                                      output,
+                                      value.getTimestamp(),
+                                      value.getWindow(),
+                                      value.getPane())));
+                      batches.remove(window);
+                    }
+                    return;
+                  }
+
                   if (javascriptRuntime != null) {
                     element = javascriptRuntime.invoke(element);
                   }
@@ -371,6 +624,44 @@ public abstract class JavascriptTextTransformer {
                     c.output(element);
                   }
                 }
+
+                @FinishBundle
+                public void finishBundle(FinishBundleContext c)
+                    throws IOException, NoSuchMethodException, ScriptException {
+                  for (List<ValueInSingleWindow<String>> batch : batches.values()) {
+                    invokeBatch(
+                        batch,
+                        (output, value) ->
+                            c.output(output, value.getTimestamp(), value.getWindow()));
+                  }
+                  batches.clear();
+                  for (ValueInSingleWindow<String> result : results) {
+                    c.output(result.getValue(), result.getTimestamp(), result.getWindow());
+                  }
+                  results.clear();
+                }
+
+                private void invokeBatch(
+                    List<ValueInSingleWindow<String>> batch,
+                    BiConsumer<String, ValueInSingleWindow<String>> output)
+                    throws IOException, NoSuchMethodException, ScriptException {
+                  List<InvokeResult> results =
+                      javascriptRuntime.invokeBatch(
+                          batch.stream()
+                              .map(ValueInSingleWindow::getValue)
+                              .collect(Collectors.toList()));
+                  for (int i = 0; i < batch.size(); i++) {
+                    InvokeResult result = results.get(i);
+                    if (result.error() != null) {
+                      Throwables.throwIfUnchecked(result.error());
+                      Throwables.throwIfInstanceOf(result.error(), ScriptException.class);
+                      throw new RuntimeException(result.error());
+                    }
+                    if (!Strings.isNullOrEmpty(result.output())) {
+                      output.accept(result.output(), batch.get(i));
+                    }
+                  }
+                }
               }));
     }
   }
@@ -391,6 +682,13 @@ public abstract class JavascriptTextTransformer {
 
     public abstract @Nullable Boolean loggingEnabled();
 
+    /**
+     * Number of elements passed to the UDF in a single call into the engine. Elements are buffered
+     * per window and transformed once a batch is full, or at the end of the bundle. Batching is
+     * disabled when not set or at most 1.
+     */
+    public abstract @Nullable Integer batchSize();
+
     public abstract TupleTag<FailsafeElement<T, String>> successTag();
 
     public abstract TupleTag<FailsafeElement<T, String>> failureTag();
@@ -405,6 +703,11 @@ public abstract class JavascriptTextTransformer {
     private final Counter failedCounter =
         Metrics.counter(FailsafeJavascriptUdf.class, "udf-transform-failed-count");
 
+    /** Receives the elements output for one input, from either a bundle or a single element. */
+    private interface FailsafeOutput<T> {
+      void output(TupleTag<FailsafeElement<T, String>> tag, FailsafeElement<T, String> element);
+    }
+
     /** Builder for {@link FailsafeJavascriptUdf}. */
     @AutoValue.Builder
     public abstract static class Builder<T> {
@@ -416,6 +719,8 @@ public abstract class JavascriptTextTransformer {
 
       public abstract Builder<T> setLoggingEnabled(@Nullable Boolean loggingEnabled);
 
+      public abstract Builder<T> setBatchSize(@Nullable Integer batchSize);
+
       public abstract Builder<T> setSuccessTag(TupleTag<FailsafeElement<T, String>> successTag);
 
       public abstract Builder<T> setFailureTag(TupleTag<FailsafeElement<T, String>> failureTag);
@@ -431,6 +736,12 @@ public abstract class JavascriptTextTransformer {
                   new DoFn<FailsafeElement<T, String>, FailsafeElement<T, String>>() {
                     private JavascriptRuntime javascriptRuntime;
                     private boolean loggingEnabled;
+                    private Map<
+                            BoundedWindow, List<ValueInSingleWindow<FailsafeElement<T, String>>>>
+                        batches;
+                    // Outputs of the batches transformed while processing, made when the bundle
+                    // finishes with the timestamp and window of their own element.
+                    private List<Consumer<FinishBundleContext>> pendingOutputs;
 
                     @Setup
                     public void setup() {
@@ -447,9 +758,91 @@ public abstract class JavascriptTextTransformer {
                       }
                     }
 
+                    @StartBundle
+                    public void startBundle() {
+                      batches = new HashMap<>();
+                      pendingOutputs = new ArrayList<>();
+                    }
+
                     @ProcessElement
-                    public void processElement(ProcessContext context) {
+                    public void processElement(ProcessContext context, BoundedWindow window) {
                       FailsafeElement<T, String> element = context.element();
+
+                      if (javascriptRuntime != null && isBatched(batchSize())) {
+                        List<ValueInSingleWindow<FailsafeElement<T, String>>> batch =
+                            batches.computeIfAbsent(window, w -> new ArrayList<>());
+                        batch.add(
+                            ValueInSingleWindow.of(
+                                element, context.timestamp(), window, context.pane()));
+                        if (batch.size() >= batchSize()) {
+                          transformBatch(
+                              batch,
+                              value ->
+                                  (tag, result) ->
+                                      pendingOutputs.add(
+                                          c ->
+                                              c.output(
+                                                  tag,
+                                                  result,
+                                                  value.getTimestamp(),
+                                                  value.getWindow())));
+                          batches.remove(window);
+                        }
+                        return;
+                      }
+
+                      transform(element, context::output);
+                    }
+
+                    @FinishBundle
+                    public void finishBundle(FinishBundleContext context) {
+                      for (List<ValueInSingleWindow<FailsafeElement<T, String>>> batch :
+                          batches.values()) {
+                        transformBatch(
+                            batch,
+                            value ->
+                                (tag, result) ->
+                                    context.output(
+                                        tag, result, value.getTimestamp(), value.getWindow()));
+                      }
+                      batches.clear();
+                      pendingOutputs.forEach(output -> output.accept(context));
+                      pendingOutputs.clear();
+                    }
+
+                    private void transformBatch(
+                        List<ValueInSingleWindow<FailsafeElement<T, String>>> batch,
+                        Function<ValueInSingleWindow<FailsafeElement<T, String>>, FailsafeOutput<T>>
+                            outputs) {
+                      List<InvokeResult> results = null;
+                      try {
+                        results =
+                            javascriptRuntime.invokeBatch(
+                                batch.stream()
+                                    .map(value -> value.getValue().getPayload())
+                                    .collect(Collectors.toList()));
+                      } catch (Throwable e) {
+                        // The batch failed as a whole, e.g. the UDF could not be loaded or hit
+                        // an Error the engine does not let scripts catch. Transform the elements
+                        // one by one so that the failure is attributed to the right elements.
+                        LOG.debug("Batch UDF invocation failed, retrying elements one by one", e);
+                      }
+
+                      for (int i = 0; i < batch.size(); i++) {
+                        ValueInSingleWindow<FailsafeElement<T, String>> value = batch.get(i);
+                        FailsafeOutput<T> output = outputs.apply(value);
+                        if (results == null) {
+                          transform(value.getValue(), output);
+                        } else if (results.get(i).error() != null) {
+                          outputFailure(value.getValue(), results.get(i).error(), output);
+                        } else {
+                          outputSuccess(value.getValue(), results.get(i).output(), output);
+                        }
+                      }
+                    }
+
+                    private void transform(
+                        FailsafeElement<T, String> element, FailsafeOutput<T> output) {
                       String payloadStr = element.getPayload();
 
                       try {
@@ -457,35 +850,52 @@ public abstract class JavascriptTextTransformer {
                           payloadStr = javascriptRuntime.invoke(payloadStr);
                         }
 
-                        if (!Strings.isNullOrEmpty(payloadStr)) {
-                          context.output(
-                              FailsafeElement.of(element.getOriginalPayload(), payloadStr));
-                          successCounter.inc();
-                        }
+                        outputSuccess(element, payloadStr, output);
                       } catch (Throwable e) {
                         // Throwable caught because UDFS can trigger Errors (e.g., StackOverflow)
-                        if (loggingEnabled) {
-                          LOG.warn(
-                              "Exception occurred while applying UDF '{}' from file path '{}' due"
-                                  + " to '{}'",
-                              functionName(),
-                              fileSystemPath(),
-                              e.getMessage());
-                        }
+                        outputFailure(element, e, output);
+                      }
+                    }
+
+                    private void outputSuccess(
+                        FailsafeElement<T, String> element,
+                        String payloadStr,
+                        FailsafeOutput<T> output) {
+                      if (!Strings.isNullOrEmpty(payloadStr)) {
+                        output.output(
+                            successTag(),
+                            FailsafeElement.of(element.getOriginalPayload(), payloadStr));
+                        successCounter.inc();
+                      }
+                    }
 
-                        context.output(
-                            failureTag(),
-                            FailsafeElement.of(element)
-                                .setErrorMessage(e.getMessage())
-                                .setStacktrace(Throwables.getStackTraceAsString(e)));
-                        failedCounter.inc();
+                    private void outputFailure(
+                        FailsafeElement<T, String> element, Throwable e, FailsafeOutput<T> output) {
+                      if (loggingEnabled) {
+                        LOG.warn(
+                            "Exception occurred while applying UDF '{}' from file path '{}' due"
+                                + " to '{}'",
+                            functionName(),
+                            fileSystemPath(),
+                            e.getMessage());
                       }
+
+                      output.output(
+                          failureTag(),
+                          FailsafeElement.of(element)
+                              .setErrorMessage(e.getMessage())
+                              .setStacktrace(Throwables.getStackTraceAsString(e)));
+                      failedCounter.inc();
                     }
                   })
               .withOutputTags(successTag(), TupleTagList.of(failureTag())));
     }
   }
 
+  private static boolean isBatched(@Nullable Integer batchSize) {
+    return batchSize != null && batchSize > 1;
+  }
+
   /**
    * Retrieves a {@link JavascriptRuntime} configured to invoke the specified function within the
    * script. If either the fileSystemPath or functionName is null or empty, this method will return
@@ -38,6 +38,8 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
@@ -140,6 +142,16 @@ public abstract class PythonTextTransformer implements Serializable {
     private final ReentrantLock pythonInstallLock = new ReentrantLock();
     private static String missingPythonErrorMessage = "Cannot run program \"python";
 
+    /** Persistent workers, shared by all DoFn instances in the JVM that run the same UDF. */
+    private static final ConcurrentMap<PythonRuntime, PythonWorkerPool> WORKER_POOLS =
+        new ConcurrentHashMap<>();
+
+    private static final Counter FILE_FALLBACKS =
+        Metrics.counter(PythonRuntime.class, "python_udf_file_fallbacks");
+
+    /** Worker pool this runtime holds a reference to, once it has used it. */
+    private PythonWorkerPool workerPool;
+
     /** Builder for {@link PythonTextTransformer}. */
     @AutoValue.Builder
     public abstract static class Builder {
@@ -237,6 +249,120 @@ public abstract class PythonTextTransformer implements Serializable {
       installRuntime.destroy();
     }
 
+    /**
+     * Checks whether the Python interpreter can be started, so that it is only installed when
+     * missing.
+     *
+     * @param pythonVersion The python runtime version to check. ie python3
+     * @return true if the interpreter ran successfully
+     */
+    public static boolean isPythonAvailable(String pythonVersion) throws InterruptedException {
+      try {
+        Process check =
+            new ProcessBuilder(pythonVersion, "--version")
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        if (!check.waitFor(30L, TimeUnit.SECONDS)) {
+          check.destroyForcibly();
+          return false;
+        }
+        return check.exitValue() == 0;
+      } catch (IOException e) {
+        return false;
+      }
+    }
+
+    /**
+     * Invokes the UDF with specified list of records on the persistent Python workers. Falls back
+     * to running the UDF over a temporary file if the workers fail.
+     *
+     * @param records records in the {@code {"id": ..., "event": ...}} format
+     * @param retries number of attempts for the fallback
+     * @return The results of the UDF, one JSON line per output event
+     */
+    public List<String> invoke(List<String> records, Integer retries)
+        throws IOException, NoSuchMethodException, InterruptedException {
+      if (records.isEmpty()) {
+        return new ArrayList<>();
+      }
+
+      try {
+        return getWorkerPool().apply(records);
+      } catch (IOException e) {
+        LOG.warn("Python UDF workers failed, falling back to running the UDF over a file.", e);
+        FILE_FALLBACKS.inc();
+      }
+
+      File dataFile = File.createTempFile(String.format("manifest_%s", UUID.randomUUID()), null);
+      try {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(dataFile))) {
+          for (String record : records) {
+            writer.write(record);
+            writer.newLine();
+          }
+        }
+        return invoke(dataFile, retries);
+      } finally {
+        dataFile.delete();
+      }
+    }
+
+    private PythonWorkerPool getWorkerPool() throws IOException {
+      if (workerPool != null) {
+        return workerPool;
+      }
+      try {
+        workerPool =
+            WORKER_POOLS.compute(
+                this,
+                (runtime, pool) -> {
+                  if (pool == null) {
+                    try {
+                      // Writes the UDF script to the local file the workers load it from.
+                      runtime.getProcessBuilder();
+                    } catch (IOException e) {
+                      throw new UncheckedIOException(e);
+                    }
+                    pool =
+                        new PythonWorkerPool(
+                            runtime.runtimeVersion() != null
+                                ? runtime.runtimeVersion()
+                                : DEFAULT_PYTHON_VERSION,
+                            new File(runtime.functionName()).getAbsolutePath(),
+                            runtime.functionName(),
+                            Runtime.getRuntime().availableProcessors());
+                  }
+                  pool.retain();
+                  return pool;
+                });
+        return workerPool;
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    }
+
+    /**
+     * Releases the worker pool used by this runtime. The workers are stopped once no runtime in
+     * the JVM uses the pool anymore.
+     */
+    public void close() {
+      if (workerPool == null) {
+        return;
+      }
+      PythonWorkerPool released = workerPool;
+      workerPool = null;
+      WORKER_POOLS.computeIfPresent(
+          this,
+          (runtime, pool) -> {
+            if (pool != released || released.release() > 0) {
+              return pool;
+            }
+            pool.close();
+            return null;
+          });
+    }
+
     /**
      * Invokes the UDF with specified list of data.
      *
@@ -421,9 +547,7 @@ public abstract class PythonTextTransformer implements Serializable {
                     private Integer batchLimit;
                     private Integer batchCounter;
                     private HashMap<String, FailsafeElement<T, String>> futures;
-                    private String processUUID;
-                    private File manifestFile;
-                    private BufferedWriter dataWriter;
+                    private List<String> records;
                     private BoundedWindow window;
 
                     @Setup
@@ -437,7 +561,9 @@ public abstract class PythonTextTransformer implements Serializable {
                             getPythonRuntime(fileSystemPath(), functionName(), runtimeVersion);
                         LOG.info("Build Python Env for version {}", runtimeVersion);
 
-                        pythonRuntime.buildPythonExecutable(runtimeVersion);
+                        if (!PythonRuntime.isPythonAvailable(runtimeVersion)) {
+                          pythonRuntime.buildPythonExecutable(runtimeVersion);
+                        }
                       } else {
                         LOG.warn(
                             "Not setting up a Python Mapper runtime, because "
@@ -448,21 +574,19 @@ public abstract class PythonTextTransformer implements Serializable {
                       }
                     }
 
+                    @Teardown
+                    public void teardown() {
+                      if (pythonRuntime != null) {
+                        pythonRuntime.close();
+                      }
+                    }
+
                     @StartBundle
                     public void startBundle(StartBundleContext context) throws IOException {
                       batchCounter = 0;
                       batchLimit = 1000;
-                      processUUID = UUID.randomUUID().toString();
-                      manifestFile =
-                          File.createTempFile(String.format("manifest_%s", processUUID), null);
                       futures = new HashMap<String, FailsafeElement<T, String>>();
-                      dataWriter =
-                          new BufferedWriter(new FileWriter(manifestFile.getAbsolutePath()));
-                      LOG.info("file is at {}", manifestFile.getAbsolutePath());
-
-                      // initialize a temp file (non local) and a counter
-                      // TODO: createFile function
-
+                      records = new ArrayList<>();
                     }
 
                     @ProcessElement
@@ -482,9 +606,7 @@ public abstract class PythonTextTransformer implements Serializable {
                       // 1) add event and increase counter
                       // 2) if counter > X process all of the rows
 
-                      dataWriter.write(wrappedPayload);
-                      dataWriter.newLine();
-                      dataWriter.flush();
+                      records.add(wrappedPayload);
                       batchCounter++;
                     }
 
@@ -493,12 +615,10 @@ public abstract class PythonTextTransformer implements Serializable {
                     @FinishBundle
                     public void finishBundle(FinishBundleContext context)
                         throws IOException, NoSuchMethodException, InterruptedException {
-                      LOG.info("closing batch at {} events", batchCounter);
+                      LOG.debug("closing batch at {} events", batchCounter);
                       Integer retries = runtimeRetries();
-                      List<String> results = new ArrayList<>();
-                      LOG.info("executing the batch!!!");
-                      results = pythonRuntime.invoke(manifestFile, retries);
-                      LOG.info("processed {} number of records", results.size());
+                      List<String> results = pythonRuntime.invoke(records, retries);
+                      LOG.debug("processed {} number of records", results.size());
                       for (int iter = 0; iter < results.size(); iter++) {
                         String event = results.get(iter);
                         JSONObject json = new JSONObject(event);
@@ -528,8 +648,7 @@ public abstract class PythonTextTransformer implements Serializable {
                         }
                       }
                       futures.clear();
-                      dataWriter.close();
-                      manifestFile.delete();
+                      records.clear();
                     }
                   })
               .withOutputTags(successTag(), TupleTagList.of(failureTag())));
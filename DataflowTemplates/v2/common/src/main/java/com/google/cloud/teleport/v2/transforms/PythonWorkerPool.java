@@ -0,0 +1,363 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.transforms;
+
+import static org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.base.Preconditions.checkArgument;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Distribution;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.base.Splitter;
+import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.io.Resources;
+import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pool of long-lived Python processes that apply a Python UDF to batches of records.
+ *
+ * <p>Each worker loads the UDF script once and then exchanges length-prefixed records with the JVM
+ * over its stdin and stdout, see {@code udf-runtime/python_worker.py} for the protocol. This avoids
+ * starting a process and going through temporary files for every bundle.
+ *
+ * <p>Workers are started lazily, up to {@code maxWorkers}, and callers block until a worker is
+ * available once that many are busy. A worker that died, fails its health check or does not answer
+ * within the timeout is killed and replaced.
+ */
+class PythonWorkerPool {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PythonWorkerPool.class);
+
+  private static final String WORKER_RESOURCE = "udf-runtime/python_worker.py";
+
+  /** Workers idle for longer than this are health checked before they are used again. */
+  private static final long HEALTH_CHECK_AFTER_IDLE_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+  private static final long HEALTH_CHECK_TIMEOUT_SECONDS = 30;
+
+  private static final long REQUEST_TIMEOUT_SECONDS = 300;
+
+  /** Upper bound on the records sent to a worker at once, so that batches stay small in memory. */
+  static final int MAX_RECORDS_PER_REQUEST = 1000;
+
+  private static final Counter WORKER_STARTS =
+      Metrics.counter(PythonWorkerPool.class, "python_worker_starts");
+
+  private static final Counter WORKER_RESTARTS =
+      Metrics.counter(PythonWorkerPool.class, "python_worker_restarts");
+
+  private static final Distribution POOL_WAIT_US =
+      Metrics.distribution(PythonWorkerPool.class, "python_worker_pool_wait_us");
+
+  private static final Distribution REQUEST_LATENCY_US =
+      Metrics.distribution(PythonWorkerPool.class, "python_worker_request_latency_us");
+
+  private static final ScheduledExecutorService WATCHDOG =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setDaemon(true)
+              .setNameFormat("python-udf-worker-watchdog")
+              .build());
+
+  private static volatile String workerScript;
+
+  private final String pythonCommand;
+
+  private final String scriptPath;
+
+  private final String functionName;
+
+  private final int maxWorkers;
+
+  private final BlockingQueue<Worker> idle = new LinkedBlockingQueue<>();
+
+  // All running workers, idle or busy, so that closing the pool can stop every one of them.
+  private final Set<Worker> workers = ConcurrentHashMap.newKeySet();
+
+  private final AtomicInteger size = new AtomicInteger();
+
+  private volatile boolean closed;
+
+  // Number of runtimes using the pool. Only changed while the pool's entry is being computed.
+  private int references;
+
+  /**
+   * Creates a pool of workers.
+   *
+   * @param pythonCommand Python interpreter to run, e.g. {@code python3}
+   * @param scriptPath local path of the UDF script
+   * @param functionName name of the UDF within the script
+   * @param maxWorkers maximum number of worker processes
+   */
+  PythonWorkerPool(String pythonCommand, String scriptPath, String functionName, int maxWorkers) {
+    checkArgument(maxWorkers > 0, "maxWorkers must be greater than 0.");
+    this.pythonCommand = pythonCommand;
+    this.scriptPath = scriptPath;
+    this.functionName = functionName;
+    this.maxWorkers = maxWorkers;
+  }
+
+  /**
+   * Applies the UDF to the records.
+   *
+   * <p>A request that fails because its worker crashed or timed out is retried once on another
+   * worker. If that fails too, the {@link IOException} is thrown so that the caller can fall back
+   * to another way of running the UDF.
+   *
+   * @param records records in the {@code {"id": ..., "event": ...}} format
+   * @return result lines in the {@code {"status": ..., "id": ..., "event": ...}} format
+   */
+  List<String> apply(List<String> records) throws IOException, InterruptedException {
+    List<String> results = new ArrayList<>();
+    for (int start = 0; start < records.size(); start += MAX_RECORDS_PER_REQUEST) {
+      List<String> request =
+          records.subList(start, Math.min(records.size(), start + MAX_RECORDS_PER_REQUEST));
+      try {
+        results.addAll(applyOnce(request));
+      } catch (IOException e) {
+        LOG.warn("Python UDF worker failed, retrying the request on another worker.", e);
+        results.addAll(applyOnce(request));
+      }
+    }
+    return results;
+  }
+
+  private List<String> applyOnce(List<String> records) throws IOException, InterruptedException {
+    long waitStart = System.nanoTime();
+    Worker worker = borrow();
+    long requestStart = System.nanoTime();
+    POOL_WAIT_US.update(TimeUnit.NANOSECONDS.toMicros(requestStart - waitStart));
+
+    try {
+      List<String> results = worker.exchange(records, REQUEST_TIMEOUT_SECONDS);
+      if (closed) {
+        discard(worker);
+      } else {
+        idle.add(worker);
+      }
+      return results;
+    } catch (IOException | RuntimeException e) {
+      discard(worker);
+      WORKER_RESTARTS.inc();
+      throw e;
+    } finally {
+      REQUEST_LATENCY_US.update(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - requestStart));
+    }
+  }
+
+  /** Takes a healthy worker from the pool, starting one if none is idle and the pool has room. */
+  private Worker borrow() throws IOException, InterruptedException {
+    while (true) {
+      Worker worker = idle.poll();
+      if (worker == null) {
+        if (size.incrementAndGet() <= maxWorkers) {
+          try {
+            return start();
+          } catch (IOException | RuntimeException e) {
+            size.decrementAndGet();
+            throw e;
+          }
+        }
+        size.decrementAndGet();
+        worker = idle.take();
+      }
+      if (isHealthy(worker)) {
+        return worker;
+      }
+      LOG.warn("Replacing unhealthy Python UDF worker.");
+      discard(worker);
+      WORKER_RESTARTS.inc();
+    }
+  }
+
+  private boolean isHealthy(Worker worker) {
+    if (!worker.process.isAlive()) {
+      return false;
+    }
+    if (System.nanoTime() - worker.lastUsedNanos < HEALTH_CHECK_AFTER_IDLE_NANOS) {
+      return true;
+    }
+    try {
+      worker.exchange(Collections.emptyList(), HEALTH_CHECK_TIMEOUT_SECONDS);
+      return true;
+    } catch (IOException e) {
+      LOG.warn("Python UDF worker failed its health check.", e);
+      return false;
+    }
+  }
+
+  private Worker start() throws IOException {
+    if (closed) {
+      throw new IOException("Python UDF worker pool for " + scriptPath + " is closed.");
+    }
+    Process process =
+        new ProcessBuilder(pythonCommand, "-c", getWorkerScript(), scriptPath, functionName)
+            .redirectError(Redirect.INHERIT)
+            .start();
+    Worker worker = new Worker(process);
+    WORKER_STARTS.inc();
+    try {
+      // The first health check fails fast if the script cannot be loaded.
+      worker.exchange(Collections.emptyList(), HEALTH_CHECK_TIMEOUT_SECONDS);
+    } catch (IOException e) {
+      worker.destroy();
+      throw new IOException("Failed to start Python UDF worker for " + scriptPath, e);
+    }
+    workers.add(worker);
+    if (closed) {
+      // The pool was closed while the worker started, its caller releases its slot.
+      workers.remove(worker);
+      worker.destroy();
+      throw new IOException("Python UDF worker pool for " + scriptPath + " is closed.");
+    }
+    return worker;
+  }
+
+  /** Stops the worker. Safe to call more than once for the same worker. */
+  private void discard(Worker worker) {
+    worker.destroy();
+    if (workers.remove(worker)) {
+      size.decrementAndGet();
+    }
+  }
+
+  /** Adds a user of the pool. */
+  void retain() {
+    references++;
+  }
+
+  /**
+   * Removes a user of the pool.
+   *
+   * @return the number of users left, the pool can be closed once there are none
+   */
+  int release() {
+    return --references;
+  }
+
+  /**
+   * Stops all workers, including busy ones, whose pending requests then fail with an {@link
+   * IOException}.
+   */
+  void close() {
+    closed = true;
+    idle.clear();
+    for (Worker worker : workers) {
+      discard(worker);
+    }
+  }
+
+  private static String getWorkerScript() {
+    if (workerScript == null) {
+      try {
+        workerScript =
+            Resources.toString(Resources.getResource(WORKER_RESOURCE), StandardCharsets.UTF_8);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    return workerScript;
+  }
+
+  /** A single Python process speaking the worker protocol. Used by one thread at a time. */
+  private static final class Worker {
+
+    private final Process process;
+
+    private final DataOutputStream requests;
+
+    private final DataInputStream responses;
+
+    private long lastUsedNanos = System.nanoTime();
+
+    Worker(Process process) {
+      this.process = process;
+      this.requests = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+      this.responses = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+    }
+
+    /**
+     * Sends the records and reads back their results. The worker reads a whole request before it
+     * answers, so writing everything first cannot deadlock on full pipes. The process is killed if
+     * it does not answer within the timeout, which unblocks the pending read.
+     */
+    List<String> exchange(List<String> records, long timeoutSeconds) throws IOException {
+      ScheduledFuture<?> watchdog =
+          WATCHDOG.schedule(process::destroyForcibly, timeoutSeconds, TimeUnit.SECONDS);
+      try {
+        requests.writeInt(records.size());
+        for (String record : records) {
+          byte[] bytes = record.getBytes(StandardCharsets.UTF_8);
+          requests.writeInt(bytes.length);
+          requests.write(bytes);
+        }
+        requests.flush();
+
+        int count = responses.readInt();
+        if (count != records.size()) {
+          throw new IOException(
+              String.format(
+                  "Python UDF worker answered %d records for a request of %d.",
+                  count, records.size()));
+        }
+        List<String> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+          byte[] bytes = new byte[responses.readInt()];
+          responses.readFully(bytes);
+          if (bytes.length > 0) {
+            Splitter.on('\n')
+                .split(new String(bytes, StandardCharsets.UTF_8))
+                .forEach(results::add);
+          }
+        }
+        lastUsedNanos = System.nanoTime();
+        return results;
+      } catch (IOException e) {
+        if (Thread.currentThread().isInterrupted()) {
+          throw new InterruptedIOException("Interrupted while waiting for Python UDF worker.");
+        }
+        throw e;
+      } finally {
+        watchdog.cancel(false);
+      }
+    }
+
+    void destroy() {
+      process.destroyForcibly();
+    }
+  }
+}
@@ -32,11 +32,10 @@ import org.slf4j.LoggerFactory;
  * The {@link BigQueryTableCache} manages safely getting and setting BigQuery Table objects from a
  * local cache for each worker thread.
  *
- * <p>The key factors addressed are ensuring expiration of cached tables, consistent update behavior
- * to ensure reliability, and easy cache reloads. Open Question: Does the class require thread-safe
- * behaviors? Currently, it does not since there is no iteration and get/set are not continuous.
+ * <p>Tables are refreshed in the background and loaded at most once at a time per table, see
+ * {@link RefreshAheadObjectCache}.
  */
-public class BigQueryTableCache extends MappedObjectCache<TableId, Table> {
+public class BigQueryTableCache extends RefreshAheadObjectCache<TableId, Table> {
 
   private static final Logger LOG = LoggerFactory.getLogger(BigQueryTableCache.class);
   private BigQuery bigquery;
@@ -65,7 +64,7 @@ public class BigQueryTableCache extends MappedObjectCache<TableId, Table> {
    * @param dayPartitioning is a Boolean which informs if day time partitioning should be enabled.
    */
   public Table getOrCreateBigQueryTable(TableId tableId, Boolean dayPartitioning) {
-    Table table = this.cachedObjects.getIfPresent(tableId);
+    Table table = this.getIfPresent(tableId);
     if (table != null) {
       return table;
     }
@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.utils;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheLoader.InvalidCacheLoadException;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.io.Serializable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Distribution;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link RefreshAheadObjectCache} is a Map&lt;Key,Value&gt; cache for values that are expensive
+ * to look up, like table schemas, and that change rarely.
+ *
+ * <p>Unlike {@link MappedObjectCache}, lookups of different keys never wait on each other. A value
+ * missing from the cache is loaded once, by the first thread asking for it, while other threads
+ * asking for the same key wait for that load. Once a value is older than the refresh interval, the
+ * next lookup triggers a reload in the background and keeps returning the current value until the
+ * reload completes; if the reload fails, the current value is kept. Values expire twice the refresh
+ * interval after they were last loaded, so values that are not looked up, or whose reloads keep
+ * failing, are loaded again on the next lookup. The cache holds at most a bounded number of keys.
+ *
+ * <p>Hits, misses and load latencies are reported as metrics in the namespace of the subclass.
+ */
+public abstract class RefreshAheadObjectCache<KeyT, ValueT> implements Serializable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(RefreshAheadObjectCache.class);
+
+  private static final ExecutorService REFRESH_EXECUTOR =
+      Executors.newCachedThreadPool(
+          new ThreadFactoryBuilder()
+              .setDaemon(true)
+              .setNameFormat("object-cache-refresh-%d")
+              .build());
+
+  private final Counter hits = Metrics.counter(getClass(), "cache_hits");
+  private final Counter misses = Metrics.counter(getClass(), "cache_misses");
+  private final Distribution loadLatencyMs =
+      Metrics.distribution(getClass(), "cache_load_latency_ms");
+
+  private int refreshMinutes = 5;
+  private long maximumSize = 10_000;
+  private int maxNumRetries = 0;
+
+  private transient Ticker ticker;
+  private transient Executor refreshExecutor;
+
+  private transient volatile LoadingCache<KeyT, ValueT> cachedObjects;
+
+  /**
+   * Set the number of minutes after which a cached value is refreshed in the background.
+   *
+   * @param value The number of minutes before refreshing a cached value.
+   */
+  public RefreshAheadObjectCache<KeyT, ValueT> withCacheResetTimeUnitValue(Integer value) {
+    this.refreshMinutes = value;
+    this.cachedObjects = null;
+    return this;
+  }
+
+  /**
+   * Set the maximum number of keys kept in the cache. Default is 10000.
+   *
+   * @param maximumSize The maximum number of cached values.
+   */
+  public RefreshAheadObjectCache<KeyT, ValueT> withMaximumSize(long maximumSize) {
+    this.maximumSize = maximumSize;
+    this.cachedObjects = null;
+    return this;
+  }
+
+  /**
+   * Set the number of retries used each time a value is loaded.
+   *
+   * @param numRetries The number of retries before failing to load a value.
+   */
+  public RefreshAheadObjectCache<KeyT, ValueT> withCacheNumRetries(int numRetries) {
+    this.maxNumRetries = numRetries;
+    return this;
+  }
+
+  /** Set the time source of the cache, instead of {@link System#nanoTime()}. */
+  @VisibleForTesting
+  RefreshAheadObjectCache<KeyT, ValueT> withTicker(Ticker ticker) {
+    this.ticker = ticker;
+    this.cachedObjects = null;
+    return this;
+  }
+
+  /** Set the executor running the background reloads. */
+  @VisibleForTesting
+  RefreshAheadObjectCache<KeyT, ValueT> withRefreshExecutor(Executor refreshExecutor) {
+    this.refreshExecutor = refreshExecutor;
+    this.cachedObjects = null;
+    return this;
+  }
+
+  public abstract ValueT getObjectValue(KeyT key);
+
+  /**
+   * Return a {@code ValueT} representing the value requested to be stored, or null if there is no
+   * value for the key. Null values are not cached.
+   *
+   * @param key A key used to lookup the value in the set.
+   */
+  public ValueT get(KeyT key) {
+    ValueT value = getIfPresent(key);
+    if (value != null) {
+      hits.inc();
+      return value;
+    }
+    misses.inc();
+    try {
+      return cache().getUnchecked(key);
+    } catch (InvalidCacheLoadException e) {
+      return null;
+    } catch (UncheckedExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Return the cached {@code ValueT} of the key without loading it, or null if it is not cached.
+   *
+   * @param key A key used to lookup the value in the set.
+   */
+  public ValueT getIfPresent(KeyT key) {
+    return cache().getIfPresent(key);
+  }
+
+  /**
+   * Returns a {@code ValueT} freshly extracted from abstract getObjectValue(key) and sets the value
+   * in the local cache.
+   *
+   * @param key a key used to lookup the value in the set.
+   */
+  public ValueT reset(KeyT key) {
+    cache().invalidate(key);
+    return get(key);
+  }
+
+  /**
+   * Returns a {@code ValueT} extracted from abstract getObjectValue(key) and sets the value in the
+   * local cache. If another thread already replaced {@code currentValue}, the value it stored is
+   * returned without loading it again.
+   *
+   * @param key a key used to lookup the value in the set.
+   * @param currentValue is the current ValueT which a thread is using and if the stored value is
+   *     already different than supply that.
+   */
+  public ValueT reset(KeyT key, ValueT currentValue) {
+    if (currentValue != null) {
+      cache().asMap().remove(key, currentValue);
+    }
+    return get(key);
+  }
+
+  private LoadingCache<KeyT, ValueT> cache() {
+    if (cachedObjects == null) {
+      synchronized (this) {
+        if (cachedObjects == null) {
+          cachedObjects =
+              CacheBuilder.newBuilder()
+                  .ticker(ticker != null ? ticker : Ticker.systemTicker())
+                  .maximumSize(maximumSize)
+                  .refreshAfterWrite(refreshMinutes, TimeUnit.MINUTES)
+                  .expireAfterWrite(2L * refreshMinutes, TimeUnit.MINUTES)
+                  .build(
+                      CacheLoader.asyncReloading(
+                          new CacheLoader<KeyT, ValueT>() {
+                            @Override
+                            public ValueT load(KeyT key) {
+                              return timedLoad(key);
+                            }
+                          },
+                          refreshExecutor != null ? refreshExecutor : REFRESH_EXECUTOR));
+        }
+      }
+    }
+    return cachedObjects;
+  }
+
+  private ValueT timedLoad(KeyT key) {
+    long start = System.nanoTime();
+    try {
+      return getObjectValueWithRetries(key, this.maxNumRetries);
+    } finally {
+      loadLatencyMs.update(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+  }
+
+  private ValueT getObjectValueWithRetries(KeyT key, int retriesRemaining) {
+    try {
+      return getObjectValue(key);
+    } catch (RuntimeException e) {
+      if (retriesRemaining > 0) {
+        int sleepSecs = (this.maxNumRetries - retriesRemaining + 1) * 10;
+        LOG.info("Cache Exception, will retry after {} seconds: {}", sleepSecs, e.toString());
+        try {
+          Thread.sleep(sleepSecs * 1000L);
+          return getObjectValueWithRetries(key, retriesRemaining - 1);
+        } catch (InterruptedException i) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      throw e;
+    }
+  }
+}
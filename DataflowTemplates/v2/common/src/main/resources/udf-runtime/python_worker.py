@@ -0,0 +1,143 @@
+"""
+Copyright (C) 2026 Google LLC
+
+Licensed under the Apache License, Version 2.0 (the "License"); you may not
+use this file except in compliance with the License. You may obtain a copy of
+the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+License for the specific language governing permissions and limitations under
+the License.
+"""
+
+"""
+Long-lived worker used by PythonTextTransformer to apply a Python UDF.
+
+The UDF script is loaded once, then batches of records are read from stdin and
+answered on stdout until stdin is closed. All integers are 4 byte big-endian.
+
+  request:  count, then count times (length, UTF-8 {"id": ..., "event": ...})
+  response: count, then count times (length, UTF-8 result lines)
+
+Each record is answered with the newline separated lines the script itself
+prints for it in the per-file mode, so None results and custom output formats
+are handled alike in both modes. The script is loaded once, and each record is
+handed to its _handle_result function, which is what the __main__ block of the
+UDF template runs for every record of the file. Scripts without _handle_result
+get their __main__ block run on a file holding the single record instead. The
+one difference is that an exception escaping the script's handling is answered
+with a FAILED result for that record, where the per-file mode loses the rest
+of the file. A request with a count of 0 is a health check and is answered
+with a count of 0.
+
+Usage: python3 -c <this file> <udf script path> <udf function name>
+"""
+import contextlib
+import io
+import json
+import os
+import runpy
+import struct
+import sys
+import tempfile
+import traceback
+
+
+def _read_exactly(stream, size):
+  data = bytearray()
+  while len(data) < size:
+    chunk = stream.read(size - len(data))
+    if not chunk:
+      return None
+    data.extend(chunk)
+  return bytes(data)
+
+
+def _read_int(stream):
+  data = _read_exactly(stream, 4)
+  if data is None:
+    return None
+  return struct.unpack('>i', data)[0]
+
+
+def _result(status, event_id, event, error_message):
+  return json.dumps({'status': status,
+                     'id': event_id,
+                     'event': event,
+                     'error_message': error_message})
+
+
+def _run_main(script_path, record):
+  """Runs the __main__ block of the script on a file holding the record."""
+  with tempfile.NamedTemporaryFile('w', suffix='.json', delete=False) as data_file:
+    data_file.write(record + '\n')
+  argv = sys.argv
+  sys.argv = [script_path, data_file.name]
+  try:
+    runpy.run_path(script_path, run_name='__main__')
+  except SystemExit:
+    pass
+  finally:
+    sys.argv = argv
+    os.remove(data_file.name)
+
+
+def _apply(script_path, handle_result, record):
+  """Returns the lines the script prints for the record."""
+  output = io.StringIO()
+  try:
+    with contextlib.redirect_stdout(output):
+      if handle_result is not None:
+        handle_result(json.loads(record))
+      else:
+        _run_main(script_path, record)
+  except Exception:
+    input_data = json.loads(record)
+    return _result('FAILED', input_data.get('id'), input_data.get('event'),
+                   traceback.format_exc())
+  lines = output.getvalue()
+  return lines[:-1] if lines.endswith('\n') else lines
+
+
+def main():
+  # The function name is not needed, the script's own handling calls the UDF.
+  script_path = sys.argv[1]
+
+  # Keep stdin and stdout for the protocol, the exit() of a script's __main__
+  # block closes sys.stdin, and anything the UDF prints outside of its result
+  # handling goes to stderr.
+  requests = os.fdopen(os.dup(sys.stdin.fileno()), 'rb')
+  responses = os.fdopen(os.dup(sys.stdout.fileno()), 'wb')
+  os.dup2(sys.stderr.fileno(), sys.stdout.fileno())
+  sys.stdout = sys.stderr
+
+  handle_result = runpy.run_path(
+      script_path, run_name='__dataflow_udf__').get('_handle_result')
+
+  while True:
+    count = _read_int(requests)
+    if count is None:
+      return
+    records = []
+    for _ in range(count):
+      length = _read_int(requests)
+      record = None if length is None else _read_exactly(requests, length)
+      if record is None:
+        return
+      records.append(record.decode('utf-8'))
+
+    response = bytearray(struct.pack('>i', count))
+    for record in records:
+      lines = _apply(script_path, handle_result, record).encode('utf-8')
+      response += struct.pack('>i', len(lines))
+      response += lines
+    responses.write(response)
+    responses.flush()
+
+
+if __name__ == '__main__':
+  main()
@@ -16,6 +16,7 @@
 package com.google.cloud.teleport.v2.transforms;
 
 import static org.hamcrest.CoreMatchers.anyOf;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
@@ -23,20 +24,27 @@ import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 
 import com.google.cloud.teleport.v2.coders.FailsafeElementCoder;
 import com.google.cloud.teleport.v2.transforms.JavascriptTextTransformer.FailsafeJavascriptUdf;
+import com.google.cloud.teleport.v2.transforms.JavascriptTextTransformer.InvokeResult;
 import com.google.cloud.teleport.v2.transforms.JavascriptTextTransformer.JavascriptRuntime;
 import com.google.cloud.teleport.v2.transforms.JavascriptTextTransformer.TransformTextViaJavascript;
 import com.google.cloud.teleport.v2.values.FailsafeElement;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.Resources;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.script.Invocable;
 import org.apache.beam.sdk.coders.CoderRegistry;
 import org.apache.beam.sdk.coders.StringUtf8Coder;
 import org.apache.beam.sdk.io.gcp.pubsub.PubsubMessage;
@@ -45,9 +53,17 @@ import org.apache.beam.sdk.testing.NeedsRunner;
 import org.apache.beam.sdk.testing.PAssert;
 import org.apache.beam.sdk.testing.TestPipeline;
 import org.apache.beam.sdk.transforms.Create;
+import org.apache.beam.sdk.transforms.MapElements;
+import org.apache.beam.sdk.transforms.windowing.FixedWindows;
+import org.apache.beam.sdk.transforms.windowing.IntervalWindow;
+import org.apache.beam.sdk.transforms.windowing.Window;
 import org.apache.beam.sdk.values.PCollection;
 import org.apache.beam.sdk.values.PCollectionTuple;
+import org.apache.beam.sdk.values.TimestampedValue;
 import org.apache.beam.sdk.values.TupleTag;
+import org.apache.beam.sdk.values.TypeDescriptors;
+import org.joda.time.Duration;
+import org.joda.time.Instant;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
@@ -71,6 +87,12 @@ public class JavascriptTextTransformerTest {
   private static final TupleTag<FailsafeElement<PubsubMessage, String>> FAILURE_TAG =
       new TupleTag<FailsafeElement<PubsubMessage, String>>() {};
 
+  private static final TupleTag<FailsafeElement<String, String>> STRING_SUCCESS_TAG =
+      new TupleTag<FailsafeElement<String, String>>() {};
+
+  private static final TupleTag<FailsafeElement<String, String>> STRING_FAILURE_TAG =
+      new TupleTag<FailsafeElement<String, String>>() {};
+
   private static final String RESOURCES_DIR = "JavascriptTextTransformerTest/";
 
   private static final String TRANSFORM_FILE_PATH =
@@ -97,6 +119,21 @@ public class JavascriptTextTransformerTest {
     javascriptRuntime.getInvocable();
   }
 
+  /** Test {@link JavascriptRuntime#getInvocable} compiles the scripts once per runtime. */
+  @Test
+  public void testGetInvocableIsCached() throws Exception {
+    JavascriptRuntime javascriptRuntime =
+        JavascriptRuntime.newBuilder()
+            .setFunctionName("transform")
+            .setFileSystemPath(TRANSFORM_FILE_PATH)
+            .build();
+
+    Invocable invocable = javascriptRuntime.getInvocable();
+
+    assertThat(invocable, is(notNullValue()));
+    assertSame(invocable, javascriptRuntime.getInvocable());
+  }
+
   /** Test @{link JavscriptRuntime#getInvocable} throws ScriptException if error in script. */
   @Test
   public void testInvokeScriptException() throws Exception {
@@ -158,6 +195,77 @@ public class JavascriptTextTransformerTest {
     assertNull(data);
   }
 
+  /**
+   * Test {@link JavascriptRuntime#invokeBatch(List)} returns one result per input, with errors
+   * reported only for the inputs that failed.
+   */
+  @Test
+  public void testInvokeBatch() throws Exception {
+    JavascriptRuntime javascriptRuntime =
+        JavascriptRuntime.newBuilder()
+            .setFileSystemPath(TRANSFORM_FILE_PATH)
+            .setFunctionName("transformWithFilter")
+            .setReloadIntervalMinutes(0)
+            .build();
+
+    List<InvokeResult> results =
+        javascriptRuntime.invokeBatch(
+            Arrays.asList("{\"answerToLife\": 42}", "not json", "{\"answerToLife\": 43}"));
+
+    assertEquals(3, results.size());
+    assertEquals("{\"answerToLife\":42}", results.get(0).output());
+    assertNull(results.get(0).error());
+    assertNull(results.get(1).output());
+    assertThat(results.get(1).error().getMessage(), containsString("Invalid JSON"));
+    assertNull(results.get(2).output());
+    assertNull(results.get(2).error());
+  }
+
+  /** Test {@link JavascriptRuntime#invokeBatch(List)} fails when the function does not exist. */
+  @Test
+  public void testInvokeBatchMissingFunction() throws Exception {
+    JavascriptRuntime javascriptRuntime =
+        JavascriptRuntime.newBuilder()
+            .setFileSystemPath(TRANSFORM_FILE_PATH)
+            .setFunctionName("doesNotExist")
+            .setReloadIntervalMinutes(0)
+            .build();
+
+    thrown.expect(NoSuchMethodException.class);
+    javascriptRuntime.invokeBatch(Arrays.asList("{\"answerToLife\": 42}"));
+  }
+
+  /**
+   * Test {@link JavascriptRuntime#invoke(String)} returns the right result for every element when
+   * called from many threads, both with a lazily grown and with a bounded engine pool.
+   */
+  @Test
+  public void testInvokeConcurrently() throws Exception {
+    for (Integer maxPoolSize : Arrays.asList(null, 2)) {
+      JavascriptRuntime javascriptRuntime =
+          JavascriptRuntime.newBuilder()
+              .setFileSystemPath(TRANSFORM_FILE_PATH)
+              .setFunctionName("transform")
+              .setReloadIntervalMinutes(0)
+              .setMaxPoolSize(maxPoolSize)
+              .build();
+      ExecutorService executor = Executors.newFixedThreadPool(8);
+      try {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+          String data = "{\"answerToLife\":" + i + "}";
+          results.add(executor.submit(() -> javascriptRuntime.invoke(data)));
+        }
+        for (int i = 0; i < results.size(); i++) {
+          assertEquals(
+              "{\"answerToLife\":" + i + ",\"someProp\":\"someValue\"}", results.get(i).get());
+        }
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+  }
+
   /**
    * Test {@link TransformTextViaJavascript} returns transformed data when a good javascript
    * transform given.
@@ -183,6 +291,47 @@ public class JavascriptTextTransformerTest {
     pipeline.run();
   }
 
+  /**
+   * Test {@link TransformTextViaJavascript} in batch mode with more inputs than the batch size,
+   * spread over two windows, keeps the timestamp and window of every input.
+   */
+  @Test
+  @Category(NeedsRunner.class)
+  public void testDoFnBatchLargerThanBatchSize() {
+    List<TimestampedValue<String>> inputs = new ArrayList<>();
+    List<String> firstWindow = new ArrayList<>();
+    List<String> secondWindow = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      // Every third input falls into the second window, so windows interleave within bundles.
+      boolean second = i % 3 == 2;
+      inputs.add(
+          TimestampedValue.of(
+              "{\"id\": " + i + "}", new Instant(second ? 90_000L + i : 1_000L + i)));
+      (second ? secondWindow : firstWindow).add("{\"id\":" + i + ",\"someProp\":\"someValue\"}");
+    }
+
+    PCollection<String> transformedJson =
+        pipeline
+            .apply("Create", Create.timestamped(inputs))
+            .apply(Window.into(FixedWindows.of(Duration.standardMinutes(1))))
+            .apply(
+                TransformTextViaJavascript.newBuilder()
+                    .setFileSystemPath(TRANSFORM_FILE_PATH)
+                    .setFunctionName("transform")
+                    .setReloadIntervalMinutes(0)
+                    .setBatchSize(3)
+                    .build());
+
+    PAssert.that(transformedJson)
+        .inWindow(new IntervalWindow(new Instant(0L), Duration.standardMinutes(1)))
+        .containsInAnyOrder(firstWindow);
+    PAssert.that(transformedJson)
+        .inWindow(new IntervalWindow(new Instant(60_000L), Duration.standardMinutes(1)))
+        .containsInAnyOrder(secondWindow);
+
+    pipeline.run();
+  }
+
   /** Test {@link TransformTextViaJavascript} passes through data when empty strings as args. */
   @Test
   @Category(NeedsRunner.class)
@@ -394,4 +543,126 @@ public class JavascriptTextTransformerTest {
     // Execute the test
     pipeline.run();
   }
+
+  /**
+   * Tests the {@link FailsafeJavascriptUdf} in batch mode, where valid and invalid inputs in the
+   * same batch must be routed to the success and dead-letter outputs respectively.
+   */
+  @Test
+  @Category(NeedsRunner.class)
+  public void testFailsafeJavaScriptUdfBatch() {
+    final String validPayload = "{\"ticker\": \"GOOGL\", \"price\": 1006.94}";
+    final String invalidPayload = "\"ticker\": \"GOOGL\", \"price\": 1006.94";
+    final String expectedPayload =
+        "{\"ticker\":\"GOOGL\",\"price\":1006.94,\"someProp\":\"someValue\"}";
+    final Map<String, String> attributes = ImmutableMap.of("id", "0xDb12", "type", "stock");
+
+    List<FailsafeElement<PubsubMessage, String>> inputs = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      String payload = i % 2 == 0 ? validPayload : invalidPayload;
+      inputs.add(FailsafeElement.of(new PubsubMessage(payload.getBytes(), attributes), payload));
+    }
+
+    FailsafeElementCoder<PubsubMessage, String> coder =
+        FailsafeElementCoder.of(PubsubMessageWithAttributesCoder.of(), StringUtf8Coder.of());
+
+    CoderRegistry coderRegistry = pipeline.getCoderRegistry();
+    coderRegistry.registerCoderForType(coder.getEncodedTypeDescriptor(), coder);
+
+    PCollectionTuple output =
+        pipeline
+            .apply("CreateInput", Create.of(inputs).withCoder(coder))
+            .apply(
+                "InvokeUdf",
+                FailsafeJavascriptUdf.<PubsubMessage>newBuilder()
+                    .setFileSystemPath(TRANSFORM_FILE_PATH)
+                    .setFunctionName("transform")
+                    .setReloadIntervalMinutes(0)
+                    .setBatchSize(2)
+                    .setSuccessTag(SUCCESS_TAG)
+                    .setFailureTag(FAILURE_TAG)
+                    .build());
+
+    PAssert.that(output.get(SUCCESS_TAG))
+        .satisfies(
+            collection -> {
+              int count = 0;
+              for (FailsafeElement<PubsubMessage, String> result : collection) {
+                assertThat(result.getPayload(), is(equalTo(expectedPayload)));
+                assertThat(new String(result.getOriginalPayload().getPayload()), is(validPayload));
+                count++;
+              }
+              assertEquals(3, count);
+              return null;
+            });
+    PAssert.that(output.get(FAILURE_TAG))
+        .satisfies(
+            collection -> {
+              int count = 0;
+              for (FailsafeElement<PubsubMessage, String> result : collection) {
+                assertThat(result.getPayload(), is(equalTo(invalidPayload)));
+                assertThat(result.getErrorMessage(), containsString("Invalid JSON"));
+                assertThat(result.getStacktrace(), is(notNullValue()));
+                count++;
+              }
+              assertEquals(2, count);
+              return null;
+            });
+
+    pipeline.run();
+  }
+
+  /**
+   * Tests the {@link FailsafeJavascriptUdf} in batch mode with inputs of decreasing timestamps
+   * spread over two windows, where every result keeps the timestamp and window of its input.
+   */
+  @Test
+  @Category(NeedsRunner.class)
+  public void testFailsafeJavaScriptUdfBatchKeepsTimestamps() {
+    List<TimestampedValue<FailsafeElement<String, String>>> inputs = new ArrayList<>();
+    List<String> firstWindow = new ArrayList<>();
+    List<String> secondWindow = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      boolean second = i % 3 == 2;
+      String payload = "{\"id\": " + i + "}";
+      inputs.add(
+          TimestampedValue.of(
+              FailsafeElement.of(payload, payload),
+              new Instant(second ? 90_000L - i : 10_000L - i)));
+      (second ? secondWindow : firstWindow).add("{\"id\":" + i + ",\"someProp\":\"someValue\"}");
+    }
+
+    PCollectionTuple output =
+        pipeline
+            .apply(
+                "CreateInput",
+                Create.timestamped(inputs)
+                    .withCoder(
+                        FailsafeElementCoder.of(StringUtf8Coder.of(), StringUtf8Coder.of())))
+            .apply(Window.into(FixedWindows.of(Duration.standardMinutes(1))))
+            .apply(
+                "InvokeUdf",
+                FailsafeJavascriptUdf.<String>newBuilder()
+                    .setFileSystemPath(TRANSFORM_FILE_PATH)
+                    .setFunctionName("transform")
+                    .setReloadIntervalMinutes(0)
+                    .setBatchSize(3)
+                    .setSuccessTag(STRING_SUCCESS_TAG)
+                    .setFailureTag(STRING_FAILURE_TAG)
+                    .build());
+
+    PCollection<String> payloads =
+        output
+            .get(STRING_SUCCESS_TAG)
+            .apply(MapElements.into(TypeDescriptors.strings()).via(FailsafeElement::getPayload));
+    PAssert.that(payloads)
+        .inWindow(new IntervalWindow(new Instant(0L), Duration.standardMinutes(1)))
+        .containsInAnyOrder(firstWindow);
+    PAssert.that(payloads)
+        .inWindow(new IntervalWindow(new Instant(60_000L), Duration.standardMinutes(1)))
+        .containsInAnyOrder(secondWindow);
+    PAssert.that(output.get(STRING_FAILURE_TAG)).empty();
+
+    pipeline.run();
+  }
 }
@@ -16,9 +16,12 @@
 package com.google.cloud.teleport.v2.transforms;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertThrows;
 
 import com.google.cloud.teleport.v2.coders.FailsafeElementCoder;
 import com.google.cloud.teleport.v2.transforms.PythonTextTransformer.FailsafePythonUdf;
@@ -29,9 +32,16 @@ import com.google.common.io.Resources;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
+import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.apache.beam.sdk.coders.CoderRegistry;
 import org.apache.beam.sdk.coders.StringUtf8Coder;
 import org.apache.beam.sdk.io.gcp.pubsub.PubsubMessage;
@@ -75,6 +85,9 @@ public class PythonTextTransformerTest {
   private static final String TRANSFORM_FILE_PATH =
       Resources.getResource(RESOURCES_DIR + "transform.py").getPath();
 
+  private static final String FILTER_FILE_PATH =
+      Resources.getResource(RESOURCES_DIR + "filter.py").getPath();
+
   /**
    * Test {@link PythonRuntime#invoke} returns transformed data when a good python transform
    * function given. Requires installed python3 on local worker.
@@ -101,6 +114,102 @@ public class PythonTextTransformerTest {
     Assert.assertEquals(expectedJson, data);
   }
 
+  /**
+   * Test {@link PythonRuntime#invoke(List, Integer)} returns transformed records from the
+   * persistent Python workers. Requires installed python3 on local worker.
+   */
+  @Ignore
+  @Test
+  public void testInvokeRecordsGood() throws Exception {
+    PythonRuntime pythonRuntime =
+        PythonRuntime.newBuilder()
+            .setFileSystemPath(TRANSFORM_FILE_PATH)
+            .setFunctionName("transform")
+            .setRuntimeVersion(PYTHON_VERSION)
+            .build();
+
+    List<String> data =
+        pythonRuntime.invoke(
+            Arrays.asList(
+                "{\"id\": \"1\", \"event\": {\"answerToLife\": 42}}",
+                "{\"id\": \"2\", \"event\": {\"answerToLife\": 43}}"),
+            5);
+
+    Assert.assertEquals(
+        Arrays.asList(
+            "{\"status\": \"SUCCESS\", \"id\": \"1\", "
+                + "\"event\": {\"answerToLife\": 42, \"new_key\": \"new_value\"}, "
+                + "\"error_message\": null}",
+            "{\"status\": \"SUCCESS\", \"id\": \"2\", "
+                + "\"event\": {\"answerToLife\": 43, \"new_key\": \"new_value\"}, "
+                + "\"error_message\": null}"),
+        data);
+  }
+
+  /**
+   * Test the persistent Python workers answer records with the same lines as the script prints for
+   * them in the per-file mode, including for discarded events. Requires installed python3 on local
+   * worker.
+   */
+  @Ignore
+  @Test
+  public void testInvokeRecordsMatchesFileMode() throws Exception {
+    PythonRuntime pythonRuntime =
+        PythonRuntime.newBuilder()
+            .setFileSystemPath(FILTER_FILE_PATH)
+            .setFunctionName("transform")
+            .setRuntimeVersion(PYTHON_VERSION)
+            .build();
+    List<String> records =
+        Arrays.asList(
+            "{\"id\": \"1\", \"event\": {\"answerToLife\": 42}}",
+            "{\"id\": \"2\", \"event\": {\"discard\": true}}");
+    File dataFile = File.createTempFile("records", ".json");
+    try (BufferedWriter dataWriter = new BufferedWriter(new FileWriter(dataFile))) {
+      for (String record : records) {
+        dataWriter.write(record);
+        dataWriter.newLine();
+      }
+    }
+
+    List<String> data = pythonRuntime.invoke(records, 1);
+
+    Assert.assertEquals(pythonRuntime.invoke(dataFile, 1), data);
+    assertThat(
+        data,
+        hasItem(
+            "{\"status\": \"SUCCESS\", \"id\": \"2\", \"event\": null, \"error_message\": null}"));
+  }
+
+  /**
+   * Test closing a {@link PythonWorkerPool} stops busy workers too. Requires installed python3 on
+   * local worker.
+   */
+  @Ignore
+  @Test
+  public void testCloseStopsBusyWorkers() throws Exception {
+    PythonWorkerPool pool = new PythonWorkerPool(PYTHON_VERSION, FILTER_FILE_PATH, "transform", 1);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<List<String>> result =
+          executor.submit(
+              () ->
+                  pool.apply(
+                      Collections.singletonList(
+                          "{\"id\": \"1\", \"event\": {\"sleep_seconds\": 600}}")));
+      // Let the worker start and receive the request.
+      Thread.sleep(5000);
+
+      pool.close();
+
+      ExecutionException e =
+          assertThrows(ExecutionException.class, () -> result.get(30, TimeUnit.SECONDS));
+      assertThat(e.getCause(), instanceOf(IOException.class));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   /** Tests the {@link FailsafePythonUdf} when the input is valid. */
   @Ignore
   @Test
@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.utils;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.base.Ticker;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link RefreshAheadObjectCache}. */
+@RunWith(JUnit4.class)
+public class RefreshAheadObjectCacheTest {
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void getLoadsEachKeyOnce() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    CountingCache cache = new CountingCache(release);
+
+    List<Future<String>> results = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      results.add(executor.submit(() -> cache.get("slow")));
+    }
+    cache.loading.await(10, TimeUnit.SECONDS);
+    release.countDown();
+
+    for (Future<String> result : results) {
+      assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("slow-1");
+    }
+    assertThat(cache.loads.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void getDoesNotWaitForLoadsOfOtherKeys() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    CountingCache cache = new CountingCache(release);
+
+    Future<String> slow = executor.submit(() -> cache.get("slow"));
+    Future<String> fast = executor.submit(() -> cache.get("fast"));
+
+    assertThat(fast.get(10, TimeUnit.SECONDS)).isEqualTo("fast-1");
+    assertThat(slow.isDone()).isFalse();
+    release.countDown();
+    assertThat(slow.get(10, TimeUnit.SECONDS)).isEqualTo("slow-2");
+  }
+
+  @Test
+  public void getDoesNotCacheNullValues() {
+    CountingCache cache = new CountingCache(new CountDownLatch(0));
+
+    assertThat(cache.get("missing")).isNull();
+    assertThat(cache.get("missing")).isNull();
+    assertThat(cache.loads.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void resetReloadsOnlyStaleValues() {
+    CountingCache cache = new CountingCache(new CountDownLatch(0));
+
+    String first = cache.get("key");
+    String second = cache.reset("key", first);
+    assertThat(second).isEqualTo("key-2");
+
+    // The value was already replaced, so a reset with the old value does not load it again.
+    assertThat(cache.reset("key", first)).isEqualTo("key-2");
+    assertThat(cache.reset("key")).isEqualTo("key-3");
+    assertThat(cache.loads.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void getReturnsCurrentValueWhileReloading() {
+    FakeTicker ticker = new FakeTicker();
+    List<Runnable> reloads = new ArrayList<>();
+    CountingCache cache = new CountingCache(new CountDownLatch(0));
+    cache.withCacheResetTimeUnitValue(5).withTicker(ticker).withRefreshExecutor(reloads::add);
+
+    assertThat(cache.get("key")).isEqualTo("key-1");
+    ticker.advance(4, TimeUnit.MINUTES);
+    assertThat(cache.get("key")).isEqualTo("key-1");
+    assertThat(reloads).isEmpty();
+
+    // Past the refresh interval, the lookup schedules a reload and returns the current value.
+    ticker.advance(2, TimeUnit.MINUTES);
+    assertThat(cache.get("key")).isEqualTo("key-1");
+    assertThat(reloads).hasSize(1);
+    assertThat(cache.loads.get()).isEqualTo(1);
+
+    reloads.remove(0).run();
+    assertThat(cache.get("key")).isEqualTo("key-2");
+    assertThat(reloads).isEmpty();
+  }
+
+  @Test
+  public void valuesExpireTwoRefreshIntervalsAfterTheyWereLoaded() {
+    FakeTicker ticker = new FakeTicker();
+    CountingCache cache = new CountingCache(new CountDownLatch(0));
+    cache.withCacheResetTimeUnitValue(5).withTicker(ticker);
+
+    assertThat(cache.get("key")).isEqualTo("key-1");
+    ticker.advance(11, TimeUnit.MINUTES);
+
+    assertThat(cache.getIfPresent("key")).isNull();
+    assertThat(cache.get("key")).isEqualTo("key-2");
+  }
+
+  /** A {@link Ticker} that only moves when told to. */
+  private static class FakeTicker extends Ticker {
+
+    private long nanos;
+
+    @Override
+    public long read() {
+      return nanos;
+    }
+
+    void advance(long duration, TimeUnit unit) {
+      nanos += unit.toNanos(duration);
+    }
+  }
+
+  /** Returns the key and the number of loads so far, waiting for the latch on the slow key. */
+  private static class CountingCache extends RefreshAheadObjectCache<String, String> {
+
+    private final transient CountDownLatch release;
+
+    private final transient CountDownLatch loading = new CountDownLatch(1);
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    CountingCache(CountDownLatch release) {
+      this.release = release;
+    }
+
+    @Override
+    public String getObjectValue(String key) {
+      if (key.equals("missing")) {
+        loads.incrementAndGet();
+        return null;
+      }
+      if (key.equals("slow")) {
+        loading.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+      }
+      return key + "-" + loads.incrementAndGet();
+    }
+  }
+}
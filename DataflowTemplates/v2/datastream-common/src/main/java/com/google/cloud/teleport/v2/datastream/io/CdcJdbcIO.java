@@ -24,14 +24,22 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import javax.annotation.Nullable;
 import javax.sql.DataSource;
 import org.apache.beam.sdk.io.jdbc.JdbcIO;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Distribution;
+import org.apache.beam.sdk.metrics.Metrics;
 import org.apache.beam.sdk.options.ValueProvider;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.PTransform;
@@ -46,6 +54,7 @@ import org.apache.beam.sdk.util.FluentBackoff;
 import org.apache.beam.sdk.util.Sleeper;
 import org.apache.beam.sdk.values.PCollection;
 import org.apache.beam.sdk.values.PDone;
+import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.annotations.VisibleForTesting;
 import org.apache.commons.dbcp2.BasicDataSource;
 import org.joda.time.Duration;
 import org.slf4j.Logger;
@@ -83,6 +92,10 @@ import org.slf4j.LoggerFactory;
  * since that risks duplicating records in the database, or failing due to primary key conflicts.
  * Consider using <a href="https://en.wikipedia.org/wiki/Merge_(SQL)">MERGE ("upsert")
  * statements</a> supported by your database instead.
+ *
+ * <p>With {@link Write#withNetChanges(RowChangeFormatter, Dialect)}, each batch is reduced to the
+ * last change of every row, which is then written with one multi-row upsert or delete statement
+ * per table instead of one statement per change.
  */
 public class CdcJdbcIO {
 
@@ -325,6 +338,177 @@ public class CdcJdbcIO {
     boolean apply(SQLException sqlException);
   }
 
+  /**
+   * An interface used by the JdbcIO Write to describe an element as a change to a single row, see
+   * {@link WriteVoid#withNetChanges(RowChangeFormatter, Dialect)}.
+   */
+  @FunctionalInterface
+  public interface RowChangeFormatter<T> extends Serializable {
+    /**
+     * Returns the row change of the element, or null if the element has to be written as is with
+     * the {@link StatementFormatter}.
+     */
+    @Nullable
+    RowChange formatRowChange(T element);
+  }
+
+  /**
+   * The new state of a single row. Table and column names are SQL fragments that are written to the
+   * statements as is, so they must already be quoted for the target database. Values are bound as
+   * statement parameters and may be null.
+   */
+  @AutoValue
+  public abstract static class RowChange implements Serializable {
+    /** Qualified name of the table. */
+    public abstract String getTableName();
+
+    public abstract List<String> getPrimaryKeyColumns();
+
+    public abstract List<Object> getPrimaryKeyValues();
+
+    /** Columns of the new row. Empty for deletes. */
+    public abstract List<String> getColumns();
+
+    public abstract List<Object> getValues();
+
+    public abstract boolean isDelete();
+
+    public static RowChange upsert(
+        String tableName,
+        List<String> primaryKeyColumns,
+        List<?> primaryKeyValues,
+        List<String> columns,
+        List<?> values) {
+      checkArgument(columns.size() == values.size(), "columns and values must have the same size");
+      return new AutoValue_CdcJdbcIO_RowChange(
+          tableName,
+          primaryKeyColumns,
+          Collections.unmodifiableList(new ArrayList<>(primaryKeyValues)),
+          columns,
+          Collections.unmodifiableList(new ArrayList<>(values)),
+          false);
+    }
+
+    public static RowChange delete(
+        String tableName, List<String> primaryKeyColumns, List<?> primaryKeyValues) {
+      return new AutoValue_CdcJdbcIO_RowChange(
+          tableName,
+          primaryKeyColumns,
+          Collections.unmodifiableList(new ArrayList<>(primaryKeyValues)),
+          List.of(),
+          List.of(),
+          true);
+    }
+  }
+
+  /** The SQL dialect of the statements written for {@link RowChange row changes}. */
+  public enum Dialect {
+    MYSQL {
+      @Override
+      String upsertClause(RowChange row) {
+        StringBuilder sql = new StringBuilder(" ON DUPLICATE KEY UPDATE ");
+        for (int i = 0; i < row.getColumns().size(); i++) {
+          String column = row.getColumns().get(i);
+          sql.append(i == 0 ? "" : ",").append(column).append("=VALUES(" + column + ")");
+        }
+        return sql.toString();
+      }
+
+      @Override
+      void setParameter(PreparedStatement statement, int index, @Nullable Object value)
+          throws SQLException {
+        if (value == null) {
+          statement.setNull(index, Types.NULL);
+        } else {
+          statement.setObject(index, value);
+        }
+      }
+    },
+    POSTGRES {
+      @Override
+      String upsertClause(RowChange row) {
+        StringBuilder sql = new StringBuilder(" ON CONFLICT (");
+        sql.append(String.join(",", row.getPrimaryKeyColumns())).append(") DO UPDATE SET ");
+        for (int i = 0; i < row.getColumns().size(); i++) {
+          String column = row.getColumns().get(i);
+          sql.append(i == 0 ? "" : ",").append(column).append("=EXCLUDED.").append(column);
+        }
+        return sql.toString();
+      }
+
+      /**
+       * Binds values with an unspecified type, which the server infers from the column like it
+       * does for a quoted literal.
+       */
+      @Override
+      void setParameter(PreparedStatement statement, int index, @Nullable Object value)
+          throws SQLException {
+        if (value == null) {
+          statement.setNull(index, Types.OTHER);
+        } else {
+          statement.setObject(index, value.toString(), Types.OTHER);
+        }
+      }
+    };
+
+    abstract String upsertClause(RowChange row);
+
+    abstract void setParameter(PreparedStatement statement, int index, @Nullable Object value)
+        throws SQLException;
+
+    /**
+     * Returns a statement upserting all the rows, which must be of the same table and have the same
+     * columns. The values of the rows are bound with {@link #setParameters}.
+     */
+    public String upsertStatement(List<RowChange> rows) {
+      RowChange first = rows.get(0);
+      String placeholders = placeholders(first.getColumns().size());
+      StringBuilder sql = new StringBuilder("INSERT INTO ").append(first.getTableName());
+      sql.append(" (").append(String.join(",", first.getColumns())).append(") VALUES ");
+      for (int i = 0; i < rows.size(); i++) {
+        sql.append(i == 0 ? "(" : ",(").append(placeholders).append(")");
+      }
+      return sql.append(upsertClause(first)).append(";").toString();
+    }
+
+    /**
+     * Returns a statement deleting all the rows, which must be of the same table. The primary key
+     * values of the rows are bound with {@link #setParameters}.
+     */
+    public String deleteStatement(List<RowChange> rows) {
+      RowChange first = rows.get(0);
+      boolean compositeKey = first.getPrimaryKeyColumns().size() > 1;
+      String placeholders = placeholders(first.getPrimaryKeyColumns().size());
+      StringBuilder sql = new StringBuilder("DELETE FROM ").append(first.getTableName());
+      sql.append(" WHERE ");
+      sql.append(compositeKey ? "(" : "").append(String.join(",", first.getPrimaryKeyColumns()));
+      sql.append(compositeKey ? ")" : "").append(" IN (");
+      for (int i = 0; i < rows.size(); i++) {
+        sql.append(i == 0 ? "" : ",");
+        sql.append(compositeKey ? "(" + placeholders + ")" : placeholders);
+      }
+      return sql.append(");").toString();
+    }
+
+    /**
+     * Binds the values of the rows to the parameters of their {@link #upsertStatement} or {@link
+     * #deleteStatement}.
+     */
+    public void setParameters(PreparedStatement statement, List<RowChange> rows)
+        throws SQLException {
+      int index = 1;
+      for (RowChange row : rows) {
+        for (Object value : row.isDelete() ? row.getPrimaryKeyValues() : row.getValues()) {
+          setParameter(statement, index++, value);
+        }
+      }
+    }
+
+    private static String placeholders(int count) {
+      return String.join(",", Collections.nCopies(count, "?"));
+    }
+  }
+
   /**
    * This class is used as the default return value of {@link JdbcIO#write()}.
    *
@@ -367,6 +551,11 @@ public class CdcJdbcIO {
       return new Write(inner.withRetryStrategy(retryStrategy));
     }
 
+    /** See {@link WriteVoid#withNetChanges(RowChangeFormatter, Dialect)}. */
+    public Write<T> withNetChanges(RowChangeFormatter<T> formatter, Dialect dialect) {
+      return new Write(inner.withNetChanges(formatter, dialect));
+    }
+
     /**
      * Returns {@link WriteVoid} transform which can be used in {@link Wait#on(PCollection[])} to
      * wait until all data is written.
@@ -412,6 +601,12 @@ public class CdcJdbcIO {
     @Nullable
     abstract RetryStrategy getRetryStrategy();
 
+    @Nullable
+    abstract RowChangeFormatter<T> getRowChangeFormatter();
+
+    @Nullable
+    abstract Dialect getDialect();
+
     abstract Builder<T> toBuilder();
 
     @AutoValue.Builder
@@ -425,6 +620,10 @@ public class CdcJdbcIO {
 
       abstract Builder<T> setRetryStrategy(RetryStrategy deadlockPredicate);
 
+      abstract Builder<T> setRowChangeFormatter(RowChangeFormatter<T> formatter);
+
+      abstract Builder<T> setDialect(Dialect dialect);
+
       abstract WriteVoid<T> build();
     }
 
@@ -461,6 +660,23 @@ public class CdcJdbcIO {
       return toBuilder().setRetryStrategy(retryStrategy).build();
     }
 
+    /**
+     * Writes the net change of each batch instead of every statement. Elements are described as
+     * {@link RowChange row changes}; only the last change of each row in a batch is kept, and the
+     * remaining changes are written with one multi-row upsert or delete per table and set of
+     * columns. Elements without a row change or primary key are written with the {@link
+     * StatementFormatter} as usual.
+     *
+     * <p>Changes must reach the sink in order for each row, which holds when they are deduplicated
+     * by row before the write. If the combined statements fail, the batch falls back to one
+     * statement per element like in the default mode.
+     */
+    public WriteVoid<T> withNetChanges(RowChangeFormatter<T> formatter, Dialect dialect) {
+      checkArgument(formatter != null, "formatter can not be null");
+      checkArgument(dialect != null, "dialect can not be null");
+      return toBuilder().setRowChangeFormatter(formatter).setDialect(dialect).build();
+    }
+
     @Override
     public PCollection<Void> expand(PCollection<T> input) {
       checkArgument(
@@ -470,7 +686,8 @@ public class CdcJdbcIO {
       return input.apply(ParDo.of(new WriteFn<>(this)));
     }
 
-    private static class WriteFn<T> extends DoFn<T, Void> {
+    @VisibleForTesting
+    static class WriteFn<T> extends DoFn<T, Void> {
 
       private final WriteVoid<T> spec;
 
@@ -480,18 +697,43 @@ public class CdcJdbcIO {
               .withMaxRetries(MAX_RETRIES)
               .withInitialBackoff(Duration.standardSeconds(5));
 
+      // Upper bound on the rows of a combined statement, to keep statements reasonably small.
+      @VisibleForTesting static final int MAX_ROWS_PER_STATEMENT = 500;
+
+      // Upper bound on the parameters of a combined statement. PostgreSQL allows at most 32767.
+      @VisibleForTesting static final int MAX_PARAMETERS_PER_STATEMENT = 32767;
+
+      private final Counter statementsExecuted =
+          Metrics.counter(WriteFn.class, "jdbc_statements_executed");
+      private final Counter changesCompacted =
+          Metrics.counter(WriteFn.class, "jdbc_row_changes_compacted");
+      private final Distribution rowsPerStatement =
+          Metrics.distribution(WriteFn.class, "jdbc_rows_per_statement");
+      private final Distribution batchLatencyMs =
+          Metrics.distribution(WriteFn.class, "jdbc_batch_latency_ms");
+
       private DataSource dataSource;
       private Connection connection;
       private Statement statement;
       private final List<T> records = new ArrayList<>();
+      private transient Sleeper sleeper;
 
       public WriteFn(WriteVoid<T> spec) {
+        this(spec, Sleeper.DEFAULT);
+      }
+
+      @VisibleForTesting
+      WriteFn(WriteVoid<T> spec, Sleeper sleeper) {
         this.spec = spec;
+        this.sleeper = sleeper;
       }
 
       @Setup
       public void setup() {
         dataSource = spec.getDataSourceProviderFn().apply(null);
+        if (sleeper == null) {
+          sleeper = Sleeper.DEFAULT;
+        }
       }
 
       @StartBundle
@@ -502,9 +744,7 @@ public class CdcJdbcIO {
       }
 
       @ProcessElement
-      public void processElement(ProcessContext context) throws Exception {
-        T record = context.element();
-
+      public void processElement(@Element T record) throws Exception {
         records.add(record);
 
         if (records.size() >= spec.getBatchSize()) {
@@ -530,7 +770,6 @@ public class CdcJdbcIO {
         if (records.isEmpty()) {
           return;
         }
-        Sleeper sleeper = Sleeper.DEFAULT;
         BackOff backoff = BUNDLE_WRITE_BACKOFF.backoff();
         boolean singleStatementMode = false;
         while (true) {
@@ -558,11 +797,80 @@ public class CdcJdbcIO {
           throws SQLException, IOException, InterruptedException {
         if (singleStatementMode) {
           executeBatchSingleStatementFormatting();
+        } else if (spec.getRowChangeFormatter() != null) {
+          executeBatchNetChanges();
         } else {
           executeBatchMultiStatementFormatting();
         }
       }
 
+      private void executeBatchNetChanges() throws SQLException {
+        long start = System.nanoTime();
+        statement = connection.createStatement();
+
+        // The last change of each row, ordered by when the row last changed.
+        Map<List<Object>, RowChange> netChanges = new LinkedHashMap<>();
+        List<String> otherStatements = new ArrayList<>();
+        for (T record : records) {
+          RowChange change = spec.getRowChangeFormatter().formatRowChange(record);
+          if (change == null || change.getPrimaryKeyColumns().isEmpty()) {
+            otherStatements.add(spec.getStatementFormatter().formatStatement(record));
+            continue;
+          }
+          List<Object> rowKey = new ArrayList<>(change.getPrimaryKeyValues());
+          rowKey.add(0, change.getTableName());
+          if (netChanges.remove(rowKey) != null) {
+            changesCompacted.inc();
+          }
+          netChanges.put(rowKey, change);
+        }
+
+        // Changes of different rows are independent, so rows sharing a statement are grouped.
+        Map<List<Object>, List<RowChange>> groups = new LinkedHashMap<>();
+        for (RowChange change : netChanges.values()) {
+          List<Object> groupKey =
+              List.of(change.getTableName(), change.isDelete(), change.getColumns());
+          groups.computeIfAbsent(groupKey, k -> new ArrayList<>()).add(change);
+        }
+
+        int statements = 0;
+        Dialect dialect = spec.getDialect();
+        for (List<RowChange> group : groups.values()) {
+          RowChange first = group.get(0);
+          int parametersPerRow =
+              first.isDelete() ? first.getPrimaryKeyColumns().size() : first.getColumns().size();
+          int maxRows =
+              Math.max(
+                  1,
+                  Math.min(
+                      MAX_ROWS_PER_STATEMENT,
+                      MAX_PARAMETERS_PER_STATEMENT / Math.max(1, parametersPerRow)));
+          for (int from = 0; from < group.size(); from += maxRows) {
+            List<RowChange> rows = group.subList(from, Math.min(group.size(), from + maxRows));
+            String sql =
+                first.isDelete() ? dialect.deleteStatement(rows) : dialect.upsertStatement(rows);
+            try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+              dialect.setParameters(preparedStatement, rows);
+              preparedStatement.executeUpdate();
+            }
+            rowsPerStatement.update(rows.size());
+            statements++;
+          }
+        }
+        for (String otherStatement : otherStatements) {
+          statement.addBatch(otherStatement);
+          rowsPerStatement.update(1);
+          statements++;
+        }
+
+        if (!otherStatements.isEmpty()) {
+          statement.executeBatch();
+        }
+        connection.commit();
+        statementsExecuted.inc(statements);
+        batchLatencyMs.update(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+      }
+
       private void executeBatchMultiStatementFormatting()
           throws SQLException, IOException, InterruptedException {
         statement = connection.createStatement();
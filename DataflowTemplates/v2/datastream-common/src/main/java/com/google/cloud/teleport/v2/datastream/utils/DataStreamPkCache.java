@@ -15,7 +15,7 @@
  */
 package com.google.cloud.teleport.v2.datastream.utils;
 
-import com.google.cloud.teleport.v2.utils.MappedObjectCache;
+import com.google.cloud.teleport.v2.utils.RefreshAheadObjectCache;
 import java.io.IOException;
 import java.util.List;
 import org.slf4j.Logger;
@@ -25,7 +25,7 @@ import org.slf4j.LoggerFactory;
  * The {@link DataStreamPkCache} stores an expiring cached list of PKs for each stream, schema, and
  * table combination.
  */
-public class DataStreamPkCache extends MappedObjectCache<List<String>, List<String>> {
+public class DataStreamPkCache extends RefreshAheadObjectCache<List<String>, List<String>> {
 
   private static final Logger LOG = LoggerFactory.getLogger(DataStreamPkCache.class);
 
@@ -0,0 +1,247 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.datastream.io;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.teleport.v2.datastream.io.CdcJdbcIO.Dialect;
+import com.google.cloud.teleport.v2.datastream.io.CdcJdbcIO.RowChange;
+import com.google.cloud.teleport.v2.datastream.io.CdcJdbcIO.WriteVoid;
+import com.google.cloud.teleport.v2.datastream.io.CdcJdbcIO.WriteVoid.WriteFn;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.ArgumentCaptor;
+
+/** Test cases for the net change mode of {@link CdcJdbcIO}. */
+@RunWith(JUnit4.class)
+public class CdcJdbcIOTest {
+
+  private static final List<String> PK = List.of("id");
+  private static final List<String> COLUMNS = List.of("id", "v");
+
+  private DataSource dataSource;
+  private Connection connection;
+  private Statement statement;
+  private PreparedStatement preparedStatement;
+
+  @Before
+  public void setUp() throws SQLException {
+    dataSource = mock(DataSource.class);
+    connection = mock(Connection.class);
+    statement = mock(Statement.class);
+    preparedStatement = mock(PreparedStatement.class);
+    when(dataSource.getConnection()).thenReturn(connection);
+    when(connection.createStatement()).thenReturn(statement);
+    when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+  }
+
+  @Test
+  public void testNetChangesKeepLastChangePerRow() throws Exception {
+    List<String> statements =
+        write(
+            upsert("t1", 1, "a"),
+            upsert("t1", 2, "b"),
+            upsert("t1", 1, "c"),
+            RowChange.delete("t1", PK, List.of(2)),
+            upsert("t2", 2, "d"));
+
+    assertThat(statements)
+        .containsExactly(
+            "INSERT INTO t1 (id,v) VALUES (?,?) ON DUPLICATE KEY UPDATE id=VALUES(id),v=VALUES(v);",
+            "DELETE FROM t1 WHERE id IN (?);",
+            "INSERT INTO t2 (id,v) VALUES (?,?) ON DUPLICATE KEY UPDATE id=VALUES(id),v=VALUES(v);")
+        .inOrder();
+    assertThat(parameters()).containsExactly(1, "c", 2, 2, "d").inOrder();
+    verify(statement, never()).executeBatch();
+    verify(connection).commit();
+  }
+
+  @Test
+  public void testNetChangesGroupByTableDeleteAndColumns() throws Exception {
+    List<String> statements =
+        write(
+            upsert("t1", 1, "a"),
+            upsert("t2", 1, "b"),
+            RowChange.delete("t1", PK, List.of(4)),
+            RowChange.upsert("t1", PK, List.of(3), List.of("id"), List.of(3)),
+            upsert("t1", 2, "c"),
+            RowChange.delete("t1", PK, List.of(5)));
+
+    assertThat(statements)
+        .containsExactly(
+            "INSERT INTO t1 (id,v) VALUES (?,?),(?,?) ON DUPLICATE KEY UPDATE id=VALUES(id),v=VALUES(v);",
+            "INSERT INTO t2 (id,v) VALUES (?,?) ON DUPLICATE KEY UPDATE id=VALUES(id),v=VALUES(v);",
+            "DELETE FROM t1 WHERE id IN (?,?);",
+            "INSERT INTO t1 (id) VALUES (?) ON DUPLICATE KEY UPDATE id=VALUES(id);")
+        .inOrder();
+    assertThat(parameters()).containsExactly(1, "a", 2, "c", 1, "b", 4, 5, 3).inOrder();
+  }
+
+  @Test
+  public void testNetChangesDeleteCompositeKeys() throws Exception {
+    List<String> key = List.of("a", "b");
+    List<String> statements =
+        write(
+            RowChange.delete("t1", key, List.of(1, "x")),
+            RowChange.delete("t1", key, List.of(2, "y")));
+
+    assertThat(statements).containsExactly("DELETE FROM t1 WHERE (a,b) IN ((?,?),(?,?));");
+    assertThat(parameters()).containsExactly(1, "x", 2, "y").inOrder();
+  }
+
+  @Test
+  public void testPostgresBindsValuesWithUnspecifiedType() throws Exception {
+    RowChange change = RowChange.upsert("t1", PK, List.of(1), COLUMNS, Arrays.asList(1, null));
+
+    Dialect.POSTGRES.setParameters(preparedStatement, List.of(change));
+
+    verify(preparedStatement).setObject(1, "1", Types.OTHER);
+    verify(preparedStatement).setNull(2, Types.OTHER);
+  }
+
+  @Test
+  public void testNetChangesSplitStatementsAtMaxRows() throws Exception {
+    List<RowChange> changes = new ArrayList<>();
+    for (int i = 0; i <= WriteFn.MAX_ROWS_PER_STATEMENT; i++) {
+      changes.add(upsert("t1", i, "v" + i));
+    }
+
+    List<String> statements = write(changes.toArray(new RowChange[0]));
+
+    assertThat(statements)
+        .containsExactly(
+            Dialect.MYSQL.upsertStatement(changes.subList(0, WriteFn.MAX_ROWS_PER_STATEMENT)),
+            Dialect.MYSQL.upsertStatement(
+                changes.subList(WriteFn.MAX_ROWS_PER_STATEMENT, changes.size())))
+        .inOrder();
+  }
+
+  @Test
+  public void testNetChangesSplitStatementsAtMaxParameters() throws Exception {
+    List<String> columns = new ArrayList<>();
+    List<Object> values = new ArrayList<>();
+    for (int i = 0; i < WriteFn.MAX_PARAMETERS_PER_STATEMENT / 100; i++) {
+      columns.add("c" + i);
+      values.add(i);
+    }
+    List<RowChange> changes = new ArrayList<>();
+    for (int i = 0; i <= 100; i++) {
+      changes.add(RowChange.upsert("t1", PK, List.of(i), columns, values));
+    }
+
+    List<String> statements = write(changes.toArray(new RowChange[0]));
+
+    assertThat(statements)
+        .containsExactly(
+            Dialect.MYSQL.upsertStatement(changes.subList(0, 100)),
+            Dialect.MYSQL.upsertStatement(changes.subList(100, changes.size())))
+        .inOrder();
+  }
+
+  @Test
+  public void testNetChangesFallBackToSingleStatements() throws Exception {
+    when(preparedStatement.executeUpdate())
+        .thenThrow(new SQLException("multi-row statement failed"));
+
+    write(upsert("t1", 1, "a"), upsert("t1", 1, "b"), upsert("t1", 2, "c"));
+
+    // Every element is written with its own statement, including the compacted ones.
+    ArgumentCaptor<String> updates = ArgumentCaptor.forClass(String.class);
+    verify(statement, times(3)).executeUpdate(updates.capture());
+    assertThat(updates.getAllValues())
+        .containsExactly("UPSERT t1 [1]", "UPSERT t1 [1]", "UPSERT t1 [2]")
+        .inOrder();
+    verify(connection, times(3)).commit();
+  }
+
+  @Test
+  public void testNetChangesWriteChangesWithoutPrimaryKeyAsIs() throws Exception {
+    List<String> statements =
+        write(
+            RowChange.upsert("t1", List.of(), List.of(), COLUMNS, List.of(1, "a")),
+            upsert("t1", 1, "a"));
+
+    assertThat(statements)
+        .containsExactly(
+            "INSERT INTO t1 (id,v) VALUES (?,?) ON DUPLICATE KEY UPDATE id=VALUES(id),v=VALUES(v);",
+            "UPSERT t1 []")
+        .inOrder();
+    verify(statement, never()).executeUpdate(anyString());
+  }
+
+  private static RowChange upsert(String table, int id, String value) {
+    return RowChange.upsert(table, PK, List.of(id), COLUMNS, List.of(id, value));
+  }
+
+  /** Returns the parameters bound to the prepared statements, in order. */
+  private List<Object> parameters() throws SQLException {
+    ArgumentCaptor<Object> values = ArgumentCaptor.forClass(Object.class);
+    verify(preparedStatement, atLeast(0)).setObject(anyInt(), values.capture());
+    return values.getAllValues();
+  }
+
+  /**
+   * Writes the changes as a single batch and returns the prepared statements followed by the
+   * statements added to the batch.
+   */
+  private List<String> write(RowChange... changes) throws Exception {
+    WriteVoid<RowChange> spec =
+        CdcJdbcIO.<RowChange>write()
+            .withDataSourceProviderFn(unused -> dataSource)
+            .withStatementFormatter(
+                change ->
+                    (change.isDelete() ? "DELETE " : "UPSERT ")
+                        + change.getTableName()
+                        + " "
+                        + change.getPrimaryKeyValues())
+            .withNetChanges(change -> change, Dialect.MYSQL)
+            .withResults();
+    WriteFn<RowChange> writeFn = new WriteFn<>(spec, millis -> {});
+    writeFn.setup();
+    writeFn.startBundle();
+    for (RowChange change : changes) {
+      writeFn.processElement(change);
+    }
+    writeFn.finishBundle();
+
+    ArgumentCaptor<String> prepared = ArgumentCaptor.forClass(String.class);
+    verify(connection, atLeast(0)).prepareStatement(prepared.capture());
+    ArgumentCaptor<String> batch = ArgumentCaptor.forClass(String.class);
+    verify(statement, atLeast(0)).addBatch(batch.capture());
+    List<String> statements = new ArrayList<>(prepared.getAllValues());
+    statements.addAll(batch.getAllValues());
+    return statements;
+  }
+}
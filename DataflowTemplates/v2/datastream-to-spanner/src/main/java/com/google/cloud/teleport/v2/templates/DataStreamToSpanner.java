@@ -536,6 +536,20 @@ public class DataStreamToSpanner {
     String getSchemaOverridesFilePath();
 
     void setSchemaOverridesFilePath(String value);
+
+    @TemplateParameter.Integer(
+        order = 33,
+        optional = true,
+        description = "Transaction batch size",
+        helpText =
+            "The maximum number of change events written to Cloud Spanner by a single transaction."
+                + " Events are batched by a hash of their primary key, and the shadow table rows of"
+                + " a batch are read together. A batch that fails is written again one event at a"
+                + " time. Defaults to 1, which writes every event with its own transaction.")
+    @Default.Integer(1)
+    Integer getTransactionBatchSize();
+
+    void setTransactionBatchSize(Integer value);
   }
 
   private static void validateSourceType(Options options) {
@@ -793,7 +807,12 @@ public class DataStreamToSpanner {
                     ddlView,
                     options.getShadowTablePrefix(),
                     options.getDatastreamSourceType(),
-                    isRegularMode));
+                    isRegularMode,
+                    options.getTransactionBatchSize(),
+                    (options.getMaxNumWorkers() != 0 ? options.getMaxNumWorkers() : 1)
+                        * DatastreamToSpannerConstants.MAX_DOFN_PER_WORKER,
+                    schema,
+                    schemaOverridesParser));
     /*
      * Stage 5: Write failures to GCS Dead Letter Queue
      * a) Retryable errors are written to retry GCS Dead letter queue
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.cloud.teleport.v2.spanner.ddl.Ddl;
+import com.google.cloud.teleport.v2.spanner.ddl.IndexColumn;
+import com.google.cloud.teleport.v2.spanner.ddl.Table;
+import com.google.cloud.teleport.v2.spanner.migrations.schema.ISchemaOverridesParser;
+import com.google.cloud.teleport.v2.spanner.migrations.schema.NameAndCols;
+import com.google.cloud.teleport.v2.spanner.migrations.schema.Schema;
+import com.google.cloud.teleport.v2.templates.datastream.DatastreamConstants;
+import com.google.cloud.teleport.v2.values.FailsafeElement;
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PCollectionView;
+
+/**
+ * Keys change events from DataStream by a hash of their table and primary key, so that all the
+ * events of a row are written by the same batched transaction or by consecutive ones.
+ *
+ * <p>Table and column names of events that are not yet in terms of the Cloud Spanner schema are
+ * resolved through the session file or the schema overrides first.
+ *
+ * <p>Events whose primary key cannot be read are keyed by a hash of their payload. Such events are
+ * reported as errors once they are written.
+ */
+class PrimaryKeyHashDoFn
+    extends DoFn<FailsafeElement<String, String>, KV<Integer, FailsafeElement<String, String>>> {
+
+  private final PCollectionView<Ddl> ddlView;
+
+  // The number of distinct keys events are spread over.
+  private final int numBuckets;
+
+  // The session file mapping of source to Cloud Spanner names, or null.
+  private final Schema schema;
+
+  // The overrides of source to Cloud Spanner names, or null.
+  private final ISchemaOverridesParser schemaOverridesParser;
+
+  // Jackson Object mapper.
+  private transient ObjectMapper mapper;
+
+  PrimaryKeyHashDoFn(PCollectionView<Ddl> ddlView, int numBuckets) {
+    this(ddlView, numBuckets, null, null);
+  }
+
+  PrimaryKeyHashDoFn(
+      PCollectionView<Ddl> ddlView,
+      int numBuckets,
+      Schema schema,
+      ISchemaOverridesParser schemaOverridesParser) {
+    Preconditions.checkArgument(numBuckets > 0, "numBuckets must be greater than 0.");
+    this.ddlView = ddlView;
+    this.numBuckets = numBuckets;
+    this.schema = schema;
+    this.schemaOverridesParser = schemaOverridesParser;
+  }
+
+  @Setup
+  public void setup() {
+    mapper = new ObjectMapper();
+    mapper.enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+  }
+
+  @ProcessElement
+  public void processElement(ProcessContext c) {
+    FailsafeElement<String, String> msg = c.element();
+    int hash = primaryKeyHash(msg.getPayload(), c.sideInput(ddlView));
+    c.output(KV.of(Math.floorMod(hash, numBuckets), msg));
+  }
+
+  int primaryKeyHash(String payload, Ddl ddl) {
+    try {
+      JsonNode changeEvent = mapper.readTree(payload);
+      String sourceTableName = changeEvent.get(DatastreamConstants.EVENT_TABLE_NAME_KEY).asText();
+      Table table = ddl.table(sourceTableName);
+      // Events that are not in terms of the Spanner schema yet are mapped by their source names.
+      boolean mapNames = table == null;
+      if (mapNames) {
+        table = ddl.table(spannerTableName(sourceTableName));
+      }
+
+      // Column keys of change events are matched case insensitively.
+      Map<String, JsonNode> columns = new HashMap<>();
+      changeEvent
+          .fields()
+          .forEachRemaining(
+              field -> {
+                String columnName =
+                    mapNames ? spannerColumnName(sourceTableName, field.getKey()) : field.getKey();
+                columns.put(columnName.toLowerCase(), field.getValue());
+              });
+
+      List<String> keyParts = new ArrayList<>();
+      keyParts.add(table.name());
+      for (IndexColumn keyColumn : table.primaryKeys()) {
+        JsonNode value = columns.get(keyColumn.name().toLowerCase());
+        keyParts.add(value == null ? null : value.asText());
+      }
+      return keyParts.hashCode();
+    } catch (Exception e) {
+      return payload.hashCode();
+    }
+  }
+
+  private String spannerTableName(String sourceTableName) {
+    NameAndCols sessionNames = sessionNames(sourceTableName);
+    if (sessionNames != null) {
+      return sessionNames.getName();
+    }
+    if (schemaOverridesParser != null) {
+      return schemaOverridesParser.getTableOverride(sourceTableName);
+    }
+    return sourceTableName;
+  }
+
+  private String spannerColumnName(String sourceTableName, String sourceColumnName) {
+    NameAndCols sessionNames = sessionNames(sourceTableName);
+    if (sessionNames != null) {
+      return sessionNames.getCols().getOrDefault(sourceColumnName, sourceColumnName);
+    }
+    if (schemaOverridesParser != null) {
+      return schemaOverridesParser.getColumnOverride(sourceTableName, sourceColumnName);
+    }
+    return sourceColumnName;
+  }
+
+  private NameAndCols sessionNames(String sourceTableName) {
+    if (schema == null || schema.isEmpty() || schema.getToSpanner() == null) {
+      return null;
+    }
+    return schema.getToSpanner().get(sourceTableName);
+  }
+
+  public void setMapper(ObjectMapper mapper) {
+    this.mapper = mapper;
+  }
+}
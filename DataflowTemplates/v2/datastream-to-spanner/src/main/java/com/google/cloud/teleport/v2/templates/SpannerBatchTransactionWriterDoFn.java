@@ -0,0 +1,372 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates;
+
+import static com.google.cloud.teleport.v2.templates.constants.DatastreamToSpannerConstants.CONVERSION_ERRORS_COUNTER_NAME;
+import static com.google.cloud.teleport.v2.templates.constants.DatastreamToSpannerConstants.OTHER_PERMANENT_ERRORS_COUNTER_NAME;
+import static com.google.cloud.teleport.v2.templates.constants.DatastreamToSpannerConstants.RETRYABLE_ERRORS_COUNTER_NAME;
+import static com.google.cloud.teleport.v2.templates.constants.DatastreamToSpannerConstants.SKIPPED_EVENTS_COUNTER_NAME;
+import static com.google.cloud.teleport.v2.templates.constants.DatastreamToSpannerConstants.SUCCESSFUL_EVENTS_COUNTER_NAME;
+import static com.google.cloud.teleport.v2.templates.constants.DatastreamToSpannerConstants.TRANSACTION_BATCH_FALLBACKS_COUNTER_NAME;
+import static com.google.cloud.teleport.v2.templates.constants.DatastreamToSpannerConstants.TRANSACTION_BATCH_SIZE_DISTRIBUTION_NAME;
+import static com.google.cloud.teleport.v2.templates.constants.DatastreamToSpannerConstants.TRANSACTION_COMMIT_LATENCY_DISTRIBUTION_NAME;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.cloud.Timestamp;
+import com.google.cloud.spanner.Key;
+import com.google.cloud.spanner.Options;
+import com.google.cloud.spanner.SpannerException;
+import com.google.cloud.spanner.TransactionRunner.TransactionCallable;
+import com.google.cloud.teleport.v2.spanner.ddl.Ddl;
+import com.google.cloud.teleport.v2.spanner.migrations.exceptions.ChangeEventConvertorException;
+import com.google.cloud.teleport.v2.spanner.migrations.exceptions.InvalidChangeEventException;
+import com.google.cloud.teleport.v2.templates.constants.DatastreamToSpannerConstants;
+import com.google.cloud.teleport.v2.templates.datastream.ChangeEventContext;
+import com.google.cloud.teleport.v2.templates.datastream.ChangeEventContextFactory;
+import com.google.cloud.teleport.v2.templates.datastream.ChangeEventSequence;
+import com.google.cloud.teleport.v2.templates.datastream.ChangeEventSequenceFactory;
+import com.google.cloud.teleport.v2.templates.utils.WatchdogRunnable;
+import com.google.cloud.teleport.v2.values.FailsafeElement;
+import com.google.common.base.Preconditions;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.beam.sdk.io.gcp.spanner.SpannerAccessor;
+import org.apache.beam.sdk.io.gcp.spanner.SpannerConfig;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Distribution;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PCollectionView;
+import org.apache.beam.sdk.values.TupleTag;
+import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes batches of change events from DataStream into Cloud Spanner, one transaction per batch.
+ *
+ * <p>This is the batched counterpart of {@link SpannerTransactionWriterDoFn}. Within a batch only
+ * the latest event of every primary key is applied, the earlier ones are stale. The shadow table
+ * rows of all the remaining events are fetched with a single read per shadow table, events that are
+ * not newer than their shadow row are skipped, and the data and shadow table mutations of the other
+ * events are committed together.
+ *
+ * <p>Should the batched transaction fail, for instance because of a constraint violated by one of
+ * its events, the events of the batch are written again with one transaction each, so that only the
+ * failing events are pushed onto the PERMANENT_ERROR_TAG/RETRYABLE_ERROR_TAG outputs.
+ */
+class SpannerBatchTransactionWriterDoFn
+    extends DoFn<KV<Integer, Iterable<FailsafeElement<String, String>>>, Timestamp>
+    implements Serializable {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(SpannerBatchTransactionWriterDoFn.class);
+
+  private final PCollectionView<Ddl> ddlView;
+
+  private final SpannerConfig spannerConfig;
+
+  // The prefix for shadow tables.
+  private final String shadowTablePrefix;
+
+  // The source database type.
+  private final String sourceType;
+
+  /* The run mode, whether it is regular or retry. */
+  private final Boolean isRegularRunMode;
+
+  // Jackson Object mapper.
+  private transient ObjectMapper mapper;
+
+  /* SpannerAccessor must be transient so that its value is not serialized at runtime. */
+  private transient SpannerAccessor spannerAccessor;
+
+  private final Counter successfulEvents =
+      Metrics.counter(SpannerBatchTransactionWriterDoFn.class, SUCCESSFUL_EVENTS_COUNTER_NAME);
+
+  private final Counter skippedEvents =
+      Metrics.counter(SpannerBatchTransactionWriterDoFn.class, SKIPPED_EVENTS_COUNTER_NAME);
+
+  private final Counter failedEvents =
+      Metrics.counter(SpannerBatchTransactionWriterDoFn.class, OTHER_PERMANENT_ERRORS_COUNTER_NAME);
+
+  private final Counter conversionErrors =
+      Metrics.counter(SpannerBatchTransactionWriterDoFn.class, CONVERSION_ERRORS_COUNTER_NAME);
+
+  private final Counter retryableErrors =
+      Metrics.counter(SpannerBatchTransactionWriterDoFn.class, RETRYABLE_ERRORS_COUNTER_NAME);
+
+  private final Counter batchFallbacks =
+      Metrics.counter(
+          SpannerBatchTransactionWriterDoFn.class, TRANSACTION_BATCH_FALLBACKS_COUNTER_NAME);
+
+  private final Distribution batchSize =
+      Metrics.distribution(
+          SpannerBatchTransactionWriterDoFn.class, TRANSACTION_BATCH_SIZE_DISTRIBUTION_NAME);
+
+  private final Distribution commitLatencyMs =
+      Metrics.distribution(
+          SpannerBatchTransactionWriterDoFn.class, TRANSACTION_COMMIT_LATENCY_DISTRIBUTION_NAME);
+
+  /* Watchdog of the Spanner transactions, see SpannerTransactionWriterDoFn. */
+  private transient AtomicLong transactionAttemptCount;
+  private transient AtomicBoolean isInTransaction;
+  private transient AtomicBoolean keepWatchdogRunning;
+  private transient Thread watchdogThread;
+
+  SpannerBatchTransactionWriterDoFn(
+      SpannerConfig spannerConfig,
+      PCollectionView<Ddl> ddlView,
+      String shadowTablePrefix,
+      String sourceType,
+      Boolean isRegularRunMode) {
+    Preconditions.checkNotNull(spannerConfig);
+    this.spannerConfig = spannerConfig;
+    this.ddlView = ddlView;
+    this.shadowTablePrefix =
+        (shadowTablePrefix.endsWith("_")) ? shadowTablePrefix : shadowTablePrefix + "_";
+    this.sourceType = sourceType;
+    this.isRegularRunMode = isRegularRunMode;
+  }
+
+  /** Setup function connects to Cloud Spanner. */
+  @Setup
+  public void setup() {
+    spannerAccessor = SpannerAccessor.getOrCreate(spannerConfig);
+    mapper = new ObjectMapper();
+    mapper.enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    // Setup and start the watchdog thread.
+    transactionAttemptCount = new AtomicLong(0);
+    isInTransaction = new AtomicBoolean(false);
+    keepWatchdogRunning = new AtomicBoolean(true);
+    watchdogThread =
+        new Thread(
+            new WatchdogRunnable(transactionAttemptCount, isInTransaction, keepWatchdogRunning),
+            "SpannerBatchTransactionWriterDoFn.WatchdogThread");
+    watchdogThread.setDaemon(true);
+    watchdogThread.start();
+  }
+
+  /** Teardown function disconnects from the Cloud Spanner. */
+  @Teardown
+  public void teardown() {
+    spannerAccessor.close();
+    // Stop the watchdog thread.
+    keepWatchdogRunning.set(false);
+  }
+
+  @ProcessElement
+  public void processElement(ProcessContext c) {
+    Ddl ddl = c.sideInput(ddlView);
+    String txnTag = SpannerTransactionWriterDoFn.getTxnTag(c.getPipelineOptions());
+
+    // Convert the events, events that cannot be converted are not part of the transaction.
+    List<PendingEvent> events = new ArrayList<>();
+    for (FailsafeElement<String, String> msg : c.element().getValue()) {
+      try {
+        JsonNode changeEvent = mapper.readTree(msg.getPayload());
+        boolean isRetryRecord = changeEvent.get("_metadata_retry_count") != null;
+        ChangeEventContext changeEventContext =
+            ChangeEventContextFactory.createChangeEventContext(
+                changeEvent, ddl, shadowTablePrefix, sourceType);
+        events.add(
+            new PendingEvent(
+                msg,
+                changeEventContext,
+                ChangeEventSequenceFactory.createChangeEventSequenceFromChangeEventContext(
+                    changeEventContext),
+                isRetryRecord));
+      } catch (InvalidChangeEventException e) {
+        // Errors that result from invalid change events.
+        outputWithErrorTag(c, msg, e, DatastreamToSpannerConstants.PERMANENT_ERROR_TAG);
+        skippedEvents.inc();
+      } catch (ChangeEventConvertorException e) {
+        // Errors that result during Event conversions are not retryable.
+        outputWithErrorTag(c, msg, e, DatastreamToSpannerConstants.PERMANENT_ERROR_TAG);
+        conversionErrors.inc();
+      } catch (Exception e) {
+        // Any other errors are considered severe and not retryable.
+        outputWithErrorTag(c, msg, e, DatastreamToSpannerConstants.PERMANENT_ERROR_TAG);
+        failedEvents.inc();
+      }
+    }
+    if (events.isEmpty()) {
+      return;
+    }
+
+    batchSize.update(events.size());
+    try {
+      writeEvents(events, ddl, txnTag);
+    } catch (Exception e) {
+      if (events.size() == 1) {
+        outputWriteError(c, events.get(0), e);
+        return;
+      }
+      LOG.warn(
+          "Transaction for a batch of {} events failed, writing them one by one.",
+          events.size(),
+          e);
+      batchFallbacks.inc();
+      for (PendingEvent event : events) {
+        try {
+          writeEvents(Collections.singletonList(event), ddl, txnTag);
+        } catch (Exception ex) {
+          outputWriteError(c, event, ex);
+          continue;
+        }
+        outputSuccess(c, event);
+      }
+      return;
+    }
+    for (PendingEvent event : events) {
+      outputSuccess(c, event);
+    }
+  }
+
+  /*
+   * Writes the events with a single transaction. Events that are older than another event of the
+   * same primary key, in the batch or in the shadow table, are skipped.
+   */
+  private void writeEvents(List<PendingEvent> events, Ddl ddl, String txnTag) {
+    Map<Pair<String, Key>, PendingEvent> latestEvents = new LinkedHashMap<>();
+    for (PendingEvent event : events) {
+      latestEvents.merge(
+          Pair.of(event.context.getShadowTable(), event.context.getPrimaryKey()),
+          event,
+          (previous, current) ->
+              previous.sequence.compareTo(current.sequence) >= 0 ? previous : current);
+    }
+    List<ChangeEventContext> contexts = new ArrayList<>(latestEvents.size());
+    for (PendingEvent event : latestEvents.values()) {
+      contexts.add(event.context);
+    }
+
+    long startNanos = System.nanoTime();
+    spannerAccessor
+        .getDatabaseClient()
+        .readWriteTransaction(
+            Options.tag(txnTag), Options.priority(spannerConfig.getRpcPriority().get()))
+        .run(
+            (TransactionCallable<Void>)
+                transaction -> {
+                  isInTransaction.set(true);
+                  transactionAttemptCount.incrementAndGet();
+                  // Sequence information for the last change event of every primary key.
+                  Map<ChangeEventContext, ChangeEventSequence> previousChangeEventSequences =
+                      ChangeEventSequenceFactory.createSequencesFromShadowTable(
+                          transaction, ddl, contexts);
+
+                  for (PendingEvent event : latestEvents.values()) {
+                    ChangeEventSequence previousChangeEventSequence =
+                        previousChangeEventSequences.get(event.context);
+                    if (previousChangeEventSequence != null
+                        && previousChangeEventSequence.compareTo(event.sequence) >= 0) {
+                      continue;
+                    }
+                    // Apply shadow and data table mutations.
+                    transaction.buffer(event.context.getMutations());
+                  }
+                  isInTransaction.set(false);
+                  return null;
+                });
+    commitLatencyMs.update(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+  }
+
+  private void outputSuccess(ProcessContext c, PendingEvent event) {
+    c.output(Timestamp.now());
+    successfulEvents.inc();
+
+    // decrement the retry error count if this was retry attempt
+    if (isRegularRunMode && event.isRetryRecord) {
+      retryableErrors.dec();
+    }
+  }
+
+  private void outputWriteError(ProcessContext c, PendingEvent event, Exception e) {
+    if (e instanceof SpannerException || e instanceof IllegalStateException) {
+      // Errors that happen when writing to Cloud Spanner are considered retryable.
+      outputWithErrorTag(c, event.msg, e, DatastreamToSpannerConstants.RETRYABLE_ERROR_TAG);
+      // do not increment the retry error count if this was retry attempt
+      if (!event.isRetryRecord) {
+        retryableErrors.inc();
+      }
+    } else {
+      // Any other errors are considered severe and not retryable.
+      outputWithErrorTag(c, event.msg, e, DatastreamToSpannerConstants.PERMANENT_ERROR_TAG);
+      failedEvents.inc();
+    }
+  }
+
+  void outputWithErrorTag(
+      ProcessContext c,
+      FailsafeElement<String, String> changeEvent,
+      Exception e,
+      TupleTag<FailsafeElement<String, String>> errorTag) {
+    // Making a copy, as the input must not be mutated.
+    FailsafeElement<String, String> output = FailsafeElement.of(changeEvent);
+    output.setErrorMessage(e.getMessage());
+    c.output(errorTag, output);
+  }
+
+  public void setMapper(ObjectMapper mapper) {
+    this.mapper = mapper;
+  }
+
+  public void setSpannerAccessor(SpannerAccessor spannerAccessor) {
+    this.spannerAccessor = spannerAccessor;
+  }
+
+  public void setTransactionAttemptCount(AtomicLong transactionAttemptCount) {
+    this.transactionAttemptCount = transactionAttemptCount;
+  }
+
+  public void setIsInTransaction(AtomicBoolean isInTransaction) {
+    this.isInTransaction = isInTransaction;
+  }
+
+  /** A converted change event along with its sequence information. */
+  private static class PendingEvent {
+
+    private final FailsafeElement<String, String> msg;
+
+    private final ChangeEventContext context;
+
+    private final ChangeEventSequence sequence;
+
+    private final boolean isRetryRecord;
+
+    PendingEvent(
+        FailsafeElement<String, String> msg,
+        ChangeEventContext context,
+        ChangeEventSequence sequence,
+        boolean isRetryRecord) {
+      this.msg = msg;
+      this.context = context;
+      this.sequence = sequence;
+      this.isRetryRecord = isRetryRecord;
+    }
+  }
+}
@@ -18,6 +18,8 @@ package com.google.cloud.teleport.v2.templates;
 import com.google.auto.value.AutoValue;
 import com.google.cloud.Timestamp;
 import com.google.cloud.teleport.v2.spanner.ddl.Ddl;
+import com.google.cloud.teleport.v2.spanner.migrations.schema.ISchemaOverridesParser;
+import com.google.cloud.teleport.v2.spanner.migrations.schema.Schema;
 import com.google.cloud.teleport.v2.templates.constants.DatastreamToSpannerConstants;
 import com.google.cloud.teleport.v2.values.FailsafeElement;
 import com.google.common.base.Preconditions;
@@ -25,7 +27,10 @@ import com.google.common.collect.ImmutableMap;
 import java.util.Arrays;
 import java.util.Map;
 import org.apache.beam.sdk.Pipeline;
+import org.apache.beam.sdk.coders.KvCoder;
+import org.apache.beam.sdk.coders.VarIntCoder;
 import org.apache.beam.sdk.io.gcp.spanner.SpannerConfig;
+import org.apache.beam.sdk.transforms.GroupIntoBatches;
 import org.apache.beam.sdk.transforms.PTransform;
 import org.apache.beam.sdk.transforms.ParDo;
 import org.apache.beam.sdk.values.PCollection;
@@ -36,12 +41,16 @@ import org.apache.beam.sdk.values.POutput;
 import org.apache.beam.sdk.values.PValue;
 import org.apache.beam.sdk.values.TupleTag;
 import org.apache.beam.sdk.values.TupleTagList;
+import org.joda.time.Duration;
 
 /**
  * Takes an input of DataStream events as {@link FailsafeElement} objects and writes them to the
  * given Cloud Spanner database.
  *
- * <p>Each event will be written using a single Cloud Spanner Transaction.
+ * <p>Each event will be written using a single Cloud Spanner Transaction. With a transaction batch
+ * size greater than 1, events are instead keyed by a hash of their primary key, grouped into
+ * batches of at most that many events and each batch is written using a single Cloud Spanner
+ * Transaction.
  *
  * <p>The {@link Result} object contains two streams: the successfully written Mutation Group
  * objects with their commit timestamps, and the Mutation Group objects that failed to be written
@@ -66,36 +75,121 @@ public class SpannerTransactionWriter
   /* The run mode, whether it is regular or retry. */
   private final Boolean isRegularRunMode;
 
+  /* The maximum number of events written by a single transaction */
+  private final int transactionBatchSize;
+
+  /* The number of primary key hash buckets events are batched by */
+  private final int numBuckets;
+
+  /* The session file mapping of source to Cloud Spanner names, if any */
+  private final Schema schema;
+
+  /* The overrides of source to Cloud Spanner names, if any */
+  private final ISchemaOverridesParser schemaOverridesParser;
+
+  /* The longest time events wait for their batch to fill up */
+  private static final Duration MAX_BATCH_BUFFERING_DURATION = Duration.standardSeconds(1);
+
   public SpannerTransactionWriter(
       SpannerConfig spannerConfig,
       PCollectionView<Ddl> ddlView,
       String shadowTablePrefix,
       String sourceType,
       Boolean isRegularRunMode) {
+    this(spannerConfig, ddlView, shadowTablePrefix, sourceType, isRegularRunMode, 1, 1);
+  }
+
+  public SpannerTransactionWriter(
+      SpannerConfig spannerConfig,
+      PCollectionView<Ddl> ddlView,
+      String shadowTablePrefix,
+      String sourceType,
+      Boolean isRegularRunMode,
+      int transactionBatchSize,
+      int numBuckets) {
+    this(
+        spannerConfig,
+        ddlView,
+        shadowTablePrefix,
+        sourceType,
+        isRegularRunMode,
+        transactionBatchSize,
+        numBuckets,
+        null,
+        null);
+  }
+
+  public SpannerTransactionWriter(
+      SpannerConfig spannerConfig,
+      PCollectionView<Ddl> ddlView,
+      String shadowTablePrefix,
+      String sourceType,
+      Boolean isRegularRunMode,
+      int transactionBatchSize,
+      int numBuckets,
+      Schema schema,
+      ISchemaOverridesParser schemaOverridesParser) {
     Preconditions.checkNotNull(spannerConfig);
+    Preconditions.checkArgument(
+        transactionBatchSize > 0, "transactionBatchSize must be greater than 0.");
+    Preconditions.checkArgument(numBuckets > 0, "numBuckets must be greater than 0.");
     this.spannerConfig = spannerConfig;
     this.ddlView = ddlView;
     this.shadowTablePrefix = shadowTablePrefix;
     this.sourceType = sourceType;
     this.isRegularRunMode = isRegularRunMode;
+    this.transactionBatchSize = transactionBatchSize;
+    this.numBuckets = numBuckets;
+    this.schema = schema;
+    this.schemaOverridesParser = schemaOverridesParser;
   }
 
   @Override
   public SpannerTransactionWriter.Result expand(
       PCollection<FailsafeElement<String, String>> input) {
-    PCollectionTuple spannerWriteResults =
-        input.apply(
-            "Write Mutations",
-            ParDo.of(
-                    new SpannerTransactionWriterDoFn(
-                        spannerConfig, ddlView, shadowTablePrefix, sourceType, isRegularRunMode))
-                .withSideInputs(ddlView)
-                .withOutputTags(
-                    DatastreamToSpannerConstants.SUCCESSFUL_EVENT_TAG,
-                    TupleTagList.of(
-                        Arrays.asList(
-                            DatastreamToSpannerConstants.PERMANENT_ERROR_TAG,
-                            DatastreamToSpannerConstants.RETRYABLE_ERROR_TAG))));
+    TupleTagList errorTags =
+        TupleTagList.of(
+            Arrays.asList(
+                DatastreamToSpannerConstants.PERMANENT_ERROR_TAG,
+                DatastreamToSpannerConstants.RETRYABLE_ERROR_TAG));
+    PCollectionTuple spannerWriteResults;
+    if (transactionBatchSize > 1) {
+      spannerWriteResults =
+          input
+              .apply(
+                  "Key By Primary Key",
+                  ParDo.of(
+                          new PrimaryKeyHashDoFn(
+                              ddlView, numBuckets, schema, schemaOverridesParser))
+                      .withSideInputs(ddlView))
+              .setCoder(KvCoder.of(VarIntCoder.of(), input.getCoder()))
+              .apply(
+                  "Group Into Transaction Batches",
+                  GroupIntoBatches.<Integer, FailsafeElement<String, String>>ofSize(
+                          transactionBatchSize)
+                      .withMaxBufferingDuration(MAX_BATCH_BUFFERING_DURATION))
+              .apply(
+                  "Write Mutation Batches",
+                  ParDo.of(
+                          new SpannerBatchTransactionWriterDoFn(
+                              spannerConfig,
+                              ddlView,
+                              shadowTablePrefix,
+                              sourceType,
+                              isRegularRunMode))
+                      .withSideInputs(ddlView)
+                      .withOutputTags(
+                          DatastreamToSpannerConstants.SUCCESSFUL_EVENT_TAG, errorTags));
+    } else {
+      spannerWriteResults =
+          input.apply(
+              "Write Mutations",
+              ParDo.of(
+                      new SpannerTransactionWriterDoFn(
+                          spannerConfig, ddlView, shadowTablePrefix, sourceType, isRegularRunMode))
+                  .withSideInputs(ddlView)
+                  .withOutputTags(DatastreamToSpannerConstants.SUCCESSFUL_EVENT_TAG, errorTags));
+    }
 
     return Result.create(
         spannerWriteResults.get(DatastreamToSpannerConstants.SUCCESSFUL_EVENT_TAG),
@@ -282,7 +282,7 @@ class SpannerTransactionWriterDoFn extends DoFn<FailsafeElement<String, String>,
     c.output(errorTag, output);
   }
 
-  String getTxnTag(PipelineOptions options) {
+  static String getTxnTag(PipelineOptions options) {
     String jobId = "datastreamToSpanner";
     try {
       DataflowWorkerHarnessOptions harnessOptions = options.as(DataflowWorkerHarnessOptions.class);
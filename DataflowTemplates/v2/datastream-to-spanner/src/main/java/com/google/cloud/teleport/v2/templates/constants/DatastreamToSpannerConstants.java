@@ -59,4 +59,15 @@ public class DatastreamToSpannerConstants {
 
   /* The counter name for Retryable errors */
   public static final String RETRYABLE_ERRORS_COUNTER_NAME = "Retryable errors";
+
+  /* The counter name for transaction batches that were retried one event at a time */
+  public static final String TRANSACTION_BATCH_FALLBACKS_COUNTER_NAME =
+      "Transaction batch fallbacks";
+
+  /* The distribution name for the number of events written by a batched transaction */
+  public static final String TRANSACTION_BATCH_SIZE_DISTRIBUTION_NAME = "Transaction batch size";
+
+  /* The distribution name for the latency of batched transactions in milliseconds */
+  public static final String TRANSACTION_COMMIT_LATENCY_DISTRIBUTION_NAME =
+      "Transaction commit latency ms";
 }
@@ -16,14 +16,29 @@
 package com.google.cloud.teleport.v2.templates.datastream;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.google.cloud.spanner.Key;
+import com.google.cloud.spanner.KeySet;
+import com.google.cloud.spanner.ResultSet;
+import com.google.cloud.spanner.Struct;
 import com.google.cloud.spanner.TransactionContext;
+import com.google.cloud.teleport.v2.spanner.ddl.Ddl;
+import com.google.cloud.teleport.v2.spanner.ddl.IndexColumn;
+import com.google.cloud.teleport.v2.spanner.ddl.Table;
+import com.google.cloud.teleport.v2.spanner.migrations.convertors.ChangeEventSpannerConvertor;
 import com.google.cloud.teleport.v2.spanner.migrations.exceptions.ChangeEventConvertorException;
 import com.google.cloud.teleport.v2.spanner.migrations.exceptions.InvalidChangeEventException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Factory classes for ChangeEventSequence classes which provides methods for 1) creating
  * ChangeEventSequence objects for the current ChangeEvent. 2) creating ChangeEventSequence objects
- * for an earlier ChangeEvent by reading from shadow table.
+ * for an earlier ChangeEvent by reading from shadow table, for a single ChangeEvent or a batch.
  */
 public class ChangeEventSequenceFactory {
 
@@ -85,4 +100,112 @@ public class ChangeEventSequenceFactory {
     }
     throw new InvalidChangeEventException("Unsupported source database: " + sourceType);
   }
+
+  /*
+   * Creates ChangeEventSequence objects for the earlier events of a batch of change events. The
+   * shadow rows of all the change events of a shadow table are fetched with a single read.
+   * Change events without an earlier event are not in the returned map.
+   */
+  public static Map<ChangeEventContext, ChangeEventSequence> createSequencesFromShadowTable(
+      final TransactionContext transactionContext,
+      final Ddl ddl,
+      final List<ChangeEventContext> changeEventContexts)
+      throws ChangeEventSequenceCreationException, InvalidChangeEventException {
+
+    Map<String, List<ChangeEventContext>> contextsByShadowTable = new LinkedHashMap<>();
+    for (ChangeEventContext changeEventContext : changeEventContexts) {
+      contextsByShadowTable
+          .computeIfAbsent(changeEventContext.getShadowTable(), t -> new ArrayList<>())
+          .add(changeEventContext);
+    }
+
+    Map<ChangeEventContext, ChangeEventSequence> sequences = new HashMap<>();
+    for (List<ChangeEventContext> contexts : contextsByShadowTable.values()) {
+      readShadowTable(transactionContext, ddl, contexts, sequences);
+    }
+    return sequences;
+  }
+
+  private static void readShadowTable(
+      TransactionContext transactionContext,
+      Ddl ddl,
+      List<ChangeEventContext> changeEventContexts,
+      Map<ChangeEventContext, ChangeEventSequence> sequences)
+      throws ChangeEventSequenceCreationException, InvalidChangeEventException {
+
+    ChangeEventContext firstContext = changeEventContexts.get(0);
+    String sourceType = getSourceType(firstContext.getChangeEvent());
+    Table dataTable = ddl.table(firstContext.getDataTable());
+
+    // The shadow table has the primary key columns of the data table.
+    List<String> readColumnList = new ArrayList<>();
+    for (IndexColumn keyColumn : dataTable.primaryKeys()) {
+      readColumnList.add(keyColumn.name());
+    }
+    readColumnList.addAll(getShadowTableReadColumns(sourceType));
+
+    KeySet.Builder keySet = KeySet.newBuilder();
+    Set<Key> primaryKeys = new HashSet<>();
+    for (ChangeEventContext changeEventContext : changeEventContexts) {
+      keySet.addKey(changeEventContext.getPrimaryKey());
+      primaryKeys.add(changeEventContext.getPrimaryKey());
+    }
+
+    Map<Key, ChangeEventSequence> sequencesByKey = new HashMap<>();
+    try (ResultSet resultSet =
+        transactionContext.read(firstContext.getShadowTable(), keySet.build(), readColumnList)) {
+      while (resultSet.next()) {
+        Struct row = resultSet.getCurrentRowAsStruct();
+        sequencesByKey.put(
+            ChangeEventSpannerConvertor.rowToPrimaryKey(dataTable, row),
+            createFromShadowTableRow(sourceType, row));
+      }
+    } catch (Exception e) {
+      throw new ChangeEventSequenceCreationException(e);
+    }
+
+    /* The primary keys read back are matched with the ones of the change events. Should a key not
+     * compare equal, e.g. for key types that are not rebuilt from rows, read the rows one by one.
+     */
+    if (!primaryKeys.containsAll(sequencesByKey.keySet())) {
+      for (ChangeEventContext changeEventContext : changeEventContexts) {
+        ChangeEventSequence sequence =
+            createChangeEventSequenceFromShadowTable(transactionContext, changeEventContext);
+        if (sequence != null) {
+          sequences.put(changeEventContext, sequence);
+        }
+      }
+      return;
+    }
+    for (ChangeEventContext changeEventContext : changeEventContexts) {
+      ChangeEventSequence sequence = sequencesByKey.get(changeEventContext.getPrimaryKey());
+      if (sequence != null) {
+        sequences.put(changeEventContext, sequence);
+      }
+    }
+  }
+
+  private static List<String> getShadowTableReadColumns(String sourceType)
+      throws InvalidChangeEventException {
+    if (DatastreamConstants.MYSQL_SOURCE_TYPE.equals(sourceType)) {
+      return MySqlChangeEventSequence.SHADOW_TABLE_READ_COLUMNS;
+    } else if (DatastreamConstants.ORACLE_SOURCE_TYPE.equals(sourceType)) {
+      return OracleChangeEventSequence.SHADOW_TABLE_READ_COLUMNS;
+    } else if (DatastreamConstants.POSTGRES_SOURCE_TYPE.equals(sourceType)) {
+      return PostgresChangeEventSequence.SHADOW_TABLE_READ_COLUMNS;
+    }
+    throw new InvalidChangeEventException("Unsupported source database: " + sourceType);
+  }
+
+  private static ChangeEventSequence createFromShadowTableRow(String sourceType, Struct row)
+      throws InvalidChangeEventException {
+    if (DatastreamConstants.MYSQL_SOURCE_TYPE.equals(sourceType)) {
+      return MySqlChangeEventSequence.createFromShadowTableRow(row);
+    } else if (DatastreamConstants.ORACLE_SOURCE_TYPE.equals(sourceType)) {
+      return OracleChangeEventSequence.createFromShadowTableRow(row);
+    } else if (DatastreamConstants.POSTGRES_SOURCE_TYPE.equals(sourceType)) {
+      return PostgresChangeEventSequence.createFromShadowTableRow(row);
+    }
+    throw new InvalidChangeEventException("Unsupported source database: " + sourceType);
+  }
 }
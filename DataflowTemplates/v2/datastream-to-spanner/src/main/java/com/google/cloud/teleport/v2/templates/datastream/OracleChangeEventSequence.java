@@ -30,6 +30,12 @@ import java.util.stream.Collectors;
  */
 class OracleChangeEventSequence extends ChangeEventSequence {
 
+  // Shadow table columns holding the sequence information.
+  static final List<String> SHADOW_TABLE_READ_COLUMNS =
+      DatastreamConstants.ORACLE_SORT_ORDER.values().stream()
+          .map(p -> p.getLeft())
+          .collect(Collectors.toList());
+
   // Timestamp for change event
   private final Long timestamp;
 
@@ -77,25 +83,29 @@ class OracleChangeEventSequence extends ChangeEventSequence {
       throws ChangeEventSequenceCreationException {
 
     try {
-      // Read columns from shadow table
-      List<String> readColumnList =
-          DatastreamConstants.ORACLE_SORT_ORDER.values().stream()
-              .map(p -> p.getLeft())
-              .collect(Collectors.toList());
-      Struct row = transactionContext.readRow(shadowTable, primaryKey, readColumnList);
+      Struct row = transactionContext.readRow(shadowTable, primaryKey, SHADOW_TABLE_READ_COLUMNS);
 
       // This is the first event for the primary key and hence the latest event.
       if (row == null) {
         return null;
       }
 
-      return new OracleChangeEventSequence(
-          row.getLong(readColumnList.get(0)), row.getLong(readColumnList.get(1)));
+      return createFromShadowTableRow(row);
     } catch (Exception e) {
       throw new ChangeEventSequenceCreationException(e);
     }
   }
 
+  /*
+   * Creates a OracleChangeEventSequence from a shadow table row that was read with
+   * SHADOW_TABLE_READ_COLUMNS.
+   */
+  static OracleChangeEventSequence createFromShadowTableRow(Struct row) {
+    return new OracleChangeEventSequence(
+        row.getLong(SHADOW_TABLE_READ_COLUMNS.get(0)),
+        row.getLong(SHADOW_TABLE_READ_COLUMNS.get(1)));
+  }
+
   Long getTimestamp() {
     return timestamp;
   }
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.mockito.Mockito.mock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.cloud.teleport.v2.spanner.ddl.Ddl;
+import com.google.cloud.teleport.v2.spanner.migrations.schema.NameAndCols;
+import com.google.cloud.teleport.v2.spanner.migrations.schema.Schema;
+import com.google.cloud.teleport.v2.spanner.migrations.schema.SchemaStringOverridesParser;
+import com.google.cloud.teleport.v2.templates.datastream.DatastreamConstants;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.beam.sdk.values.PCollectionView;
+import org.junit.Test;
+
+/** Unit tests for PrimaryKeyHashDoFn class. */
+public class PrimaryKeyHashDoFnTest {
+
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  Ddl getTestDdl() {
+    return Ddl.builder()
+        .createTable("Users")
+        .column("first_name")
+        .string()
+        .max()
+        .endColumn()
+        .column("age")
+        .int64()
+        .endColumn()
+        .primaryKey()
+        .asc("first_name")
+        .end()
+        .endTable()
+        .build();
+  }
+
+  String getChangeEvent(String firstNameKey, String firstName, int age) {
+    return getChangeEvent("Users", firstNameKey, firstName, age);
+  }
+
+  String getChangeEvent(String tableName, String firstNameKey, String firstName, int age) {
+    ObjectNode changeEvent = mapper.createObjectNode();
+    changeEvent.put(DatastreamConstants.EVENT_TABLE_NAME_KEY, tableName);
+    changeEvent.put(firstNameKey, firstName);
+    changeEvent.put("age", age);
+    return changeEvent.toString();
+  }
+
+  PrimaryKeyHashDoFn getDoFn() {
+    PrimaryKeyHashDoFn doFn = new PrimaryKeyHashDoFn(mock(PCollectionView.class), 100);
+    doFn.setMapper(mapper);
+    return doFn;
+  }
+
+  @Test
+  public void testEventsOfSameRowHaveSameHash() {
+    PrimaryKeyHashDoFn doFn = getDoFn();
+    Ddl ddl = getTestDdl();
+
+    assertEquals(
+        doFn.primaryKeyHash(getChangeEvent("first_name", "Johnny", 13), ddl),
+        doFn.primaryKeyHash(getChangeEvent("FIRST_NAME", "Johnny", 14), ddl));
+    assertNotEquals(
+        doFn.primaryKeyHash(getChangeEvent("first_name", "Johnny", 13), ddl),
+        doFn.primaryKeyHash(getChangeEvent("first_name", "Jack", 13), ddl));
+  }
+
+  @Test
+  public void testEventOfUnknownTableIsHashedByPayload() {
+    String changeEvent = "{\"" + DatastreamConstants.EVENT_TABLE_NAME_KEY + "\":\"Unknown\"}";
+
+    assertEquals(changeEvent.hashCode(), getDoFn().primaryKeyHash(changeEvent, getTestDdl()));
+  }
+
+  @Test
+  public void testEventOfSessionRenamedTableIsHashedBySpannerNames() {
+    Map<String, String> cols = new HashMap<>();
+    cols.put("name", "first_name");
+    cols.put("age", "age");
+    Map<String, NameAndCols> toSpanner = new HashMap<>();
+    toSpanner.put("people", new NameAndCols("Users", cols));
+    Schema schema = new Schema();
+    schema.setToSpanner(toSpanner);
+    schema.setEmpty(false);
+    PrimaryKeyHashDoFn doFn =
+        new PrimaryKeyHashDoFn(mock(PCollectionView.class), 100, schema, null);
+    doFn.setMapper(mapper);
+    Ddl ddl = getTestDdl();
+
+    assertEquals(
+        doFn.primaryKeyHash(getChangeEvent("first_name", "Johnny", 13), ddl),
+        doFn.primaryKeyHash(getChangeEvent("people", "name", "Johnny", 14), ddl));
+    assertNotEquals(
+        doFn.primaryKeyHash(getChangeEvent("first_name", "Johnny", 13), ddl),
+        doFn.primaryKeyHash(getChangeEvent("people", "name", "Jack", 13), ddl));
+  }
+
+  @Test
+  public void testEventOfOverriddenTableIsHashedBySpannerNames() {
+    Map<String, String> overrides = new HashMap<>();
+    overrides.put("tableOverrides", "[{people, Users}]");
+    overrides.put("columnOverrides", "[{people.name, people.first_name}]");
+    PrimaryKeyHashDoFn doFn =
+        new PrimaryKeyHashDoFn(
+            mock(PCollectionView.class), 100, null, new SchemaStringOverridesParser(overrides));
+    doFn.setMapper(mapper);
+    Ddl ddl = getTestDdl();
+
+    assertEquals(
+        doFn.primaryKeyHash(getChangeEvent("first_name", "Johnny", 13), ddl),
+        doFn.primaryKeyHash(getChangeEvent("people", "name", "Johnny", 14), ddl));
+    assertNotEquals(
+        doFn.primaryKeyHash(getChangeEvent("first_name", "Johnny", 13), ddl),
+        doFn.primaryKeyHash(getChangeEvent("people", "name", "Jack", 13), ddl));
+  }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.cloud.spanner.DatabaseClient;
+import com.google.cloud.spanner.ErrorCode;
+import com.google.cloud.spanner.KeySet;
+import com.google.cloud.spanner.Mutation;
+import com.google.cloud.spanner.Options;
+import com.google.cloud.spanner.ResultSet;
+import com.google.cloud.spanner.SpannerExceptionFactory;
+import com.google.cloud.spanner.Struct;
+import com.google.cloud.spanner.TransactionContext;
+import com.google.cloud.spanner.TransactionRunner;
+import com.google.cloud.teleport.v2.spanner.ddl.Ddl;
+import com.google.cloud.teleport.v2.spanner.migrations.constants.Constants;
+import com.google.cloud.teleport.v2.templates.datastream.DatastreamConstants;
+import com.google.cloud.teleport.v2.values.FailsafeElement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.beam.runners.dataflow.options.DataflowWorkerHarnessOptions;
+import org.apache.beam.sdk.io.gcp.spanner.SpannerAccessor;
+import org.apache.beam.sdk.io.gcp.spanner.SpannerConfig;
+import org.apache.beam.sdk.options.PipelineOptionsFactory;
+import org.apache.beam.sdk.options.ValueProvider;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PCollectionView;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+/** Unit tests for SpannerBatchTransactionWriterDoFn class. */
+public class SpannerBatchTransactionWriterDoFnTest {
+
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  private SpannerConfig spannerConfig;
+  private SpannerAccessor spannerAccessor;
+  private DoFn.ProcessContext processContextMock;
+  private DatabaseClient databaseClientMock;
+  private TransactionRunner transactionRunnerMock;
+  private TransactionContext transactionContext;
+  private ResultSet resultSet;
+
+  @Before
+  public void setUp() {
+    mapper.enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    spannerConfig = mock(SpannerConfig.class);
+    spannerAccessor = mock(SpannerAccessor.class);
+    processContextMock = mock(DoFn.ProcessContext.class);
+    databaseClientMock = mock(DatabaseClient.class);
+    transactionRunnerMock = mock(TransactionRunner.class);
+    transactionContext = mock(TransactionContext.class);
+    resultSet = mock(ResultSet.class);
+    ValueProvider<Options.RpcPriority> rpcPriorityValueProviderMock = mock(ValueProvider.class);
+
+    DataflowWorkerHarnessOptions options =
+        PipelineOptionsFactory.fromArgs(new String[] {"--jobId=123"})
+            .as(DataflowWorkerHarnessOptions.class);
+    when(processContextMock.sideInput(any())).thenReturn(getTestDdl());
+    when(processContextMock.getPipelineOptions()).thenReturn(options);
+    when(rpcPriorityValueProviderMock.get()).thenReturn(Options.RpcPriority.LOW);
+    when(spannerConfig.getRpcPriority()).thenReturn(rpcPriorityValueProviderMock);
+    when(spannerAccessor.getDatabaseClient()).thenReturn(databaseClientMock);
+    when(databaseClientMock.readWriteTransaction(any(), any())).thenReturn(transactionRunnerMock);
+    when(transactionContext.read(any(String.class), any(KeySet.class), any(Iterable.class)))
+        .thenReturn(resultSet);
+  }
+
+  Ddl getTestDdl() {
+    return Ddl.builder()
+        .createTable("Users")
+        .column("first_name")
+        .string()
+        .max()
+        .endColumn()
+        .column("last_name")
+        .string()
+        .size(5)
+        .endColumn()
+        .column("age")
+        .int64()
+        .endColumn()
+        .primaryKey()
+        .asc("first_name")
+        .desc("last_name")
+        .end()
+        .endTable()
+        .createTable("shadow_Users")
+        .column("first_name")
+        .string()
+        .max()
+        .endColumn()
+        .column("last_name")
+        .string()
+        .size(5)
+        .endColumn()
+        .column("timestamp")
+        .int64()
+        .endColumn()
+        .column("log_file")
+        .string()
+        .max()
+        .endColumn()
+        .column("log_position")
+        .int64()
+        .endColumn()
+        .primaryKey()
+        .asc("first_name")
+        .desc("last_name")
+        .end()
+        .endTable()
+        .build();
+  }
+
+  FailsafeElement<String, String> getChangeEvent(String firstName, int age, long timestamp) {
+    ObjectNode changeEvent = mapper.createObjectNode();
+    changeEvent.put(DatastreamConstants.EVENT_SOURCE_TYPE_KEY, Constants.MYSQL_SOURCE_TYPE);
+    changeEvent.put(DatastreamConstants.EVENT_TABLE_NAME_KEY, "Users");
+    changeEvent.put("first_name", firstName);
+    changeEvent.put("last_name", "Depp");
+    changeEvent.put("age", age);
+    changeEvent.put(DatastreamConstants.MYSQL_TIMESTAMP_KEY, timestamp);
+    return FailsafeElement.of(changeEvent.toString(), changeEvent.toString());
+  }
+
+  SpannerBatchTransactionWriterDoFn getDoFn() {
+    SpannerBatchTransactionWriterDoFn doFn =
+        new SpannerBatchTransactionWriterDoFn(
+            spannerConfig, mock(PCollectionView.class), "shadow", "mysql", true);
+    doFn.setMapper(mapper);
+    doFn.setSpannerAccessor(spannerAccessor);
+    doFn.setIsInTransaction(new AtomicBoolean(false));
+    doFn.setTransactionAttemptCount(new AtomicLong(0));
+    return doFn;
+  }
+
+  void runTransactions() {
+    when(transactionRunnerMock.run(any()))
+        .thenAnswer(
+            invocation -> {
+              TransactionRunner.TransactionCallable<Void> callable = invocation.getArgument(0);
+              return callable.run(transactionContext);
+            });
+  }
+
+  @Test
+  public void testProcessElementWritesBatchWithOneTransaction() {
+    runTransactions();
+    when(resultSet.next()).thenReturn(false);
+    when(processContextMock.element())
+        .thenReturn(
+            KV.of(
+                0,
+                Arrays.asList(
+                    getChangeEvent("Johnny", 13, 12345),
+                    getChangeEvent("Johnny", 14, 12346),
+                    getChangeEvent("Jack", 40, 12345))));
+
+    getDoFn().processElement(processContextMock);
+
+    verify(databaseClientMock, times(1)).readWriteTransaction(any(), any());
+    verify(transactionContext, times(1))
+        .read(any(String.class), any(KeySet.class), any(Iterable.class));
+    ArgumentCaptor<Iterable<Mutation>> argument = ArgumentCaptor.forClass(Iterable.class);
+    verify(transactionContext, times(2)).buffer(argument.capture());
+    List<Mutation> dataMutations = new ArrayList<>();
+    for (Iterable<Mutation> mutations : argument.getAllValues()) {
+      dataMutations.add(mutations.iterator().next());
+    }
+    assertEquals(
+        Arrays.asList(
+            Mutation.newInsertOrUpdateBuilder("Users")
+                .set("first_name")
+                .to("Johnny")
+                .set("last_name")
+                .to("Depp")
+                .set("age")
+                .to(14)
+                .build(),
+            Mutation.newInsertOrUpdateBuilder("Users")
+                .set("first_name")
+                .to("Jack")
+                .set("last_name")
+                .to("Depp")
+                .set("age")
+                .to(40)
+                .build()),
+        dataMutations);
+    // Stale events are written successfully too.
+    verify(processContextMock, times(3)).output(any(com.google.cloud.Timestamp.class));
+  }
+
+  @Test
+  public void testProcessElementSkipsEventsOlderThanShadowTable() {
+    runTransactions();
+    when(resultSet.next()).thenReturn(true, false);
+    when(resultSet.getCurrentRowAsStruct())
+        .thenReturn(
+            Struct.newBuilder()
+                .set("first_name")
+                .to("Johnny")
+                .set("last_name")
+                .to("Depp")
+                .set("timestamp")
+                .to(20000L)
+                .set("log_file")
+                .to("")
+                .set("log_position")
+                .to(-1L)
+                .build());
+    when(processContextMock.element())
+        .thenReturn(
+            KV.of(
+                0,
+                Arrays.asList(
+                    getChangeEvent("Johnny", 13, 12345), getChangeEvent("Jack", 40, 12345))));
+
+    getDoFn().processElement(processContextMock);
+
+    ArgumentCaptor<Iterable<Mutation>> argument = ArgumentCaptor.forClass(Iterable.class);
+    verify(transactionContext, times(1)).buffer(argument.capture());
+    assertEquals("Users", argument.getValue().iterator().next().getTable());
+    assertEquals(
+        "Jack", argument.getValue().iterator().next().asMap().get("first_name").getString());
+    verify(transactionContext, never()).readRow(any(), any(), any());
+    verify(processContextMock, times(2)).output(any(com.google.cloud.Timestamp.class));
+  }
+
+  @Test
+  public void testProcessElementFallsBackToOneTransactionPerEvent() {
+    AtomicInteger attempts = new AtomicInteger();
+    when(transactionRunnerMock.run(any()))
+        .thenAnswer(
+            invocation -> {
+              if (attempts.incrementAndGet() == 1) {
+                throw SpannerExceptionFactory.newSpannerException(
+                    ErrorCode.FAILED_PRECONDITION, "Parent row is missing");
+              }
+              TransactionRunner.TransactionCallable<Void> callable = invocation.getArgument(0);
+              return callable.run(transactionContext);
+            });
+    when(resultSet.next()).thenReturn(false);
+    when(processContextMock.element())
+        .thenReturn(
+            KV.of(
+                0,
+                Arrays.asList(
+                    getChangeEvent("Johnny", 13, 12345), getChangeEvent("Jack", 40, 12345))));
+
+    getDoFn().processElement(processContextMock);
+
+    verify(databaseClientMock, times(3)).readWriteTransaction(any(), any());
+    verify(transactionContext, times(2)).buffer(any(Iterable.class));
+    verify(processContextMock, times(2)).output(any(com.google.cloud.Timestamp.class));
+  }
+}
@@ -249,6 +249,20 @@ public class DataStreamToSQL {
     String getCustomConnectionString();
 
     void setCustomConnectionString(String value);
+
+    @TemplateParameter.Boolean(
+        order = 15,
+        groupName = "Target",
+        optional = true,
+        description = "Write net changes",
+        helpText =
+            "Whether to write only the last change of each row in a batch, with one multi-row"
+                + " upsert or delete statement per table instead of one statement per change."
+                + " Defaults to: false.")
+    @Default.Boolean(false)
+    Boolean getWriteNetChanges();
+
+    void setWriteNetChanges(Boolean value);
   }
 
   /**
@@ -379,16 +393,16 @@ public class DataStreamToSQL {
      *   a) Convert JSON String FailsafeElements to TableRow's (tableRowRecords)
      * Stage 3) Filter stale rows using stateful PK transform
      */
+    CreateDml createDml = CreateDml.of(dataSourceConfiguration).withSchemaMap(schemaMap);
     PCollection<KV<String, DmlInfo>> dmlStatements =
         datastreamJsonRecords
-            .apply("Format to DML", CreateDml.of(dataSourceConfiguration).withSchemaMap(schemaMap))
+            .apply("Format to DML", createDml)
             .apply("DML Stateful Processing", ProcessDml.statefulOrderByPK());
 
     /*
      * Stage 4: Write Inserts to CloudSQL
      */
-    dmlStatements.apply(
-        "Write to SQL",
+    CdcJdbcIO.Write<KV<String, DmlInfo>> write =
         CdcJdbcIO.<KV<String, DmlInfo>>write()
             .withDataSourceConfiguration(dataSourceConfiguration)
             .withStatementFormatter(
@@ -397,7 +411,16 @@ public class DataStreamToSQL {
                     LOG.debug("Executing SQL: {}", element.getValue().getDmlSql());
                     return element.getValue().getDmlSql();
                   }
-                }));
+                });
+    if (options.getWriteNetChanges()) {
+      write =
+          write.withNetChanges(
+              createDml.getDatastreamToDML().getRowChangeFormatter(),
+              options.getDatabaseType().equals("postgres")
+                  ? CdcJdbcIO.Dialect.POSTGRES
+                  : CdcJdbcIO.Dialect.MYSQL);
+    }
+    dmlStatements.apply("Write to SQL", write);
 
     // Execute the pipeline and return the result.
     return pipeline.run();
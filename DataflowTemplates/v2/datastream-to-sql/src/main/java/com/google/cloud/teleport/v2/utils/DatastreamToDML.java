@@ -34,6 +34,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
 import javax.sql.DataSource;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.values.KV;
@@ -59,6 +60,8 @@ public abstract class DatastreamToDML
 
   public abstract String getDefaultQuoteCharacter();
 
+  public abstract String getQuotedTableNameTemplate();
+
   public abstract String getDeleteDmlStatement();
 
   public abstract String getUpsertDmlStatement();
@@ -332,6 +335,122 @@ public abstract class DatastreamToDML
     return fieldValues;
   }
 
+  /** Returns the names of the columns of the row that exist in the target table. */
+  public List<String> getColumnNames(JsonNode rowObj, Map<String, String> tableSchema) {
+    List<String> columnNames = new ArrayList<>();
+    for (Iterator<String> fieldNames = rowObj.fieldNames(); fieldNames.hasNext(); ) {
+      String columnName = fieldNames.next();
+      if (tableSchema.containsKey(columnName)) {
+        columnNames.add(columnName);
+      }
+    }
+    return columnNames;
+  }
+
+  /**
+   * Returns the value of a column as a statement parameter, the counterpart of {@link
+   * #getValueSql(JsonNode, String, Map)}.
+   */
+  public Object getValue(JsonNode rowObj, String columnName, Map<String, String> tableSchema) {
+    JsonNode columnObj = rowObj.get(columnName);
+    Object columnValue;
+    if (columnObj == null || columnObj.isNull()) {
+      columnValue = null;
+    } else if (columnObj.isTextual()) {
+      columnValue = StringUtils.replace(columnObj.textValue(), "\u0000", "");
+    } else if (columnObj.isNumber()) {
+      columnValue = columnObj.numberValue();
+    } else if (columnObj.isBoolean()) {
+      columnValue = columnObj.booleanValue();
+    } else {
+      columnValue = columnObj.toString();
+    }
+
+    return cleanDataTypeValue(columnValue, columnName, tableSchema);
+  }
+
+  public Object cleanDataTypeValue(
+      Object columnValue, String columnName, Map<String, String> tableSchema) {
+    return columnValue;
+  }
+
+  /**
+   * Returns a {@link CdcJdbcIO.RowChangeFormatter} for {@link CdcJdbcIO.Write#withNetChanges},
+   * which derives the row change of each element from its JSON row.
+   */
+  public CdcJdbcIO.RowChangeFormatter<KV<String, DmlInfo>> getRowChangeFormatter() {
+    return element -> getRowChange(element.getValue());
+  }
+
+  /**
+   * Returns the row change written by {@link CdcJdbcIO.WriteVoid#withNetChanges}, or null if the
+   * change has to be written with its own DML statement.
+   */
+  public CdcJdbcIO.RowChange getRowChange(DmlInfo dmlInfo) {
+    if (dmlInfo.getAllPkFields().isEmpty()) {
+      return null;
+    }
+    try {
+      JsonNode rowObj = new ObjectMapper().readTree(dmlInfo.getFailsafeValue());
+      DatastreamRow row = DatastreamRow.of(rowObj);
+      String catalogName = this.getTargetCatalogName(row);
+      String schemaName = this.getTargetSchemaName(row);
+      String tableName = this.getTargetTableName(row);
+      Map<String, String> tableSchema = this.getTableSchema(catalogName, schemaName, tableName);
+
+      return getRowChange(
+          rowObj, catalogName, schemaName, tableName, dmlInfo.getAllPkFields(), tableSchema);
+    } catch (IOException e) {
+      LOG.error("IOException: {} :: {}", dmlInfo.getFailsafeValue(), e.toString());
+      return null;
+    }
+  }
+
+  /**
+   * Returns the row change of a JSON row, or null for rows without primary keys or whose primary
+   * key values are missing.
+   */
+  public CdcJdbcIO.RowChange getRowChange(
+      JsonNode rowObj,
+      String catalogName,
+      String schemaName,
+      String tableName,
+      List<String> primaryKeys,
+      Map<String, String> tableSchema) {
+    if (primaryKeys.isEmpty() || !primaryKeys.stream().allMatch(rowObj::has)) {
+      return null;
+    }
+    Map<String, String> sqlTemplateValues = new HashMap<>();
+    sqlTemplateValues.put("quoted_catalog_name", quote(catalogName));
+    sqlTemplateValues.put("quoted_schema_name", quote(schemaName));
+    sqlTemplateValues.put("quoted_table_name", quote(tableName));
+    String quotedTableName =
+        StringSubstitutor.replace(getQuotedTableNameTemplate(), sqlTemplateValues, "{", "}");
+    List<String> quotedPrimaryKeys =
+        primaryKeys.stream().map(this::quote).collect(Collectors.toList());
+    List<Object> primaryKeyValues = getValues(rowObj, primaryKeys, tableSchema);
+
+    if (rowObj.get("_metadata_deleted").asBoolean()) {
+      return CdcJdbcIO.RowChange.delete(quotedTableName, quotedPrimaryKeys, primaryKeyValues);
+    }
+    List<String> columnNames = getColumnNames(rowObj, tableSchema);
+    return CdcJdbcIO.RowChange.upsert(
+        quotedTableName,
+        quotedPrimaryKeys,
+        primaryKeyValues,
+        columnNames.stream().map(this::quote).collect(Collectors.toList()),
+        getValues(rowObj, columnNames, tableSchema));
+  }
+
+  private List<Object> getValues(
+      JsonNode rowObj, List<String> columnNames, Map<String, String> tableSchema) {
+    List<Object> values = new ArrayList<>();
+    for (String columnName : columnNames) {
+      values.add(getValue(rowObj, columnName, tableSchema));
+    }
+    return values;
+  }
+
   public String getColumnsListSql(JsonNode rowObj, Map<String, String> tableSchema) {
     String columnsListSql = "";
 
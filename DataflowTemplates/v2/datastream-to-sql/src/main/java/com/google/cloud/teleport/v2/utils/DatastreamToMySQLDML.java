@@ -38,6 +38,11 @@ public class DatastreamToMySQLDML extends DatastreamToDML {
     return "`";
   }
 
+  @Override
+  public String getQuotedTableNameTemplate() {
+    return "{quoted_catalog_name}.{quoted_table_name}";
+  }
+
   @Override
   public String getDeleteDmlStatement() {
     return "DELETE FROM {quoted_catalog_name}.{quoted_table_name} WHERE {primary_key_kv_sql};";
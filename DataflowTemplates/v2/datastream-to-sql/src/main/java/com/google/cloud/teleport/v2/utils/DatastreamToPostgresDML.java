@@ -39,6 +39,11 @@ public class DatastreamToPostgresDML extends DatastreamToDML {
     return "\"";
   }
 
+  @Override
+  public String getQuotedTableNameTemplate() {
+    return "{quoted_schema_name}.{quoted_table_name}";
+  }
+
   @Override
   public String getDeleteDmlStatement() {
     return "DELETE FROM {quoted_schema_name}.{quoted_table_name} WHERE {primary_key_kv_sql};";
@@ -77,9 +82,26 @@ public class DatastreamToPostgresDML extends DatastreamToDML {
   @Override
   public String cleanDataTypeValueSql(
       String columnValue, String columnName, Map<String, String> tableSchema) {
+    if (isNumericColumn(columnName, tableSchema)
+        && (columnValue.equals("") || columnValue.equals("''"))) {
+      return getNullValueSql();
+    }
+    return columnValue;
+  }
+
+  @Override
+  public Object cleanDataTypeValue(
+      Object columnValue, String columnName, Map<String, String> tableSchema) {
+    if (isNumericColumn(columnName, tableSchema) && "".equals(columnValue)) {
+      return null;
+    }
+    return columnValue;
+  }
+
+  private static boolean isNumericColumn(String columnName, Map<String, String> tableSchema) {
     String dataType = tableSchema.get(columnName);
     if (dataType == null) {
-      return columnValue;
+      return false;
     }
     switch (dataType.toUpperCase()) {
       case "INT2":
@@ -97,11 +119,9 @@ public class DatastreamToPostgresDML extends DatastreamToDML {
       case "SMALLSERIAL":
       case "SERIAL":
       case "BIGSERIAL":
-        if (columnValue.equals("") || columnValue.equals("''")) {
-          return getNullValueSql();
-        }
-        break;
+        return true;
+      default:
+        return false;
     }
-    return columnValue;
   }
 }
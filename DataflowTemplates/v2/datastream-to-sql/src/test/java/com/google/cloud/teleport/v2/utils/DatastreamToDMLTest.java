@@ -17,13 +17,20 @@ package com.google.cloud.teleport.v2.utils;
 
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.cloud.teleport.v2.datastream.io.CdcJdbcIO;
+import com.google.cloud.teleport.v2.datastream.io.CdcJdbcIO.RowChange;
 import com.google.cloud.teleport.v2.datastream.values.DatastreamRow;
 import com.google.cloud.teleport.v2.templates.DataStreamToSQL;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.junit.Test;
 import org.slf4j.Logger;
@@ -133,4 +140,47 @@ public class DatastreamToDMLTest {
     assertThat(DataStreamToSQL.parseSchemaMap("a:b")).isEqualTo(singleItemExpected);
     assertThat(DataStreamToSQL.parseSchemaMap("a:b,c:d")).isEqualTo(doubleItemExpected);
   }
+
+  /** Test that row changes use quoted names and the values of the row. */
+  @Test
+  public void testGetRowChange() throws IOException {
+    DatastreamToDML datastreamToDML = DatastreamToPostgresDML.of(null);
+    Map<String, String> tableSchema = new HashMap<>();
+    tableSchema.put("id", "int4");
+    tableSchema.put("name", "varchar");
+    tableSchema.put("amount", "numeric");
+    ObjectMapper mapper = new ObjectMapper();
+    JsonNode upsert =
+        mapper.readTree("{\"id\":1,\"name\":\"it's\",\"amount\":\"\",\"_metadata_deleted\":false}");
+    JsonNode delete = mapper.readTree("{\"id\":2,\"_metadata_deleted\":true}");
+
+    RowChange upsertChange =
+        datastreamToDML.getRowChange(upsert, "", "public", "t", List.of("id"), tableSchema);
+    RowChange deleteChange =
+        datastreamToDML.getRowChange(delete, "", "public", "t", List.of("id"), tableSchema);
+
+    assertEquals("\"public\".\"t\"", upsertChange.getTableName());
+    assertEquals(List.of("\"id\""), upsertChange.getPrimaryKeyColumns());
+    assertEquals(List.of(1), upsertChange.getPrimaryKeyValues());
+    assertEquals(List.of("\"id\"", "\"name\"", "\"amount\""), upsertChange.getColumns());
+    // Values are bound as is, and empty numeric values are written as NULL.
+    assertEquals(Arrays.asList(1, "it's", null), upsertChange.getValues());
+    assertTrue(deleteChange.isDelete());
+    assertEquals(List.of("\"id\""), deleteChange.getPrimaryKeyColumns());
+    assertEquals(List.of(2), deleteChange.getPrimaryKeyValues());
+    assertEquals(
+        "DELETE FROM \"public\".\"t\" WHERE \"id\" IN (?);",
+        CdcJdbcIO.Dialect.POSTGRES.deleteStatement(List.of(deleteChange)));
+  }
+
+  /** Test that changes without a usable primary key are not combined. */
+  @Test
+  public void testGetRowChangeWithoutPrimaryKey() throws IOException {
+    DatastreamToDML datastreamToDML = DatastreamToPostgresDML.of(null);
+    Map<String, String> tableSchema = Collections.singletonMap("name", "varchar");
+    JsonNode rowObj = new ObjectMapper().readTree("{\"name\":\"a\",\"_metadata_deleted\":false}");
+
+    assertNull(datastreamToDML.getRowChange(rowObj, "", "public", "t", List.of(), tableSchema));
+    assertNull(datastreamToDML.getRowChange(rowObj, "", "public", "t", List.of("id"), tableSchema));
+  }
 }
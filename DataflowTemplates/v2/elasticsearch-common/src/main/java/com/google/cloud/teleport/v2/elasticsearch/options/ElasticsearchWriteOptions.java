@@ -325,4 +325,16 @@ public interface ElasticsearchWriteOptions extends PipelineOptions {
   Integer getSocketTimeout();
 
   void setSocketTimeout(Integer socketTimeout);
+
+  @TemplateParameter.Integer(
+      order = 28,
+      optional = true,
+      description = "Max concurrent bulk requests.",
+      helpText =
+          "The maximum number of bulk requests each worker thread keeps in flight. With more than"
+              + " one, only the documents rejected with 429 are retried, and writes to the same"
+              + " document id may be applied out of order. Defaults to: 1.")
+  Integer getMaxConcurrentBulkRequests();
+
+  void setMaxConcurrentBulkRequests(Integer maxConcurrentBulkRequests);
 }
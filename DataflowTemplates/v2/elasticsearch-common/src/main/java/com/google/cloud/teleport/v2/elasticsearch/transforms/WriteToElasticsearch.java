@@ -52,6 +52,8 @@ import org.joda.time.Duration;
  *       for {@link ElasticsearchIO.RetryConfiguration}.
  *   <li>{@link ElasticsearchWriteOptions#getSocketTimeout()} - optional: max socket timeout
  *       (Default: 30000ms).
+ *   <li>{@link ElasticsearchWriteOptions#getMaxConcurrentBulkRequests()} - optional: maximum bulk
+ *       requests in flight per writer (Default: 1).
  * </ul>
  *
  * For {@link ElasticsearchIO#write()} with {@link ValueExtractorTransform.ValueExtractorFn} if the
@@ -241,6 +243,11 @@ public abstract class WriteToElasticsearch extends PTransform<PCollection<String
                   options().getMaxRetryAttempts(), getDuration(options().getMaxRetryDuration())));
     }
 
+    if (options().getMaxConcurrentBulkRequests() != null) {
+      elasticsearchWriter =
+          elasticsearchWriter.withMaxConcurrentRequests(options().getMaxConcurrentBulkRequests());
+    }
+
     return jsonStrings.apply("WriteDocuments", elasticsearchWriter);
   }
 
@@ -0,0 +1,455 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.elasticsearch.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Distribution;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.util.BackOff;
+import org.apache.beam.sdk.util.FluentBackoff;
+import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.annotations.VisibleForTesting;
+import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.http.ConnectionClosedException;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.nio.ContentEncoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.entity.HttpAsyncContentProducer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.ResponseException;
+import org.elasticsearch.client.ResponseListener;
+import org.elasticsearch.client.RestClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes batches of bulk items to Elasticsearch with several {@code _bulk} requests in flight.
+ *
+ * <p>Batches are sent with {@link RestClient#performRequestAsync}, and {@link #submit} blocks while
+ * {@code maxInFlight} of them are pending. The request body is streamed from the encoded items
+ * instead of being concatenated first.
+ *
+ * <p>Only the items of a response that were rejected with 429 TOO_MANY_REQUESTS are sent again,
+ * after a backoff, in a request of their own. A request that times out, cannot connect or is
+ * rejected as a whole with 429 is retried with all its items. Without a retry backoff nothing is
+ * retried. Items that fail for good are reported by the next {@link #submit} or {@link #flush}.
+ *
+ * <p>Responses are handled on the threads of the {@link RestClient}, so their metrics are collected
+ * there and reported by the thread calling {@link #submit} and {@link #flush}.
+ *
+ * <p>A writer is meant to be used for a single bundle, so that neither the errors nor the permits
+ * of a failed bundle leak into the next one. {@link #close} cancels the retries still scheduled and
+ * ignores the responses of the requests still in flight.
+ *
+ * <p>Requests in flight at the same time, and the retries of their rejected items, may complete in
+ * any order. Writes to the same document id in different requests can therefore be applied out of
+ * order, unless {@code maxInFlight} is 1.
+ */
+class BulkWriter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BulkWriter.class);
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private static final int TOO_MANY_REQUESTS = 429;
+
+  private static final ScheduledExecutorService RETRY_SCHEDULER =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setDaemon(true)
+              .setNameFormat("elasticsearch-bulk-retry")
+              .build());
+
+  private final Counter itemsRejected = Metrics.counter(BulkWriter.class, "bulk_items_rejected");
+  private final Counter itemsFailed = Metrics.counter(BulkWriter.class, "bulk_items_failed");
+  private final Distribution requestsInFlight =
+      Metrics.distribution(BulkWriter.class, "bulk_requests_in_flight");
+  private final Distribution requestLatencyMs =
+      Metrics.distribution(BulkWriter.class, "bulk_request_latency_ms");
+
+  private final RestClient restClient;
+  private final String endpoint;
+  private final int maxInFlight;
+  private final @Nullable FluentBackoff retryBackoff;
+  private final Semaphore permits;
+
+  private final AtomicLong pendingItemsRejected = new AtomicLong();
+  private final AtomicLong pendingItemsFailed = new AtomicLong();
+  private final ConcurrentLinkedQueue<Long> pendingLatenciesMs = new ConcurrentLinkedQueue<>();
+  private final ConcurrentLinkedQueue<String> errors = new ConcurrentLinkedQueue<>();
+  private final Set<ScheduledFuture<?>> scheduledRetries = ConcurrentHashMap.newKeySet();
+
+  private volatile boolean closed;
+
+  /**
+   * Creates a writer.
+   *
+   * @param restClient client sending the requests
+   * @param endpoint path of the {@code _bulk} endpoint
+   * @param maxInFlight maximum number of requests in flight
+   * @param retryBackoff backoff between retries of rejected items, null to not retry
+   */
+  BulkWriter(
+      RestClient restClient,
+      String endpoint,
+      int maxInFlight,
+      @Nullable FluentBackoff retryBackoff) {
+    this.restClient = restClient;
+    this.endpoint = endpoint;
+    this.maxInFlight = maxInFlight;
+    this.retryBackoff = retryBackoff;
+    this.permits = new Semaphore(maxInFlight);
+  }
+
+  /**
+   * Sends the items, each an action line optionally followed by a document line, in one bulk
+   * request. Waits while the maximum number of requests are in flight.
+   *
+   * @throws IOException if items of earlier requests could not be written
+   */
+  void submit(List<String> items) throws IOException, InterruptedException {
+    throwIfFailed();
+    List<byte[]> encodedItems = new ArrayList<>(items.size());
+    for (String item : items) {
+      encodedItems.add(item.getBytes(StandardCharsets.UTF_8));
+    }
+    permits.acquire();
+    requestsInFlight.update(maxInFlight - permits.availablePermits());
+    send(new Batch(encodedItems));
+    reportMetrics();
+  }
+
+  /**
+   * Waits until all the requests are complete.
+   *
+   * @throws IOException if items could not be written
+   */
+  void flush() throws IOException, InterruptedException {
+    permits.acquire(maxInFlight);
+    permits.release(maxInFlight);
+    reportMetrics();
+    throwIfFailed();
+  }
+
+  /**
+   * Cancels the retries still scheduled. Responses of the requests still in flight are ignored, the
+   * requests themselves are only cancelled when the {@link RestClient} is closed.
+   */
+  void close() {
+    closed = true;
+    for (ScheduledFuture<?> retry : scheduledRetries) {
+      retry.cancel(false);
+    }
+    scheduledRetries.clear();
+  }
+
+  @VisibleForTesting
+  int scheduledRetries() {
+    scheduledRetries.removeIf(Future::isDone);
+    return scheduledRetries.size();
+  }
+
+  private void send(Batch batch) {
+    if (closed) {
+      return;
+    }
+    Request request = new Request("POST", endpoint);
+    request.setEntity(new BulkRequestEntity(batch.items));
+    long start = System.nanoTime();
+    ResponseListener listener =
+        new ResponseListener() {
+          @Override
+          public void onSuccess(Response response) {
+            if (closed) {
+              return;
+            }
+            pendingLatenciesMs.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            handleResponse(batch, response);
+          }
+
+          @Override
+          public void onFailure(Exception exception) {
+            if (closed) {
+              return;
+            }
+            pendingLatenciesMs.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            if (isRetryable(exception)) {
+              retry(batch, batch.items, exception.toString());
+            } else {
+              fail(batch, batch.items.size(), exception.toString());
+            }
+          }
+        };
+    try {
+      restClient.performRequestAsync(request, listener);
+    } catch (RuntimeException e) {
+      listener.onFailure(e);
+    }
+  }
+
+  private void handleResponse(Batch batch, Response response) {
+    JsonNode result;
+    try {
+      result = OBJECT_MAPPER.readTree(response.getEntity().getContent());
+    } catch (IOException | RuntimeException e) {
+      fail(batch, batch.items.size(), "Could not parse bulk response: " + e);
+      return;
+    }
+    if (!result.path("errors").asBoolean()) {
+      complete(batch);
+      return;
+    }
+
+    List<byte[]> rejected = new ArrayList<>();
+    StringBuilder errorMessages = new StringBuilder();
+    int failed = 0;
+    Iterator<JsonNode> items = result.path("items").elements();
+    for (int i = 0; i < batch.items.size() && items.hasNext(); i++) {
+      JsonNode item = items.next();
+      // Each item holds a single object named after its action, like "index" or "delete".
+      JsonNode itemResult = item.elements().hasNext() ? item.elements().next() : item;
+      if (itemResult.get("error") == null) {
+        continue;
+      }
+      if (itemResult.path("status").asInt() == TOO_MANY_REQUESTS) {
+        rejected.add(batch.items.get(i));
+      } else {
+        ElasticsearchIO.appendItemError(errorMessages, itemResult);
+        failed++;
+      }
+    }
+    if (failed > 0) {
+      pendingItemsFailed.addAndGet(failed);
+      errors.add(errorMessages.toString());
+    }
+    if (rejected.isEmpty()) {
+      complete(batch);
+    } else {
+      pendingItemsRejected.addAndGet(rejected.size());
+      retry(batch, rejected, rejected.size() + " items rejected with 429 TOO_MANY_REQUESTS");
+    }
+  }
+
+  private void retry(Batch batch, List<byte[]> items, String reason) {
+    long backoffMillis = BackOff.STOP;
+    if (retryBackoff != null) {
+      if (batch.backoff == null) {
+        batch.backoff = retryBackoff.backoff();
+      }
+      try {
+        backoffMillis = batch.backoff.nextBackOffMillis();
+      } catch (IOException e) {
+        backoffMillis = BackOff.STOP;
+      }
+    }
+    if (backoffMillis == BackOff.STOP) {
+      fail(
+          batch,
+          items.size(),
+          String.format(ElasticsearchIO.Write.WriteFn.RETRY_FAILED_LOG, batch.attempts + 1)
+              + ": "
+              + reason);
+      return;
+    }
+    batch.attempts++;
+    batch.items = items;
+    LOG.warn(
+        "{}, retrying {} items in {} ms: {}",
+        String.format(ElasticsearchIO.Write.WriteFn.RETRY_ATTEMPT_LOG, batch.attempts),
+        items.size(),
+        backoffMillis,
+        reason);
+    ScheduledFuture<?> resend =
+        RETRY_SCHEDULER.schedule(() -> send(batch), backoffMillis, TimeUnit.MILLISECONDS);
+    scheduledRetries.removeIf(Future::isDone);
+    scheduledRetries.add(resend);
+    if (closed) {
+      // Closed while scheduling, close() may not have seen this retry.
+      resend.cancel(false);
+    }
+  }
+
+  private void fail(Batch batch, int failedItems, String error) {
+    pendingItemsFailed.addAndGet(failedItems);
+    errors.add(String.format("%n%s", error));
+    complete(batch);
+  }
+
+  private void complete(Batch batch) {
+    permits.release();
+  }
+
+  private void reportMetrics() {
+    itemsRejected.inc(pendingItemsRejected.getAndSet(0));
+    itemsFailed.inc(pendingItemsFailed.getAndSet(0));
+    Long latencyMs;
+    while ((latencyMs = pendingLatenciesMs.poll()) != null) {
+      requestLatencyMs.update(latencyMs);
+    }
+  }
+
+  private void throwIfFailed() throws IOException {
+    if (errors.isEmpty()) {
+      return;
+    }
+    StringBuilder errorMessages = new StringBuilder(ElasticsearchIO.BULK_ERRORS_MESSAGE);
+    String error;
+    while ((error = errors.poll()) != null) {
+      errorMessages.append(error);
+    }
+    throw new IOException(errorMessages.toString());
+  }
+
+  private static boolean isRetryable(Exception exception) {
+    if (exception instanceof ResponseException) {
+      return ((ResponseException) exception).getResponse().getStatusLine().getStatusCode()
+          == TOO_MANY_REQUESTS;
+    }
+    for (Throwable t = exception; t != null; t = t.getCause()) {
+      if (t instanceof ConnectTimeoutException
+          || t instanceof SocketTimeoutException
+          || t instanceof ConnectionClosedException
+          || t instanceof ConnectException) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** The items of a bulk request that are still to be written. */
+  private static final class Batch {
+
+    volatile List<byte[]> items;
+
+    volatile @Nullable BackOff backoff;
+
+    volatile int attempts;
+
+    Batch(List<byte[]> items) {
+      this.items = items;
+    }
+  }
+
+  /**
+   * A bulk request body written straight from the encoded items, both by the blocking and the
+   * asynchronous HTTP clients.
+   */
+  @VisibleForTesting
+  static final class BulkRequestEntity extends AbstractHttpEntity
+      implements HttpAsyncContentProducer {
+
+    private final List<byte[]> items;
+
+    private final long contentLength;
+
+    private int nextItem;
+
+    private @Nullable ByteBuffer buffer;
+
+    BulkRequestEntity(List<byte[]> items) {
+      this.items = items;
+      long length = 0;
+      for (byte[] item : items) {
+        length += item.length;
+      }
+      this.contentLength = length;
+      setContentType(ContentType.APPLICATION_JSON.toString());
+    }
+
+    @Override
+    public boolean isRepeatable() {
+      return true;
+    }
+
+    @Override
+    public long getContentLength() {
+      return contentLength;
+    }
+
+    @Override
+    public InputStream getContent() {
+      List<InputStream> streams = new ArrayList<>(items.size());
+      for (byte[] item : items) {
+        streams.add(new ByteArrayInputStream(item));
+      }
+      return new SequenceInputStream(Collections.enumeration(streams));
+    }
+
+    @Override
+    public void writeTo(OutputStream outStream) throws IOException {
+      for (byte[] item : items) {
+        outStream.write(item);
+      }
+      outStream.flush();
+    }
+
+    @Override
+    public boolean isStreaming() {
+      return false;
+    }
+
+    @Override
+    public void produceContent(ContentEncoder encoder, IOControl ioControl) throws IOException {
+      while (nextItem < items.size()) {
+        if (buffer == null) {
+          buffer = ByteBuffer.wrap(items.get(nextItem));
+        }
+        encoder.write(buffer);
+        if (buffer.hasRemaining()) {
+          // The channel is full, this is called again once it can take more.
+          return;
+        }
+        buffer = null;
+        nextItem++;
+      }
+      encoder.complete();
+    }
+
+    @Override
+    public void close() {
+      nextItem = 0;
+      buffer = null;
+    }
+  }
+}
@@ -183,6 +183,7 @@ public class ElasticsearchIO {
         .setUsePartialUpdate(false) // default is document upsert
         .setBulkInsertMethod(
             BulkInsertMethodOptions.CREATE) // default to create (error on duplicate _id)
+        .setMaxConcurrentRequests(1)
         .build();
   }
 
@@ -190,6 +191,9 @@ public class ElasticsearchIO {
 
   private static final ObjectMapper mapper = new ObjectMapper();
 
+  static final String BULK_ERRORS_MESSAGE =
+      "Error writing to Elasticsearch, some elements could not be inserted:";
+
   @VisibleForTesting
   static JsonNode parseResponse(HttpEntity responseEntity) throws IOException {
     return mapper.readValue(responseEntity.getContent(), JsonNode.class);
@@ -200,8 +204,7 @@ public class ElasticsearchIO {
     JsonNode searchResult = parseResponse(responseEntity);
     boolean errors = searchResult.path("errors").asBoolean();
     if (errors) {
-      StringBuilder errorMessages =
-          new StringBuilder("Error writing to Elasticsearch, some elements could not be inserted:");
+      StringBuilder errorMessages = new StringBuilder(BULK_ERRORS_MESSAGE);
       JsonNode items = searchResult.path("items");
       // some items present in bulk might have errors, concatenate error messages
       for (JsonNode item : items) {
@@ -221,25 +224,29 @@ public class ElasticsearchIO {
           }
         }
 
-        JsonNode errorRoot = item.path(errorRootName);
-        JsonNode error = errorRoot.get("error");
-        if (error != null) {
-          String type = error.path("type").asText();
-          String reason = error.path("reason").asText();
-          String docId = errorRoot.path("_id").asText();
-          errorMessages.append(String.format("%nDocument id %s: %s (%s)", docId, reason, type));
-          JsonNode causedBy = error.get("caused_by");
-          if (causedBy != null) {
-            String cbReason = causedBy.path("reason").asText();
-            String cbType = causedBy.path("type").asText();
-            errorMessages.append(String.format("%nCaused by: %s (%s)", cbReason, cbType));
-          }
-        }
+        appendItemError(errorMessages, item.path(errorRootName));
       }
       throw new IOException(errorMessages.toString());
     }
   }
 
+  /** Appends the error of a bulk response item, if it has one, to the error messages. */
+  static void appendItemError(StringBuilder errorMessages, JsonNode errorRoot) {
+    JsonNode error = errorRoot.get("error");
+    if (error != null) {
+      String type = error.path("type").asText();
+      String reason = error.path("reason").asText();
+      String docId = errorRoot.path("_id").asText();
+      errorMessages.append(String.format("%nDocument id %s: %s (%s)", docId, reason, type));
+      JsonNode causedBy = error.get("caused_by");
+      if (causedBy != null) {
+        String cbReason = causedBy.path("reason").asText();
+        String cbType = causedBy.path("type").asText();
+        errorMessages.append(String.format("%nCaused by: %s (%s)", cbReason, cbType));
+      }
+    }
+  }
+
   /** A POJO describing a connection configuration to Elasticsearch. */
   @AutoValue
   public abstract static class ConnectionConfiguration implements Serializable {
@@ -1174,6 +1181,8 @@ public class ElasticsearchIO {
 
     abstract @Nullable BooleanFieldValueExtractFn getIsDeleteFn();
 
+    abstract int getMaxConcurrentRequests();
+
     abstract Builder builder();
 
     @AutoValue.Builder
@@ -1198,6 +1207,8 @@ public class ElasticsearchIO {
 
       abstract Builder setIsDeleteFn(BooleanFieldValueExtractFn isDeleteFn);
 
+      abstract Builder setMaxConcurrentRequests(int maxConcurrentRequests);
+
       abstract Write build();
     }
 
@@ -1350,6 +1361,28 @@ public class ElasticsearchIO {
       return builder().setIsDeleteFn(isDeleteFn).build();
     }
 
+    /**
+     * Provide the maximum number of bulk requests each writer keeps in flight. Default is 1, which
+     * sends one bulk request at a time and retries whole requests.
+     *
+     * <p>With more than one, requests are sent asynchronously and only the items rejected with 429
+     * TOO_MANY_REQUESTS are retried, following the {@link RetryConfiguration}. The bundle then
+     * completes once all its requests did.
+     *
+     * <p>Requests in flight at the same time, and the retried items, may be applied in any order,
+     * so writes to the same document id are only applied in order with the default of 1.
+     *
+     * @param maxConcurrentRequests maximum number of bulk requests in flight per writer
+     * @return the {@link Write} with the maximum number of concurrent requests set
+     */
+    public Write withMaxConcurrentRequests(int maxConcurrentRequests) {
+      checkArgument(
+          maxConcurrentRequests > 0,
+          "maxConcurrentRequests must be > 0, but was %s",
+          maxConcurrentRequests);
+      return builder().setMaxConcurrentRequests(maxConcurrentRequests).build();
+    }
+
     @Override
     public PDone expand(PCollection<String> input) {
       ConnectionConfiguration connectionConfiguration = getConnectionConfiguration();
@@ -1383,6 +1416,7 @@ public class ElasticsearchIO {
       private int backendVersion;
       private final Write spec;
       private transient RestClient restClient;
+      private transient BulkWriter bulkWriter;
       private ArrayList<String> batch;
       private long currentBatchSizeBytes;
 
@@ -1434,6 +1468,16 @@ public class ElasticsearchIO {
       public void startBundle(StartBundleContext context) {
         batch = new ArrayList<>();
         currentBatchSizeBytes = 0;
+        if (spec.getMaxConcurrentRequests() > 1) {
+          // A new writer per bundle, so that a failed bundle cannot leave errors or permits behind.
+          closeBulkWriter();
+          bulkWriter =
+              new BulkWriter(
+                  restClient,
+                  getBulkEndpoint(),
+                  spec.getMaxConcurrentRequests(),
+                  spec.getRetryConfiguration() != null ? retryBackoff : null);
+        }
       }
 
       private class DocumentMetadataSerializer extends StdSerializer<DocumentMetadata> {
@@ -1546,6 +1590,17 @@ public class ElasticsearchIO {
       public void finishBundle(FinishBundleContext context)
           throws IOException, InterruptedException {
         flushBatch();
+        if (bulkWriter != null) {
+          bulkWriter.flush();
+          closeBulkWriter();
+        }
+      }
+
+      private void closeBulkWriter() {
+        if (bulkWriter != null) {
+          bulkWriter.close();
+          bulkWriter = null;
+        }
       }
 
       private boolean isRetryableClientException(Throwable t) {
@@ -1562,6 +1617,12 @@ public class ElasticsearchIO {
         if (batch.isEmpty()) {
           return;
         }
+        if (bulkWriter != null) {
+          bulkWriter.submit(batch);
+          batch.clear();
+          currentBatchSizeBytes = 0;
+          return;
+        }
         StringBuilder bulkRequest = new StringBuilder();
         for (String json : batch) {
           bulkRequest.append(json);
@@ -1570,19 +1631,7 @@ public class ElasticsearchIO {
         currentBatchSizeBytes = 0;
         Response response = null;
         HttpEntity responseEntity = null;
-        // Elasticsearch will default to the index/type provided here if none are set in the
-        // document meta (i.e. using ElasticsearchIO$Write#withIndexFn and
-        // ElasticsearchIO$Write#withTypeFn options)
-        String endPoint;
-        if (backendVersion < 7) {
-          endPoint =
-              String.format(
-                  "/%s/%s/_bulk",
-                  spec.getConnectionConfiguration().getIndex(),
-                  spec.getConnectionConfiguration().getType());
-        } else {
-          endPoint = String.format("/%s/_bulk", spec.getConnectionConfiguration().getIndex());
-        }
+        String endPoint = getBulkEndpoint();
         HttpEntity requestBody =
             new NStringEntity(bulkRequest.toString(), ContentType.APPLICATION_JSON);
         try {
@@ -1610,6 +1659,19 @@ public class ElasticsearchIO {
         checkForErrors(responseEntity, backendVersion, spec.getUsePartialUpdate());
       }
 
+      private String getBulkEndpoint() {
+        // Elasticsearch will default to the index/type provided here if none are set in the
+        // document meta (i.e. using ElasticsearchIO$Write#withIndexFn and
+        // ElasticsearchIO$Write#withTypeFn options)
+        if (backendVersion < 7) {
+          return String.format(
+              "/%s/%s/_bulk",
+              spec.getConnectionConfiguration().getIndex(),
+              spec.getConnectionConfiguration().getType());
+        }
+        return String.format("/%s/_bulk", spec.getConnectionConfiguration().getIndex());
+      }
+
       /** retry request based on retry configuration policy. */
       private HttpEntity handleRetry(
           String method, String endpoint, Map<String, String> params, HttpEntity requestBody)
@@ -1647,6 +1709,7 @@ public class ElasticsearchIO {
 
       @Teardown
       public void closeClient() throws IOException {
+        closeBulkWriter();
         if (restClient != null) {
           restClient.close();
         }
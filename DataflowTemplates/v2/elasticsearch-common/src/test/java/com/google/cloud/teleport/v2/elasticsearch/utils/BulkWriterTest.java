@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.elasticsearch.utils;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.apache.beam.sdk.util.FluentBackoff;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.util.EntityUtils;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.ResponseListener;
+import org.elasticsearch.client.RestClient;
+import org.joda.time.Duration;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Tests for {@link BulkWriter}. */
+public class BulkWriterTest {
+
+  private static final String OK = "{\"index\":{\"_id\":\"%s\",\"status\":201}}";
+  private static final String REJECTED =
+      "{\"index\":{\"_id\":\"%s\",\"status\":429,"
+          + "\"error\":{\"type\":\"es_rejected_execution_exception\",\"reason\":\"queue full\"}}}";
+  private static final String INVALID =
+      "{\"index\":{\"_id\":\"%s\",\"status\":400,"
+          + "\"error\":{\"type\":\"mapper_parsing_exception\",\"reason\":\"bad field\"}}}";
+
+  private static final FluentBackoff BACKOFF =
+      FluentBackoff.DEFAULT.withInitialBackoff(Duration.millis(1)).withMaxRetries(3);
+
+  private RestClient restClient;
+
+  private final List<String> requestBodies = Collections.synchronizedList(new ArrayList<>());
+
+  private final Queue<String> responses = new ConcurrentLinkedQueue<>();
+
+  @Before
+  public void setUp() {
+    restClient = mock(RestClient.class);
+    doAnswer(
+            invocation -> {
+              Request request = invocation.getArgument(0);
+              ResponseListener listener = invocation.getArgument(1);
+              requestBodies.add(EntityUtils.toString(request.getEntity()));
+              Response response = mock(Response.class);
+              when(response.getEntity())
+                  .thenReturn(new StringEntity(responses.remove(), ContentType.APPLICATION_JSON));
+              listener.onSuccess(response);
+              return null;
+            })
+        .when(restClient)
+        .performRequestAsync(any(), any());
+  }
+
+  @Test
+  public void submitRetriesOnlyRejectedItems() throws Exception {
+    responses.add(bulkResponse(String.format(OK, 1), String.format(REJECTED, 2)));
+    responses.add(bulkResponse(String.format(OK, 2)));
+
+    BulkWriter writer = new BulkWriter(restClient, "/index/_bulk", 2, BACKOFF);
+    writer.submit(Arrays.asList(item(1), item(2)));
+    writer.flush();
+
+    assertEquals(Arrays.asList(item(1) + item(2), item(2)), requestBodies);
+  }
+
+  @Test
+  public void flushThrowsItemErrors() throws Exception {
+    responses.add(bulkResponse(String.format(OK, 1), String.format(INVALID, 2)));
+
+    BulkWriter writer = new BulkWriter(restClient, "/index/_bulk", 2, BACKOFF);
+    writer.submit(Arrays.asList(item(1), item(2)));
+
+    IOException exception = assertThrows(IOException.class, writer::flush);
+    assertThat(exception.getMessage(), containsString("Document id 2: bad field"));
+    assertEquals(1, requestBodies.size());
+  }
+
+  @Test
+  public void flushThrowsWhenRetriesAreExhausted() throws Exception {
+    responses.add(bulkResponse(String.format(REJECTED, 1)));
+
+    BulkWriter writer = new BulkWriter(restClient, "/index/_bulk", 1, null);
+    writer.submit(Collections.singletonList(item(1)));
+
+    IOException exception = assertThrows(IOException.class, writer::flush);
+    assertThat(exception.getMessage(), containsString("items rejected with 429"));
+  }
+
+  @Test
+  public void closeCancelsScheduledRetries() throws Exception {
+    responses.add(bulkResponse(String.format(REJECTED, 1)));
+
+    BulkWriter writer =
+        new BulkWriter(
+            restClient,
+            "/index/_bulk",
+            1,
+            FluentBackoff.DEFAULT.withInitialBackoff(Duration.standardHours(1)).withMaxRetries(3));
+    writer.submit(Collections.singletonList(item(1)));
+    assertEquals(1, writer.scheduledRetries());
+
+    writer.close();
+
+    assertEquals(0, writer.scheduledRetries());
+    assertEquals(1, requestBodies.size());
+  }
+
+  @Test
+  public void closedWriterIgnoresLateResponses() throws Exception {
+    List<ResponseListener> listeners = new ArrayList<>();
+    doAnswer(
+            invocation -> {
+              listeners.add(invocation.getArgument(1));
+              return null;
+            })
+        .when(restClient)
+        .performRequestAsync(any(), any());
+
+    BulkWriter failedBundle = new BulkWriter(restClient, "/index/_bulk", 2, BACKOFF);
+    failedBundle.submit(Collections.singletonList(item(1)));
+    failedBundle.close();
+    listeners.get(0).onFailure(new IOException("connection reset"));
+
+    BulkWriter nextBundle = new BulkWriter(restClient, "/index/_bulk", 2, BACKOFF);
+    nextBundle.submit(Collections.singletonList(item(2)));
+    Response response = mock(Response.class);
+    when(response.getEntity())
+        .thenReturn(
+            new StringEntity(bulkResponse(String.format(OK, 2)), ContentType.APPLICATION_JSON));
+    listeners.get(1).onSuccess(response);
+    nextBundle.flush();
+
+    assertEquals(2, listeners.size());
+  }
+
+  @Test
+  public void bulkRequestEntityWritesAllItems() throws Exception {
+    BulkWriter.BulkRequestEntity entity =
+        new BulkWriter.BulkRequestEntity(
+            Arrays.asList(
+                item(1).getBytes(StandardCharsets.UTF_8),
+                item(2).getBytes(StandardCharsets.UTF_8)));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    entity.writeTo(out);
+
+    assertEquals(item(1) + item(2), out.toString(StandardCharsets.UTF_8.name()));
+    assertEquals(item(1) + item(2), EntityUtils.toString(entity));
+    assertEquals((item(1) + item(2)).length(), entity.getContentLength());
+  }
+
+  private static String item(int id) {
+    return String.format("{ \"index\" : {\"_id\":\"%d\"} }%n{\"id\":%d}%n", id, id);
+  }
+
+  private static String bulkResponse(String... items) {
+    boolean errors = Arrays.stream(items).anyMatch(item -> item.contains("\"error\""));
+    return String.format(
+        "{\"took\":1,\"errors\":%s,\"items\":[%s]}", errors, String.join(",", items));
+  }
+}
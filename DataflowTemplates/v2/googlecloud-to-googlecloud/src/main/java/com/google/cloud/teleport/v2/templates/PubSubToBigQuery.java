@@ -245,6 +245,20 @@ public class PubSubToBigQuery {
     Boolean getUseStorageWriteApiAtLeastOnce();
 
     void setUseStorageWriteApiAtLeastOnce(Boolean value);
+
+    @TemplateParameter.Integer(
+        order = 6,
+        optional = true,
+        description = "JavaScript UDF batch size",
+        helpText =
+            "The number of messages to pass to the JavaScript UDF in a single call into the "
+                + "engine. Messages are buffered and transformed at the end of each bundle, which "
+                + "reduces the per-message overhead of small messages. Failures are still reported "
+                + "per message. A value of 1 disables batching. The default value is 1.")
+    @Default.Integer(1)
+    Integer getJavascriptTextTransformBatchSize();
+
+    void setJavascriptTextTransformBatchSize(Integer value);
   }
 
   /**
@@ -463,6 +477,7 @@ public class PubSubToBigQuery {
                         .setFunctionName(options.getJavascriptTextTransformFunctionName())
                         .setReloadIntervalMinutes(
                             options.getJavascriptTextTransformReloadIntervalMinutes())
+                        .setBatchSize(options.getJavascriptTextTransformBatchSize())
                         .setSuccessTag(UDF_OUT)
                         .setFailureTag(UDF_DEADLETTER_OUT)
                         .build());
@@ -21,6 +21,7 @@ import com.google.common.annotations.VisibleForTesting;
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Supplier;
 import org.apache.commons.lang3.StringUtils;
 import org.neo4j.driver.Config;
@@ -30,6 +31,8 @@ import org.neo4j.driver.Session;
 import org.neo4j.driver.SessionConfig;
 import org.neo4j.driver.TransactionConfig;
 import org.neo4j.driver.TransactionWork;
+import org.neo4j.driver.async.AsyncSession;
+import org.neo4j.driver.async.AsyncTransactionWork;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -78,15 +81,19 @@ public class Neo4jConnection implements AutoCloseable, Serializable {
       this.driver = getDriver();
     }
     if (session == null || !session.isOpen()) {
-      SessionConfig.Builder builder = SessionConfig.builder();
-      if (StringUtils.isNotEmpty(this.database)) {
-        builder = builder.withDatabase(this.database);
-      }
-      this.session = driver.session(builder.build());
+      this.session = driver.session(sessionConfig());
     }
     return this.session;
   }
 
+  private SessionConfig sessionConfig() {
+    SessionConfig.Builder builder = SessionConfig.builder();
+    if (StringUtils.isNotEmpty(this.database)) {
+      builder = builder.withDatabase(this.database);
+    }
+    return builder.build();
+  }
+
   /** Write transaction. */
   public <T> T writeTransaction(TransactionWork<T> transactionWork, TransactionConfig txConfig) {
     try (Session session = getSession()) {
@@ -94,6 +101,23 @@ public class Neo4jConnection implements AutoCloseable, Serializable {
     }
   }
 
+  /**
+   * Asynchronous write transaction. The transaction runs in its own session, which is closed once
+   * the transaction completes, so several transactions can be in flight at the same time.
+   */
+  public <T> CompletionStage<T> writeTransactionAsync(
+      AsyncTransactionWork<CompletionStage<T>> transactionWork, TransactionConfig txConfig) {
+    if (driver == null) {
+      this.driver = getDriver();
+    }
+    AsyncSession asyncSession = driver.asyncSession(sessionConfig());
+    CompletionStage<T> result = asyncSession.writeTransactionAsync(transactionWork, txConfig);
+    return result
+        .handle((value, error) -> asyncSession.closeAsync())
+        .thenCompose(closed -> closed)
+        .thenCompose(closed -> result);
+  }
+
   /** Completely delete "neo4j" or named database. */
   public void resetDatabase() {
     // Direct connect utility...
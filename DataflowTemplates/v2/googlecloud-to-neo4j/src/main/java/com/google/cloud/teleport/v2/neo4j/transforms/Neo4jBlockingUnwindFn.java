@@ -24,20 +24,48 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Metrics;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.SerializableFunction;
 import org.apache.beam.sdk.values.KV;
 import org.apache.beam.sdk.values.Row;
 import org.neo4j.driver.TransactionConfig;
+import org.neo4j.driver.async.ResultCursor;
 import org.neo4j.driver.summary.ResultSummary;
 import org.neo4j.importer.v1.targets.TargetType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** Write to Neo4j synchronously, called from inside @Neo4jRowWriterTransform. */
+/**
+ * Write to Neo4j, called from inside @Neo4jRowWriterTransform.
+ *
+ * <p>Each batch is written with a single UNWIND transaction. By default the transaction is run
+ * synchronously. With {@code maxInFlightTransactions} greater than 1, transactions are run with the
+ * async session API instead, and up to that many of them are in flight while the next batches are
+ * prepared. The bundle only finishes once all its transactions are committed.
+ */
 public class Neo4jBlockingUnwindFn extends DoFn<KV<Integer, Iterable<Row>>, Row> {
 
   private static final Logger LOG = LoggerFactory.getLogger(Neo4jBlockingUnwindFn.class);
+
+  /**
+   * Transactions the driver ran again after a transient failure, mostly deadlocks and lock
+   * acquisition timeouts when concurrent batches write the same nodes.
+   */
+  private static final Counter TRANSACTION_RETRIES =
+      Metrics.counter(Neo4jBlockingUnwindFn.class, "neo4j_transaction_retries");
+
+  /** Batches whose transaction needed at least one retry. */
+  private static final Counter BATCHES_RETRIED =
+      Metrics.counter(Neo4jBlockingUnwindFn.class, "neo4j_batches_retried");
+
   private final String cypher;
   private final SerializableFunction<Row, Map<String, Object>> parametersFunction;
   private final boolean logCypher;
@@ -46,9 +74,16 @@ public class Neo4jBlockingUnwindFn extends DoFn<KV<Integer, Iterable<Row>>, Row>
   private final List<Map<String, Object>> parameters;
   private final ReportedSourceType reportedSourceType;
   private final TargetType targetType;
+  private final int maxInFlightTransactions;
   private boolean loggingDone;
   private Neo4jConnection neo4jConnection;
 
+  // Async mode only, the callbacks of the transactions hand their results back to the DoFn thread.
+  private transient Semaphore inFlightTransactions;
+  private transient Queue<List<Map<String, Object>>> spareParameterBuffers;
+  private transient Queue<Integer> completedAttempts;
+  private transient AtomicReference<RuntimeException> asyncFailure;
+
   public Neo4jBlockingUnwindFn(
       ReportedSourceType reportedSourceType,
       TargetType targetType,
@@ -57,6 +92,26 @@ public class Neo4jBlockingUnwindFn extends DoFn<KV<Integer, Iterable<Row>>, Row>
       String unwindMapName,
       SerializableFunction<Row, Map<String, Object>> parametersFunction,
       SerializableSupplier<Neo4jConnection> connectionSupplier) {
+    this(
+        reportedSourceType,
+        targetType,
+        cypher,
+        logCypher,
+        unwindMapName,
+        parametersFunction,
+        connectionSupplier,
+        1);
+  }
+
+  public Neo4jBlockingUnwindFn(
+      ReportedSourceType reportedSourceType,
+      TargetType targetType,
+      String cypher,
+      boolean logCypher,
+      String unwindMapName,
+      SerializableFunction<Row, Map<String, Object>> parametersFunction,
+      SerializableSupplier<Neo4jConnection> connectionSupplier,
+      int maxInFlightTransactions) {
 
     this.reportedSourceType = reportedSourceType;
     this.targetType = targetType;
@@ -65,6 +120,7 @@ public class Neo4jBlockingUnwindFn extends DoFn<KV<Integer, Iterable<Row>>, Row>
     this.logCypher = logCypher;
     this.unwindMapName = unwindMapName;
     this.connectionSupplier = connectionSupplier;
+    this.maxInFlightTransactions = maxInFlightTransactions;
 
     parameters = new ArrayList<>();
     loggingDone = false;
@@ -73,6 +129,12 @@ public class Neo4jBlockingUnwindFn extends DoFn<KV<Integer, Iterable<Row>>, Row>
   @Setup
   public void setup() {
     this.neo4jConnection = connectionSupplier.get();
+    if (maxInFlightTransactions > 1) {
+      this.inFlightTransactions = new Semaphore(maxInFlightTransactions);
+      this.spareParameterBuffers = new ConcurrentLinkedQueue<>();
+      this.completedAttempts = new ConcurrentLinkedQueue<>();
+      this.asyncFailure = new AtomicReference<>();
+    }
   }
 
   @ProcessElement
@@ -81,10 +143,24 @@ public class Neo4jBlockingUnwindFn extends DoFn<KV<Integer, Iterable<Row>>, Row>
     LOG.debug("Processing row batch from key: {}", rowBatch.getKey());
 
     Iterable<Row> rows = rowBatch.getValue();
+    if (inFlightTransactions != null) {
+      executeCypherUnwindStatementAsync(rows);
+      return;
+    }
     rows.forEach(row -> parameters.add(parametersFunction.apply(row)));
     executeCypherUnwindStatement();
   }
 
+  @FinishBundle
+  public void finishBundle() {
+    if (inFlightTransactions == null) {
+      return;
+    }
+    acquire(maxInFlightTransactions);
+    inFlightTransactions.release(maxInFlightTransactions);
+    reportCompletedTransactions();
+  }
+
   @Teardown
   public void tearDown() {
     this.neo4jConnection.close();
@@ -97,7 +173,123 @@ public class Neo4jBlockingUnwindFn extends DoFn<KV<Integer, Iterable<Row>>, Row>
 
     final Map<String, Object> parametersMap = new HashMap<>();
     parametersMap.put(unwindMapName, parameters);
+    logCypherOnce(parametersMap);
+
+    // The driver calls the transaction work again for each retry.
+    AtomicInteger attempts = new AtomicInteger();
+    try {
+      ResultSummary summary =
+          neo4jConnection.writeTransaction(
+              transaction -> {
+                attempts.incrementAndGet();
+                return transaction.run(cypher, parametersMap).consume();
+              },
+              transactionConfig());
+      LOG.debug("Batch transaction of {} rows completed: {}", parameters.size(), summary);
+    } catch (Exception e) {
+      throw new RuntimeException(
+          "Error writing " + parameters.size() + " rows to Neo4j with Cypher: " + cypher, e);
+    } finally {
+      recordAttempts(attempts.get());
+    }
+    parameters.clear();
+  }
+
+  /**
+   * Starts the transaction of a batch without waiting for it to complete, once fewer than {@code
+   * maxInFlightTransactions} are in flight. The parameter lists of completed transactions are
+   * reused for the next batches.
+   */
+  private void executeCypherUnwindStatementAsync(Iterable<Row> rows) {
+    reportCompletedTransactions();
 
+    List<Map<String, Object>> batch = spareParameterBuffers.poll();
+    if (batch == null) {
+      batch = new ArrayList<>();
+    }
+    for (Row row : rows) {
+      batch.add(parametersFunction.apply(row));
+    }
+    if (batch.isEmpty()) {
+      spareParameterBuffers.add(batch);
+      return;
+    }
+
+    final Map<String, Object> parametersMap = new HashMap<>();
+    parametersMap.put(unwindMapName, batch);
+    logCypherOnce(parametersMap);
+
+    acquire(1);
+    final List<Map<String, Object>> inFlightBatch = batch;
+    AtomicInteger attempts = new AtomicInteger();
+    try {
+      neo4jConnection
+          .writeTransactionAsync(
+              transaction -> {
+                attempts.incrementAndGet();
+                return transaction
+                    .runAsync(cypher, parametersMap)
+                    .thenCompose(ResultCursor::consumeAsync);
+              },
+              transactionConfig())
+          .whenComplete(
+              (summary, error) -> {
+                if (error != null) {
+                  asyncFailure.compareAndSet(
+                      null,
+                      new RuntimeException(
+                          "Error writing "
+                              + inFlightBatch.size()
+                              + " rows to Neo4j with Cypher: "
+                              + cypher,
+                          error instanceof CompletionException && error.getCause() != null
+                              ? error.getCause()
+                              : error));
+                } else {
+                  LOG.debug(
+                      "Batch transaction of {} rows completed: {}", inFlightBatch.size(), summary);
+                }
+                completedAttempts.add(attempts.get());
+                inFlightBatch.clear();
+                spareParameterBuffers.add(inFlightBatch);
+                inFlightTransactions.release();
+              });
+    } catch (RuntimeException e) {
+      inFlightTransactions.release();
+      throw new RuntimeException(
+          "Error writing " + batch.size() + " rows to Neo4j with Cypher: " + cypher, e);
+    }
+  }
+
+  /** Reports the metrics of the completed async transactions and rethrows their first failure. */
+  private void reportCompletedTransactions() {
+    Integer attempts;
+    while ((attempts = completedAttempts.poll()) != null) {
+      recordAttempts(attempts);
+    }
+    RuntimeException failure = asyncFailure.getAndSet(null);
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  private void acquire(int permits) {
+    try {
+      inFlightTransactions.acquire(permits);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while waiting for Neo4j transactions", e);
+    }
+  }
+
+  private static void recordAttempts(int attempts) {
+    if (attempts > 1) {
+      TRANSACTION_RETRIES.inc(attempts - 1);
+      BATCHES_RETRIED.inc();
+    }
+  }
+
+  private void logCypherOnce(Map<String, Object> parametersMap) {
     if (logCypher && !loggingDone) {
       String parametersString = getParametersString(parametersMap);
       LOG.debug(
@@ -107,30 +299,22 @@ public class Neo4jBlockingUnwindFn extends DoFn<KV<Integer, Iterable<Row>>, Row>
               + parametersString);
       loggingDone = true;
     }
+  }
 
-    try {
-      ResultSummary summary =
-          neo4jConnection.writeTransaction(
-              transaction -> transaction.run(cypher, parametersMap).consume(),
-              TransactionConfig.builder()
-                  .withMetadata(
-                      Neo4jTelemetry.transactionMetadata(
-                          Map.of(
-                              "sink",
-                              "neo4j",
-                              "source",
-                              reportedSourceType.format(),
-                              "target-type",
-                              targetType.name().toLowerCase(Locale.ROOT),
-                              "step",
-                              "import")))
-                  .build());
-      LOG.debug("Batch transaction of {} rows completed: {}", parameters.size(), summary);
-    } catch (Exception e) {
-      throw new RuntimeException(
-          "Error writing " + parameters.size() + " rows to Neo4j with Cypher: " + cypher, e);
-    }
-    parameters.clear();
+  private TransactionConfig transactionConfig() {
+    return TransactionConfig.builder()
+        .withMetadata(
+            Neo4jTelemetry.transactionMetadata(
+                Map.of(
+                    "sink",
+                    "neo4j",
+                    "source",
+                    reportedSourceType.format(),
+                    "target-type",
+                    targetType.name().toLowerCase(Locale.ROOT),
+                    "step",
+                    "import")))
+        .build();
   }
 
   private static String getParametersString(Map<String, Object> parametersMap) {
@@ -15,22 +15,35 @@
  */
 package com.google.cloud.teleport.v2.neo4j.transforms;
 
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+
 import com.google.cloud.teleport.v2.neo4j.database.CypherGenerator;
 import com.google.cloud.teleport.v2.neo4j.database.Neo4jConnection;
 import com.google.cloud.teleport.v2.neo4j.model.connection.ConnectionParams;
 import com.google.cloud.teleport.v2.neo4j.model.helpers.TargetSequence;
 import com.google.cloud.teleport.v2.neo4j.telemetry.Neo4jTelemetry;
 import com.google.cloud.teleport.v2.neo4j.telemetry.ReportedSourceType;
-import com.google.cloud.teleport.v2.neo4j.utils.DataCastingUtils;
+import com.google.cloud.teleport.v2.neo4j.utils.RowCastingPlan;
 import com.google.cloud.teleport.v2.neo4j.utils.SerializableSupplier;
 import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import org.apache.beam.sdk.coders.BigEndianIntegerCoder;
+import org.apache.beam.sdk.coders.KvCoder;
+import org.apache.beam.sdk.schemas.Schema;
+import org.apache.beam.sdk.transforms.Flatten;
 import org.apache.beam.sdk.transforms.GroupIntoBatches;
 import org.apache.beam.sdk.transforms.PTransform;
 import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.Partition;
 import org.apache.beam.sdk.transforms.SerializableFunction;
+import org.apache.beam.sdk.transforms.Wait;
+import org.apache.beam.sdk.transforms.WithKeys;
 import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.PCollectionList;
 import org.apache.beam.sdk.values.Row;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.neo4j.driver.TransactionConfig;
@@ -39,6 +52,9 @@ import org.neo4j.importer.v1.ImportSpecification;
 import org.neo4j.importer.v1.sources.Source;
 import org.neo4j.importer.v1.targets.CustomQueryTarget;
 import org.neo4j.importer.v1.targets.EntityTarget;
+import org.neo4j.importer.v1.targets.NodeTarget;
+import org.neo4j.importer.v1.targets.PropertyMapping;
+import org.neo4j.importer.v1.targets.RelationshipTarget;
 import org.neo4j.importer.v1.targets.Target;
 import org.neo4j.importer.v1.targets.TargetType;
 import org.slf4j.Logger;
@@ -66,6 +82,17 @@ public class Neo4jRowWriterTransform extends PTransform<PCollection<Row>, PColle
   private static final String LEGACY_QUERY_PARALLELISM_SETTING = "custom_query_parallelism";
   private static final Integer DEFAULT_QUERY_PARALLELISM_FACTOR = 1;
 
+  private static final String NODE_MAX_IN_FLIGHT_TRANSACTIONS_SETTING =
+      "node_target_max_in_flight_transactions";
+  private static final String RELATIONSHIP_MAX_IN_FLIGHT_TRANSACTIONS_SETTING =
+      "relationship_target_max_in_flight_transactions";
+  private static final String QUERY_MAX_IN_FLIGHT_TRANSACTIONS_SETTING =
+      "query_target_max_in_flight_transactions";
+  private static final Integer DEFAULT_MAX_IN_FLIGHT_TRANSACTIONS = 1;
+
+  private static final String RELATIONSHIP_LOCK_AWARE_BATCHING_SETTING =
+      "relationship_target_lock_aware_batching";
+
   private static final Logger LOG = LoggerFactory.getLogger(Neo4jRowWriterTransform.class);
   private final ImportSpecification importSpecification;
   private final Target target;
@@ -107,6 +134,9 @@ public class Neo4jRowWriterTransform extends PTransform<PCollection<Row>, PColle
     }
 
     Configuration config = importSpecification.getConfiguration();
+    boolean lockAwareBatching =
+        targetType == TargetType.RELATIONSHIP
+            && config.get(Boolean.class, RELATIONSHIP_LOCK_AWARE_BATCHING_SETTING).orElse(false);
 
     Neo4jBlockingUnwindFn neo4jUnwindFn =
         new Neo4jBlockingUnwindFn(
@@ -115,8 +145,14 @@ public class Neo4jRowWriterTransform extends PTransform<PCollection<Row>, PColle
             getCypherQuery(),
             false,
             "rows",
-            getRowCastingFunction(),
-            connectionSupplier);
+            getRowCastingFunction(input.getSchema()),
+            connectionSupplier,
+            // Concurrent transactions of the same cell would lock the same nodes again.
+            lockAwareBatching ? 1 : maxInFlightTransactions(targetType, config));
+
+    if (lockAwareBatching) {
+      return writeInNodeLockRounds(input, neo4jUnwindFn, config);
+    }
 
     return input
         .apply("Create KV pairs", CreateKvTransform.of(parallelismFactor(targetType, config)))
@@ -127,6 +163,74 @@ public class Neo4jRowWriterTransform extends PTransform<PCollection<Row>, PColle
         .setRowSchema(input.getSchema());
   }
 
+  /**
+   * Writes relationships in the rounds of a {@link NodeLockSchedule}. Batches of the same round
+   * never touch the same start or end nodes and are written in parallel, each round waits for the
+   * previous one so that batches of different rounds never contend for node locks.
+   */
+  private PCollection<Row> writeInNodeLockRounds(
+      PCollection<Row> input, Neo4jBlockingUnwindFn neo4jUnwindFn, Configuration config) {
+    var relationship = (RelationshipTarget) target;
+    var schedule =
+        new NodeLockSchedule(
+            keySourceFields(relationship.getStartNodeReference()),
+            keySourceFields(relationship.getEndNodeReference()),
+            parallelismFactor(TargetType.RELATIONSHIP, config));
+    int batchSize = batchSize(TargetType.RELATIONSHIP, config);
+    LOG.info(
+        "Writing relationships of {} in {} node lock rounds", target.getName(), schedule.rounds());
+
+    PCollectionList<Row> rounds =
+        input.apply(
+            "Partition into node lock rounds",
+            Partition.of(schedule.rounds(), (row, numPartitions) -> schedule.round(row)));
+    List<PCollection<Row>> written = new ArrayList<>(schedule.rounds());
+    PCollection<Row> previous = null;
+    for (int round = 0; round < schedule.rounds(); round++) {
+      PCollection<Row> rows = rounds.get(round);
+      if (previous != null) {
+        rows =
+            rows.apply("Wait for node lock round " + (round - 1), Wait.on(previous))
+                .setCoder(input.getCoder());
+      }
+      previous =
+          rows.apply(
+                  "Key node lock round " + round,
+                  WithKeys.of((SerializableFunction<Row, Integer>) schedule::cell))
+              .setCoder(KvCoder.of(BigEndianIntegerCoder.of(), input.getCoder()))
+              .apply("Group node lock round " + round, GroupIntoBatches.ofSize(batchSize))
+              .apply(
+                  targetSequence.getSequenceNumber(target)
+                      + ": Neo4j write "
+                      + target.getName()
+                      + " (round "
+                      + round
+                      + ")",
+                  ParDo.of(neo4jUnwindFn))
+              .setRowSchema(input.getSchema());
+      written.add(previous);
+    }
+    return PCollectionList.of(written)
+        .apply("Flatten node lock rounds", Flatten.pCollections())
+        .setRowSchema(input.getSchema());
+  }
+
+  private List<String> keySourceFields(String nodeReference) {
+    NodeTarget node =
+        importSpecification.getTargets().getNodes().stream()
+            .filter(candidate -> nodeReference.equals(candidate.getName()))
+            .findFirst()
+            .orElseThrow(
+                () ->
+                    new IllegalArgumentException(
+                        String.format(
+                            "Could not resolve node target reference %s", nodeReference)));
+    Map<String, String> fieldsByProperty =
+        node.getProperties().stream()
+            .collect(toMap(PropertyMapping::getTargetProperty, PropertyMapping::getSourceField));
+    return node.getKeyProperties().stream().map(fieldsByProperty::get).collect(toList());
+  }
+
   private ReportedSourceType determineReportedSourceType() {
     Source source = importSpecification.findSourceByName(target.getSource());
     return ReportedSourceType.reportedSourceTypeOf(source);
@@ -178,8 +282,9 @@ public class Neo4jRowWriterTransform extends PTransform<PCollection<Row>, PColle
     return query;
   }
 
-  private SerializableFunction<Row, Map<String, Object>> getRowCastingFunction() {
-    return (row) -> DataCastingUtils.rowToNeo4jDataMap(row, target);
+  private static SerializableFunction<Row, Map<String, Object>> getRowCastingFunction(
+      Schema schema) {
+    return RowCastingPlan.of(schema);
   }
 
   private static int batchSize(TargetType targetType, Configuration config) {
@@ -204,6 +309,25 @@ public class Neo4jRowWriterTransform extends PTransform<PCollection<Row>, PColle
     }
   }
 
+  private static int maxInFlightTransactions(TargetType targetType, Configuration config) {
+    switch (targetType) {
+      case NODE:
+        return config
+            .get(Integer.class, NODE_MAX_IN_FLIGHT_TRANSACTIONS_SETTING)
+            .orElse(DEFAULT_MAX_IN_FLIGHT_TRANSACTIONS);
+      case RELATIONSHIP:
+        return config
+            .get(Integer.class, RELATIONSHIP_MAX_IN_FLIGHT_TRANSACTIONS_SETTING)
+            .orElse(DEFAULT_MAX_IN_FLIGHT_TRANSACTIONS);
+      case QUERY:
+        return config
+            .get(Integer.class, QUERY_MAX_IN_FLIGHT_TRANSACTIONS_SETTING)
+            .orElse(DEFAULT_MAX_IN_FLIGHT_TRANSACTIONS);
+      default:
+        throw new IllegalStateException(String.format("Unsupported target type: %s", targetType));
+    }
+  }
+
   private static int parallelismFactor(TargetType targetType, Configuration config) {
     switch (targetType) {
       case NODE:
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.neo4j.transforms;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.beam.sdk.values.Row;
+
+/**
+ * Schedules relationship rows into rounds of batches that never lock the same nodes.
+ *
+ * <p>Nodes are hashed by the values of their key properties into an even number of buckets, twice
+ * the requested parallelism. A relationship belongs to the cell made of the buckets of its start
+ * and end nodes. The cells are then spread over rounds like the games of a round-robin tournament:
+ * every round but the last pairs each bucket with exactly one other bucket, and the last round
+ * holds the relationships whose start and end nodes fall into the same bucket. Cells of the same
+ * round therefore never share a bucket, so their write transactions can run in parallel without
+ * contending for node locks, as long as the rounds themselves run one after the other.
+ *
+ * <p>Start and end nodes are hashed into the same buckets because they can be the same nodes, for
+ * example when a relationship connects two {@code :Person} nodes.
+ */
+final class NodeLockSchedule implements Serializable {
+
+  private final List<String> startKeyFields;
+
+  private final List<String> endKeyFields;
+
+  private final int buckets;
+
+  /**
+   * Creates a schedule.
+   *
+   * @param startKeyFields fields of the rows holding the key properties of the start node
+   * @param endKeyFields fields of the rows holding the key properties of the end node
+   * @param parallelism number of batches written concurrently in most rounds
+   */
+  NodeLockSchedule(List<String> startKeyFields, List<String> endKeyFields, int parallelism) {
+    checkArgument(parallelism > 0, "parallelism must be greater than 0.");
+    this.startKeyFields = List.copyOf(startKeyFields);
+    this.endKeyFields = List.copyOf(endKeyFields);
+    this.buckets = 2 * parallelism;
+  }
+
+  /** Returns the number of rounds, which is also the number of buckets. */
+  int rounds() {
+    return buckets;
+  }
+
+  /** Returns the round in which the relationship of the row is written. */
+  int round(Row row) {
+    return round(bucket(row, startKeyFields), bucket(row, endKeyFields));
+  }
+
+  /** Returns the cell of the relationship of the row, which is unique within its round. */
+  int cell(Row row) {
+    return cell(bucket(row, startKeyFields), bucket(row, endKeyFields));
+  }
+
+  int round(int startBucket, int endBucket) {
+    if (startBucket == endBucket) {
+      return buckets - 1;
+    }
+    int last = buckets - 1;
+    if (startBucket == last || endBucket == last) {
+      return Math.min(startBucket, endBucket);
+    }
+    // Round r pairs r + k with r - k modulo the odd number of buckets other than the last one, so
+    // the round of a pair is half of its sum. Half is a multiplication by buckets / 2 since
+    // 2 * (buckets / 2) = 1 modulo buckets - 1.
+    return (int) ((long) (startBucket + endBucket) * (buckets / 2) % last);
+  }
+
+  int cell(int startBucket, int endBucket) {
+    return Math.min(startBucket, endBucket);
+  }
+
+  private int bucket(Row row, List<String> keyFields) {
+    int hash = 1;
+    for (String field : keyFields) {
+      hash = 31 * hash + valueHash(row.getValue(field));
+    }
+    // Spread the bits of the hash before taking the modulo, keys are often sequential integers.
+    return Math.floorMod(Integer.rotateLeft(hash * 0x9E3779B9, 16), buckets);
+  }
+
+  private static int valueHash(Object value) {
+    if (value instanceof byte[]) {
+      return Arrays.hashCode((byte[]) value);
+    }
+    return value == null ? 0 : value.hashCode();
+  }
+}
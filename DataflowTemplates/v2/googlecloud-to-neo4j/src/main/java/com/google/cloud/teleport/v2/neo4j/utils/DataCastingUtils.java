@@ -319,7 +319,7 @@ public class DataCastingUtils {
   }
 
   @SuppressWarnings("unchecked")
-  private static <T> T castValue(Object value, Class<T> clz) {
+  static <T> T castValue(Object value, Class<T> clz) {
     if (Objects.isNull(value)) {
       return null;
     }
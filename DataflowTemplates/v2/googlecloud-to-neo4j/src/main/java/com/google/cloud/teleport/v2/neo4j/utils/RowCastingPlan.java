@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.neo4j.utils;
+
+import static com.google.cloud.teleport.v2.neo4j.utils.DataCastingUtils.castValue;
+
+import java.math.BigDecimal;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.beam.sdk.schemas.Schema;
+import org.apache.beam.sdk.schemas.logicaltypes.EnumerationType;
+import org.apache.beam.sdk.transforms.SerializableFunction;
+import org.apache.beam.sdk.values.Row;
+import org.joda.time.ReadableInstant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Converts Beam rows of one schema to Neo4j parameter maps, like {@link
+ * DataCastingUtils#rowToNeo4jDataMap(Row, org.neo4j.importer.v1.targets.Target)}, with the casting
+ * of every field compiled once per schema.
+ *
+ * <p>The type of each field, including the element types of arrays and maps and the fields of
+ * nested rows, is resolved when the plan is compiled, so converting a row only reads its values by
+ * position and applies the casts of their fields. Fields whose values are passed to the driver
+ * as-is are not cast at all. The plan is compiled lazily after deserialization.
+ */
+public final class RowCastingPlan implements SerializableFunction<Row, Map<String, Object>> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(RowCastingPlan.class);
+
+  private static final FieldCaster AS_IS = value -> value;
+
+  private final Schema schema;
+
+  private transient volatile CompiledRow compiled;
+
+  private RowCastingPlan(Schema schema) {
+    this.schema = schema;
+  }
+
+  /**
+   * Creates the plan of a schema.
+   *
+   * @param schema schema of all the rows converted by the plan
+   * @return plan
+   */
+  public static RowCastingPlan of(Schema schema) {
+    return new RowCastingPlan(schema);
+  }
+
+  @Override
+  public Map<String, Object> apply(Row row) {
+    CompiledRow compiledRow = compiled;
+    if (compiledRow == null) {
+      compiledRow = new CompiledRow(schema);
+      compiled = compiledRow;
+    }
+    return compiledRow.cast(row);
+  }
+
+  private static FieldCaster compile(String name, Schema.FieldType type) {
+    switch (type.getTypeName()) {
+      case BYTE:
+      case INT16:
+      case INT32:
+      case INT64:
+      case STRING:
+      case FLOAT:
+      case DOUBLE:
+      case BOOLEAN:
+      case BYTES:
+        return AS_IS;
+      case DATETIME:
+        return value -> {
+          ReadableInstant typedValue = castValue(value, ReadableInstant.class);
+          if (typedValue == null) {
+            return null;
+          }
+          return java.time.Instant.ofEpochMilli(typedValue.getMillis()).atOffset(ZoneOffset.UTC);
+        };
+      case DECIMAL:
+        LOG.warn(
+            "Type '{}' is not supported in Neo4j, converting field '{}' to Float64 instead.",
+            type.getTypeName(),
+            name);
+        return value -> {
+          BigDecimal typedValue = castValue(value, BigDecimal.class);
+          return typedValue == null ? null : typedValue.doubleValue();
+        };
+      case ARRAY:
+      case ITERABLE:
+        {
+          FieldCaster elementCaster = compile(name, type.getCollectionElementType());
+          return value -> {
+            Collection<?> typedValue = castValue(value, Collection.class);
+            if (typedValue == null) {
+              return null;
+            }
+            if (elementCaster == AS_IS) {
+              return new ArrayList<>(typedValue);
+            }
+            List<Object> result = new ArrayList<>(typedValue.size());
+            for (Object element : typedValue) {
+              result.add(elementCaster.cast(element));
+            }
+            return result;
+          };
+        }
+      case MAP:
+        {
+          Schema.FieldType keyType = type.getMapKeyType();
+          if (!keyType.getTypeName().isStringType()) {
+            String message =
+                String.format(
+                    "Only strings are supported as MAP key values, found '%s' in field '%s'",
+                    keyType.getTypeName(), name);
+            return failing(message);
+          }
+          FieldCaster keyCaster = compile(name, keyType);
+          FieldCaster valueCaster = compile(name, type.getMapValueType());
+          return value -> {
+            Map<?, ?> typedValue = castValue(value, Map.class);
+            if (typedValue == null) {
+              return null;
+            }
+            Map<String, Object> result = new HashMap<>(typedValue.size());
+            for (var element : typedValue.entrySet()) {
+              result.put(
+                  castValue(keyCaster.cast(element.getKey()), String.class),
+                  valueCaster.cast(element.getValue()));
+            }
+            return result;
+          };
+        }
+      case ROW:
+        {
+          CompiledRow nested = new CompiledRow(type.getRowSchema());
+          return value -> {
+            Row typedValue = castValue(value, Row.class);
+            return typedValue == null ? null : nested.cast(typedValue);
+          };
+        }
+      case LOGICAL_TYPE:
+        return value -> {
+          if (value == null) {
+            return null;
+          } else if (value instanceof java.time.Instant) {
+            return ((java.time.Instant) value).atOffset(ZoneOffset.UTC);
+          } else if (value instanceof TemporalAccessor) {
+            return value;
+          } else if (value instanceof EnumerationType.Value) {
+            return ((EnumerationType.Value) value).getValue();
+          }
+          String message =
+              String.format(
+                  "Field '%s' of type '%s' ('%s') is not supported.",
+                  name, type.getTypeName().name(), type.getLogicalType().getIdentifier());
+          LOG.error(message);
+          throw new RuntimeException(message);
+        };
+      default:
+        return failing(
+            String.format(
+                "Field '%s' of type '%s' is not supported.", name, type.getTypeName().name()));
+    }
+  }
+
+  /** Fails like {@link DataCastingUtils} when the first value of an unsupported field is cast. */
+  private static FieldCaster failing(String message) {
+    return value -> {
+      LOG.error(message);
+      throw new RuntimeException(message);
+    };
+  }
+
+  /** Cast of the values of a single field. */
+  @FunctionalInterface
+  private interface FieldCaster {
+    Object cast(Object value);
+  }
+
+  /** Field names and casts of a row schema, in field order. */
+  private static final class CompiledRow {
+
+    private final String[] names;
+
+    private final FieldCaster[] casters;
+
+    private final int capacity;
+
+    CompiledRow(Schema schema) {
+      int fieldCount = schema.getFieldCount();
+      this.names = new String[fieldCount];
+      this.casters = new FieldCaster[fieldCount];
+      for (int i = 0; i < fieldCount; i++) {
+        Schema.Field field = schema.getField(i);
+        names[i] = field.getName();
+        casters[i] = compile(field.getName(), field.getType());
+      }
+      // Capacity of a HashMap that holds all the fields without resizing.
+      this.capacity = (int) (fieldCount / 0.75f) + 1;
+    }
+
+    Map<String, Object> cast(Row row) {
+      Map<String, Object> map = new HashMap<>(capacity);
+      for (int i = 0; i < names.length; i++) {
+        map.put(names[i], casters[i].cast(row.getValue(i)));
+      }
+      return map;
+    }
+  }
+}
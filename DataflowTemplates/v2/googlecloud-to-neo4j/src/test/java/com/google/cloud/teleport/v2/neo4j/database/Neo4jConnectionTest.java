@@ -15,6 +15,8 @@
  */
 package com.google.cloud.teleport.v2.neo4j.database;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -29,6 +31,8 @@ import static org.mockito.Mockito.when;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -41,8 +45,10 @@ import org.mockito.junit.MockitoRule;
 import org.neo4j.driver.Driver;
 import org.neo4j.driver.Result;
 import org.neo4j.driver.Session;
+import org.neo4j.driver.TransactionConfig;
 import org.neo4j.driver.Value;
 import org.neo4j.driver.Values;
+import org.neo4j.driver.async.AsyncSession;
 import org.neo4j.driver.internal.InternalRecord;
 
 @RunWith(JUnit4.class)
@@ -53,6 +59,7 @@ public class Neo4jConnectionTest {
   @Mock private Driver driver;
   @Mock private Session session;
   @Mock private Result result;
+  @Mock private AsyncSession asyncSession;
 
   private Neo4jConnection neo4jConnection;
 
@@ -159,6 +166,42 @@ public class Neo4jConnectionTest {
     inOrder.verify(session).run(eq("DROP INDEX `d`"), eq(Map.of()), any());
   }
 
+  @Test
+  public void closesAsyncSessionOnceTransactionCompletes() {
+    when(driver.asyncSession(any())).thenReturn(asyncSession);
+    when(asyncSession.<String>writeTransactionAsync(any(), any()))
+        .thenReturn(CompletableFuture.completedFuture("written"));
+    when(asyncSession.closeAsync()).thenReturn(CompletableFuture.completedFuture(null));
+
+    String written =
+        neo4jConnection
+            .<String>writeTransactionAsync(
+                tx -> CompletableFuture.completedFuture("unused"), TransactionConfig.empty())
+            .toCompletableFuture()
+            .join();
+
+    assertEquals("written", written);
+    verify(asyncSession).closeAsync();
+  }
+
+  @Test
+  public void closesAsyncSessionWhenTransactionFails() {
+    when(driver.asyncSession(any())).thenReturn(asyncSession);
+    when(asyncSession.<String>writeTransactionAsync(any(), any()))
+        .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("deadlock")));
+    when(asyncSession.closeAsync()).thenReturn(CompletableFuture.completedFuture(null));
+
+    CompletableFuture<String> written =
+        neo4jConnection
+            .<String>writeTransactionAsync(
+                tx -> CompletableFuture.completedFuture("unused"), TransactionConfig.empty())
+            .toCompletableFuture();
+
+    CompletionException exception = assertThrows(CompletionException.class, written::join);
+    assertEquals("deadlock", exception.getCause().getMessage());
+    verify(asyncSession).closeAsync();
+  }
+
   private void setVersionEdition(String version, String edition) {
     var result = mock(Result.class);
     when(result.single())
@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.neo4j.transforms;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.teleport.v2.neo4j.database.Neo4jConnection;
+import com.google.cloud.teleport.v2.neo4j.telemetry.ReportedSourceType;
+import com.google.cloud.teleport.v2.neo4j.utils.DataCastingUtils;
+import com.google.cloud.teleport.v2.neo4j.utils.RowCastingPlan;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.beam.sdk.schemas.Schema;
+import org.apache.beam.sdk.schemas.Schema.FieldType;
+import org.apache.beam.sdk.schemas.logicaltypes.SqlTypes;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.SerializableFunction;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.Row;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.neo4j.importer.v1.targets.Target;
+import org.neo4j.importer.v1.targets.TargetType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark of {@link Neo4jBlockingUnwindFn} writing a bundle of node batches shaped like the
+ * rows of a BigQuery source.
+ *
+ * <p>Each invocation writes {@value #BATCHES_PER_BUNDLE} batches of {@value #BATCH_SIZE} rows, the
+ * default node batch size, and finishes the bundle. The database is replaced by a connection whose
+ * transactions complete after {@code commitLatencyMillis}, so that the benchmark measures the
+ * conversion of the rows and how much of the commit latency is hidden by in-flight transactions.
+ * {@code dataCastingUtils} converts rows with {@link DataCastingUtils#rowToNeo4jDataMap(Row,
+ * Target)}, {@code plan} with a {@link RowCastingPlan}. Run from the googlecloud-to-neo4j module
+ * after {@code mvn test-compile} with:
+ *
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) org.openjdk.jmh.Main \
+ *     Neo4jBlockingUnwindFnBenchmark -prof gc
+ * </pre>
+ *
+ * where {@code cp.txt} holds the output of {@code mvn dependency:build-classpath
+ * -Dmdep.outputFile=cp.txt}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class Neo4jBlockingUnwindFnBenchmark {
+
+  private static final int BATCH_SIZE = 5000;
+
+  private static final int BATCHES_PER_BUNDLE = 20;
+
+  private static final Schema SCHEMA =
+      Schema.builder()
+          .addInt64Field("customer_id")
+          .addStringField("name")
+          .addNullableField("email", FieldType.STRING)
+          .addDoubleField("lifetime_value")
+          .addBooleanField("active")
+          .addDateTimeField("created_at")
+          .addDecimalField("balance")
+          .addField("birth_date", FieldType.logicalType(SqlTypes.DATE))
+          .addField("segments", FieldType.array(FieldType.STRING))
+          .build();
+
+  @Param({"dataCastingUtils", "plan"})
+  public String casting;
+
+  @Param({"1", "4"})
+  public int maxInFlightTransactions;
+
+  @Param({"5"})
+  public long commitLatencyMillis;
+
+  private ScheduledExecutorService database;
+
+  private Neo4jBlockingUnwindFn unwindFn;
+
+  private DoFn<KV<Integer, Iterable<Row>>, Row>.ProcessContext context;
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    database = Executors.newScheduledThreadPool(maxInFlightTransactions);
+    Neo4jConnection connection = mock(Neo4jConnection.class);
+    when(connection.writeTransaction(any(), any()))
+        .thenAnswer(
+            invocation -> {
+              Thread.sleep(commitLatencyMillis);
+              return null;
+            });
+    when(connection.writeTransactionAsync(any(), any()))
+        .thenAnswer(
+            invocation -> {
+              CompletableFuture<Object> committed = new CompletableFuture<>();
+              database.schedule(
+                  () -> committed.complete(null), commitLatencyMillis, TimeUnit.MILLISECONDS);
+              return committed;
+            });
+
+    SerializableFunction<Row, Map<String, Object>> parametersFunction =
+        "plan".equals(casting)
+            ? RowCastingPlan.of(SCHEMA)
+            : row -> DataCastingUtils.rowToNeo4jDataMap(row, null);
+    unwindFn =
+        new Neo4jBlockingUnwindFn(
+            ReportedSourceType.BIGQUERY,
+            TargetType.NODE,
+            "UNWIND $rows AS row MERGE (n:Customer {id: row.customer_id}) SET n += row",
+            false,
+            "rows",
+            parametersFunction,
+            () -> connection,
+            maxInFlightTransactions);
+    unwindFn.setup();
+
+    List<Row> batch = new ArrayList<>(BATCH_SIZE);
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      batch.add(
+          Row.withSchema(SCHEMA)
+              .withFieldValue("customer_id", (long) i)
+              .withFieldValue("name", "Customer " + i)
+              .withFieldValue("email", i % 3 == 0 ? null : "customer" + i + "@example.com")
+              .withFieldValue("lifetime_value", i * 1.5)
+              .withFieldValue("active", i % 2 == 0)
+              .withFieldValue(
+                  "created_at", new DateTime(1700000000000L + i * 1000L, DateTimeZone.UTC))
+              .withFieldValue("balance", new BigDecimal("1234.56").add(BigDecimal.valueOf(i)))
+              .withFieldValue("birth_date", LocalDate.of(1970 + i % 50, 1 + i % 12, 1 + i % 28))
+              .withFieldValue("segments", List.of("retail", i % 2 == 0 ? "gold" : "silver"))
+              .build());
+    }
+    context = mock(DoFn.ProcessContext.class);
+    when(context.element()).thenReturn(KV.of(0, batch));
+  }
+
+  @TearDown
+  public void tearDown() {
+    unwindFn.tearDown();
+    database.shutdownNow();
+  }
+
+  @Benchmark
+  public void writeBundle() {
+    for (int i = 0; i < BATCHES_PER_BUNDLE; i++) {
+      unwindFn.processElement(context);
+    }
+    unwindFn.finishBundle();
+  }
+}
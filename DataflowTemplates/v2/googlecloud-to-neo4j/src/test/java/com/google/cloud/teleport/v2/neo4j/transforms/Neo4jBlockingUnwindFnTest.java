@@ -15,10 +15,14 @@
  */
 package com.google.cloud.teleport.v2.neo4j.transforms;
 
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -27,6 +31,7 @@ import com.google.cloud.teleport.v2.neo4j.telemetry.ReportedSourceType;
 import com.google.cloud.teleport.v2.neo4j.utils.DataCastingUtils;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.DoFn.ProcessContext;
 import org.apache.beam.sdk.values.KV;
@@ -64,6 +69,57 @@ public class Neo4jBlockingUnwindFnTest {
     verify(connection).writeTransaction(any(), eq(expectedTransactionConfig));
   }
 
+  @Test
+  public void sends_transaction_metadata_with_async_transactions() {
+    Neo4jConnection connection = mock(Neo4jConnection.class);
+    when(connection.writeTransactionAsync(any(), any()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+    Neo4jBlockingUnwindFn batchImporter = anAsyncImporter(connection);
+
+    batchImporter.setup();
+    batchImporter.processElement(aProcessContext());
+    batchImporter.processElement(aProcessContext());
+    batchImporter.finishBundle();
+
+    Map<String, String> expectedTxMetadata =
+        Map.of("sink", "neo4j", "source", "BigQuery", "target-type", "node", "step", "import");
+    TransactionConfig expectedTransactionConfig =
+        TransactionConfig.builder()
+            .withMetadata(Map.of("app", "dataflow", "metadata", expectedTxMetadata))
+            .build();
+    verify(connection, times(2)).writeTransactionAsync(any(), eq(expectedTransactionConfig));
+    verify(connection, never()).writeTransaction(any(), any());
+  }
+
+  @Test
+  public void fails_bundle_when_async_transaction_fails() {
+    Neo4jConnection connection = mock(Neo4jConnection.class);
+    when(connection.writeTransactionAsync(any(), any()))
+        .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("deadlock")));
+    Neo4jBlockingUnwindFn batchImporter = anAsyncImporter(connection);
+
+    batchImporter.setup();
+    batchImporter.processElement(aProcessContext());
+    var exception = assertThrows(RuntimeException.class, batchImporter::finishBundle);
+
+    assertThat(exception)
+        .hasMessageThat()
+        .isEqualTo("Error writing 1 rows to Neo4j with Cypher: RETURN 42");
+    assertThat(exception).hasCauseThat().hasMessageThat().isEqualTo("deadlock");
+  }
+
+  private static Neo4jBlockingUnwindFn anAsyncImporter(Neo4jConnection connection) {
+    return new Neo4jBlockingUnwindFn(
+        ReportedSourceType.BIGQUERY,
+        TargetType.NODE,
+        "RETURN 42",
+        false,
+        "map",
+        (row) -> DataCastingUtils.rowToNeo4jDataMap(row, mock(Target.class)),
+        () -> connection,
+        4);
+  }
+
   private static DoFn.ProcessContext aProcessContext() {
     var context = mock(ProcessContext.class);
     var row = mock(Row.class, RETURNS_DEEP_STUBS);
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.neo4j.transforms;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.beam.sdk.schemas.Schema;
+import org.apache.beam.sdk.values.Row;
+import org.junit.Test;
+
+public class NodeLockScheduleTest {
+
+  private static final Schema SCHEMA =
+      Schema.builder()
+          .addInt64Field("source_id")
+          .addStringField("source_tenant")
+          .addInt64Field("target_id")
+          .addStringField("target_tenant")
+          .build();
+
+  @Test
+  public void spreads_bucket_pairs_over_rounds_without_overlap() {
+    for (int parallelism = 1; parallelism <= 8; parallelism++) {
+      var schedule = new NodeLockSchedule(List.of(), List.of(), parallelism);
+      int buckets = schedule.rounds();
+      assertThat(buckets).isEqualTo(2 * parallelism);
+
+      Map<Integer, Map<Integer, Set<Integer>>> bucketsByCellByRound = new HashMap<>();
+      for (int start = 0; start < buckets; start++) {
+        for (int end = 0; end < buckets; end++) {
+          int round = schedule.round(start, end);
+          assertThat(round).isAtLeast(0);
+          assertThat(round).isLessThan(buckets);
+          var cellBuckets =
+              bucketsByCellByRound
+                  .computeIfAbsent(round, r -> new HashMap<>())
+                  .computeIfAbsent(schedule.cell(start, end), c -> new HashSet<>());
+          cellBuckets.add(start);
+          cellBuckets.add(end);
+        }
+      }
+
+      for (var cells : bucketsByCellByRound.values()) {
+        assertDisjoint(cells.values());
+      }
+    }
+  }
+
+  @Test
+  public void never_puts_the_same_node_in_two_cells_of_a_round() {
+    var schedule =
+        new NodeLockSchedule(
+            List.of("source_id", "source_tenant"), List.of("target_id", "target_tenant"), 4);
+
+    Map<Integer, Map<Integer, Set<String>>> nodesByCellByRound = new HashMap<>();
+    for (long source = 0; source < 60; source++) {
+      for (long offset = 0; offset < 60; offset += 7) {
+        long target = (source * 13 + offset) % 60;
+        Row row = Row.withSchema(SCHEMA).addValues(source, "acme", target, "acme").build();
+        var cellNodes =
+            nodesByCellByRound
+                .computeIfAbsent(schedule.round(row), r -> new HashMap<>())
+                .computeIfAbsent(schedule.cell(row), c -> new HashSet<>());
+        cellNodes.add(source + "/acme");
+        cellNodes.add(target + "/acme");
+      }
+    }
+
+    assertThat(nodesByCellByRound.size()).isGreaterThan(1);
+    for (var cells : nodesByCellByRound.values()) {
+      assertDisjoint(cells.values());
+    }
+  }
+
+  private static <T> void assertDisjoint(Iterable<Set<T>> sets) {
+    Set<T> seen = new HashSet<>();
+    for (Set<T> set : sets) {
+      assertThat(Collections.disjoint(seen, set)).isTrue();
+      seen.addAll(set);
+    }
+  }
+}
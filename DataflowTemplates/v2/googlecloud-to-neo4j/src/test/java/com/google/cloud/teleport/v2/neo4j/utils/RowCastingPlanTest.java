@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.neo4j.utils;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import org.apache.beam.sdk.schemas.Schema;
+import org.apache.beam.sdk.schemas.Schema.FieldType;
+import org.apache.beam.sdk.schemas.logicaltypes.EnumerationType;
+import org.apache.beam.sdk.schemas.logicaltypes.SqlTypes;
+import org.apache.beam.sdk.util.SerializableUtils;
+import org.apache.beam.sdk.values.Row;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.Test;
+import org.neo4j.importer.v1.targets.Target;
+
+/** Unit tests for {@link RowCastingPlan}. */
+public class RowCastingPlanTest {
+
+  private static final EnumerationType COLORS = EnumerationType.create("BLUE", "YELLOW", "RED");
+
+  private static final Schema ADDRESS =
+      Schema.builder()
+          .addStringField("city")
+          .addNullableField("zip", FieldType.INT32)
+          .addField("lines", FieldType.array(FieldType.STRING))
+          .build();
+
+  private static final Schema SCHEMA =
+      Schema.builder()
+          .addInt64Field("id")
+          .addStringField("name")
+          .addDoubleField("score")
+          .addBooleanField("active")
+          .addByteArrayField("payload")
+          .addNullableField("nickname", FieldType.STRING)
+          .addDateTimeField("updated")
+          .addNullableField("created", FieldType.DATETIME)
+          .addDecimalField("balance")
+          .addField("birthday", FieldType.logicalType(SqlTypes.DATE))
+          .addField("color", FieldType.logicalType(COLORS))
+          .addField("visits", FieldType.array(FieldType.DATETIME))
+          .addField("tags", FieldType.iterable(FieldType.STRING))
+          .addField("limits", FieldType.map(FieldType.STRING, FieldType.DECIMAL))
+          .addField("address", FieldType.row(ADDRESS))
+          .build();
+
+  @Test
+  public void casts_rows_like_data_casting_utils() {
+    Row row =
+        Row.withSchema(SCHEMA)
+            .withFieldValue("id", 42L)
+            .withFieldValue("name", "neo4j")
+            .withFieldValue("score", 15.5)
+            .withFieldValue("active", true)
+            .withFieldValue("payload", new byte[] {1, 2, 3})
+            .withFieldValue("nickname", null)
+            .withFieldValue("updated", new DateTime(2024, 5, 1, 23, 59, 59, 999, DateTimeZone.UTC))
+            .withFieldValue("created", null)
+            .withFieldValue("balance", new BigDecimal("1234.5"))
+            .withFieldValue("birthday", LocalDate.of(2004, 5, 1))
+            .withFieldValue("color", COLORS.valueOf("RED"))
+            .withFieldValue("visits", List.of(new DateTime(0L, DateTimeZone.UTC)))
+            .withFieldValue("tags", List.of("a", "b"))
+            .withFieldValue("limits", Map.of("daily", new BigDecimal("10.25")))
+            .withFieldValue(
+                "address",
+                Row.withSchema(ADDRESS)
+                    .withFieldValue("city", "Malmö")
+                    .withFieldValue("zip", null)
+                    .withFieldValue("lines", List.of("Första gatan 1"))
+                    .build())
+            .build();
+
+    Map<String, Object> casted = RowCastingPlan.of(SCHEMA).apply(row);
+
+    assertThat(casted).isEqualTo(DataCastingUtils.rowToNeo4jDataMap(row, mock(Target.class)));
+    assertThat(casted.get("updated"))
+        .isEqualTo(OffsetDateTime.of(2024, 5, 1, 23, 59, 59, 999000000, ZoneOffset.UTC));
+    assertThat(casted.get("balance")).isEqualTo(1234.5);
+    assertThat(casted.get("color")).isEqualTo(2);
+    assertThat((Map<?, ?>) casted.get("address")).containsEntry("city", "Malmö");
+  }
+
+  @Test
+  public void casts_rows_after_deserialization() {
+    Schema schema = Schema.builder().addInt64Field("id").addDateTimeField("updated").build();
+    Row row =
+        Row.withSchema(schema)
+            .withFieldValue("id", 1L)
+            .withFieldValue("updated", new DateTime(0L, DateTimeZone.UTC))
+            .build();
+
+    RowCastingPlan plan = SerializableUtils.clone(RowCastingPlan.of(schema));
+
+    assertThat(plan.apply(row))
+        .containsExactly(
+            "id", 1L, "updated", OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+  }
+
+  @Test
+  public void fails_on_maps_with_non_string_keys() {
+    Schema schema =
+        Schema.builder().addField("field", FieldType.map(FieldType.INT64, FieldType.INT32)).build();
+    Row row = Row.withSchema(schema).withFieldValue("field", Map.of(1L, 2)).build();
+
+    var ex = assertThrows(RuntimeException.class, () -> RowCastingPlan.of(schema).apply(row));
+
+    assertThat(ex.getMessage())
+        .isEqualTo("Only strings are supported as MAP key values, found 'INT64' in field 'field'");
+  }
+}
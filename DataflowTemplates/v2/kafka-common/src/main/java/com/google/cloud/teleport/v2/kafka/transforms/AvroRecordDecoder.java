@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.kafka.transforms;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Decodes Avro binary messages into {@link GenericRecord GenericRecords}, either plain binary
+ * encoded records of a known schema or records in the Confluent wire format, which starts with a
+ * zero magic byte and the 4 byte big-endian Schema Registry id of the writer schema.
+ *
+ * <p>The {@link DatumReader} of each writer schema is created once and cached by schema id, so the
+ * resolution of the writer schema against the reader schema happens once per schema and not for
+ * every message. Without a reader schema, records are read as they were written. {@link
+ * BinaryDecoder BinaryDecoders} are reused per thread, and a record to reuse can be passed to
+ * {@link #decode(byte[], GenericRecord)} when the caller is done with the previous one.
+ *
+ * <p>Instances are thread-safe.
+ */
+public class AvroRecordDecoder {
+
+  private static final byte MAGIC_BYTE = 0x0;
+
+  private static final int WIRE_FORMAT_HEADER_LENGTH = 5;
+
+  // Cache key of the reader of plain binary messages, which have no schema id.
+  private static final int NO_SCHEMA_ID = -1;
+
+  private final boolean wireFormat;
+
+  private final IntFunction<Schema> writerSchemas;
+
+  private final @Nullable Schema readerSchema;
+
+  private final Map<Integer, DatumReader<GenericRecord>> readers = new ConcurrentHashMap<>();
+
+  private final ThreadLocal<BinaryDecoder> decoders = new ThreadLocal<>();
+
+  private AvroRecordDecoder(
+      boolean wireFormat, IntFunction<Schema> writerSchemas, @Nullable Schema readerSchema) {
+    this.wireFormat = wireFormat;
+    this.writerSchemas = writerSchemas;
+    this.readerSchema = readerSchema;
+  }
+
+  /** Returns a decoder of plain binary encoded records written with {@code schema}. */
+  public static AvroRecordDecoder binary(Schema schema) {
+    return new AvroRecordDecoder(false, schemaId -> schema, schema);
+  }
+
+  /**
+   * Returns a decoder of records in the Confluent wire format.
+   *
+   * @param writerSchemas looks the writer schema up by Schema Registry id, called once per id
+   * @param readerSchema schema to resolve the records to, or {@code null} to read them as written
+   */
+  public static AvroRecordDecoder wireFormat(
+      IntFunction<Schema> writerSchemas, @Nullable Schema readerSchema) {
+    return new AvroRecordDecoder(true, writerSchemas, readerSchema);
+  }
+
+  /**
+   * Returns a decoder of records in the Confluent wire format that were all written with {@code
+   * schema} under the Schema Registry id {@code schemaId}. Messages carrying another id fail.
+   */
+  public static AvroRecordDecoder wireFormat(Schema schema, int schemaId) {
+    return wireFormat(
+        id -> {
+          if (id != schemaId) {
+            throw new SerializationException(
+                String.format("Unknown schema id %d, expected %d.", id, schemaId));
+          }
+          return schema;
+        },
+        schema);
+  }
+
+  /** Decodes a message into a new record, or returns {@code null} for a {@code null} message. */
+  public @Nullable GenericRecord decode(byte @Nullable [] bytes) {
+    return decode(bytes, null);
+  }
+
+  /**
+   * Decodes a message, reusing the given record if it has the reader schema.
+   *
+   * @param bytes message, {@code null} for a tombstone
+   * @param reuse record to decode into, or {@code null} to create a new record
+   * @return the decoded record, or {@code null} for a {@code null} message
+   */
+  public @Nullable GenericRecord decode(byte @Nullable [] bytes, @Nullable GenericRecord reuse) {
+    if (bytes == null) {
+      return null;
+    }
+    int schemaId = NO_SCHEMA_ID;
+    int offset = 0;
+    if (wireFormat) {
+      if (bytes.length < WIRE_FORMAT_HEADER_LENGTH || bytes[0] != MAGIC_BYTE) {
+        throw new SerializationException("Unknown magic byte, expected the Confluent wire format.");
+      }
+      schemaId = ByteBuffer.wrap(bytes, 1, 4).getInt();
+      offset = WIRE_FORMAT_HEADER_LENGTH;
+    }
+    try {
+      BinaryDecoder decoder =
+          DecoderFactory.get().binaryDecoder(bytes, offset, bytes.length - offset, decoders.get());
+      decoders.set(decoder);
+      return readers.computeIfAbsent(schemaId, this::createReader).read(reuse, decoder);
+    } catch (IOException | RuntimeException e) {
+      throw new SerializationException("Error deserializing Avro message", e);
+    }
+  }
+
+  private DatumReader<GenericRecord> createReader(int schemaId) {
+    Schema writerSchema = writerSchemas.apply(schemaId);
+    return readerSchema == null
+        ? new GenericDatumReader<>(writerSchema)
+        : new GenericDatumReader<>(writerSchema, readerSchema);
+  }
+}
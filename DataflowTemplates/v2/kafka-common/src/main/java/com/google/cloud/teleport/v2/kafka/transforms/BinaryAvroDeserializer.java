@@ -15,20 +15,16 @@
  */
 package com.google.cloud.teleport.v2.kafka.transforms;
 
-import java.io.IOException;
 import org.apache.avro.Schema;
-import org.apache.avro.generic.GenericDatumReader;
 import org.apache.avro.generic.GenericRecord;
-import org.apache.avro.io.DatumReader;
-import org.apache.avro.io.Decoder;
-import org.apache.avro.io.DecoderFactory;
-import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.serialization.Deserializer;
 
 public class BinaryAvroDeserializer implements Deserializer<GenericRecord> {
   private Schema schema;
 
+  private AvroRecordDecoder decoder;
+
   public BinaryAvroDeserializer() {}
 
   public BinaryAvroDeserializer(Schema schema) {
@@ -42,13 +38,10 @@ public class BinaryAvroDeserializer implements Deserializer<GenericRecord> {
 
   @Override
   public GenericRecord deserialize(String topic, byte[] bytes) {
-    try {
-      Decoder decoder = DecoderFactory.get().binaryDecoder(bytes, null);
-      DatumReader<GenericRecord> reader = new GenericDatumReader<GenericRecord>(this.schema);
-      return reader.read(null, decoder);
-    } catch (IOException e) {
-      throw new SerializationException("Error deserialing avro message", e.getCause());
+    if (decoder == null) {
+      decoder = AvroRecordDecoder.binary(this.schema);
     }
+    return decoder.decode(bytes);
   }
 
   public void close() {}
@@ -18,10 +18,8 @@ package com.google.cloud.teleport.v2.kafka.transforms;
 import com.google.cloud.teleport.v2.kafka.utils.FileAwareSchemaRegistryFactoryFn;
 import com.google.cloud.teleport.v2.values.FailsafeElement;
 import io.confluent.kafka.schemaregistry.client.CachedSchemaRegistryClient;
-import io.confluent.kafka.schemaregistry.client.MockSchemaRegistryClient;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
 import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
-import io.confluent.kafka.serializers.KafkaAvroDeserializer;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.Map;
@@ -34,23 +32,24 @@ import org.apache.beam.sdk.io.kafka.KafkaRecordCoder;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.errorhandling.BadRecordRouter;
 import org.apache.beam.sdk.values.TupleTag;
+import org.apache.kafka.common.errors.SerializationException;
 
 public class KafkaRecordToGenericRecordFailsafeElementFn
     extends DoFn<
         KafkaRecord<byte[], byte[]>, FailsafeElement<KafkaRecord<byte[], byte[]>, GenericRecord>>
     implements Serializable {
 
-  private transient KafkaAvroDeserializer kafkaDeserializer;
-  private transient BinaryAvroDeserializer binaryDeserializer;
+  private transient AvroRecordDecoder decoder;
   private transient SchemaRegistryClient schemaRegistryClient;
 
   // Flexible options for schema and encoding configuration
   private Schema schema;
-  private final String topicName = "fake_topic";
   private String schemaRegistryConnectionUrl;
   private Map<String, Object> schemaRegistryAuthenticationConfig;
   private String messageFormat; // "AVRO_BINARY_ENCODING" or "AVRO_CONFLUENT_WIRE_FORMAT"
   private static final int DEFAULT_CACHE_CAPACITY = 1000;
+  // Schema id of the messages in the wire format that are read with a schema file.
+  private static final int SCHEMA_FILE_SCHEMA_ID = 1;
   private BadRecordRouter badRecordRouter;
   private TupleTag<FailsafeElement<KafkaRecord<byte[], byte[]>, GenericRecord>>
       successGenericRecordTag;
@@ -81,7 +80,7 @@ public class KafkaRecordToGenericRecordFailsafeElementFn
   }
 
   @Setup
-  public void setup() throws IOException, RestClientException {
+  public void setup() {
     // Unified setup logic
     if (schemaRegistryConnectionUrl != null && !schemaRegistryConnectionUrl.isBlank()) {
       FileAwareSchemaRegistryFactoryFn processor = new FileAwareSchemaRegistryFactoryFn();
@@ -90,13 +89,11 @@ public class KafkaRecordToGenericRecordFailsafeElementFn
               this.schemaRegistryConnectionUrl,
               DEFAULT_CACHE_CAPACITY,
               processor.apply(this.schemaRegistryAuthenticationConfig));
-      this.kafkaDeserializer = new KafkaAvroDeserializer(this.schemaRegistryClient);
+      this.decoder = AvroRecordDecoder.wireFormat(this::getSchemaById, null);
     } else if (schema != null && messageFormat.equals("AVRO_BINARY_ENCODING")) {
-      this.binaryDeserializer = new BinaryAvroDeserializer(schema);
+      this.decoder = AvroRecordDecoder.binary(schema);
     } else if (schema != null && messageFormat.equals("AVRO_CONFLUENT_WIRE_FORMAT")) {
-      this.schemaRegistryClient = new MockSchemaRegistryClient();
-      this.schemaRegistryClient.register(topicName, schema, 1, 1);
-      this.kafkaDeserializer = new KafkaAvroDeserializer(schemaRegistryClient);
+      this.decoder = AvroRecordDecoder.wireFormat(schema, SCHEMA_FILE_SCHEMA_ID);
     } else {
       throw new IllegalArgumentException(
           "Either a Schema Registry URL, or an Avro schema with wire format is needed.");
@@ -108,18 +105,7 @@ public class KafkaRecordToGenericRecordFailsafeElementFn
     KafkaRecord<byte[], byte[]> element = context.element();
     GenericRecord result = null;
     try {
-      // Deserialization based on configuration
-      if (messageFormat != null && messageFormat.equals("AVRO_BINARY_ENCODING")) {
-        result =
-            binaryDeserializer.deserialize(
-                element.getTopic(), element.getHeaders(), element.getKV().getValue());
-      } else { // Assume Confluent wire format or regular Avro with schema registry
-        result =
-            (GenericRecord)
-                kafkaDeserializer.deserialize(
-                    element.getTopic(), element.getHeaders(), element.getKV().getValue());
-        // Output the failsafe element with the successful tag.
-      }
+      result = decoder.decode(element.getKV().getValue());
       o.get(successGenericRecordTag).output(FailsafeElement.of(element, result));
     } catch (Exception e) {
       KafkaRecordCoder<byte[], byte[]> coder =
@@ -128,4 +114,12 @@ public class KafkaRecordToGenericRecordFailsafeElementFn
       badRecordRouter.route(o, element, coder, e, e.toString());
     }
   }
+
+  private Schema getSchemaById(int schemaId) {
+    try {
+      return (Schema) schemaRegistryClient.getSchemaById(schemaId).rawSchema();
+    } catch (IOException | RestClientException e) {
+      throw new SerializationException("Error retrieving Avro schema for id " + schemaId, e);
+    }
+  }
 }
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.kafka.transforms;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.SchemaBuilder.FieldAssembler;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark of the throughput of decoding Avro messages of different sizes, creating a reader
+ * and decoder for every message as {@link BinaryAvroDeserializer} used to, compared with {@link
+ * AvroRecordDecoder} with and without record reuse. The writer schema of the messages is older
+ * than the reader schema, so every message needs schema resolution.
+ *
+ * <p>Run from the kafka-common module after {@code mvn test-compile} with:
+ *
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) org.openjdk.jmh.Main \
+ *     AvroRecordDecoderBenchmark -prof gc
+ * </pre>
+ *
+ * where {@code cp.txt} holds the output of {@code mvn dependency:build-classpath
+ * -Dmdep.outputFile=cp.txt}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvroRecordDecoderBenchmark {
+
+  /** Number of string fields of the messages, each holding 16 characters. */
+  @Param({"4", "32", "256"})
+  public int fields;
+
+  private Schema writerSchema;
+
+  private Schema readerSchema;
+
+  private byte[] message;
+
+  private AvroRecordDecoder decoder;
+
+  private GenericRecord reuse;
+
+  @Setup
+  public void setup() throws IOException {
+    writerSchema = schema(fields, false);
+    readerSchema = schema(fields, true);
+
+    GenericRecord record = new GenericData.Record(writerSchema);
+    for (int i = 0; i < fields; i++) {
+      record.put("field_" + i, String.format("value-%010d", i));
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+    new GenericDatumWriter<GenericRecord>(writerSchema).write(record, encoder);
+    encoder.flush();
+    message = out.toByteArray();
+    System.out.printf("%n%d fields: %d bytes per message%n", fields, message.length);
+
+    decoder = AvroRecordDecoder.wireFormat(schemaId -> writerSchema, readerSchema);
+    message = withWireFormatHeader(message);
+    reuse = decoder.decode(message);
+  }
+
+  @Benchmark
+  public GenericRecord perMessageReader() throws IOException {
+    return new GenericDatumReader<GenericRecord>(writerSchema, readerSchema)
+        .read(null, DecoderFactory.get().binaryDecoder(message, 5, message.length - 5, null));
+  }
+
+  @Benchmark
+  public GenericRecord cachedReader() {
+    return decoder.decode(message);
+  }
+
+  @Benchmark
+  public GenericRecord cachedReaderWithReuse() {
+    return decoder.decode(message, reuse);
+  }
+
+  private static Schema schema(int fields, boolean withAddedField) {
+    FieldAssembler<Schema> assembler = SchemaBuilder.record("Event").fields();
+    for (int i = 0; i < fields; i++) {
+      assembler = assembler.requiredString("field_" + i);
+    }
+    if (withAddedField) {
+      assembler = assembler.name("source").type().stringType().stringDefault("kafka");
+    }
+    return assembler.endRecord();
+  }
+
+  private static byte[] withWireFormatHeader(byte[] payload) {
+    byte[] message = new byte[payload.length + 5];
+    message[4] = 1;
+    System.arraycopy(payload, 0, message, 5, payload.length);
+    return message;
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.kafka.transforms;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.Test;
+
+/** Test class for {@link AvroRecordDecoder}. */
+public class AvroRecordDecoderTest {
+
+  private static final Schema ORDER_V1 =
+      SchemaBuilder.record("Order")
+          .namespace("com.example")
+          .fields()
+          .requiredLong("id")
+          .requiredString("customer")
+          .endRecord();
+
+  private static final Schema ORDER_V2 =
+      SchemaBuilder.record("Order")
+          .namespace("com.example")
+          .fields()
+          .requiredLong("id")
+          .name("status")
+          .type()
+          .stringType()
+          .stringDefault("NEW")
+          .endRecord();
+
+  /** Tests that plain binary records are decoded with their schema. */
+  @Test
+  public void testDecodeBinary() throws IOException {
+    AvroRecordDecoder decoder = AvroRecordDecoder.binary(ORDER_V1);
+
+    GenericRecord record = decoder.decode(encode(order(1L, "alice"), null));
+
+    assertEquals(1L, record.get("id"));
+    assertEquals("alice", record.get("customer").toString());
+  }
+
+  /** Tests that records are resolved to the reader schema, looking each writer schema up once. */
+  @Test
+  public void testDecodeWireFormatResolvesWriterSchemaOnce() throws IOException {
+    AtomicInteger lookups = new AtomicInteger();
+    AvroRecordDecoder decoder =
+        AvroRecordDecoder.wireFormat(
+            schemaId -> {
+              lookups.incrementAndGet();
+              assertEquals(42, schemaId);
+              return ORDER_V1;
+            },
+            ORDER_V2);
+
+    for (long id = 0; id < 3; id++) {
+      GenericRecord record = decoder.decode(encode(order(id, "bob"), 42));
+
+      assertEquals(ORDER_V2, record.getSchema());
+      assertEquals(id, record.get("id"));
+      assertEquals("NEW", record.get("status").toString());
+    }
+    assertEquals(1, lookups.get());
+  }
+
+  /** Tests that records are read as written without a reader schema. */
+  @Test
+  public void testDecodeWireFormatWithoutReaderSchema() throws IOException {
+    AvroRecordDecoder decoder = AvroRecordDecoder.wireFormat(schemaId -> ORDER_V1, null);
+
+    GenericRecord record = decoder.decode(encode(order(7L, "carol"), 3));
+
+    assertEquals(ORDER_V1, record.getSchema());
+    assertEquals("carol", record.get("customer").toString());
+  }
+
+  /** Tests that a decoder of a single schema only decodes messages carrying its schema id. */
+  @Test
+  public void testDecodeWireFormatWithSingleSchemaRejectsOtherIds() throws IOException {
+    AvroRecordDecoder decoder = AvroRecordDecoder.wireFormat(ORDER_V1, 1);
+
+    GenericRecord record = decoder.decode(encode(order(5L, "dave"), 1));
+
+    assertEquals("dave", record.get("customer").toString());
+    SerializationException exception =
+        assertThrows(
+            SerializationException.class, () -> decoder.decode(encode(order(6L, "erin"), 2)));
+    assertEquals("Unknown schema id 2, expected 1.", exception.getCause().getMessage());
+  }
+
+  /** Tests that the given record is decoded into.
+  @Test
+  public void testDecodeReusesRecord() throws IOException {
+    AvroRecordDecoder decoder = AvroRecordDecoder.binary(ORDER_V1);
+    GenericRecord first = decoder.decode(encode(order(1L, "alice"), null));
+
+    GenericRecord second = decoder.decode(encode(order(2L, "bob"), null), first);
+
+    assertSame(first, second);
+    assertEquals(2L, second.get("id"));
+  }
+
+  /** Tests that tombstones are decoded as null and malformed messages fail. */
+  @Test
+  public void testDecodeNullAndMalformedMessages() throws IOException {
+    AvroRecordDecoder decoder = AvroRecordDecoder.wireFormat(schemaId -> ORDER_V1, null);
+
+    assertNull(decoder.decode(null));
+    assertThrows(
+        SerializationException.class, () -> decoder.decode(encode(order(1L, "alice"), null)));
+    assertThrows(SerializationException.class, () -> decoder.decode(new byte[] {0, 0, 0, 0, 1}));
+  }
+
+  private static GenericRecord order(long id, String customer) {
+    GenericRecord record = new GenericData.Record(ORDER_V1);
+    record.put("id", id);
+    record.put("customer", customer);
+    return record;
+  }
+
+  /** Encodes a record in binary, in the Confluent wire format if a schema id is given. */
+  private static byte[] encode(GenericRecord record, Integer schemaId) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    if (schemaId != null) {
+      out.write(0);
+      out.write(ByteBuffer.allocate(4).putInt(schemaId).array());
+    }
+    BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+    new GenericDatumWriter<GenericRecord>(record.getSchema()).write(record, encoder);
+    encoder.flush();
+    return out.toByteArray();
+  }
+}
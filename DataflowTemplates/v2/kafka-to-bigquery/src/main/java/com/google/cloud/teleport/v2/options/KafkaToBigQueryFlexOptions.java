@@ -235,4 +235,35 @@ public interface KafkaToBigQueryFlexOptions
   Boolean getUseStorageWriteApiAtLeastOnce();
 
   void setUseStorageWriteApiAtLeastOnce(Boolean value);
+
+  @TemplateParameter.Boolean(
+      order = 14,
+      groupName = "Destination",
+      optional = true,
+      description = "Use Schema Registry ids as BigQuery destinations",
+      helpText =
+          "This parameter takes effect only when the Avro records are read with a Schema Registry."
+              + " If enabled, the destination table of each record is looked up by the schema id in"
+              + " the message, instead of shuffling the whole record to find its table. Changing"
+              + " this value is not compatible with updating a running job.",
+      hiddenUi = true)
+  @Default.Boolean(false)
+  Boolean getUseSchemaIdDestinations();
+
+  void setUseSchemaIdDestinations(Boolean value);
+
+  @TemplateParameter.Boolean(
+      order = 15,
+      groupName = "Destination",
+      optional = true,
+      description = "Write Avro records to BigQuery without converting them to TableRows",
+      helpText =
+          "This parameter takes effect only for Avro messages. If enabled, the Avro records are"
+              + " encoded directly into Storage Write API protos, instead of being converted to"
+              + " TableRows first. Not supported when the Kafka key is persisted.",
+      hiddenUi = true)
+  @Default.Boolean(false)
+  Boolean getUseAvroStorageWriteApiEncoding();
+
+  void setUseAvroStorageWriteApiEncoding(Boolean value);
 }
@@ -327,6 +327,9 @@ public class KafkaToBigQueryFlex {
               options.getPersistKafkaKey(),
               options.getUseAutoSharding());
     }
+    if (options.getUseAvroStorageWriteApiEncoding()) {
+      bigQueryWrite.withAvroStorageWriteApiEncoding();
+    }
     writeResult =
         kafkaRecords
             .apply(
@@ -383,6 +386,9 @@ public class KafkaToBigQueryFlex {
               options.getPersistKafkaKey(),
               options.getUseAutoSharding());
     }
+    if (options.getUseAvroStorageWriteApiEncoding()) {
+      bigQueryWrite.withAvroStorageWriteApiEncoding();
+    }
     writeResult =
         kafkaRecords
             .apply(
@@ -429,6 +435,14 @@ public class KafkaToBigQueryFlex {
               options.getPersistKafkaKey(),
               options.getUseAutoSharding());
     }
+    if (options.getUseAvroStorageWriteApiEncoding()) {
+      bigQueryWrite.withAvroStorageWriteApiEncoding();
+    }
+    if (options.getUseSchemaIdDestinations()) {
+      bigQueryWrite.withSchemaIdDestinations(
+          options.getSchemaRegistryConnectionUrl(),
+          KafkaConfig.fromSchemaRegistryOptions(options));
+    }
     writeResult =
         kafkaRecords
             .apply(
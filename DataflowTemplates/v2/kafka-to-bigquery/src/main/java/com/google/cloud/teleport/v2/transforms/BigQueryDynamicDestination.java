@@ -19,15 +19,24 @@ import com.google.api.services.bigquery.model.TableRow;
 import com.google.api.services.bigquery.model.TableSchema;
 import com.google.cloud.teleport.v2.coders.GenericRecordCoder;
 import com.google.cloud.teleport.v2.utils.BigQueryAvroUtils;
+import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.beam.sdk.coders.Coder;
 import org.apache.beam.sdk.io.gcp.bigquery.DynamicDestinations;
 import org.apache.beam.sdk.io.gcp.bigquery.TableDestination;
+import org.apache.beam.sdk.transforms.SerializableFunction;
 import org.apache.beam.sdk.values.KV;
 import org.apache.beam.sdk.values.ValueInSingleWindow;
 
-public class BigQueryDynamicDestination
-    extends DynamicDestinations<KV<GenericRecord, TableRow>, GenericRecord> {
+/**
+ * Writes each record to the table named after its Avro schema.
+ *
+ * <p>The destination of a record is the record itself, either paired with its {@link TableRow} or
+ * written as is with the Avro encoding of the Storage Write API. The table and {@link TableSchema}
+ * of its schema are cached, see {@link SchemaIdDynamicDestination} for destinations that are keyed
+ * by Schema Registry id instead.
+ */
+public class BigQueryDynamicDestination<T> extends DynamicDestinations<T, GenericRecord> {
 
   private String projectName;
 
@@ -37,49 +46,81 @@ public class BigQueryDynamicDestination
 
   private boolean persistKafkaKey;
 
-  public static BigQueryDynamicDestination of(
+  private final SchemaConversionCache<Schema, TableDestination> tables;
+
+  private final SchemaConversionCache<Schema, TableSchema> tableSchemas;
+
+  private final SerializableFunction<T, GenericRecord> toRecord;
+
+  /** Returns the destinations of records paired with their {@link TableRow TableRows}. */
+  public static BigQueryDynamicDestination<KV<GenericRecord, TableRow>> of(
       String projectName, String datasetName, String tableNamePrefix, boolean persistKafkaKey) {
-    return new BigQueryDynamicDestination(
-        projectName, datasetName, tableNamePrefix, persistKafkaKey);
+    return new BigQueryDynamicDestination<>(
+        projectName, datasetName, tableNamePrefix, persistKafkaKey, KV::getKey);
   }
 
-  private BigQueryDynamicDestination(
+  /** Returns the destinations of records written with the Avro encoding. */
+  public static BigQueryDynamicDestination<GenericRecord> ofRecords(
       String projectName, String datasetName, String tableNamePrefix, boolean persistKafkaKey) {
+    return new BigQueryDynamicDestination<>(
+        projectName, datasetName, tableNamePrefix, persistKafkaKey, record -> record);
+  }
+
+  private BigQueryDynamicDestination(
+      String projectName,
+      String datasetName,
+      String tableNamePrefix,
+      boolean persistKafkaKey,
+      SerializableFunction<T, GenericRecord> toRecord) {
     this.projectName = projectName;
     this.datasetName = datasetName;
     this.tableNamePrefix = tableNamePrefix;
     this.persistKafkaKey = persistKafkaKey;
+    this.tables =
+        new SchemaConversionCache<>(
+            "table_destination",
+            schema ->
+                new TableDestination(
+                    tableSpec(projectName, datasetName, tableNamePrefix, schema), null));
+    this.tableSchemas =
+        new SchemaConversionCache<>(
+            "table_schema",
+            schema -> BigQueryAvroUtils.convertAvroSchemaToTableSchema(schema, persistKafkaKey));
+    this.toRecord = toRecord;
   }
 
   @Override
-  public GenericRecord getDestination(ValueInSingleWindow<KV<GenericRecord, TableRow>> element) {
-    return element.getValue().getKey();
+  public GenericRecord getDestination(ValueInSingleWindow<T> element) {
+    return toRecord.apply(element.getValue());
   }
 
   @Override
   public TableDestination getTable(GenericRecord element) {
-    String sanitizedNamespace =
-        BigQueryAvroUtils.sanitizeString(element.getSchema().getNamespace());
-    String sanitizedName = BigQueryAvroUtils.sanitizeString(element.getSchema().getName());
-
-    String bqQualifiedFullName =
-        sanitizedNamespace + (sanitizedNamespace.isBlank() ? "" : "-") + sanitizedName;
-
-    String tableName =
-        this.tableNamePrefix + (this.tableNamePrefix.isBlank() ? "" : "-") + bqQualifiedFullName;
-    String tableSpec = this.projectName + ":" + this.datasetName + "." + tableName;
-    return new TableDestination(tableSpec, null);
+    return tables.get(element.getSchema());
   }
 
   @Override
   public TableSchema getSchema(GenericRecord element) {
     // TODO: Test if sending null can work here, might be more efficient.
-    return BigQueryAvroUtils.convertAvroSchemaToTableSchema(
-        element.getSchema(), this.persistKafkaKey);
+    return tableSchemas.get(element.getSchema());
   }
 
   @Override
   public Coder<GenericRecord> getDestinationCoder() {
     return GenericRecordCoder.of();
   }
+
+  /** Returns the spec of the table named after the namespace and name of an Avro schema. */
+  static String tableSpec(
+      String projectName, String datasetName, String tableNamePrefix, Schema schema) {
+    String sanitizedNamespace = BigQueryAvroUtils.sanitizeString(schema.getNamespace());
+    String sanitizedName = BigQueryAvroUtils.sanitizeString(schema.getName());
+
+    String bqQualifiedFullName =
+        sanitizedNamespace + (sanitizedNamespace.isBlank() ? "" : "-") + sanitizedName;
+
+    String tableName =
+        tableNamePrefix + (tableNamePrefix.isBlank() ? "" : "-") + bqQualifiedFullName;
+    return projectName + ":" + datasetName + "." + tableName;
+  }
 }
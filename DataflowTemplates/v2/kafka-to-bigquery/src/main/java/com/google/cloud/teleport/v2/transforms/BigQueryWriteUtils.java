@@ -16,6 +16,7 @@
 package com.google.cloud.teleport.v2.transforms;
 
 import com.google.api.services.bigquery.model.TableRow;
+import com.google.api.services.bigquery.model.TableSchema;
 import com.google.cloud.teleport.v2.coders.FailsafeElementCoder;
 import com.google.cloud.teleport.v2.coders.GenericRecordCoder;
 import com.google.cloud.teleport.v2.kafka.transforms.AvroTransform;
@@ -23,12 +24,17 @@ import com.google.cloud.teleport.v2.utils.BigQueryAvroUtils;
 import com.google.cloud.teleport.v2.utils.BigQueryConstants;
 import com.google.cloud.teleport.v2.values.FailsafeElement;
 import java.io.Serializable;
+import java.util.Map;
+import java.util.function.UnaryOperator;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.beam.sdk.coders.ByteArrayCoder;
+import org.apache.beam.sdk.coders.Coder;
 import org.apache.beam.sdk.coders.KvCoder;
 import org.apache.beam.sdk.coders.NullableCoder;
+import org.apache.beam.sdk.coders.VarIntCoder;
 import org.apache.beam.sdk.extensions.avro.schemas.utils.AvroUtils;
+import org.apache.beam.sdk.io.gcp.bigquery.AvroWriteRequest;
 import org.apache.beam.sdk.io.gcp.bigquery.BigQueryIO;
 import org.apache.beam.sdk.io.gcp.bigquery.BigQueryUtils;
 import org.apache.beam.sdk.io.gcp.bigquery.InsertRetryPolicy;
@@ -50,6 +56,8 @@ import org.slf4j.LoggerFactory;
 // TODO: Remove KafkaRecord and support KV.
 public class BigQueryWriteUtils {
 
+  private static final Logger LOG = LoggerFactory.getLogger(BigQueryWriteUtils.class);
+
   // Writes to BigQuery when a schema file is provided.
   public static class BigQueryWrite
       extends PTransform<
@@ -74,6 +82,8 @@ public class BigQueryWriteUtils {
     // Dead letter queue params
     private ErrorHandler<BadRecord, ?> errorHandler;
 
+    private boolean avroStorageWriteApiEncoding;
+
     public BigQueryWrite(
         Schema avroSchema,
         String outputTableSpec,
@@ -166,6 +176,9 @@ public class BigQueryWriteUtils {
 
       private boolean persistKafkaKey;
 
+      private final SchemaConversionCache<Schema, TableSchema> tableSchemas =
+          new SchemaConversionCache<>("row_table_schema", BigQueryWriteUtils::toTableSchema);
+
       GenericRecordToTableRowFn(boolean persistKafkaKey) {
         this.persistKafkaKey = persistKafkaKey;
       }
@@ -175,9 +188,7 @@ public class BigQueryWriteUtils {
         FailsafeElement<KafkaRecord<byte[], byte[]>, GenericRecord> element = context.element();
         TableRow row =
             BigQueryAvroUtils.convertGenericRecordToTableRow(
-                element.getPayload(),
-                BigQueryUtils.toTableSchema(
-                    AvroUtils.toBeamSchema(element.getPayload().getSchema())));
+                element.getPayload(), tableSchemas.get(element.getPayload().getSchema()));
         if (this.persistKafkaKey) {
           row.set(BigQueryConstants.KAFKA_KEY_FIELD, element.getOriginalPayload().getKV().getKey());
         }
@@ -194,32 +205,52 @@ public class BigQueryWriteUtils {
       }
     }
 
+    /**
+     * Writes the Avro records with the Avro to proto encoding of the Storage Write API, without
+     * converting them to {@link TableRow TableRows} first. Ignored when the Kafka key is persisted,
+     * as the key is not part of the records.
+     */
+    public BigQueryWrite withAvroStorageWriteApiEncoding() {
+      this.avroStorageWriteApiEncoding = true;
+      return this;
+    }
+
     public WriteResult expand(
         PCollection<FailsafeElement<KafkaRecord<byte[], byte[]>, GenericRecord>> input) {
-      BigQueryIO.Write<TableRow> writeToBigQuery =
-          BigQueryIO.<TableRow>write()
-              .withSchema(
-                  BigQueryAvroUtils.convertAvroSchemaToTableSchema(
-                      avroSchema, this.persistKafkaKey))
-              .withWriteDisposition(
-                  BigQueryIO.Write.WriteDisposition.valueOf(this.writeDisposition))
-              .withCreateDisposition(
-                  BigQueryIO.Write.CreateDisposition.valueOf(this.createDisposition))
-              .withFailedInsertRetryPolicy(InsertRetryPolicy.retryTransientErrors())
-              .withFormatFunction(row -> row)
-              .withExtendedErrorInfo()
-              .withMethod(BigQueryIO.Write.Method.STORAGE_WRITE_API)
-              .withNumStorageWriteApiStreams(this.numStorageWriteApiStreams)
-              .withTriggeringFrequency(
-                  Duration.standardSeconds(this.storageWriteApiTriggeringFrequencySec.longValue()));
-
-      if (!(errorHandler instanceof ErrorHandler.DefaultErrorHandler)) {
-        writeToBigQuery = writeToBigQuery.withErrorHandler(errorHandler);
+      if (useAvroStorageWriteApiEncoding(avroStorageWriteApiEncoding, persistKafkaKey)) {
+        BigQueryIO.Write<GenericRecord> writeToBigQuery =
+            storageWriteApi(
+                BigQueryIO.<GenericRecord>write()
+                    .withSchema(BigQueryAvroUtils.convertAvroSchemaToTableSchema(avroSchema, false))
+                    .withAvroFormatFunction(AvroWriteRequest::getElement),
+                writeDisposition,
+                createDisposition,
+                numStorageWriteApiStreams,
+                storageWriteApiTriggeringFrequencySec,
+                useAutoSharding,
+                errorHandler);
+        if (this.outputTableSpec != null) {
+          writeToBigQuery = writeToBigQuery.to(this.outputTableSpec);
+        }
+        return input
+            .apply("GetGenericRecordPayload", ParDo.of(new FailsafeElementGetRecordFn()))
+            .setCoder(GenericRecordCoder.of())
+            .apply(writeToBigQuery);
       }
 
-      if (this.useAutoSharding) {
-        writeToBigQuery = writeToBigQuery.withAutoSharding();
-      }
+      BigQueryIO.Write<TableRow> writeToBigQuery =
+          storageWriteApi(
+              BigQueryIO.<TableRow>write()
+                  .withSchema(
+                      BigQueryAvroUtils.convertAvroSchemaToTableSchema(
+                          avroSchema, this.persistKafkaKey))
+                  .withFormatFunction(row -> row),
+              writeDisposition,
+              createDisposition,
+              numStorageWriteApiStreams,
+              storageWriteApiTriggeringFrequencySec,
+              useAutoSharding,
+              errorHandler);
 
       if (this.outputTableSpec != null) {
         writeToBigQuery = writeToBigQuery.to(this.outputTableSpec);
@@ -266,6 +297,12 @@ public class BigQueryWriteUtils {
 
     private ErrorHandler<BadRecord, ?> errorHandler;
 
+    private String schemaRegistryConnectionUrl;
+
+    private Map<String, Object> schemaRegistryConfig;
+
+    private boolean avroStorageWriteApiEncoding;
+
     public BigQueryDynamicWrite(
         String outputProject,
         String outputDataset,
@@ -357,36 +394,85 @@ public class BigQueryWriteUtils {
           errorHandler);
     }
 
+    /**
+     * Keys the destinations by the Schema Registry id of the records instead of the records
+     * themselves, so that only the id is shuffled along with each row. The records must have been
+     * read from Kafka values in the Confluent wire format.
+     */
+    public BigQueryDynamicWrite withSchemaIdDestinations(
+        String schemaRegistryConnectionUrl, Map<String, Object> schemaRegistryConfig) {
+      this.schemaRegistryConnectionUrl = schemaRegistryConnectionUrl;
+      this.schemaRegistryConfig = schemaRegistryConfig;
+      return this;
+    }
+
+    /**
+     * Writes the Avro records with the Avro to proto encoding of the Storage Write API, without
+     * converting them to {@link TableRow TableRows} first. Ignored when the Kafka key is persisted,
+     * as the key is not part of the records.
+     */
+    public BigQueryDynamicWrite withAvroStorageWriteApiEncoding() {
+      this.avroStorageWriteApiEncoding = true;
+      return this;
+    }
+
     public WriteResult expand(
         PCollection<FailsafeElement<KafkaRecord<byte[], byte[]>, GenericRecord>> input) {
-      WriteResult writeResult;
-      BigQueryIO.Write<KV<GenericRecord, TableRow>> writeToBigQuery =
-          BigQueryIO.<KV<GenericRecord, TableRow>>write()
-              .to(
-                  BigQueryDynamicDestination.of(
-                      this.outputProject,
-                      this.outputDataset,
-                      this.outputTableNamePrefix,
-                      this.persistKafkaKey))
-              .withWriteDisposition(
-                  BigQueryIO.Write.WriteDisposition.valueOf(this.writeDisposition))
-              .withCreateDisposition(
-                  BigQueryIO.Write.CreateDisposition.valueOf(this.createDisposition))
-              .withFailedInsertRetryPolicy(InsertRetryPolicy.retryTransientErrors())
-              .withFormatFunction(kv -> kv.getValue())
-              .withExtendedErrorInfo()
-              .withMethod(BigQueryIO.Write.Method.STORAGE_WRITE_API)
-              .withNumStorageWriteApiStreams(this.numStorageWriteApiStreams)
-              .withTriggeringFrequency(
-                  Duration.standardSeconds(this.storageWriteApiTriggeringFrequencySec.longValue()));
-
-      if (!(errorHandler instanceof ErrorHandler.DefaultErrorHandler)) {
-        writeToBigQuery = writeToBigQuery.withErrorHandler(errorHandler);
+      boolean avroEncoding =
+          useAvroStorageWriteApiEncoding(avroStorageWriteApiEncoding, persistKafkaKey);
+      if (this.schemaRegistryConnectionUrl != null) {
+        return avroEncoding
+            ? expandWithSchemaIdDestinations(
+                input,
+                new GenericRecordToSchemaIdRecordFn(),
+                GenericRecordCoder.of(),
+                write -> write.withAvroFormatFunction(request -> request.getElement().getValue()))
+            : expandWithSchemaIdDestinations(
+                input,
+                new GenericRecordToSchemaIdTableRowFn(this.persistKafkaKey),
+                TableRowJsonCoder.of(),
+                write -> write.withFormatFunction(KV::getValue));
       }
-
-      if (this.useAutoSharding) {
-        writeToBigQuery = writeToBigQuery.withAutoSharding();
+      if (avroEncoding) {
+        BigQueryIO.Write<GenericRecord> writeToBigQuery =
+            storageWriteApi(
+                BigQueryIO.<GenericRecord>write()
+                    .to(
+                        BigQueryDynamicDestination.ofRecords(
+                            this.outputProject,
+                            this.outputDataset,
+                            this.outputTableNamePrefix,
+                            this.persistKafkaKey))
+                    .withAvroFormatFunction(AvroWriteRequest::getElement),
+                writeDisposition,
+                createDisposition,
+                numStorageWriteApiStreams,
+                storageWriteApiTriggeringFrequencySec,
+                useAutoSharding,
+                errorHandler);
+        return input
+            .apply("GetGenericRecordPayload", ParDo.of(new FailsafeElementGetRecordFn()))
+            .setCoder(GenericRecordCoder.of())
+            .apply(writeToBigQuery);
       }
+
+      WriteResult writeResult;
+      BigQueryIO.Write<KV<GenericRecord, TableRow>> writeToBigQuery =
+          storageWriteApi(
+              BigQueryIO.<KV<GenericRecord, TableRow>>write()
+                  .to(
+                      BigQueryDynamicDestination.of(
+                          this.outputProject,
+                          this.outputDataset,
+                          this.outputTableNamePrefix,
+                          this.persistKafkaKey))
+                  .withFormatFunction(kv -> kv.getValue()),
+              writeDisposition,
+              createDisposition,
+              numStorageWriteApiStreams,
+              storageWriteApiTriggeringFrequencySec,
+              useAutoSharding,
+              errorHandler);
       writeResult =
           input
               .apply(
@@ -402,6 +488,81 @@ public class BigQueryWriteUtils {
       return writeResult;
     }
 
+    /**
+     * Writes the rows produced by {@code toRowFn} keyed by Schema Registry id, formatted for
+     * BigQuery by {@code withFormat}.
+     */
+    private <V> WriteResult expandWithSchemaIdDestinations(
+        PCollection<FailsafeElement<KafkaRecord<byte[], byte[]>, GenericRecord>> input,
+        DoFn<FailsafeElement<KafkaRecord<byte[], byte[]>, GenericRecord>, KV<Integer, V>> toRowFn,
+        Coder<V> rowCoder,
+        UnaryOperator<BigQueryIO.Write<KV<Integer, V>>> withFormat) {
+      BigQueryIO.Write<KV<Integer, V>> writeToBigQuery =
+          withFormat.apply(
+              BigQueryIO.<KV<Integer, V>>write()
+                  .to(
+                      SchemaIdDynamicDestination.<V>of(
+                          this.outputProject,
+                          this.outputDataset,
+                          this.outputTableNamePrefix,
+                          this.persistKafkaKey,
+                          this.schemaRegistryConnectionUrl,
+                          this.schemaRegistryConfig)));
+      return input
+          .apply("ConvertGenericRecordToTableRow", ParDo.of(toRowFn))
+          .setCoder(KvCoder.of(VarIntCoder.of(), rowCoder))
+          .apply(
+              storageWriteApi(
+                  writeToBigQuery,
+                  writeDisposition,
+                  createDisposition,
+                  numStorageWriteApiStreams,
+                  storageWriteApiTriggeringFrequencySec,
+                  useAutoSharding,
+                  errorHandler));
+    }
+
+    private static class GenericRecordToSchemaIdRecordFn
+        extends DoFn<
+            FailsafeElement<KafkaRecord<byte[], byte[]>, GenericRecord>,
+            KV<Integer, GenericRecord>> {
+
+      @ProcessElement
+      public void processElement(ProcessContext context) {
+        FailsafeElement<KafkaRecord<byte[], byte[]>, GenericRecord> element = context.element();
+        byte[] value = element.getOriginalPayload().getKV().getValue();
+        context.output(KV.of(SchemaIdDynamicDestination.schemaId(value), element.getPayload()));
+      }
+    }
+
+    private static class GenericRecordToSchemaIdTableRowFn
+        extends DoFn<
+            FailsafeElement<KafkaRecord<byte[], byte[]>, GenericRecord>, KV<Integer, TableRow>> {
+
+      private boolean persistKafkaKey;
+
+      private final SchemaConversionCache<Schema, TableSchema> tableSchemas =
+          new SchemaConversionCache<>("row_table_schema", BigQueryWriteUtils::toTableSchema);
+
+      GenericRecordToSchemaIdTableRowFn(boolean persistKafkaKey) {
+        this.persistKafkaKey = persistKafkaKey;
+      }
+
+      @ProcessElement
+      public void processElement(ProcessContext context) {
+        FailsafeElement<KafkaRecord<byte[], byte[]>, GenericRecord> element = context.element();
+        KafkaRecord<byte[], byte[]> kafkaRecord = element.getOriginalPayload();
+        TableRow row =
+            BigQueryAvroUtils.convertGenericRecordToTableRow(
+                element.getPayload(), tableSchemas.get(element.getPayload().getSchema()));
+        if (this.persistKafkaKey) {
+          row.set(BigQueryConstants.KAFKA_KEY_FIELD, kafkaRecord.getKV().getKey());
+        }
+        context.output(
+            KV.of(SchemaIdDynamicDestination.schemaId(kafkaRecord.getKV().getValue()), row));
+      }
+    }
+
     private static class GenericRecordToTableRowFn
         extends DoFn<
             FailsafeElement<KafkaRecord<byte[], byte[]>, GenericRecord>,
@@ -410,6 +571,9 @@ public class BigQueryWriteUtils {
 
       private boolean persistKafkaKey;
 
+      private final SchemaConversionCache<Schema, TableSchema> tableSchemas =
+          new SchemaConversionCache<>("row_table_schema", BigQueryWriteUtils::toTableSchema);
+
       GenericRecordToTableRowFn(boolean persistKafkaKey) {
         this.persistKafkaKey = persistKafkaKey;
       }
@@ -419,9 +583,7 @@ public class BigQueryWriteUtils {
         FailsafeElement<KafkaRecord<byte[], byte[]>, GenericRecord> element = context.element();
         TableRow row =
             BigQueryAvroUtils.convertGenericRecordToTableRow(
-                element.getPayload(),
-                BigQueryUtils.toTableSchema(
-                    AvroUtils.toBeamSchema(element.getPayload().getSchema())));
+                element.getPayload(), tableSchemas.get(element.getPayload().getSchema()));
         if (this.persistKafkaKey) {
           row.set(BigQueryConstants.KAFKA_KEY_FIELD, element.getOriginalPayload().getKV().getKey());
         }
@@ -441,4 +603,58 @@ public class BigQueryWriteUtils {
       }
     }
   }
+
+  private static class FailsafeElementGetRecordFn
+      extends DoFn<FailsafeElement<KafkaRecord<byte[], byte[]>, GenericRecord>, GenericRecord> {
+
+    @ProcessElement
+    public void processElement(ProcessContext context) {
+      context.output(context.element().getPayload());
+    }
+  }
+
+  /** Applies the Storage Write API settings shared by all the writes of the template. */
+  private static <T> BigQueryIO.Write<T> storageWriteApi(
+      BigQueryIO.Write<T> write,
+      String writeDisposition,
+      String createDisposition,
+      Integer numStorageWriteApiStreams,
+      Integer storageWriteApiTriggeringFrequencySec,
+      Boolean useAutoSharding,
+      ErrorHandler<BadRecord, ?> errorHandler) {
+    write =
+        write
+            .withWriteDisposition(BigQueryIO.Write.WriteDisposition.valueOf(writeDisposition))
+            .withCreateDisposition(BigQueryIO.Write.CreateDisposition.valueOf(createDisposition))
+            .withFailedInsertRetryPolicy(InsertRetryPolicy.retryTransientErrors())
+            .withExtendedErrorInfo()
+            .withMethod(BigQueryIO.Write.Method.STORAGE_WRITE_API)
+            .withNumStorageWriteApiStreams(numStorageWriteApiStreams)
+            .withTriggeringFrequency(
+                Duration.standardSeconds(storageWriteApiTriggeringFrequencySec.longValue()));
+
+    if (!(errorHandler instanceof ErrorHandler.DefaultErrorHandler)) {
+      write = write.withErrorHandler(errorHandler);
+    }
+
+    if (useAutoSharding) {
+      write = write.withAutoSharding();
+    }
+    return write;
+  }
+
+  private static boolean useAvroStorageWriteApiEncoding(
+      boolean avroStorageWriteApiEncoding, Boolean persistKafkaKey) {
+    if (avroStorageWriteApiEncoding && persistKafkaKey) {
+      LOG.warn(
+          "The Avro records are converted to TableRows because the Kafka key is persisted, which"
+              + " is not part of the records.");
+      return false;
+    }
+    return avroStorageWriteApiEncoding;
+  }
+
+  private static TableSchema toTableSchema(Schema schema) {
+    return BigQueryUtils.toTableSchema(AvroUtils.toBeamSchema(schema));
+  }
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.transforms;
+
+import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.transforms.SerializableFunction;
+
+/**
+ * Caches a conversion that only depends on the schema of a record, like its table name or {@link
+ * com.google.api.services.bigquery.model.TableSchema}, so that it is computed once per schema
+ * instead of once per record.
+ *
+ * <p>Lookups are counted in the {@code <name>_cache_hits} and {@code <name>_cache_misses} counters.
+ * The cached values are not serialized, every deserialized copy starts empty. Schemas are few and
+ * immutable, so entries are never evicted.
+ */
+final class SchemaConversionCache<K, V> implements Serializable {
+
+  private final SerializableFunction<K, V> conversion;
+
+  private final Counter hits;
+
+  private final Counter misses;
+
+  private transient volatile ConcurrentHashMap<K, V> values;
+
+  /**
+   * Creates a cache.
+   *
+   * @param name prefix of the names of the counters
+   * @param conversion conversion of a schema key to the cached value
+   */
+  SchemaConversionCache(String name, SerializableFunction<K, V> conversion) {
+    this.conversion = conversion;
+    this.hits = Metrics.counter(SchemaConversionCache.class, name + "_cache_hits");
+    this.misses = Metrics.counter(SchemaConversionCache.class, name + "_cache_misses");
+  }
+
+  V get(K key) {
+    ConcurrentHashMap<K, V> cached = values;
+    if (cached == null) {
+      synchronized (this) {
+        if (values == null) {
+          values = new ConcurrentHashMap<>();
+        }
+        cached = values;
+      }
+    }
+    V value = cached.get(key);
+    if (value != null) {
+      hits.inc();
+      return value;
+    }
+    misses.inc();
+    return cached.computeIfAbsent(key, conversion::apply);
+  }
+}
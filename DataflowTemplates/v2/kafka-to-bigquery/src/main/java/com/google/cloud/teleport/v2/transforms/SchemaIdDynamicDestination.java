@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.transforms;
+
+import com.google.api.services.bigquery.model.TableSchema;
+import com.google.cloud.teleport.v2.kafka.utils.FileAwareSchemaRegistryFactoryFn;
+import com.google.cloud.teleport.v2.utils.BigQueryAvroUtils;
+import io.confluent.kafka.schemaregistry.client.CachedSchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import org.apache.avro.Schema;
+import org.apache.beam.sdk.coders.Coder;
+import org.apache.beam.sdk.coders.VarIntCoder;
+import org.apache.beam.sdk.io.gcp.bigquery.DynamicDestinations;
+import org.apache.beam.sdk.io.gcp.bigquery.TableDestination;
+import org.apache.beam.sdk.transforms.SerializableFunction;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.ValueInSingleWindow;
+
+/**
+ * Writes each record to the table named after its Avro schema, with the Schema Registry id of the
+ * schema as the destination. The id is paired with the row to write, a {@code TableRow} or the
+ * record for the Avro encoding of the Storage Write API.
+ *
+ * <p>Unlike {@link BigQueryDynamicDestination}, which keys destinations by the records themselves,
+ * only the schema id is encoded with each element that the write shuffles. The Avro schema, table
+ * and {@link TableSchema} of an id are resolved once per worker and then cached.
+ */
+public class SchemaIdDynamicDestination<V> extends DynamicDestinations<KV<Integer, V>, Integer> {
+
+  private static final byte MAGIC_BYTE = 0x0;
+
+  private final SchemaConversionCache<Integer, Schema> avroSchemas;
+
+  private final SchemaConversionCache<Integer, TableDestination> tables;
+
+  private final SchemaConversionCache<Integer, TableSchema> tableSchemas;
+
+  public static <V> SchemaIdDynamicDestination<V> of(
+      String projectName,
+      String datasetName,
+      String tableNamePrefix,
+      boolean persistKafkaKey,
+      String schemaRegistryConnectionUrl,
+      Map<String, Object> schemaRegistryAuthenticationConfig) {
+    return new SchemaIdDynamicDestination<>(
+        projectName,
+        datasetName,
+        tableNamePrefix,
+        persistKafkaKey,
+        new RegistrySchemaLookup(schemaRegistryConnectionUrl, schemaRegistryAuthenticationConfig));
+  }
+
+  SchemaIdDynamicDestination(
+      String projectName,
+      String datasetName,
+      String tableNamePrefix,
+      boolean persistKafkaKey,
+      SerializableFunction<Integer, Schema> schemaLookup) {
+    this.avroSchemas = new SchemaConversionCache<>("avro_schema", schemaLookup);
+    this.tables =
+        new SchemaConversionCache<>(
+            "table_destination",
+            schemaId ->
+                new TableDestination(
+                    BigQueryDynamicDestination.tableSpec(
+                        projectName, datasetName, tableNamePrefix, avroSchemas.get(schemaId)),
+                    null));
+    this.tableSchemas =
+        new SchemaConversionCache<>(
+            "table_schema",
+            schemaId ->
+                BigQueryAvroUtils.convertAvroSchemaToTableSchema(
+                    avroSchemas.get(schemaId), persistKafkaKey));
+  }
+
+  /**
+   * Returns the Schema Registry id of a Kafka key or value in the Confluent wire format, a zero
+   * magic byte followed by the id as a 4 byte big-endian integer and the Avro payload.
+   */
+  public static int schemaId(byte[] confluentWireFormat) {
+    if (confluentWireFormat == null
+        || confluentWireFormat.length < 5
+        || confluentWireFormat[0] != MAGIC_BYTE) {
+      throw new IllegalArgumentException(
+          "Expected a message in the Confluent wire format, with a Schema Registry id.");
+    }
+    return ByteBuffer.wrap(confluentWireFormat, 1, 4).getInt();
+  }
+
+  @Override
+  public Integer getDestination(ValueInSingleWindow<KV<Integer, V>> element) {
+    return element.getValue().getKey();
+  }
+
+  @Override
+  public TableDestination getTable(Integer schemaId) {
+    return tables.get(schemaId);
+  }
+
+  @Override
+  public TableSchema getSchema(Integer schemaId) {
+    return tableSchemas.get(schemaId);
+  }
+
+  @Override
+  public Coder<Integer> getDestinationCoder() {
+    return VarIntCoder.of();
+  }
+
+  /** Looks Avro schemas up by id in the Schema Registry, with a client created once per worker. */
+  private static class RegistrySchemaLookup implements SerializableFunction<Integer, Schema> {
+
+    private static final int DEFAULT_CACHE_CAPACITY = 1000;
+
+    private final String schemaRegistryConnectionUrl;
+
+    private final Map<String, Object> schemaRegistryAuthenticationConfig;
+
+    private transient SchemaRegistryClient schemaRegistryClient;
+
+    RegistrySchemaLookup(
+        String schemaRegistryConnectionUrl,
+        Map<String, Object> schemaRegistryAuthenticationConfig) {
+      this.schemaRegistryConnectionUrl = schemaRegistryConnectionUrl;
+      this.schemaRegistryAuthenticationConfig = schemaRegistryAuthenticationConfig;
+    }
+
+    @Override
+    public synchronized Schema apply(Integer schemaId) {
+      if (schemaRegistryClient == null) {
+        schemaRegistryClient =
+            new CachedSchemaRegistryClient(
+                schemaRegistryConnectionUrl,
+                DEFAULT_CACHE_CAPACITY,
+                new FileAwareSchemaRegistryFactoryFn().apply(schemaRegistryAuthenticationConfig));
+      }
+      try {
+        return (Schema) schemaRegistryClient.getSchemaById(schemaId).rawSchema();
+      } catch (IOException | RestClientException e) {
+        throw new RuntimeException("Failed to get the schema with id " + schemaId, e);
+      }
+    }
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.transforms;
+
+import com.google.api.services.bigquery.model.TableRow;
+import com.google.api.services.bigquery.model.TableSchema;
+import com.google.cloud.teleport.v2.utils.BigQueryAvroUtils;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.DescriptorValidationException;
+import com.google.protobuf.DynamicMessage;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.avro.Conversions.DecimalConversion;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.beam.sdk.io.gcp.bigquery.AvroGenericRecordToStorageApiProto;
+import org.apache.beam.sdk.io.gcp.bigquery.TableRowToStorageApiProto;
+import org.apache.beam.sdk.io.gcp.bigquery.TableRowToStorageApiProto.SchemaInformation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH benchmark comparing the two ways the Kafka to BigQuery template turns Avro records into
+ * Storage Write API protos: through a {@link TableRow}, which formats timestamps, dates and
+ * decimals as strings that are parsed again, or with the Avro encoding of the Storage Write API.
+ *
+ * <p>Run from the kafka-to-bigquery module after {@code mvn test-compile} with:
+ *
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) org.openjdk.jmh.Main \
+ *     AvroStorageWriteApiEncodingBenchmark -prof gc
+ * </pre>
+ *
+ * where {@code cp.txt} holds the output of {@code mvn dependency:build-classpath
+ * -Dmdep.outputFile=cp.txt}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvroStorageWriteApiEncodingBenchmark {
+
+  private static final int BATCH_SIZE = 1000;
+
+  private List<GenericRecord> batch;
+
+  private TableSchema tableSchema;
+
+  private SchemaInformation schemaInformation;
+
+  private Descriptor descriptor;
+
+  @Setup
+  public void setup() throws DescriptorValidationException {
+    Schema decimal = LogicalTypes.decimal(12, 2).addToSchema(Schema.create(Schema.Type.BYTES));
+    Schema timestamp = LogicalTypes.timestampMicros().addToSchema(Schema.create(Schema.Type.LONG));
+    Schema date = LogicalTypes.date().addToSchema(Schema.create(Schema.Type.INT));
+    Schema schema =
+        SchemaBuilder.record("Order")
+            .namespace("com.example")
+            .fields()
+            .requiredLong("order_id")
+            .requiredLong("customer_id")
+            .requiredString("status")
+            .name("amount")
+            .type(decimal)
+            .noDefault()
+            .requiredDouble("discount")
+            .name("created_at")
+            .type(timestamp)
+            .noDefault()
+            .name("delivery_date")
+            .type(date)
+            .noDefault()
+            .optionalString("notes")
+            .requiredBytes("payload")
+            .endRecord();
+
+    DecimalConversion decimalConversion = new DecimalConversion();
+    batch = new ArrayList<>(BATCH_SIZE);
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      GenericRecord record = new GenericData.Record(schema);
+      record.put("order_id", (long) i);
+      record.put("customer_id", 1000L + i / 10);
+      record.put("status", i % 3 == 0 ? "SHIPPED" : "PENDING");
+      BigDecimal amount = new BigDecimal("1234.56").add(BigDecimal.valueOf(i));
+      record.put("amount", decimalConversion.toBytes(amount, decimal, decimal.getLogicalType()));
+      record.put("discount", i * 0.01d);
+      record.put("created_at", 1700000000000000L + i * 1000L);
+      record.put("delivery_date", 19700 + i % 365);
+      record.put("notes", i % 2 == 0 ? null : "Leave at the front door");
+      record.put("payload", ByteBuffer.wrap(new byte[64]));
+      batch.add(record);
+    }
+
+    tableSchema = BigQueryAvroUtils.convertAvroSchemaToTableSchema(schema, false);
+    schemaInformation = SchemaInformation.fromTableSchema(tableSchema);
+    descriptor = TableRowToStorageApiProto.getDescriptorFromTableSchema(tableSchema, true, false);
+  }
+
+  @Benchmark
+  public void throughTableRow(Blackhole blackhole) throws Exception {
+    for (GenericRecord record : batch) {
+      TableRow row = BigQueryAvroUtils.convertGenericRecordToTableRow(record, tableSchema);
+      blackhole.consume(
+          TableRowToStorageApiProto.messageFromTableRow(
+              schemaInformation, descriptor, row, false, false, null, null, null));
+    }
+  }
+
+  @Benchmark
+  public void avroEncoding(Blackhole blackhole) {
+    for (GenericRecord record : batch) {
+      DynamicMessage message =
+          AvroGenericRecordToStorageApiProto.messageFromGenericRecord(
+              descriptor, record, null, null);
+      blackhole.consume(message);
+    }
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.transforms;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import com.google.api.services.bigquery.model.TableRow;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.beam.sdk.transforms.windowing.BoundedWindow;
+import org.apache.beam.sdk.transforms.windowing.GlobalWindow;
+import org.apache.beam.sdk.transforms.windowing.PaneInfo;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.ValueInSingleWindow;
+import org.junit.Test;
+
+/** Test cases for the {@link BigQueryDynamicDestination} class. */
+public class BigQueryDynamicDestinationTest {
+
+  private static final Schema ORDER_SCHEMA =
+      SchemaBuilder.record("Order")
+          .namespace("com.example")
+          .fields()
+          .requiredLong("id")
+          .optionalString("status")
+          .endRecord();
+
+  private static <T> ValueInSingleWindow<T> inGlobalWindow(T value) {
+    return ValueInSingleWindow.of(
+        value, BoundedWindow.TIMESTAMP_MIN_VALUE, GlobalWindow.INSTANCE, PaneInfo.NO_FIRING);
+  }
+
+  private static GenericRecord order() {
+    return new GenericData.Record(ORDER_SCHEMA);
+  }
+
+  @Test
+  public void testRecordIsDestinationOfItsTableRow() {
+    BigQueryDynamicDestination<KV<GenericRecord, TableRow>> destination =
+        BigQueryDynamicDestination.of("project", "dataset", "prefix", false);
+    GenericRecord record = order();
+
+    GenericRecord key = destination.getDestination(inGlobalWindow(KV.of(record, new TableRow())));
+
+    assertSame(record, key);
+    assertEquals(
+        "project:dataset.prefix-com-example-Order", destination.getTable(key).getTableSpec());
+  }
+
+  @Test
+  public void testRecordIsItsOwnDestination() {
+    BigQueryDynamicDestination<GenericRecord> destination =
+        BigQueryDynamicDestination.ofRecords("project", "dataset", "prefix", false);
+    GenericRecord record = order();
+
+    GenericRecord key = destination.getDestination(inGlobalWindow(record));
+
+    assertSame(record, key);
+    assertEquals(
+        "project:dataset.prefix-com-example-Order", destination.getTable(key).getTableSpec());
+    assertEquals(2, destination.getSchema(key).getFields().size());
+  }
+}
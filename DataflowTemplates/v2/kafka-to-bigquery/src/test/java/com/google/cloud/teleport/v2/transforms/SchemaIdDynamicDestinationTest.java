@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.transforms;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import com.google.api.services.bigquery.model.TableRow;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Test cases for the {@link SchemaIdDynamicDestination} class. */
+public class SchemaIdDynamicDestinationTest {
+
+  private static final Schema ORDER_SCHEMA =
+      SchemaBuilder.record("Order")
+          .namespace("com.example")
+          .fields()
+          .requiredLong("id")
+          .optionalString("status")
+          .endRecord();
+
+  private static final AtomicInteger LOOKUPS = new AtomicInteger();
+
+  @Before
+  public void setUp() {
+    LOOKUPS.set(0);
+  }
+
+  @Test
+  public void testSchemaIdIsReadFromConfluentWireFormat() {
+    byte[] message = {0x0, 0x0, 0x0, 0x1, 0x2A, 0x10, 0x20};
+
+    assertEquals(298, SchemaIdDynamicDestination.schemaId(message));
+  }
+
+  @Test
+  public void testSchemaIdRejectsMessagesWithoutMagicByte() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> SchemaIdDynamicDestination.schemaId(new byte[] {0x1, 0x0, 0x0, 0x0, 0x1}));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> SchemaIdDynamicDestination.schemaId(new byte[] {0x0, 0x0}));
+  }
+
+  @Test
+  public void testTableAndSchemaAreResolvedOncePerSchemaId() {
+    SchemaIdDynamicDestination<TableRow> destination =
+        new SchemaIdDynamicDestination<>(
+            "project",
+            "dataset",
+            "prefix",
+            false,
+            schemaId -> {
+              LOOKUPS.incrementAndGet();
+              return ORDER_SCHEMA;
+            });
+
+    for (int i = 0; i < 3; i++) {
+      assertEquals(
+          "project:dataset.prefix-com-example-Order", destination.getTable(7).getTableSpec());
+      assertEquals(2, destination.getSchema(7).getFields().size());
+    }
+    assertEquals(1, LOOKUPS.get());
+
+    destination.getTable(8);
+    assertEquals(2, LOOKUPS.get());
+  }
+}
@@ -37,4 +37,14 @@ public class MetricCounters {
 
   // Counter for the number of tables completed.
   public static final String TABLES_COMPLETED = "tables_completed";
+
+  // Counter for the ranges the tables are split into for reading.
+  public static final String RANGES_TOTAL = "ranges_total";
+
+  // Counter for the ranges whose rows have all been read. Together with the ranges total this gives
+  // the read progress of the migration.
+  public static final String RANGES_DONE = "ranges_done";
+
+  // Counter for the rows read from the source. The rate of this counter gives the read throughput.
+  public static final String ROWS_READ = "rows_read";
 }
@@ -57,21 +57,24 @@ public final class OptionsToConfigBuilder {
     Integer numPartitions = options.getNumPartitions();
 
     return getJdbcIOWrapperConfig(
-        sqlDialect,
-        tables,
-        sourceDbURL,
-        null,
-        null,
-        0,
-        username,
-        password,
-        dbName,
-        shardId,
-        jdbcDriverClassName,
-        jdbcDriverJars,
-        maxConnections,
-        numPartitions,
-        waitOn);
+            sqlDialect,
+            tables,
+            sourceDbURL,
+            null,
+            null,
+            0,
+            username,
+            password,
+            dbName,
+            shardId,
+            jdbcDriverClassName,
+            jdbcDriverJars,
+            maxConnections,
+            numPartitions,
+            waitOn)
+        .toBuilder()
+        .setSplitWithColumnStatistics(options.getSplitWithColumnStatistics())
+        .build();
   }
 
   public static JdbcIOWrapperConfig getJdbcIOWrapperConfig(
@@ -223,4 +223,46 @@ public interface SourceDbToSpannerOptions extends CommonTemplateOptions {
   String getTransformationCustomParameters();
 
   void setTransformationCustomParameters(String value);
+
+  @TemplateParameter.GcsWriteFolder(
+      order = 19,
+      optional = true,
+      description = "Directory for migration checkpoints",
+      helpText =
+          "Cloud Storage directory where the completed tables of each shard are recorded. A job"
+              + " started with the same directory skips the tables recorded as completed by a"
+              + " previous run. Defaults to empty, which disables checkpointing.")
+  @Default.String("")
+  String getCheckpointDirectory();
+
+  void setCheckpointDirectory(String value);
+
+  @TemplateParameter.Boolean(
+      order = 20,
+      optional = true,
+      description = "Split tables using column statistics",
+      helpText =
+          "When true, tables are split for parallel reads using the column histograms of the"
+              + " source database (MySQL 8 COLUMN_STATISTICS or PostgreSQL pg_stats) instead of"
+              + " uniform splits, without running COUNT queries on the source. Falls back to"
+              + " uniform splits for columns without a histogram."
+              + " Defaults to: false.")
+  @Default.Boolean(false)
+  Boolean getSplitWithColumnStatistics();
+
+  void setSplitWithColumnStatistics(Boolean value);
+
+  @TemplateParameter.Boolean(
+      order = 21,
+      optional = true,
+      description = "Read all shards of a table with a single reader",
+      helpText =
+          "When true, a sharded migration reads each table from all the shards with a single"
+              + " reader, with the shards as data, instead of one reader per shard and table. This"
+              + " keeps the size of the job graph independent of the number of shards. The shards"
+              + " are expected to share the same schema. Defaults to: false.")
+  @Default.Boolean(false)
+  Boolean getReadShardsWithSingleReader();
+
+  void setReadShardsWithSingleReader(Boolean value);
 }
@@ -52,6 +52,10 @@ import javax.annotation.Nullable;
 import javax.sql.DataSource;
 import org.apache.beam.sdk.metrics.Counter;
 import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.commons.lang3.tuple.Pair;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -665,6 +669,50 @@ public final class MysqlDialectAdapter implements DialectAdapter {
     return replaceTagsAndSanitize(query, tags);
   }
 
+  /**
+   * Get query that returns the histogram of a column from <a
+   * href=https://dev.mysql.com/doc/refman/8.4/en/information-schema-column-statistics-table.html>COLUMN_STATISTICS</a>.
+   * Histograms are only present for columns analyzed with {@code ANALYZE TABLE ... UPDATE
+   * HISTOGRAM} on MySQL 8.0 or later.
+   */
+  @Override
+  public String getColumnHistogramQuery() {
+    return "SELECT HISTOGRAM FROM INFORMATION_SCHEMA.COLUMN_STATISTICS"
+        + " WHERE SCHEMA_NAME = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ?";
+  }
+
+  /**
+   * Parse the JSON histogram of {@code COLUMN_STATISTICS}. Buckets of an {@code equi-height}
+   * histogram are {@code [lower, upper, cumulative-frequency, distinct-values]} and buckets of a
+   * {@code singleton} histogram are {@code [value, cumulative-frequency]}.
+   */
+  @Override
+  public ImmutableList<Pair<String, Double>> parseColumnHistogram(String histogram) {
+    try {
+      JSONObject json = new JSONObject(histogram);
+      String histogramType = json.getString("histogram-type");
+      JSONArray buckets = json.getJSONArray("buckets");
+      ImmutableList.Builder<Pair<String, Double>> points = ImmutableList.builder();
+      for (int i = 0; i < buckets.length(); i++) {
+        JSONArray bucket = buckets.getJSONArray(i);
+        if ("equi-height".equals(histogramType)) {
+          if (i == 0) {
+            points.add(Pair.of(bucket.get(0).toString(), 0.0));
+          }
+          points.add(Pair.of(bucket.get(1).toString(), bucket.getDouble(2)));
+        } else if ("singleton".equals(histogramType)) {
+          points.add(Pair.of(bucket.get(0).toString(), bucket.getDouble(1)));
+        } else {
+          return ImmutableList.of();
+        }
+      }
+      return points.build();
+    } catch (JSONException e) {
+      logger.warn("Could not parse column histogram {}", histogram, e);
+      return ImmutableList.of();
+    }
+  }
+
   /**
    * Version of MySql. As of now the code does not need to distinguish between versions of Mysql.
    * Having the type allows the implementation do finer distinctions if needed in the future.
@@ -34,20 +34,29 @@ import com.google.cloud.teleport.v2.spanner.migrations.schema.SourceColumnType;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
+import java.math.BigDecimal;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLNonTransientConnectionException;
 import java.sql.SQLTimeoutException;
 import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import javax.sql.DataSource;
 import org.apache.beam.sdk.metrics.Counter;
 import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.commons.lang3.tuple.Pair;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -490,6 +499,112 @@ public class PostgreSQLDialectAdapter implements DialectAdapter {
     return replaceTagsAndSanitize(query, tags);
   }
 
+  /**
+   * Get query that returns the statistics of a column from <a
+   * href=https://www.postgresql.org/docs/current/view-pg-stats.html>pg_stats</a>, which are kept up
+   * to date by {@code ANALYZE} and autovacuum, as a JSON object.
+   */
+  @Override
+  public String getColumnHistogramQuery() {
+    return "SELECT json_build_object('histogram_bounds', histogram_bounds::text,"
+        + " 'most_common_vals', most_common_vals::text, 'most_common_freqs', most_common_freqs,"
+        + " 'null_frac', null_frac)::text FROM pg_stats"
+        + " WHERE schemaname = ANY (current_schemas(false)) AND tablename = ? AND attname = ?";
+  }
+
+  /**
+   * Parse the statistics of {@code pg_stats}. The {@code most_common_vals} hold the fractions of
+   * rows given by {@code most_common_freqs}. The {@code histogram_bounds} split the other non null
+   * rows into buckets of about the same number of rows, and rows are assumed to be uniform within
+   * a bucket. Quoted (non numeric) values are not supported.
+   */
+  @Override
+  public ImmutableList<Pair<String, Double>> parseColumnHistogram(String histogram) {
+    List<BigDecimal> bounds;
+    List<BigDecimal> commonValues;
+    List<Double> commonFrequencies = new ArrayList<>();
+    double nullFraction;
+    try {
+      JSONObject json = new JSONObject(histogram);
+      bounds = parseNumericArray(json.optString("histogram_bounds", "{}"));
+      commonValues = parseNumericArray(json.optString("most_common_vals", "{}"));
+      JSONArray frequencies = json.optJSONArray("most_common_freqs");
+      for (int i = 0; frequencies != null && i < frequencies.length(); i++) {
+        commonFrequencies.add(frequencies.getDouble(i));
+      }
+      nullFraction = json.optDouble("null_frac", 0.0);
+    } catch (JSONException e) {
+      logger.warn("Could not parse column statistics {}", histogram, e);
+      return ImmutableList.of();
+    }
+    if (bounds == null || commonValues == null || commonValues.size() != commonFrequencies.size()) {
+      return ImmutableList.of();
+    }
+    if (bounds.size() < 2) {
+      bounds = ImmutableList.of();
+    }
+
+    TreeMap<BigDecimal, Double> commonFractions = new TreeMap<>();
+    double commonFraction = 0.0;
+    for (int i = 0; i < commonValues.size(); i++) {
+      commonFractions.merge(commonValues.get(i), commonFrequencies.get(i), Double::sum);
+      commonFraction += commonFrequencies.get(i);
+    }
+    double histogramFraction = Math.max(0.0, 1.0 - nullFraction - commonFraction);
+    TreeSet<BigDecimal> values = new TreeSet<>(bounds);
+    values.addAll(commonFractions.keySet());
+    if (values.size() < 2) {
+      return ImmutableList.of();
+    }
+
+    ImmutableList.Builder<Pair<String, Double>> points = ImmutableList.builder();
+    double cumulativeCommonFraction = 0.0;
+    int bound = 0;
+    for (BigDecimal value : values) {
+      cumulativeCommonFraction += commonFractions.getOrDefault(value, 0.0);
+      while (bound < bounds.size() && bounds.get(bound).compareTo(value) < 0) {
+        bound++;
+      }
+      // Fraction of the buckets below the value, interpolated within the bucket of the value.
+      double buckets;
+      if (bounds.isEmpty() || bound == 0) {
+        buckets = 0.0;
+      } else if (bound == bounds.size()) {
+        buckets = bounds.size() - 1;
+      } else {
+        BigDecimal lower = bounds.get(bound - 1);
+        BigDecimal upper = bounds.get(bound);
+        double position = value.subtract(lower).doubleValue() / upper.subtract(lower).doubleValue();
+        buckets = bound - 1 + position;
+      }
+      double fraction = bounds.isEmpty() ? 0.0 : histogramFraction * buckets / (bounds.size() - 1);
+      points.add(Pair.of(value.toPlainString(), fraction + cumulativeCommonFraction));
+    }
+    return points.build();
+  }
+
+  /** Parse a numeric array, or return null if it has non numeric values. */
+  @Nullable
+  private static List<BigDecimal> parseNumericArray(String array) {
+    String values = array.trim();
+    if (!values.startsWith("{") || !values.endsWith("}") || values.contains("\"")) {
+      return null;
+    }
+    values = values.substring(1, values.length() - 1).trim();
+    List<BigDecimal> numbers = new ArrayList<>();
+    if (values.isEmpty()) {
+      return numbers;
+    }
+    try {
+      for (String value : values.split(",")) {
+        numbers.add(new BigDecimal(value.trim()));
+      }
+    } catch (NumberFormatException e) {
+      return null;
+    }
+    return numbers;
+  }
+
   private String addWhereClause(String query, ImmutableList<String> partitionColumns) {
     StringBuilder queryBuilder = new StringBuilder();
     queryBuilder.append(query);
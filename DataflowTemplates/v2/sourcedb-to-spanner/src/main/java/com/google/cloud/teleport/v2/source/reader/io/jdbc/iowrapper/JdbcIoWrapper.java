@@ -23,8 +23,11 @@ import com.google.cloud.teleport.v2.source.reader.io.jdbc.iowrapper.config.JdbcI
 import com.google.cloud.teleport.v2.source.reader.io.jdbc.iowrapper.config.TableConfig;
 import com.google.cloud.teleport.v2.source.reader.io.jdbc.rowmapper.JdbcSourceRowMapper;
 import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.PartitionColumn;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.transforms.MultiShardReadWithUniformPartitions;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.transforms.MultiShardReadWithUniformPartitions.ShardSource;
 import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.transforms.ReadWithUniformPartitions;
 import com.google.cloud.teleport.v2.source.reader.io.row.SourceRow;
+import com.google.cloud.teleport.v2.source.reader.io.row.SourceRowCoder;
 import com.google.cloud.teleport.v2.source.reader.io.schema.SchemaDiscovery;
 import com.google.cloud.teleport.v2.source.reader.io.schema.SchemaDiscoveryImpl;
 import com.google.cloud.teleport.v2.source.reader.io.schema.SourceColumnIndexInfo;
@@ -35,6 +38,7 @@ import com.google.cloud.teleport.v2.source.reader.io.schema.SourceTableReference
 import com.google.cloud.teleport.v2.source.reader.io.schema.SourceTableSchema;
 import com.google.cloud.teleport.v2.spanner.migrations.schema.SourceColumnType;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
@@ -94,6 +98,51 @@ public final class JdbcIoWrapper implements IoWrapper {
     return new JdbcIoWrapper(tableReaders, sourceSchema);
   }
 
+  /**
+   * Construct a JdbcIOWrapper that reads every table from all the given shards with a single
+   * transform per table, see {@link MultiShardReadWithUniformPartitions}.
+   *
+   * <p>The shards are expected to share the schema of the tables. The schema, indexes and
+   * approximate row counts are discovered on the first shard only, and the {@link
+   * JdbcIOWrapperConfig#waitOn()} of the first shard applies to all of them.
+   *
+   * @param shardConfigs configurations for reading from each shard, with distinct shard ids.
+   * @return JdbcIOWrapper
+   * @throws SuitableIndexNotFoundException if a suitable index is not found to act as the partition
+   *     column.
+   */
+  public static JdbcIoWrapper ofShards(ImmutableList<JdbcIOWrapperConfig> shardConfigs)
+      throws SuitableIndexNotFoundException {
+    Preconditions.checkArgument(!shardConfigs.isEmpty(), "At least one shard is required.");
+    Preconditions.checkArgument(
+        shardConfigs.stream().allMatch(shardConfig -> shardConfig.shardID() != null),
+        "Every shard needs a shard id.");
+    JdbcIOWrapperConfig config = shardConfigs.get(0);
+    DataSource dataSource = getDataSourceConfiguration(config).buildDatasource();
+    setDataSourceLoginTimeout((BasicDataSource) dataSource, config);
+
+    SchemaDiscovery schemaDiscovery =
+        new SchemaDiscoveryImpl(config.dialectAdapter(), config.schemaDiscoveryBackOff());
+
+    ImmutableList<TableConfig> tableConfigs =
+        autoInferTableConfigs(config, schemaDiscovery, dataSource);
+    SourceSchema sourceSchema = getSourceSchema(config, schemaDiscovery, dataSource, tableConfigs);
+    SourceRowCoder rowCoder = SourceRowCoder.of(sourceSchema.tableSchemas());
+    ImmutableMap.Builder<SourceTableReference, PTransform<PBegin, PCollection<SourceRow>>>
+        tableReaders = ImmutableMap.builder();
+    for (TableConfig tableConfig : tableConfigs) {
+      SourceTableSchema sourceTableSchema = findSourceTableSchema(sourceSchema, tableConfig);
+      tableReaders.put(
+          SourceTableReference.builder()
+              .setSourceSchemaReference(sourceSchema.schemaReference())
+              .setSourceTableName(sourceTableSchema.tableName())
+              .setSourceTableSchemaUUID(sourceTableSchema.tableSchemaUUID())
+              .build(),
+          getMultiShardReadIO(shardConfigs, tableConfig, sourceTableSchema, rowCoder));
+    }
+    return new JdbcIoWrapper(tableReaders.build(), sourceSchema);
+  }
+
   /**
    * Set's the login timeout for the DataSource used for schema and index discoveries. This helps in
    * early error reporting to the customer in case of unreachable or unavailable source database.
@@ -175,6 +224,7 @@ public final class JdbcIoWrapper implements IoWrapper {
           ImmutableList<TableConfig> tableConfigs,
           DataSourceConfiguration dataSourceConfiguration,
           SourceSchema sourceSchema) {
+    SourceRowCoder rowCoder = SourceRowCoder.of(sourceSchema.tableSchemas());
     return tableConfigs.stream()
         .map(
             tableConfig -> {
@@ -192,13 +242,15 @@ public final class JdbcIoWrapper implements IoWrapper {
                           dataSourceConfiguration,
                           sourceSchema.schemaReference(),
                           tableConfig,
-                          sourceTableSchema)
+                          sourceTableSchema,
+                          rowCoder)
                       : getJdbcIO(
                           config,
                           dataSourceConfiguration,
                           sourceSchema.schemaReference(),
                           tableConfig,
-                          sourceTableSchema));
+                          sourceTableSchema,
+                          rowCoder));
             })
         .collect(ImmutableMap.toImmutableMap(Map.Entry::getKey, Map.Entry::getValue));
   }
@@ -380,6 +432,7 @@ public final class JdbcIoWrapper implements IoWrapper {
    *     reader configuration)
    * @param tableConfig discovered table configurations.
    * @param sourceTableSchema schema of the source table.
+   * @param rowCoder coder for the rows read.
    * @return
    */
   private static PTransform<PBegin, PCollection<SourceRow>> getJdbcIO(
@@ -387,7 +440,8 @@ public final class JdbcIoWrapper implements IoWrapper {
       DataSourceConfiguration dataSourceConfiguration,
       SourceSchemaReference sourceSchemaReference,
       TableConfig tableConfig,
-      SourceTableSchema sourceTableSchema) {
+      SourceTableSchema sourceTableSchema,
+      SourceRowCoder rowCoder) {
     ReadWithPartitions<SourceRow, @UnknownKeyFor @NonNull @Initialized Long> jdbcIO =
         JdbcIO.<SourceRow>readWithPartitions()
             .withTable(tableConfig.tableName())
@@ -398,7 +452,8 @@ public final class JdbcIoWrapper implements IoWrapper {
                     config.valueMappingsProvider(),
                     sourceSchemaReference,
                     sourceTableSchema,
-                    config.shardID()));
+                    config.shardID()))
+            .withCoder(rowCoder);
     if (tableConfig.maxPartitions() != null) {
       jdbcIO = jdbcIO.withNumPartitions(tableConfig.maxPartitions());
     }
@@ -413,6 +468,7 @@ public final class JdbcIoWrapper implements IoWrapper {
    *     reader configuration)
    * @param tableConfig discovered table configurations.
    * @param sourceTableSchema schema of the source table.
+   * @param rowCoder coder for the rows read.
    * @return
    */
   private static PTransform<PBegin, PCollection<SourceRow>> getReadWithUniformPartitionIO(
@@ -420,7 +476,8 @@ public final class JdbcIoWrapper implements IoWrapper {
       DataSourceConfiguration dataSourceConfiguration,
       SourceSchemaReference sourceSchemaReference,
       TableConfig tableConfig,
-      SourceTableSchema sourceTableSchema) {
+      SourceTableSchema sourceTableSchema,
+      SourceRowCoder rowCoder) {
 
     ReadWithUniformPartitions.Builder<SourceRow> readWithUniformPartitionsBuilder =
         ReadWithUniformPartitions.<SourceRow>builder()
@@ -435,12 +492,15 @@ public final class JdbcIoWrapper implements IoWrapper {
                     sourceSchemaReference,
                     sourceTableSchema,
                     config.shardID()))
+            .setRowCoder(rowCoder)
             .setWaitOn(config.waitOn())
             /* The following setting limits number of stages provisioned for the split process.
              * Currently we mostly deal with auto incrementing keys, so we don't need a split depth to make the partition uniform, unless there is a large dataset with a lot of holes.
+             * With column statistics, the initial ranges already follow the distribution of the keys, so no stage (and hence no COUNT query) is added either.
              * TODO(vardhanvthigle): if index is not of the type of a single auto incrementing key, don't set this.
              */
             .setSplitStageCountHint(0L)
+            .setSplitWithColumnStatistics(config.splitWithColumnStatistics())
             .setDbParallelizationForSplitProcess(config.dbParallelizationForSplitProcess())
             .setDbParallelizationForReads(config.dbParallelizationForReads())
             .setAdditionalOperationsOnRanges(config.additionalOperationsOnRanges());
@@ -452,6 +512,52 @@ public final class JdbcIoWrapper implements IoWrapper {
     return readWithUniformPartitionsBuilder.build();
   }
 
+  /**
+   * Private helper to construct {@link MultiShardReadWithUniformPartitions} for a table of all the
+   * shards.
+   *
+   * @param shardConfigs configurations of the shards.
+   * @param tableConfig table configuration discovered on the first shard.
+   * @param sourceTableSchema schema of the source table.
+   * @param rowCoder coder for the rows read.
+   * @return
+   */
+  private static PTransform<PBegin, PCollection<SourceRow>> getMultiShardReadIO(
+      ImmutableList<JdbcIOWrapperConfig> shardConfigs,
+      TableConfig tableConfig,
+      SourceTableSchema sourceTableSchema,
+      SourceRowCoder rowCoder) {
+    JdbcIOWrapperConfig config = shardConfigs.get(0);
+    ImmutableMap<String, ShardSource<SourceRow>> shards =
+        shardConfigs.stream()
+            .collect(
+                ImmutableMap.toImmutableMap(
+                    JdbcIOWrapperConfig::shardID,
+                    shardConfig ->
+                        ShardSource.create(
+                            JdbcIO.PoolableDataSourceProvider.of(
+                                getDataSourceConfiguration(shardConfig)),
+                            new JdbcSourceRowMapper(
+                                shardConfig.valueMappingsProvider(),
+                                shardConfig.sourceSchemaReference(),
+                                sourceTableSchema,
+                                shardConfig.shardID()))));
+    long partitionsPerShard =
+        (tableConfig.maxPartitions() != null)
+            ? (long) tableConfig.maxPartitions()
+            : ReadWithUniformPartitions.inferMaxPartitions(tableConfig.approxRowCount());
+    return MultiShardReadWithUniformPartitions.<SourceRow>builder()
+        .setShards(shards)
+        .setDbAdapter(config.dialectAdapter())
+        .setTableName(tableConfig.tableName())
+        .setPartitionColumns(tableConfig.partitionColumns())
+        .setPartitionsPerShard(partitionsPerShard)
+        .setDbParallelizationForReads(config.dbParallelizationForReads())
+        .setWaitOn(config.waitOn())
+        .setRowCoder(rowCoder)
+        .build();
+  }
+
   /**
    * Build the {@link DataSourceConfiguration} from the reader configuration.
    *
@@ -149,6 +149,14 @@ public abstract class JdbcIOWrapperConfig {
   @Nullable
   public abstract Integer dbParallelizationForReads();
 
+  /**
+   * If true, the initial split of the tables is derived from the column histograms of the source
+   * database, and only the ranges that look skewed are refined with count queries. Ignored if
+   * {@link JdbcIOWrapperConfig#readWithUniformPartitionsFeatureEnabled()} is false. Defaults to
+   * false.
+   */
+  public abstract Boolean splitWithColumnStatistics();
+
   /**
    * A transform that can be injected to make use of the discovered splits for additional use case
    * like creating split points on spanner before the actual read. Ignored if {@link
@@ -250,6 +258,7 @@ public abstract class JdbcIOWrapperConfig {
         .setWaitOn(null)
         .setMaxFetchSize(null)
         .setDbParallelizationForReads(null)
+        .setSplitWithColumnStatistics(false)
         .setDbParallelizationForSplitProcess(DEFAULT_PARALLELIZATION_FOR_SLIT_PROCESS)
         .setReadWithUniformPartitionsFeatureEnabled(true)
         .setTestOnBorrow(DEFAULT_TEST_ON_BORROW)
@@ -280,6 +289,7 @@ public abstract class JdbcIOWrapperConfig {
         .setWaitOn(null)
         .setMaxFetchSize(null)
         .setDbParallelizationForReads(null)
+        .setSplitWithColumnStatistics(false)
         .setDbParallelizationForSplitProcess(DEFAULT_PARALLELIZATION_FOR_SLIT_PROCESS)
         .setReadWithUniformPartitionsFeatureEnabled(true)
         .setTestOnBorrow(DEFAULT_TEST_ON_BORROW)
@@ -336,6 +346,8 @@ public abstract class JdbcIOWrapperConfig {
 
     public abstract Builder setDbParallelizationForReads(@Nullable Integer value);
 
+    public abstract Builder setSplitWithColumnStatistics(Boolean value);
+
     public abstract Builder setAdditionalOperationsOnRanges(
         @Nullable PTransform<PCollection<ImmutableList<Range>>, ?> value);
 
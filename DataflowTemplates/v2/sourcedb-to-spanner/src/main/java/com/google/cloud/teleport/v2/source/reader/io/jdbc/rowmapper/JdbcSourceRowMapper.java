@@ -24,7 +24,6 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.util.concurrent.TimeUnit;
-import org.apache.avro.Schema;
 import org.apache.beam.sdk.io.jdbc.JdbcIO;
 import org.apache.beam.sdk.metrics.Counter;
 import org.apache.beam.sdk.metrics.Metrics;
@@ -45,11 +44,17 @@ public final class JdbcSourceRowMapper implements JdbcIO.RowMapper<SourceRow> {
 
   @Nullable private final String shardId;
 
+  // Compiled lazily from the table schema, as it is not worth serializing.
+  @Nullable private transient JdbcSourceRowMappingPlan mappingPlan;
+
   private static final Logger logger = LoggerFactory.getLogger(JdbcSourceRowMapper.class);
 
   private final Counter mapperErrors =
       Metrics.counter(JdbcSourceRowMapper.class, MetricCounters.READER_MAPPING_ERRORS);
 
+  private final Counter rowsRead =
+      Metrics.counter(JdbcSourceRowMapper.class, MetricCounters.ROWS_READ);
+
   /**
    * Construct {@link JdbcSourceRowMapper}.
    *
@@ -69,8 +74,8 @@ public final class JdbcSourceRowMapper implements JdbcIO.RowMapper<SourceRow> {
 
   long getCurrentTimeMicros() {
     Instant now = Instant.now();
-    long nanos = TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
-    return TimeUnit.NANOSECONDS.toMicros(nanos);
+    return TimeUnit.SECONDS.toMicros(now.getEpochSecond())
+        + TimeUnit.NANOSECONDS.toMicros(now.getNano());
   }
 
   /**
@@ -82,39 +87,27 @@ public final class JdbcSourceRowMapper implements JdbcIO.RowMapper<SourceRow> {
   @Override
   public @UnknownKeyFor @Nullable @Initialized SourceRow mapRow(
       @UnknownKeyFor @NonNull @Initialized ResultSet resultSet) {
-    var builder =
-        SourceRow.builder(
-            sourceSchemaReference, sourceTableSchema, shardId, getCurrentTimeMicros());
-    this.sourceTableSchema
-        .sourceColumnNameToSourceColumnType()
-        .entrySet()
-        .forEach(
-            entry -> {
-              try {
-                Schema schema =
-                    this.sourceTableSchema.getAvroPayload().getField(entry.getKey()).schema();
-                // The Unified avro mapping produces a union of the mapped type with null type
-                // except for "Unsupported" case.
-                if (schema.isUnion()) {
-                  schema = schema.getTypes().get(1);
-                }
-                builder.setField(
-                    entry.getKey(),
-                    this.mappingsProvider
-                        .getMappings()
-                        .getOrDefault(
-                            entry.getValue().getName().toUpperCase(), JdbcValueMapper.UNSUPPORTED)
-                        .mapValue(resultSet, entry.getKey(), schema));
-              } catch (SQLException e) {
-                mapperErrors.inc();
-                logger.error(
-                    "Exception while mapping jdbc ResultSet to avro. Check for potential schema changes or unexpected inaccuracy in schema discovery logs. SourceSchemaReference: {},  SourceTableSchema: {}. Exception: {}",
-                    sourceSchemaReference,
-                    sourceTableSchema,
-                    e);
-                throw new ValueMappingException(e);
-              }
-            });
-    return builder.build();
+    if (mappingPlan == null) {
+      mappingPlan = JdbcSourceRowMappingPlan.compile(mappingsProvider, sourceTableSchema);
+    }
+    try {
+      SourceRow row =
+          SourceRow.create(
+              sourceSchemaReference,
+              sourceTableSchema.tableSchemaUUID(),
+              sourceTableSchema.tableName(),
+              shardId,
+              mappingPlan.map(resultSet, getCurrentTimeMicros()));
+      rowsRead.inc();
+      return row;
+    } catch (SQLException e) {
+      mapperErrors.inc();
+      logger.error(
+          "Exception while mapping jdbc ResultSet to avro. Check for potential schema changes or unexpected inaccuracy in schema discovery logs. SourceSchemaReference: {},  SourceTableSchema: {}. Exception: {}",
+          sourceSchemaReference,
+          sourceTableSchema,
+          e);
+      throw new ValueMappingException(e);
+    }
   }
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.source.reader.io.jdbc.rowmapper;
+
+import com.google.cloud.teleport.v2.source.reader.io.schema.SourceTableSchema;
+import com.google.cloud.teleport.v2.spanner.migrations.schema.SourceColumnType;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import org.apache.avro.AvroRuntimeException;
+import org.apache.avro.Schema;
+import org.apache.avro.Schema.Field;
+import org.apache.avro.Schema.Type;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+
+/**
+ * A plan to map rows of a {@link ResultSet} to the Avro record of a {@link SourceTableSchema},
+ * compiled once per table.
+ *
+ * <p>Everything that only depends on the table schema, like the {@link JdbcValueMapper} of each
+ * column, the position of its field in the payload and its non-null schema, is resolved when the
+ * plan is compiled, so that mapping a row only reads the columns and fills the records by position.
+ * The plan is immutable and may be shared between threads.
+ */
+final class JdbcSourceRowMappingPlan {
+
+  private final Schema recordSchema;
+
+  private final Schema payloadSchema;
+
+  private final int readTimePos;
+
+  private final int payloadPos;
+
+  private final ColumnMapping[] columns;
+
+  private JdbcSourceRowMappingPlan(
+      Schema recordSchema, Schema payloadSchema, ColumnMapping[] columns) {
+    this.recordSchema = recordSchema;
+    this.payloadSchema = payloadSchema;
+    this.readTimePos = recordSchema.getField(SourceTableSchema.READ_TIME_STAMP_FIELD_NAME).pos();
+    this.payloadPos = recordSchema.getField(SourceTableSchema.PAYLOAD_FIELD_NAME).pos();
+    this.columns = columns;
+  }
+
+  /**
+   * Compile the mapping plan of a table.
+   *
+   * @param mappingsProvider Mapping Provider based on the type of database.
+   * @param sourceTableSchema Schema of source table.
+   * @return plan.
+   */
+  static JdbcSourceRowMappingPlan compile(
+      JdbcValueMappingsProvider mappingsProvider, SourceTableSchema sourceTableSchema) {
+    Schema payloadSchema = sourceTableSchema.getAvroPayload();
+    ColumnMapping[] columns =
+        new ColumnMapping[sourceTableSchema.sourceColumnNameToSourceColumnType().size()];
+    int i = 0;
+    for (Map.Entry<String, SourceColumnType> entry :
+        sourceTableSchema.sourceColumnNameToSourceColumnType().entrySet()) {
+      Field field = payloadSchema.getField(entry.getKey());
+      Schema schema = field.schema();
+      // The Unified avro mapping produces a union of the mapped type with null type
+      // except for "Unsupported" case.
+      if (schema.isUnion()) {
+        schema = schema.getTypes().get(1);
+      }
+      columns[i++] =
+          new ColumnMapping(
+              entry.getKey(),
+              field,
+              schema,
+              mappingsProvider
+                  .getMappings()
+                  .getOrDefault(
+                      entry.getValue().getName().toUpperCase(), JdbcValueMapper.UNSUPPORTED));
+    }
+    return new JdbcSourceRowMappingPlan(sourceTableSchema.avroSchema(), payloadSchema, columns);
+  }
+
+  /**
+   * Map the current row of the {@link ResultSet} to a record of {@link
+   * SourceTableSchema#avroSchema()}.
+   *
+   * @param resultSet the resultSet for a read record.
+   * @param readTimeMicros read time.
+   * @return record.
+   * @throws SQLException - Exception while extracting value from {@link ResultSet}. Typically,
+   *     indicates change in source schema during migration.
+   */
+  GenericRecord map(ResultSet resultSet, long readTimeMicros) throws SQLException {
+    GenericData.Record payload = new GenericData.Record(payloadSchema);
+    for (ColumnMapping column : columns) {
+      Object value = column.mapper.mapValue(resultSet, column.name, column.schema);
+      if (value == null && !column.nullable) {
+        throw new AvroRuntimeException("Field " + column.field + " does not accept null values");
+      }
+      payload.put(column.field.pos(), value);
+    }
+    GenericData.Record record = new GenericData.Record(recordSchema);
+    record.put(readTimePos, readTimeMicros);
+    record.put(payloadPos, payload);
+    return record;
+  }
+
+  /** Pre-resolved mapping of a single column. */
+  private static final class ColumnMapping {
+
+    private final String name;
+
+    private final Field field;
+
+    private final Schema schema;
+
+    private final JdbcValueMapper<?> mapper;
+
+    private final boolean nullable;
+
+    ColumnMapping(String name, Field field, Schema schema, JdbcValueMapper<?> mapper) {
+      this.name = name;
+      this.field = field;
+      this.schema = schema;
+      this.mapper = mapper;
+      this.nullable = acceptsNull(field) || field.hasDefaultValue();
+    }
+
+    private static boolean acceptsNull(Field field) {
+      Schema schema = field.schema();
+      if (schema.getType() == Type.NULL) {
+        return true;
+      }
+      return schema.isUnion()
+          && schema.getTypes().stream().anyMatch(type -> type.getType() == Type.NULL);
+    }
+  }
+}
@@ -19,6 +19,8 @@ import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.string
 import com.google.common.collect.ImmutableList;
 import java.io.Serializable;
 import java.sql.SQLException;
+import javax.annotation.Nullable;
+import org.apache.commons.lang3.tuple.Pair;
 
 /** Helper Interface to help uniform splitter adapt to the source database. */
 public interface UniformSplitterDBAdapter extends Serializable {
@@ -76,4 +78,29 @@ public interface UniformSplitterDBAdapter extends Serializable {
    * @return Query to get the order of collation.
    */
   String getCollationsOrderQuery(String dbCharset, String dbCollation, boolean padSpace);
+
+  /**
+   * Get query for the prepared statement that returns the histogram the database keeps for a column
+   * in its optimizer statistics. The statement takes the table name and the column name as
+   * parameters and returns at most one row, with the histogram as text in the first column.
+   *
+   * @return Query Statement, or null if the dialect does not expose column histograms.
+   */
+  @Nullable
+  default String getColumnHistogramQuery() {
+    return null;
+  }
+
+  /**
+   * Parse a histogram returned by {@link #getColumnHistogramQuery()}.
+   *
+   * @param histogram text of the histogram.
+   * @return points of the cumulative distribution of the column as pairs of a value (as text) and
+   *     the approximate fraction of the rows with a value smaller or equal to it, in ascending
+   *     order of value. The first point marks the smallest value, with a fraction of 0 if the rows
+   *     equal to it are not counted separately. Empty if the histogram can not be used.
+   */
+  default ImmutableList<Pair<String, Double>> parseColumnHistogram(String histogram) {
+    return ImmutableList.of();
+  }
 }
@@ -19,7 +19,10 @@ import com.google.auto.value.AutoValue;
 import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.stringmapper.CollationReference;
 import com.google.common.base.Objects;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
 import java.io.Serializable;
+import java.util.List;
 import javax.annotation.Nullable;
 import org.apache.beam.sdk.transforms.DoFn.ProcessContext;
 import org.apache.commons.lang3.tuple.Pair;
@@ -163,6 +166,32 @@ public abstract class Boundary<T extends Serializable>
         toBuilder().setStart(splitPoint).setSplitIndex(splitIndex() + "-2").build());
   }
 
+  /**
+   * Split a given boundary into consecutive boundaries at the given points. The split indexes of
+   * the resulting boundaries keep them sorted in the order of the split points.
+   *
+   * @param splitPoints points to split at, in ascending order, after {@link Boundary#start()} and
+   *     not after {@link Boundary#end()}.
+   * @return {@code splitPoints.size() + 1} boundaries.
+   */
+  public ImmutableList<Boundary<T>> splitAt(List<T> splitPoints) {
+    int indexWidth = String.valueOf(splitPoints.size()).length();
+    ImmutableList.Builder<Boundary<T>> boundaries = ImmutableList.builder();
+    T start = start();
+    for (int i = 0; i <= splitPoints.size(); i++) {
+      T end = (i < splitPoints.size()) ? splitPoints.get(i) : end();
+      boundaries.add(
+          toBuilder()
+              .setStart(start)
+              .setEnd(end)
+              .setSplitIndex(
+                  splitIndex() + "-" + Strings.padStart(String.valueOf(i), indexWidth, '0'))
+              .build());
+      start = end;
+    }
+    return boundaries.build();
+  }
+
   /**
    * Build a {@link Range} {@link Range#childRange()} from this {@link Boundary}.
    *
@@ -18,7 +18,9 @@ package com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range
 import com.google.auto.value.AutoValue;
 import com.google.common.base.Objects;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 import java.io.Serializable;
+import java.util.List;
 import javax.annotation.Nullable;
 import org.apache.beam.sdk.transforms.DoFn.ProcessContext;
 import org.apache.commons.lang3.tuple.Pair;
@@ -234,6 +236,36 @@ public abstract class Range implements Serializable, Comparable<Range> {
             .build());
   }
 
+  /**
+   * Split a given range without child ranges into consecutive ranges at the given points. Unlike
+   * {@link Range#split(ProcessContext)}, this lets the caller choose the split points, for example
+   * from statistics of the column.
+   *
+   * @param splitPoints points to split at, of the class of the column, in ascending order, after
+   *     {@link Range#start()} and before {@link Range#end()}, or at it if the range {@link
+   *     Range#isLast() is last}.
+   * @return {@code splitPoints.size() + 1} uncounted ranges.
+   * @throws IllegalStateException if the range has a child range. This indicates a programming
+   *     error and should not be seen in production.
+   */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  public ImmutableList<Range> splitAt(List<? extends Serializable> splitPoints) {
+    Preconditions.checkState(
+        !hasChildRange(), "Only ranges without a childRange can be split at points: " + this);
+    ImmutableList<Boundary<?>> boundaries = ((Boundary) boundary()).splitAt(splitPoints);
+    ImmutableList.Builder<Range> ranges = ImmutableList.builder();
+    for (int i = 0; i < boundaries.size(); i++) {
+      ranges.add(
+          this.toBuilder()
+              .setBoundary(boundaries.get(i))
+              .setCount(INDETERMINATE_COUNT)
+              .setIsFirst(isFirst() && i == 0)
+              .setIsLast(isLast() && i == boundaries.size() - 1)
+              .build());
+    }
+    return ranges.build();
+  }
+
   /**
    * Checks if two ranges can be merged with each other.
    *
@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.transforms;
+
+import com.google.cloud.teleport.v2.constants.MetricCounters;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.Range;
+import java.io.Serializable;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.transforms.DoFn;
+
+/** Count ranges whose rows have all been read. */
+public class CountRangesDoneDoFn extends DoFn<Range, Void> implements Serializable {
+
+  private final Counter rangesDone =
+      Metrics.counter(CountRangesDoneDoFn.class, MetricCounters.RANGES_DONE);
+
+  @ProcessElement
+  public void processElement(@Element Range input) {
+    rangesDone.inc();
+  }
+}
@@ -58,15 +58,30 @@ public abstract class InitialSplitRangeDoFn extends DoFn<Range, ImmutableList<Ra
     logger.info(
         "RWUPT - Began split process for table {} with initial range as {}", tableName(), input);
 
+    out.output(splitUniformly(input, splitHeight(), tableName(), c));
+  }
+
+  /**
+   * Splits a range into {@code 2^splitHeight} ranges of equal width, as far as the range can be
+   * split.
+   *
+   * @param input range to split.
+   * @param splitHeight number of iterations of splits.
+   * @param tableName name of the table, for logging.
+   * @param c process context.
+   * @return sorted list of split ranges.
+   */
+  static ImmutableList<Range> splitUniformly(
+      Range input, long splitHeight, String tableName, DoFn.ProcessContext c) {
     ArrayList<Range> ranges = new ArrayList<Range>();
     ranges.add(input.toBuilder().build());
     ArrayList<Range> splitRanges = new ArrayList<>();
-    for (long i = 0; i < splitHeight(); i++) {
+    for (long i = 0; i < splitHeight; i++) {
       logger.info(
           "RWUPT - Creating initial split for table {}. Iteration {} of {}",
-          tableName(),
+          tableName,
           i,
-          splitHeight());
+          splitHeight);
       for (Range range : ranges) {
         if (range.isSplittable(c)) {
           Pair<Range, Range> splitPair = range.split(c);
@@ -82,10 +97,10 @@ public abstract class InitialSplitRangeDoFn extends DoFn<Range, ImmutableList<Ra
     Collections.sort(ranges);
     logger.info(
         "RWUPT - Completed initial split for table {} with initial range as {}, and {} split ranges",
-        tableName(),
+        tableName,
         input,
         ranges.size());
-    out.output(ImmutableList.copyOf(ranges));
+    return ImmutableList.copyOf(ranges);
   }
 
   public static Builder builder() {
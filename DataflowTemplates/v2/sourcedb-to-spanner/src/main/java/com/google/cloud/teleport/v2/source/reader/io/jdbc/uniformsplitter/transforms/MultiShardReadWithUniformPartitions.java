@@ -0,0 +1,228 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.transforms;
+
+import com.google.auto.value.AutoValue;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.UniformSplitterDBAdapter;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.BoundaryTypeMapper;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.PartitionColumn;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.Range;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.stringmapper.BoundaryTypeMapperImpl;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.stringmapper.CollationMapper;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.stringmapper.CollationReference;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import java.io.Serializable;
+import java.util.Map;
+import javax.annotation.Nullable;
+import javax.sql.DataSource;
+import org.apache.beam.sdk.coders.Coder;
+import org.apache.beam.sdk.coders.KvCoder;
+import org.apache.beam.sdk.coders.SerializableCoder;
+import org.apache.beam.sdk.coders.StringUtf8Coder;
+import org.apache.beam.sdk.io.jdbc.JdbcIO;
+import org.apache.beam.sdk.transforms.Create;
+import org.apache.beam.sdk.transforms.PTransform;
+import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.Reshuffle;
+import org.apache.beam.sdk.transforms.SerializableFunction;
+import org.apache.beam.sdk.transforms.Wait.OnSignal;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PBegin;
+import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.PCollectionView;
+
+/**
+ * Reads a table from many shards that share its schema, with the shards as elements of the
+ * pipeline instead of separate branches of the job graph.
+ *
+ * <p>{@link ReadWithUniformPartitions} reads one table of one database, so a migration of many
+ * shards needs a copy of it per shard and table. Here, the key range of every shard is found and
+ * split at run time by {@link ShardRangeSplitDoFn}, and the ranges of all the shards are read by
+ * {@link ShardRangeReadDoFn}, which keeps a connection pool per shard. The size of the job graph
+ * therefore does not depend on the number of shards.
+ *
+ * <p>Ranges are split uniformly on the first partition column, without the count based split
+ * stages of {@link ReadWithUniformPartitions}. The collation mappers for string partition columns
+ * are built from the first shard, as all the shards are expected to run on the same kind of
+ * database.
+ */
+@AutoValue
+public abstract class MultiShardReadWithUniformPartitions<T>
+    extends PTransform<PBegin, PCollection<T>> {
+
+  /** Shards to read, by shard id. Required parameter. */
+  abstract ImmutableMap<String, ShardSource<T>> shards();
+
+  /**
+   * Implementations of {@link UniformSplitterDBAdapter} to get queries as per the dialect of the
+   * database. Required parameter.
+   */
+  abstract UniformSplitterDBAdapter dbAdapter();
+
+  /** Name of the table. Required parameter. */
+  abstract String tableName();
+
+  /** Partition columns of the table. Ranges are split on the first one. Required parameter. */
+  abstract ImmutableList<PartitionColumn> partitionColumns();
+
+  /**
+   * Number of ranges each shard is split into, rounded up to the next power of 2. Required
+   * parameter.
+   */
+  abstract Long partitionsPerShard();
+
+  /**
+   * If not null, limits the maximum number of parallel reads queued across all the shards. Defaults
+   * to null.
+   */
+  @Nullable
+  abstract Integer dbParallelizationForReads();
+
+  /**
+   * Wait for completion of dependencies as per the requirements of the pipeline. This wait is
+   * applied before the first query is made to any shard.
+   */
+  @Nullable
+  abstract OnSignal<?> waitOn();
+
+  /**
+   * An optional coder for the rows read. If not set, the coder is inferred from the registry as
+   * usual. Defaults to null.
+   */
+  @Nullable
+  abstract Coder<T> rowCoder();
+
+  @Override
+  public PCollection<T> expand(PBegin input) {
+    ShardSource<T> firstShard = shards().values().iterator().next();
+    PCollectionView<Map<CollationReference, CollationMapper>> collationMapperView =
+        input.apply(
+            CollationMapperTransform.builder()
+                .setCollationReferences(
+                    partitionColumns().stream()
+                        .filter(c -> c.stringCollation() != null)
+                        .map(PartitionColumn::stringCollation)
+                        .collect(ImmutableList.toImmutableList()))
+                .setDbAdapter(dbAdapter())
+                .setDataSourceProviderFn(firstShard.dataSourceProviderFn())
+                .build());
+    BoundaryTypeMapper typeMapper =
+        BoundaryTypeMapperImpl.builder().setCollationMapperView(collationMapperView).build();
+
+    PCollection<String> shardIds = input.apply("CreateShardIds", Create.of(shards().keySet()));
+    if (waitOn() != null) {
+      shardIds = shardIds.apply(waitOn());
+    }
+    PCollection<KV<String, Range>> ranges =
+        shardIds
+            .apply(
+                "ShardRangeSplit",
+                ParDo.of(
+                        new ShardRangeSplitDoFn(
+                            ImmutableMap.copyOf(
+                                Maps.transformValues(
+                                    shards(), ShardSource::dataSourceProviderFn)),
+                            dbAdapter(),
+                            tableName(),
+                            partitionColumns(),
+                            typeMapper,
+                            ReadWithUniformPartitions.logToBaseTwo(partitionsPerShard())))
+                    .withSideInputs(collationMapperView))
+            .setCoder(KvCoder.of(StringUtf8Coder.of(), SerializableCoder.of(Range.class)));
+
+    ImmutableList<String> colNames =
+        partitionColumns().stream()
+            .map(PartitionColumn::columnName)
+            .collect(ImmutableList.toImmutableList());
+    PCollection<T> rows =
+        ranges
+            .apply(
+                "ReshuffleShardRanges",
+                Reshuffle.<KV<String, Range>>viaRandomKey()
+                    .withNumBuckets(dbParallelizationForReads()))
+            .apply(
+                "ShardRangeRead",
+                ParDo.of(
+                    new ShardRangeReadDoFn<>(
+                        shards(),
+                        dbAdapter().getReadQuery(tableName(), colNames),
+                        colNames.size())));
+    if (rowCoder() != null) {
+      rows.setCoder(rowCoder());
+    }
+    return rows;
+  }
+
+  public static <T> Builder<T> builder() {
+    return new AutoValue_MultiShardReadWithUniformPartitions.Builder<T>()
+        .setDbParallelizationForReads(null)
+        .setWaitOn(null)
+        .setRowCoder(null);
+  }
+
+  /** Connection and row mapping of a single shard. */
+  @AutoValue
+  public abstract static class ShardSource<T> implements Serializable {
+
+    /** Provider for the {@link DataSource} of the shard. */
+    public abstract SerializableFunction<Void, DataSource> dataSourceProviderFn();
+
+    /** Row mapper for the rows of the shard. */
+    public abstract JdbcIO.RowMapper<T> rowMapper();
+
+    public static <T> ShardSource<T> create(
+        SerializableFunction<Void, DataSource> dataSourceProviderFn,
+        JdbcIO.RowMapper<T> rowMapper) {
+      return new AutoValue_MultiShardReadWithUniformPartitions_ShardSource<>(
+          dataSourceProviderFn, rowMapper);
+    }
+  }
+
+  @AutoValue.Builder
+  public abstract static class Builder<T> {
+
+    public abstract Builder<T> setShards(ImmutableMap<String, ShardSource<T>> value);
+
+    public abstract Builder<T> setDbAdapter(UniformSplitterDBAdapter value);
+
+    public abstract Builder<T> setTableName(String value);
+
+    public abstract Builder<T> setPartitionColumns(ImmutableList<PartitionColumn> value);
+
+    public abstract Builder<T> setPartitionsPerShard(Long value);
+
+    public abstract Builder<T> setDbParallelizationForReads(@Nullable Integer value);
+
+    public abstract Builder<T> setWaitOn(@Nullable OnSignal<?> value);
+
+    public abstract Builder<T> setRowCoder(@Nullable Coder<T> value);
+
+    abstract MultiShardReadWithUniformPartitions<T> autoBuild();
+
+    public MultiShardReadWithUniformPartitions<T> build() {
+      MultiShardReadWithUniformPartitions<T> read = autoBuild();
+      Preconditions.checkState(!read.shards().isEmpty(), "At least one shard is required.");
+      Preconditions.checkState(
+          !read.partitionColumns().isEmpty(), "At least one partition column is required.");
+      Preconditions.checkState(
+          read.partitionsPerShard() > 0, "partitionsPerShard must be greater than 0.");
+      return read;
+    }
+  }
+}
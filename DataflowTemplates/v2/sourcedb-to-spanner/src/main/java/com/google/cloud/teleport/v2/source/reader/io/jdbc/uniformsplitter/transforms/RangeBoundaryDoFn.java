@@ -91,16 +91,8 @@ final class RangeBoundaryDoFn extends DoFn<ColumnForBoundaryQuery, Range> implem
         dbAdapter.getBoundaryQuery(tableName, partitionColumns, input.columnName());
 
     try (Connection conn = acquireConnection()) {
-      PreparedStatement stmt =
-          conn.prepareStatement(
-              boundaryQuery, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
-      new ColumnForBoundaryQueryPreparedStatementSetter(partitionColumns)
-          .setParameters(input, stmt);
-      ResultSet rs = stmt.executeQuery();
       Range output =
-          BoundaryExtractorFactory.create(input.columnClass())
-              .getBoundary(input.partitionColumn(), rs, boundaryTypeMapper)
-              .toRange(input.parentRange(), c);
+          queryBoundary(conn, boundaryQuery, partitionColumns, input, boundaryTypeMapper, c);
       logger.debug(
           "Got Boundary, Input = {}, Range = {}, Query = {}, DataSource = {}",
           input,
@@ -131,4 +123,34 @@ final class RangeBoundaryDoFn extends DoFn<ColumnForBoundaryQuery, Range> implem
       throw new RuntimeException(e);
     }
   }
+
+  /**
+   * Runs the boundary query for a column on the given connection.
+   *
+   * @param conn connection to the database.
+   * @param boundaryQuery boundary query as per the dialect of the database.
+   * @param partitionColumns partition columns of the table.
+   * @param input details for the column and parent range for which a boundary is requested.
+   * @param boundaryTypeMapper type mapper to help map types like {@link String String.Class}.
+   * @param c process context.
+   * @return new Range with column boundary.
+   * @throws Exception coming from jdbc or the statement preparator.
+   */
+  static Range queryBoundary(
+      Connection conn,
+      String boundaryQuery,
+      ImmutableList<String> partitionColumns,
+      ColumnForBoundaryQuery input,
+      @Nullable BoundaryTypeMapper boundaryTypeMapper,
+      DoFn.ProcessContext c)
+      throws Exception {
+    PreparedStatement stmt =
+        conn.prepareStatement(
+            boundaryQuery, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    new ColumnForBoundaryQueryPreparedStatementSetter(partitionColumns).setParameters(input, stmt);
+    ResultSet rs = stmt.executeQuery();
+    return BoundaryExtractorFactory.create(input.columnClass())
+        .getBoundary(input.partitionColumn(), rs, boundaryTypeMapper)
+        .toRange(input.parentRange(), c);
+  }
 }
@@ -32,6 +32,7 @@ import com.google.common.collect.ImmutableList;
 import java.util.Map;
 import javax.annotation.Nullable;
 import javax.sql.DataSource;
+import org.apache.beam.sdk.coders.Coder;
 import org.apache.beam.sdk.io.jdbc.JdbcIO;
 import org.apache.beam.sdk.io.jdbc.JdbcIO.PreparedStatementSetter;
 import org.apache.beam.sdk.transforms.Create;
@@ -125,6 +126,16 @@ public abstract class ReadWithUniformPartitions<T> extends PTransform<PBegin, PC
    */
   abstract long countQueryTimeoutMillis();
 
+  /**
+   * If true, the initial split of ranges is derived from the histogram the database keeps for the
+   * first partition column, with counts estimated from the histogram, so that the ranges follow the
+   * distribution of the keys without count queries. Falls back to the uniform initial split if
+   * there is no usable histogram. Defaults to false.
+   *
+   * @see StatisticsSplitRangeDoFn
+   */
+  abstract Boolean splitWithColumnStatistics();
+
   /**
    * Hint for number of initial split of ranges. Defaults to {@link
    * ReadWithUniformPartitions#maxPartitionsHint()}.
@@ -177,6 +188,13 @@ public abstract class ReadWithUniformPartitions<T> extends PTransform<PBegin, PC
   @Nullable
   abstract Range initialRange();
 
+  /**
+   * An optional coder for the rows read. If not set, the coder is inferred from the registry as
+   * usual. Defaults to null.
+   */
+  @Nullable
+  abstract Coder<T> rowCoder();
+
   @Override
   public PCollection<T> expand(PBegin input) {
     // TODO(vardhanvthigle): Move this side-input generation out to DB level.
@@ -215,18 +233,28 @@ public abstract class ReadWithUniformPartitions<T> extends PTransform<PBegin, PC
             .apply(
                 ParDo.of(new UnflattenRangesDoFn())
                     .withSideInputs(typeMapper.getCollationMapperView()));
-    return rangesToRead
-        .apply(
-            getTransformName("ReshuffleFinal", null),
-            Reshuffle.<Range>viaRandomKey().withNumBuckets(dbParallelizationForReads()))
-        .apply(
-            getTransformName("RangeRead", null),
-            JdbcIO.<Range, T>readAll()
-                .withOutputParallelization(false)
-                .withQuery(dbAdapter().getReadQuery(tableName(), colNames))
-                .withParameterSetter(rangePrepareator)
-                .withDataSourceProviderFn(dataSourceProviderFn())
-                .withRowMapper(rowMapper()));
+    PCollection<T> rows =
+        rangesToRead
+            .apply(
+                getTransformName("ReshuffleFinal", null),
+                Reshuffle.<Range>viaRandomKey().withNumBuckets(dbParallelizationForReads()))
+            .apply(
+                getTransformName("RangeRead", null),
+                JdbcIO.<Range, T>readAll()
+                    .withOutputParallelization(false)
+                    .withQuery(dbAdapter().getReadQuery(tableName(), colNames))
+                    .withParameterSetter(rangePrepareator)
+                    .withDataSourceProviderFn(dataSourceProviderFn())
+                    .withRowMapper(rowMapper()));
+    if (rowCoder() != null) {
+      rows.setCoder(rowCoder());
+    }
+    // JdbcIO does not tell when it is done with a range, so the ranges are counted once the rows
+    // of their window have been read.
+    rangesToRead
+        .apply(getTransformName("WaitForRangeRead", null), Wait.on(rows))
+        .apply(getTransformName("CountRangesDone", null), ParDo.of(new CountRangesDoneDoFn()));
+    return rows;
   }
 
   public static <T> Builder<T> builder() {
@@ -234,6 +262,8 @@ public abstract class ReadWithUniformPartitions<T> extends PTransform<PBegin, PC
         .setCountQueryTimeoutMillis(SPLITTER_DEFAULT_COUNT_QUERY_TIMEOUT_MILLIS)
         .setDbParallelizationForSplitProcess(null)
         .setDbParallelizationForReads(null)
+        .setRowCoder(null)
+        .setSplitWithColumnStatistics(false)
         .setAutoAdjustMaxPartitions(true);
   }
 
@@ -289,6 +319,18 @@ public abstract class ReadWithUniformPartitions<T> extends PTransform<PBegin, PC
       initialRange = wait(input.apply(Create.of(ImmutableList.of(initialRange()))));
     }
 
+    if (splitWithColumnStatistics()) {
+      return initialRange.apply(
+          getTransformName("StatisticsRangeSplit", null),
+          ParDo.of(
+                  new StatisticsSplitRangeDoFn(
+                      dataSourceProviderFn(),
+                      dbAdapter(),
+                      tableName(),
+                      approxTotalRowCount(),
+                      splitHeight))
+              .withSideInputs(typeMapper.getCollationMapperView()));
+    }
     return initialRange.apply(
         getTransformName("InitialRangeSplit", null),
         ParDo.of(
@@ -441,6 +483,8 @@ public abstract class ReadWithUniformPartitions<T> extends PTransform<PBegin, PC
 
     public abstract Builder<T> setInitialSplitHint(Long value);
 
+    public abstract Builder<T> setSplitWithColumnStatistics(Boolean value);
+
     abstract Optional<Long> initialSplitHint();
 
     public abstract Builder<T> setSplitStageCountHint(Long value);
@@ -458,6 +502,8 @@ public abstract class ReadWithUniformPartitions<T> extends PTransform<PBegin, PC
 
     public abstract Builder<T> setInitialRange(Range value);
 
+    public abstract Builder<T> setRowCoder(@Nullable Coder<T> value);
+
     @Nullable
     abstract Range initialRange();
 
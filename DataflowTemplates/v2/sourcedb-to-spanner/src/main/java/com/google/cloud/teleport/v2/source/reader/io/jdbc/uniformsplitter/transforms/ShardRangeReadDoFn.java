@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.transforms;
+
+import static org.apache.beam.sdk.util.Preconditions.checkStateNotNull;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.google.cloud.teleport.v2.constants.MetricCounters;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.Range;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.RangePreparedStatementSetter;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.transforms.MultiShardReadWithUniformPartitions.ShardSource;
+import com.google.common.collect.ImmutableMap;
+import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+import javax.sql.DataSource;
+import org.apache.beam.sdk.io.jdbc.JdbcIO;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.TypeDescriptor;
+import org.apache.beam.sdk.values.TypeDescriptors;
+import org.apache.beam.sdk.values.TypeDescriptors.TypeVariableExtractor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * DoFn to read the rows of a range of the shard it is keyed by. The data source of every shard is
+ * created once per DoFn instance, so each shard gets its own connection pool.
+ */
+final class ShardRangeReadDoFn<T> extends DoFn<KV<String, Range>, T> implements Serializable {
+
+  private static final Logger logger = LoggerFactory.getLogger(ShardRangeReadDoFn.class);
+
+  /** Same as the default fetch size of {@link org.apache.beam.sdk.io.jdbc.JdbcIO#readAll()}. */
+  private static final int FETCH_SIZE = 50_000;
+
+  private final ImmutableMap<String, ShardSource<T>> shards;
+
+  private final String readQuery;
+
+  private final RangePreparedStatementSetter rangePreparedStatementSetter;
+
+  private final Counter rangesDone =
+      Metrics.counter(ShardRangeReadDoFn.class, MetricCounters.RANGES_DONE);
+
+  @JsonIgnore private transient @Nullable Map<String, DataSource> dataSources;
+
+  /**
+   * @param shards shards to read from, by shard id.
+   * @param readQuery query to read a range, as per the dialect of the database.
+   * @param numColumns number of partition columns of the table.
+   */
+  ShardRangeReadDoFn(
+      ImmutableMap<String, ShardSource<T>> shards, String readQuery, long numColumns) {
+    this.shards = shards;
+    this.readQuery = readQuery;
+    this.rangePreparedStatementSetter = new RangePreparedStatementSetter(numColumns);
+    this.dataSources = null;
+  }
+
+  /**
+   * Infers the type of the rows from the row mappers, as {@link JdbcIO#readAll()} does, so that a
+   * coder can be inferred when none is set explicitly.
+   */
+  @Override
+  public TypeDescriptor<T> getOutputTypeDescriptor() {
+    return TypeDescriptors.extractFromTypeParameters(
+        shards.values().iterator().next().rowMapper(),
+        JdbcIO.RowMapper.class,
+        new TypeVariableExtractor<JdbcIO.RowMapper<T>, T>() {});
+  }
+
+  @Setup
+  public void setup() {
+    dataSources = new HashMap<>();
+  }
+
+  private DataSource getDataSource(String shardId) {
+    return checkStateNotNull(dataSources)
+        .computeIfAbsent(shardId, id -> shards.get(id).dataSourceProviderFn().apply(null));
+  }
+
+  /**
+   * @param input range to read, keyed by the id of its shard.
+   * @param out output receiver for the rows read.
+   * @throws Exception coming from jdbc or the row mapper. Since this is in the run time, beam will
+   *     auto retry the exception.
+   */
+  @ProcessElement
+  public void processElement(@Element KV<String, Range> input, OutputReceiver<T> out)
+      throws Exception {
+    String shardId = input.getKey();
+    ShardSource<T> shard = checkStateNotNull(shards.get(shardId), "Unknown shard " + shardId);
+    try (Connection conn = getDataSource(shardId).getConnection()) {
+      // As in JdbcIO, PostgreSQL only streams the result set with auto commit disabled.
+      conn.setAutoCommit(false);
+      try (PreparedStatement stmt =
+          conn.prepareStatement(
+              readQuery, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+        stmt.setFetchSize(FETCH_SIZE);
+        rangePreparedStatementSetter.setParameters(input.getValue(), stmt);
+        try (ResultSet rs = stmt.executeQuery()) {
+          while (rs.next()) {
+            out.output(shard.rowMapper().mapRow(rs));
+          }
+        }
+      }
+      rangesDone.inc();
+    } catch (SQLException e) {
+      logger.warn(
+          "SQL Exception = {} while reading range = {}, shard = {}, Query = {}. This will be retried by Beam Runner.",
+          e,
+          input.getValue(),
+          shardId,
+          readQuery);
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.transforms;
+
+import com.google.cloud.teleport.v2.constants.MetricCounters;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.UniformSplitterDBAdapter;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.columnboundary.ColumnForBoundaryQuery;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.BoundaryTypeMapper;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.PartitionColumn;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.Range;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.annotation.Nullable;
+import javax.sql.DataSource;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.SerializableFunction;
+import org.apache.beam.sdk.values.KV;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * DoFn to find the boundary (min, max) of the first partition column of a table in a shard, and
+ * split it uniformly into ranges keyed by the shard id.
+ */
+final class ShardRangeSplitDoFn extends DoFn<String, KV<String, Range>> implements Serializable {
+
+  private static final Logger logger = LoggerFactory.getLogger(ShardRangeSplitDoFn.class);
+
+  private final ImmutableMap<String, SerializableFunction<Void, DataSource>> dataSourceProviderFns;
+
+  private final UniformSplitterDBAdapter dbAdapter;
+
+  private final String tableName;
+
+  private final ImmutableList<PartitionColumn> partitionColumns;
+
+  @Nullable private final BoundaryTypeMapper boundaryTypeMapper;
+
+  private final long splitHeight;
+
+  private final Counter rangesTotal =
+      Metrics.counter(ShardRangeSplitDoFn.class, MetricCounters.RANGES_TOTAL);
+
+  /**
+   * @param dataSourceProviderFns providers for the data sources, by shard id.
+   * @param dbAdapter adapter for the dialect of the database.
+   * @param tableName name of the table.
+   * @param partitionColumns partition columns of the table.
+   * @param boundaryTypeMapper type mapper to help map types like {@link String String.Class}.
+   * @param splitHeight every shard is split into {@code 2^splitHeight} ranges, as far as its range
+   *     can be split.
+   */
+  ShardRangeSplitDoFn(
+      ImmutableMap<String, SerializableFunction<Void, DataSource>> dataSourceProviderFns,
+      UniformSplitterDBAdapter dbAdapter,
+      String tableName,
+      ImmutableList<PartitionColumn> partitionColumns,
+      @Nullable BoundaryTypeMapper boundaryTypeMapper,
+      long splitHeight) {
+    this.dataSourceProviderFns = dataSourceProviderFns;
+    this.dbAdapter = dbAdapter;
+    this.tableName = tableName;
+    this.partitionColumns = partitionColumns;
+    this.boundaryTypeMapper = boundaryTypeMapper;
+    this.splitHeight = splitHeight;
+  }
+
+  /**
+   * @param shardId id of the shard to split.
+   * @param out output receiver for the split ranges of the shard.
+   * @param c process context.
+   * @throws SQLException - since this is in the run time, beam will auto retry the exception.
+   */
+  @ProcessElement
+  public void processElement(
+      @Element String shardId, OutputReceiver<KV<String, Range>> out, ProcessContext c)
+      throws SQLException {
+    ImmutableList<String> colNames =
+        partitionColumns.stream()
+            .map(PartitionColumn::columnName)
+            .collect(ImmutableList.toImmutableList());
+    ColumnForBoundaryQuery column =
+        ColumnForBoundaryQuery.builder()
+            .setPartitionColumn(partitionColumns.get(0))
+            .setParentRange(null)
+            .build();
+    String boundaryQuery = dbAdapter.getBoundaryQuery(tableName, colNames, column.columnName());
+
+    Range boundary;
+    try (Connection conn = dataSourceProviderFns.get(shardId).apply(null).getConnection()) {
+      boundary =
+          RangeBoundaryDoFn.queryBoundary(
+              conn, boundaryQuery, colNames, column, boundaryTypeMapper, c);
+    } catch (SQLException e) {
+      logger.warn(
+          "SQL Exception = {} while getting boundary of table = {}, shard = {}, Query = {}. This will be retried by Beam Runner.",
+          e,
+          tableName,
+          shardId,
+          boundaryQuery);
+      throw e;
+    } catch (Exception e) {
+      logger.error(
+          "Exception = {}, table = {}, shard = {}, Query = {}",
+          e,
+          tableName,
+          shardId,
+          boundaryQuery);
+      throw new RuntimeException(e);
+    }
+
+    ImmutableList<Range> ranges =
+        InitialSplitRangeDoFn.splitUniformly(boundary, splitHeight, tableName, c);
+    logger.info(
+        "RWUPT - Split table {} of shard {} with range {} into {} ranges",
+        tableName,
+        shardId,
+        boundary,
+        ranges.size());
+    rangesTotal.inc(ranges.size());
+    ranges.forEach(range -> out.output(KV.of(shardId, range)));
+  }
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.transforms;
+
+import static org.apache.beam.sdk.util.Preconditions.checkStateNotNull;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.UniformSplitterDBAdapter;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.Range;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+import javax.sql.DataSource;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.SerializableFunction;
+import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Generates initial splits for the first partition column from the histogram the database keeps for
+ * the column in its optimizer statistics, instead of assuming uniform density.
+ *
+ * <p>Every histogram bucket within the range is split into a number of ranges proportional to its
+ * share of the rows, and the ranges get the counts estimated from the histogram, so that no count
+ * query is needed. Parts of the range not covered by the histogram, like keys inserted after the
+ * statistics were collected, are split as if they were as dense as the keys of the histogram, and
+ * are left uncounted.
+ *
+ * <p>Falls back to the uniform split of {@link InitialSplitRangeDoFn} if the database has no
+ * histogram for the column, or if the column is not an integer column.
+ */
+final class StatisticsSplitRangeDoFn extends DoFn<Range, ImmutableList<Range>>
+    implements Serializable {
+
+  private static final Logger logger = LoggerFactory.getLogger(StatisticsSplitRangeDoFn.class);
+
+  private static final ImmutableSet<Class<?>> INTEGER_CLASSES =
+      ImmutableSet.of(Integer.class, Long.class, BigInteger.class);
+
+  private final SerializableFunction<Void, DataSource> dataSourceProviderFn;
+
+  private final UniformSplitterDBAdapter dbAdapter;
+
+  private final String tableName;
+
+  private final long approxTotalRowCount;
+
+  private final long splitHeight;
+
+  @JsonIgnore private transient @Nullable DataSource dataSource;
+
+  /**
+   * @param dataSourceProviderFn provider for the data source.
+   * @param dbAdapter adapter for the dialect of the database.
+   * @param tableName name of the table.
+   * @param approxTotalRowCount approximate count of rows of the table.
+   * @param splitHeight the range is split into about {@code 2^splitHeight} ranges, as for {@link
+   *     InitialSplitRangeDoFn#splitHeight()}.
+   */
+  StatisticsSplitRangeDoFn(
+      SerializableFunction<Void, DataSource> dataSourceProviderFn,
+      UniformSplitterDBAdapter dbAdapter,
+      String tableName,
+      long approxTotalRowCount,
+      long splitHeight) {
+    this.dataSourceProviderFn = dataSourceProviderFn;
+    this.dbAdapter = dbAdapter;
+    this.tableName = tableName;
+    this.approxTotalRowCount = approxTotalRowCount;
+    this.splitHeight = splitHeight;
+    this.dataSource = null;
+  }
+
+  @Setup
+  public void setup() throws Exception {
+    dataSource = dataSourceProviderFn.apply(null);
+  }
+
+  /**
+   * @param input Range indicating Min and Max of the first partition column.
+   * @param out output receiver for a list of initial split of ranges.
+   * @param c process context
+   */
+  @ProcessElement
+  public void processElement(
+      @Element Range input, OutputReceiver<ImmutableList<Range>> out, ProcessContext c) {
+    logger.info(
+        "RWUPT - Began statistics based split process for table {} with initial range as {}",
+        tableName,
+        input);
+    ImmutableList<Range> ranges = ImmutableList.of();
+    if (input.start() != null && INTEGER_CLASSES.contains(input.start().getClass())) {
+      ImmutableList<Pair<String, Double>> histogram = getColumnHistogram(input.colName());
+      ranges = splitWithHistogram(input, histogram, 1L << splitHeight, approxTotalRowCount);
+    }
+    if (ranges.isEmpty()) {
+      logger.info(
+          "RWUPT - No usable column statistics for table {} column {}, splitting uniformly.",
+          tableName,
+          input.colName());
+      ranges = InitialSplitRangeDoFn.splitUniformly(input, splitHeight, tableName, c);
+    } else {
+      logger.info(
+          "RWUPT - Completed statistics based split for table {} with initial range as {}, and {}"
+              + " split ranges",
+          tableName,
+          input,
+          ranges.size());
+    }
+    out.output(ranges);
+  }
+
+  private ImmutableList<Pair<String, Double>> getColumnHistogram(String colName) {
+    String histogramQuery = dbAdapter.getColumnHistogramQuery();
+    if (histogramQuery == null) {
+      return ImmutableList.of();
+    }
+    try (Connection conn = checkStateNotNull(dataSource).getConnection();
+        PreparedStatement stmt = conn.prepareStatement(histogramQuery)) {
+      stmt.setString(1, tableName);
+      stmt.setString(2, colName);
+      try (ResultSet rs = stmt.executeQuery()) {
+        if (rs.next() && rs.getString(1) != null) {
+          return dbAdapter.parseColumnHistogram(rs.getString(1));
+        }
+      }
+    } catch (SQLException e) {
+      // Statistics only speed up the split, for example MySql 5.7 has no COLUMN_STATISTICS.
+      logger.warn(
+          "SQL Exception = {} while getting column statistics of table {} column {}, Query = {}."
+              + " Splitting uniformly.",
+          e,
+          tableName,
+          colName,
+          histogramQuery);
+    }
+    return ImmutableList.of();
+  }
+
+  /**
+   * Split a range of an integer column as per a histogram of the column.
+   *
+   * @param input range to split, without child ranges.
+   * @param histogram histogram as returned by {@link
+   *     UniformSplitterDBAdapter#parseColumnHistogram(String)}.
+   * @param targetRanges number of ranges to aim for.
+   * @param approxTotalRowCount approximate count of rows of the table.
+   * @return split ranges in order, with estimated counts. Empty if the histogram can not be used.
+   */
+  @VisibleForTesting
+  static ImmutableList<Range> splitWithHistogram(
+      Range input,
+      List<Pair<String, Double>> histogram,
+      long targetRanges,
+      long approxTotalRowCount) {
+    if (input.hasChildRange()
+        || input.start() == null
+        || input.end() == null
+        || !INTEGER_CLASSES.contains(input.start().getClass())
+        || histogram.size() < 2) {
+      return ImmutableList.of();
+    }
+    List<BigInteger> values = new ArrayList<>(histogram.size());
+    List<Double> fractions = new ArrayList<>(histogram.size());
+    for (Pair<String, Double> point : histogram) {
+      try {
+        values.add(new BigDecimal(point.getLeft().trim()).toBigInteger());
+      } catch (NumberFormatException e) {
+        return ImmutableList.of();
+      }
+      fractions.add(point.getRight());
+      int last = values.size() - 1;
+      if (last > 0
+          && (values.get(last).compareTo(values.get(last - 1)) < 0
+              || fractions.get(last) < fractions.get(last - 1))) {
+        return ImmutableList.of();
+      }
+    }
+    double totalFraction = fractions.get(fractions.size() - 1);
+    if (totalFraction <= 0) {
+      return ImmutableList.of();
+    }
+
+    BigInteger min = toBigInteger(input.start());
+    BigInteger max = toBigInteger(input.end());
+    // Ranges include their end only if they are last.
+    BigInteger endExclusive = input.isLast() ? max.add(BigInteger.ONE) : max;
+    BigInteger first = values.get(0);
+    BigInteger coveredEnd = values.get(values.size() - 1).add(BigInteger.ONE);
+    double coveredWidth = coveredEnd.subtract(first).doubleValue();
+
+    // Range i covers [starts[i], starts[i + 1]) and has counts[i] rows.
+    List<BigInteger> starts = new ArrayList<>();
+    List<Long> counts = new ArrayList<>();
+    boolean hasEstimates = false;
+    addUncountedRanges(starts, counts, min, first.min(endExclusive), coveredWidth, targetRanges);
+    // Interval i holds the rows with values in (values[i], values[i + 1]]. The rows equal to the
+    // first value have an interval of their own if they have a share, as in a singleton histogram,
+    // and are part of the first interval otherwise, as in an equi-height histogram.
+    boolean firstValueHasRows = fractions.get(0) > 0;
+    for (int i = firstValueHasRows ? -1 : 0; i + 1 < values.size(); i++) {
+      BigInteger intervalStart =
+          i < 0 || (i == 0 && !firstValueHasRows) ? first : values.get(i).add(BigInteger.ONE);
+      BigInteger intervalEnd = values.get(i + 1).add(BigInteger.ONE);
+      double fraction = fractions.get(i + 1) - (i < 0 ? 0.0 : fractions.get(i));
+      BigInteger lo = intervalStart.max(min);
+      BigInteger hi = intervalEnd.min(endExclusive);
+      if (fraction <= 0 || lo.compareTo(hi) >= 0) {
+        continue;
+      }
+      BigInteger width = hi.subtract(lo);
+      double share =
+          fraction
+              / totalFraction
+              * width.doubleValue()
+              / intervalEnd.subtract(intervalStart).doubleValue();
+      long pieces = getPieces(width, share, targetRanges);
+      long rowsPerPiece = Math.round(share * approxTotalRowCount / pieces);
+      addRanges(starts, counts, lo, width, pieces, rowsPerPiece);
+      hasEstimates = true;
+    }
+    addUncountedRanges(
+        starts, counts, coveredEnd.max(min), endExclusive, coveredWidth, targetRanges);
+    if (!hasEstimates) {
+      return ImmutableList.of();
+    }
+
+    Class<?> columnClass = input.start().getClass();
+    List<Serializable> splitPoints = new ArrayList<>(starts.size() - 1);
+    for (BigInteger start : starts.subList(1, starts.size())) {
+      splitPoints.add(fromBigInteger(start, columnClass));
+    }
+    ImmutableList<Range> ranges = input.splitAt(splitPoints);
+    ImmutableList.Builder<Range> countedRanges = ImmutableList.builder();
+    for (int i = 0; i < ranges.size(); i++) {
+      countedRanges.add(ranges.get(i).withCount(counts.get(i), null));
+    }
+    return countedRanges.build();
+  }
+
+  /**
+   * Add ranges for keys outside of the histogram, assuming they are as dense as the keys within it.
+   */
+  private static void addUncountedRanges(
+      List<BigInteger> starts,
+      List<Long> counts,
+      BigInteger lo,
+      BigInteger hi,
+      double coveredWidth,
+      long targetRanges) {
+    if (lo.compareTo(hi) >= 0) {
+      return;
+    }
+    BigInteger width = hi.subtract(lo);
+    long pieces = getPieces(width, width.doubleValue() / coveredWidth, targetRanges);
+    addRanges(starts, counts, lo, width, pieces, Range.INDETERMINATE_COUNT);
+  }
+
+  /** Number of ranges for a share of the rows, at most one per key and {@code targetRanges}. */
+  private static long getPieces(BigInteger width, double share, long targetRanges) {
+    return Math.max(
+        1,
+        Math.min(
+            Math.round(share * targetRanges),
+            width.min(BigInteger.valueOf(targetRanges)).longValue()));
+  }
+
+  private static void addRanges(
+      List<BigInteger> starts,
+      List<Long> counts,
+      BigInteger lo,
+      BigInteger width,
+      long pieces,
+      long count) {
+    for (long k = 0; k < pieces; k++) {
+      starts.add(lo.add(width.multiply(BigInteger.valueOf(k)).divide(BigInteger.valueOf(pieces))));
+      counts.add(count);
+    }
+  }
+
+  private static BigInteger toBigInteger(Object value) {
+    if (value instanceof BigInteger) {
+      return (BigInteger) value;
+    }
+    return BigInteger.valueOf(((Number) value).longValue());
+  }
+
+  private static Serializable fromBigInteger(BigInteger value, Class<?> columnClass) {
+    if (columnClass == Integer.class) {
+      return value.intValueExact();
+    } else if (columnClass == Long.class) {
+      return value.longValueExact();
+    }
+    return value;
+  }
+}
@@ -15,16 +15,23 @@
  */
 package com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.transforms;
 
+import com.google.cloud.teleport.v2.constants.MetricCounters;
 import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.Range;
 import com.google.common.collect.ImmutableList;
 import java.io.Serializable;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Metrics;
 import org.apache.beam.sdk.transforms.DoFn;
 
-/** Emit ranges from a collection. */
+/** Emit ranges from a collection, counting them as ranges to read. */
 public class UnflattenRangesDoFn extends DoFn<ImmutableList<Range>, Range> implements Serializable {
 
+  private final Counter rangesTotal =
+      Metrics.counter(UnflattenRangesDoFn.class, MetricCounters.RANGES_TOTAL);
+
   @ProcessElement
   public void processElement(@Element ImmutableList<Range> input, OutputReceiver<Range> out) {
+    rangesTotal.inc(input.size());
     input.forEach(out::output);
   }
 }
@@ -79,6 +79,33 @@ public abstract class SourceRow implements Serializable {
 
   abstract SerializableGenericRecord record();
 
+  /**
+   * Creates a SourceRow from an already built record, as needed when decoding rows or when the
+   * caller builds the record with a precompiled plan. The record must follow {@link
+   * SourceTableSchema#avroSchema()} of the table.
+   *
+   * @param sourceSchemaReference reference for the source table's schema.
+   * @param tableSchemaUUID uuid of the source table's schema.
+   * @param tableName name of the source table.
+   * @param shardId shard of the row, null for non-sharded cases.
+   * @param record record holding the read time and the payload.
+   * @return sourceRow.
+   */
+  public static SourceRow create(
+      SourceSchemaReference sourceSchemaReference,
+      String tableSchemaUUID,
+      String tableName,
+      @Nullable String shardId,
+      GenericRecord record) {
+    return new AutoValue_SourceRow.Builder()
+        .setSourceSchemaReference(sourceSchemaReference)
+        .setTableSchemaUUID(tableSchemaUUID)
+        .setTableName(tableName)
+        .setShardId(shardId)
+        .setRecord(new SerializableGenericRecord(record))
+        .autoBuild();
+  }
+
   /**
    * returns an initialized builder for SourceRow.
    *
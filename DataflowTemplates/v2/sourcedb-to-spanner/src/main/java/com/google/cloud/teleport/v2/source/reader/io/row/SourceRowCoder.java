@@ -0,0 +1,210 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.source.reader.io.row;
+
+import com.google.cloud.teleport.v2.source.reader.io.schema.SourceSchemaReference;
+import com.google.cloud.teleport.v2.source.reader.io.schema.SourceTableSchema;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.beam.sdk.coders.BigEndianLongCoder;
+import org.apache.beam.sdk.coders.CoderException;
+import org.apache.beam.sdk.coders.CustomCoder;
+import org.apache.beam.sdk.coders.NullableCoder;
+import org.apache.beam.sdk.coders.StringUtf8Coder;
+
+/**
+ * A {@link org.apache.beam.sdk.coders.Coder} for {@link SourceRow} that refers to the table schema
+ * by fingerprint instead of writing it with every row.
+ *
+ * <p>The coder embeds a registry of the {@link SourceTableSchema table schemas} known when the
+ * pipeline is built, so a row is written as the 8 byte fingerprint of its schema, the schema
+ * reference, the shard id and the Avro binary encoding of its record. Rows of a schema that is not
+ * in the registry still round trip, with their schema written inline.
+ *
+ * <p>Avro datum writers and readers are created once per schema and thread and then reused.
+ */
+public class SourceRowCoder extends CustomCoder<SourceRow> {
+
+  private static final int REGISTERED_SCHEMA = 0;
+  private static final int INLINE_SCHEMA = 1;
+
+  private static final StringUtf8Coder STRING_CODER = StringUtf8Coder.of();
+  private static final NullableCoder<String> NULLABLE_STRING_CODER =
+      NullableCoder.of(StringUtf8Coder.of());
+  private static final BigEndianLongCoder FINGERPRINT_CODER = BigEndianLongCoder.of();
+
+  // Table schemas by fingerprint.
+  private final ImmutableMap<Long, SourceTableSchema> schemas;
+
+  // Fingerprints by table schema uuid.
+  private final ImmutableMap<String, Long> fingerprints;
+
+  private transient volatile ThreadLocal<Map<Long, DatumCodec>> codecs;
+
+  private SourceRowCoder(Collection<SourceTableSchema> tableSchemas) {
+    ImmutableMap.Builder<Long, SourceTableSchema> schemasBuilder = ImmutableMap.builder();
+    ImmutableMap.Builder<String, Long> fingerprintsBuilder = ImmutableMap.builder();
+    for (SourceTableSchema tableSchema : tableSchemas) {
+      long fingerprint = fingerprint(tableSchema.tableSchemaUUID(), tableSchema.avroSchema());
+      schemasBuilder.put(fingerprint, tableSchema);
+      fingerprintsBuilder.put(tableSchema.tableSchemaUUID(), fingerprint);
+    }
+    this.schemas = schemasBuilder.buildKeepingLast();
+    this.fingerprints = fingerprintsBuilder.buildKeepingLast();
+  }
+
+  /**
+   * Creates a coder for the rows of the given tables.
+   *
+   * @param tableSchemas schemas of the tables whose rows are encoded by fingerprint.
+   * @return coder.
+   */
+  public static SourceRowCoder of(Collection<SourceTableSchema> tableSchemas) {
+    return new SourceRowCoder(tableSchemas);
+  }
+
+  @Override
+  public void encode(SourceRow value, OutputStream outStream) throws CoderException, IOException {
+    GenericRecord record = value.record().getRecord();
+    Long fingerprint = fingerprints.get(value.tableSchemaUUID());
+    if (fingerprint != null && schemas.get(fingerprint).avroSchema().equals(record.getSchema())) {
+      outStream.write(REGISTERED_SCHEMA);
+      FINGERPRINT_CODER.encode(fingerprint, outStream);
+    } else {
+      outStream.write(INLINE_SCHEMA);
+      STRING_CODER.encode(value.tableSchemaUUID(), outStream);
+      STRING_CODER.encode(value.tableName(), outStream);
+      STRING_CODER.encode(record.getSchema().toString(), outStream);
+      fingerprint = null;
+    }
+    STRING_CODER.encode(value.sourceSchemaReference().dbName(), outStream);
+    NULLABLE_STRING_CODER.encode(value.sourceSchemaReference().namespace(), outStream);
+    NULLABLE_STRING_CODER.encode(value.shardId(), outStream);
+
+    DatumCodec codec =
+        fingerprint == null ? new DatumCodec(record.getSchema()) : codec(fingerprint);
+    codec.encoder = EncoderFactory.get().directBinaryEncoder(outStream, codec.encoder);
+    codec.writer.write(record, codec.encoder);
+    codec.encoder.flush();
+  }
+
+  @Override
+  public SourceRow decode(InputStream inStream) throws CoderException, IOException {
+    int marker = inStream.read();
+    String tableSchemaUUID;
+    String tableName;
+    DatumCodec codec;
+    if (marker == REGISTERED_SCHEMA) {
+      long fingerprint = FINGERPRINT_CODER.decode(inStream);
+      SourceTableSchema tableSchema = schemas.get(fingerprint);
+      if (tableSchema == null) {
+        throw new CoderException("Unknown schema fingerprint " + fingerprint);
+      }
+      tableSchemaUUID = tableSchema.tableSchemaUUID();
+      tableName = tableSchema.tableName();
+      codec = codec(fingerprint);
+    } else if (marker == INLINE_SCHEMA) {
+      tableSchemaUUID = STRING_CODER.decode(inStream);
+      tableName = STRING_CODER.decode(inStream);
+      codec = new DatumCodec(new Schema.Parser().parse(STRING_CODER.decode(inStream)));
+    } else {
+      throw new CoderException("Unknown schema marker " + marker);
+    }
+    SourceSchemaReference sourceSchemaReference =
+        SourceSchemaReference.builder()
+            .setDbName(STRING_CODER.decode(inStream))
+            .setNamespace(NULLABLE_STRING_CODER.decode(inStream))
+            .build();
+    String shardId = NULLABLE_STRING_CODER.decode(inStream);
+
+    codec.decoder = DecoderFactory.get().directBinaryDecoder(inStream, codec.decoder);
+    GenericRecord record = codec.reader.read(null, codec.decoder);
+    return SourceRow.create(sourceSchemaReference, tableSchemaUUID, tableName, shardId, record);
+  }
+
+  @Override
+  public void verifyDeterministic() throws NonDeterministicException {
+    throw new NonDeterministicException(
+        this, "Avro records with maps are not encoded deterministically.");
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof SourceRowCoder)) {
+      return false;
+    }
+    return schemas.keySet().equals(((SourceRowCoder) o).schemas.keySet());
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(schemas.keySet());
+  }
+
+  private DatumCodec codec(long fingerprint) {
+    if (codecs == null) {
+      synchronized (this) {
+        if (codecs == null) {
+          codecs = ThreadLocal.withInitial(HashMap::new);
+        }
+      }
+    }
+    return codecs
+        .get()
+        .computeIfAbsent(fingerprint, f -> new DatumCodec(schemas.get(f).avroSchema()));
+  }
+
+  private static long fingerprint(String tableSchemaUUID, Schema schema) {
+    return SchemaNormalization.fingerprint64(
+        (tableSchemaUUID + schema.toString()).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** Avro writer and reader of one schema, along with the last encoder and decoder used. */
+  private static final class DatumCodec {
+
+    private final GenericDatumWriter<GenericRecord> writer;
+
+    private final GenericDatumReader<GenericRecord> reader;
+
+    private BinaryEncoder encoder;
+
+    private BinaryDecoder decoder;
+
+    DatumCodec(Schema schema) {
+      this.writer = new GenericDatumWriter<>(schema);
+      this.reader = new GenericDatumReader<>(schema);
+    }
+  }
+}
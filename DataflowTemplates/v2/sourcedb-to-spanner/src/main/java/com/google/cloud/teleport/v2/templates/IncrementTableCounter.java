@@ -19,7 +19,9 @@ import com.google.cloud.teleport.v2.constants.MetricCounters;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import javax.annotation.Nullable;
 import org.apache.beam.repackaged.core.org.apache.commons.lang3.StringUtils;
+import org.apache.beam.sdk.coders.VoidCoder;
 import org.apache.beam.sdk.metrics.Counter;
 import org.apache.beam.sdk.metrics.Metrics;
 import org.apache.beam.sdk.transforms.Create;
@@ -36,7 +38,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * A {@link PTransform} that waits for the completion of table migrations (represented by {@link
- * Wait.OnSignal} objects) and increments a counter for each completed table.
+ * Wait.OnSignal} objects) and increments a counter for each completed table. If a {@link
+ * MigrationCheckpointStore} is given, the completed tables are also recorded in it.
  */
 public class IncrementTableCounter extends PTransform<PBegin, PCollection<Void>> {
 
@@ -49,18 +52,59 @@ public class IncrementTableCounter extends PTransform<PBegin, PCollection<Void>>
 
   private final String shardId;
 
+  @Nullable private final MigrationCheckpointStore checkpointStore;
+
+  // Shards completed along with each table, when a table is read from many shards at once.
+  @Nullable private final Map<String, List<String>> tableShardIds;
+
   /**
    * @param tableWaits Map of src table name to Wait.OnSignals, denoting which pcollection should a
    *     table wait on to signal completion.
    * @param shardId logical shard id for the set of tables.
    */
   public IncrementTableCounter(Map<String, Wait.OnSignal<?>> tableWaits, String shardId) {
+    this(tableWaits, shardId, null);
+  }
+
+  /**
+   * @param tableWaits Map of src table name to Wait.OnSignals, denoting which pcollection should a
+   *     table wait on to signal completion.
+   * @param shardId logical shard id for the set of tables.
+   * @param checkpointStore store recording the completed tables, null to not record them.
+   */
+  public IncrementTableCounter(
+      Map<String, Wait.OnSignal<?>> tableWaits,
+      String shardId,
+      @Nullable MigrationCheckpointStore checkpointStore) {
     this.tableWaits = tableWaits;
     this.shardId = shardId;
+    this.checkpointStore = checkpointStore;
+    this.tableShardIds = null;
+  }
+
+  /**
+   * @param tableWaits Map of src table name to Wait.OnSignals, denoting which pcollection should a
+   *     table wait on to signal completion.
+   * @param tableShardIds Map of src table name to the logical shards it is migrated from, for
+   *     tables read from many shards at once. A table is recorded as completed for all of them.
+   * @param checkpointStore store recording the completed tables, null to not record them.
+   */
+  public IncrementTableCounter(
+      Map<String, Wait.OnSignal<?>> tableWaits,
+      Map<String, List<String>> tableShardIds,
+      @Nullable MigrationCheckpointStore checkpointStore) {
+    this.tableWaits = tableWaits;
+    this.shardId = "";
+    this.checkpointStore = checkpointStore;
+    this.tableShardIds = tableShardIds;
   }
 
   @Override
   public PCollection<Void> expand(PBegin input) {
+    if (tableWaits.isEmpty()) {
+      // All tables were already completed by a previous run, Flatten needs at least one input.
+      return input.apply("NoTablesToCount", Create.empty(VoidCoder.of()));
+    }
     List<PCollection<String>> tableNamesPCollections = new ArrayList<>();
     // The table names are used as dummy elements to trigger the counter increment, as the original
     // SpannerIO output (PCollection<Void>) doesn't contain elements. This is needed to increment
@@ -81,12 +125,21 @@ public class IncrementTableCounter extends PTransform<PBegin, PCollection<Void>>
             new DoFn<String, Void>() {
               @ProcessElement
               public void processElement(ProcessContext c) {
+                List<String> shardIds =
+                    tableShardIds == null ? List.of(shardId) : tableShardIds.get(c.element());
                 String msg = String.format("Completed table: %s", c.element());
-                if (!StringUtils.isEmpty(shardId)) {
+                if (tableShardIds != null) {
+                  msg += " for shards: " + shardIds;
+                } else if (!StringUtils.isEmpty(shardId)) {
                   msg += " for shard: " + shardId;
                 }
                 LOG.info(msg);
                 tablesCompleted.inc();
+                if (checkpointStore != null) {
+                  for (String completedShardId : shardIds) {
+                    checkpointStore.markTableComplete(completedShardId, c.element());
+                  }
+                }
               }
             }));
   }
@@ -15,6 +15,8 @@
  */
 package com.google.cloud.teleport.v2.templates;
 
+import com.google.cloud.spanner.Mutation;
+import com.google.cloud.spanner.Value;
 import com.google.cloud.teleport.v2.constants.SourceDbToSpannerConstants;
 import com.google.cloud.teleport.v2.options.SourceDbToSpannerOptions;
 import com.google.cloud.teleport.v2.source.reader.ReaderImpl;
@@ -27,7 +29,10 @@ import com.google.cloud.teleport.v2.spanner.migrations.transformation.CustomTran
 import com.google.cloud.teleport.v2.transformer.SourceRowToMutationDoFn;
 import com.google.cloud.teleport.v2.writer.DeadLetterQueue;
 import com.google.cloud.teleport.v2.writer.SpannerWriter;
+import com.google.common.collect.ImmutableList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
 import org.apache.beam.repackaged.core.org.apache.commons.lang3.StringUtils;
 import org.apache.beam.sdk.coders.SerializableCoder;
 import org.apache.beam.sdk.io.gcp.spanner.MutationGroup;
@@ -35,9 +40,13 @@ import org.apache.beam.sdk.io.gcp.spanner.SpannerConfig;
 import org.apache.beam.sdk.io.gcp.spanner.SpannerWriteResult;
 import org.apache.beam.sdk.transforms.PTransform;
 import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.Partition;
+import org.apache.beam.sdk.transforms.Partition.PartitionFn;
 import org.apache.beam.sdk.values.PBegin;
 import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.PCollectionList;
 import org.apache.beam.sdk.values.PCollectionTuple;
+import org.apache.beam.sdk.values.PDone;
 import org.apache.beam.sdk.values.TupleTagList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,6 +61,8 @@ public class MigrateTableTransform extends PTransform<PBegin, PCollection<Void>>
   private ReaderImpl reader;
   private String shardId;
   private String shardIdColumn;
+  // Shards read by the reader when it reads many shards at once, empty otherwise.
+  private ImmutableList<String> shardIds;
   private SQLDialect sqlDialect;
 
   public MigrateTableTransform(
@@ -62,6 +73,33 @@ public class MigrateTableTransform extends PTransform<PBegin, PCollection<Void>>
       ReaderImpl reader,
       String shardId,
       String shardIdColumn) {
+    this(options, spannerConfig, ddl, schemaMapper, reader, shardId, shardIdColumn, List.of());
+  }
+
+  /**
+   * Migrates a table read from many shards at once. The dead letter queue and filtered events of
+   * each shard are still written to the subdirectory of the shard.
+   */
+  public MigrateTableTransform(
+      SourceDbToSpannerOptions options,
+      SpannerConfig spannerConfig,
+      Ddl ddl,
+      ISchemaMapper schemaMapper,
+      ReaderImpl reader,
+      List<String> shardIds,
+      String shardIdColumn) {
+    this(options, spannerConfig, ddl, schemaMapper, reader, "", shardIdColumn, shardIds);
+  }
+
+  private MigrateTableTransform(
+      SourceDbToSpannerOptions options,
+      SpannerConfig spannerConfig,
+      Ddl ddl,
+      ISchemaMapper schemaMapper,
+      ReaderImpl reader,
+      String shardId,
+      String shardIdColumn,
+      List<String> shardIds) {
     this.options = options;
     this.spannerConfig = spannerConfig;
     this.ddl = ddl;
@@ -69,6 +107,7 @@ public class MigrateTableTransform extends PTransform<PBegin, PCollection<Void>>
     this.reader = reader;
     this.shardId = StringUtils.isEmpty(shardId) ? "" : shardId;
     this.shardIdColumn = shardIdColumn;
+    this.shardIds = ImmutableList.copyOf(shardIds);
     this.sqlDialect = SQLDialect.valueOf(options.getSourceDbDialect());
   }
 
@@ -112,28 +151,147 @@ public class MigrateTableTransform extends PTransform<PBegin, PCollection<Void>>
     if (!outputDirectory.endsWith("/")) {
       outputDirectory += "/";
     }
-    // Dump Failed rows to DLQ
-    String dlqDirectory = outputDirectory + "dlq/severe/" + shardId;
-    LOG.info("DLQ directory: {}", dlqDirectory);
-    DeadLetterQueue dlq = DeadLetterQueue.create(dlqDirectory, ddl, shardIdColumn, sqlDialect);
-    dlq.failedMutationsToDLQ(failedMutations);
-    dlq.failedTransformsToDLQ(
+    PCollection<RowContext> failedRows =
         transformationResult
             .get(SourceDbToSpannerConstants.ROW_TRANSFORMATION_ERROR)
-            .setCoder(SerializableCoder.of(RowContext.class)));
-
-    /*
-     * Write filtered records to GCS
-     */
-    String filterEventsDirectory = outputDirectory + "filteredEvents/" + shardId;
-    LOG.info("Filtered events directory: {}", filterEventsDirectory);
-    DeadLetterQueue filteredEventsQueue =
-        DeadLetterQueue.create(filterEventsDirectory, ddl, shardIdColumn, sqlDialect);
-    filteredEventsQueue.filteredEventsToDLQ(
+            .setCoder(SerializableCoder.of(RowContext.class));
+    PCollection<RowContext> filteredRows =
         transformationResult
             .get(SourceDbToSpannerConstants.FILTERED_EVENT_TAG)
-            .setCoder(SerializableCoder.of(RowContext.class)));
+            .setCoder(SerializableCoder.of(RowContext.class));
+
+    if (shardIds.isEmpty()) {
+      // Dump Failed rows to DLQ
+      String dlqDirectory = outputDirectory + "dlq/severe/" + shardId;
+      LOG.info("DLQ directory: {}", dlqDirectory);
+      DeadLetterQueue dlq = DeadLetterQueue.create(dlqDirectory, ddl, shardIdColumn, sqlDialect);
+      dlq.failedMutationsToDLQ(failedMutations);
+      dlq.failedTransformsToDLQ(failedRows);
+
+      /*
+       * Write filtered records to GCS
+       */
+      String filterEventsDirectory = outputDirectory + "filteredEvents/" + shardId;
+      LOG.info("Filtered events directory: {}", filterEventsDirectory);
+      DeadLetterQueue filteredEventsQueue =
+          DeadLetterQueue.create(filterEventsDirectory, ddl, shardIdColumn, sqlDialect);
+      filteredEventsQueue.filteredEventsToDLQ(filteredRows);
+    } else {
+      String dlqDirectory = outputDirectory + "dlq/severe/";
+      String filterEventsDirectory = outputDirectory + "filteredEvents/";
+      // A failed mutation is only known to belong to a shard through its shard id column. Without
+      // it, failed mutations are written to the parent of the shard directories.
+      PCollectionList<MutationGroup> failedMutationsPerShard =
+          failedMutations.apply(
+              "PartitionFailedMutations",
+              Partition.of(
+                  shardIds.size() + 1, new MutationShardPartitionFn(shardIds, shardIdColumn)));
+      toDlq(
+          failedMutationsPerShard.get(shardIds.size()),
+          "WriterDLQ",
+          dlqDirectory,
+          DeadLetterQueue::failedMutationsToDLQ);
+      PCollectionList<RowContext> failedRowsPerShard =
+          failedRows.apply(
+              "PartitionFailedRows",
+              Partition.of(shardIds.size(), new RowShardPartitionFn(shardIds)));
+      PCollectionList<RowContext> filteredRowsPerShard =
+          filteredRows.apply(
+              "PartitionFilteredRows",
+              Partition.of(shardIds.size(), new RowShardPartitionFn(shardIds)));
+      for (int i = 0; i < shardIds.size(); i++) {
+        String id = shardIds.get(i);
+        toDlq(
+            failedMutationsPerShard.get(i),
+            "WriterDLQ_" + id,
+            dlqDirectory + id,
+            DeadLetterQueue::failedMutationsToDLQ);
+        toDlq(
+            failedRowsPerShard.get(i),
+            "TransformerDLQ_" + id,
+            dlqDirectory + id,
+            DeadLetterQueue::failedTransformsToDLQ);
+        toDlq(
+            filteredRowsPerShard.get(i),
+            "FilteredRowsDLQ_" + id,
+            filterEventsDirectory + id,
+            DeadLetterQueue::filteredEventsToDLQ);
+      }
+    }
 
     return spannerWriteResult.getOutput();
   }
+
+  private <T> void toDlq(
+      PCollection<T> rows,
+      String name,
+      String directory,
+      BiConsumer<DeadLetterQueue, PCollection<T>> write) {
+    LOG.info("{} directory: {}", name, directory);
+    DeadLetterQueue dlq = DeadLetterQueue.create(directory, ddl, shardIdColumn, sqlDialect);
+    rows.apply(name, new DlqWrite<>(dlq, write));
+  }
+
+  /** Applies a write of the dead letter queue under its own name, so it can be done per shard. */
+  private static class DlqWrite<T> extends PTransform<PCollection<T>, PDone> {
+
+    private final transient DeadLetterQueue dlq;
+    private final transient BiConsumer<DeadLetterQueue, PCollection<T>> write;
+
+    DlqWrite(DeadLetterQueue dlq, BiConsumer<DeadLetterQueue, PCollection<T>> write) {
+      this.dlq = dlq;
+      this.write = write;
+    }
+
+    @Override
+    public PDone expand(PCollection<T> input) {
+      write.accept(dlq, input);
+      return PDone.in(input.getPipeline());
+    }
+  }
+
+  /** Partitions rows by the index of the shard they were read from. */
+  private static class RowShardPartitionFn implements PartitionFn<RowContext> {
+
+    private final ImmutableList<String> shardIds;
+
+    RowShardPartitionFn(ImmutableList<String> shardIds) {
+      this.shardIds = shardIds;
+    }
+
+    @Override
+    public int partitionFor(RowContext rowContext, int numPartitions) {
+      return shardIds.indexOf(rowContext.row().shardId());
+    }
+  }
+
+  /**
+   * Partitions mutation groups by the index of the shard in their shard id column, or into the last
+   * partition when the shard is not known.
+   */
+  private static class MutationShardPartitionFn implements PartitionFn<MutationGroup> {
+
+    private final ImmutableList<String> shardIds;
+    private final String shardIdColumn;
+
+    MutationShardPartitionFn(ImmutableList<String> shardIds, String shardIdColumn) {
+      this.shardIds = shardIds;
+      this.shardIdColumn = shardIdColumn;
+    }
+
+    @Override
+    public int partitionFor(MutationGroup mutationGroup, int numPartitions) {
+      if (StringUtils.isNotBlank(shardIdColumn)) {
+        Mutation mutation = mutationGroup.primary();
+        Value value = mutation.asMap().get(shardIdColumn);
+        if (value != null && !value.isNull()) {
+          int index = shardIds.indexOf(value.getString());
+          if (index >= 0) {
+            return index;
+          }
+        }
+      }
+      return numPartitions - 1;
+    }
+  }
 }
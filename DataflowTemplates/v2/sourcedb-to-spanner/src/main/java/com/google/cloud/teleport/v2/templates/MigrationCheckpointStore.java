@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import org.apache.beam.repackaged.core.org.apache.commons.lang3.StringUtils;
+import org.apache.beam.sdk.io.FileSystems;
+import org.apache.beam.sdk.io.fs.MatchResult;
+import org.apache.beam.sdk.io.fs.ResolveOptions.StandardResolveOptions;
+import org.apache.beam.sdk.io.fs.ResourceId;
+import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.base.Preconditions;
+
+/**
+ * Records which tables of a migration have been completely written to Spanner, so that a restarted
+ * migration can skip them.
+ *
+ * <p>Every completed table of a logical shard is recorded as a marker file {@code
+ * <checkpointDirectory>/<shardId>/<sourceTable>.done}, with {@code default} standing in for the
+ * shard id of a non-sharded migration. Markers are only written once the Spanner writes of the
+ * table have finished, so a table whose marker is missing is migrated again in full. This is safe
+ * as the rows are written with insert-or-update mutations.
+ */
+public class MigrationCheckpointStore implements Serializable {
+
+  private static final String DEFAULT_SHARD = "default";
+
+  private static final String MARKER_SUFFIX = ".done";
+
+  private final String checkpointDirectory;
+
+  private MigrationCheckpointStore(String checkpointDirectory) {
+    this.checkpointDirectory = checkpointDirectory;
+  }
+
+  /**
+   * Creates a checkpoint store.
+   *
+   * @param checkpointDirectory directory, typically in Cloud Storage, holding the markers.
+   * @return checkpoint store.
+   */
+  public static MigrationCheckpointStore of(String checkpointDirectory) {
+    Preconditions.checkArgument(
+        StringUtils.isNotBlank(checkpointDirectory), "checkpointDirectory must not be empty.");
+    return new MigrationCheckpointStore(checkpointDirectory);
+  }
+
+  /**
+   * Checks if a previous run recorded the table as completed.
+   *
+   * @param shardId logical shard id, empty for a non-sharded migration.
+   * @param srcTable source table name.
+   * @return true if the table was completely migrated.
+   */
+  public boolean isTableComplete(String shardId, String srcTable) {
+    ResourceId marker = markerFor(shardId, srcTable);
+    try {
+      MatchResult match = FileSystems.match(marker.toString());
+      return match.status() == MatchResult.Status.OK && !match.metadata().isEmpty();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to look up checkpoint " + marker, e);
+    }
+  }
+
+  /**
+   * Records the table as completed. Recording a table again just overwrites its marker.
+   *
+   * @param shardId logical shard id, empty for a non-sharded migration.
+   * @param srcTable source table name.
+   */
+  public void markTableComplete(String shardId, String srcTable) {
+    ResourceId marker = markerFor(shardId, srcTable);
+    try (OutputStream out = Channels.newOutputStream(FileSystems.create(marker, "text/plain"))) {
+      out.write(("completed at " + Instant.now()).getBytes(StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to write checkpoint " + marker, e);
+    }
+  }
+
+  private ResourceId markerFor(String shardId, String srcTable) {
+    return FileSystems.matchNewResource(checkpointDirectory, true)
+        .resolve(
+            StringUtils.isEmpty(shardId) ? DEFAULT_SHARD : shardId,
+            StandardResolveOptions.RESOLVE_DIRECTORY)
+        .resolve(srcTable + MARKER_SUFFIX, StandardResolveOptions.RESOLVE_FILE);
+  }
+}
@@ -22,6 +22,7 @@ import com.google.cloud.teleport.v2.options.OptionsToConfigBuilder;
 import com.google.cloud.teleport.v2.options.SourceDbToSpannerOptions;
 import com.google.cloud.teleport.v2.source.reader.ReaderImpl;
 import com.google.cloud.teleport.v2.source.reader.io.jdbc.iowrapper.JdbcIoWrapper;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.iowrapper.config.JdbcIOWrapperConfig;
 import com.google.cloud.teleport.v2.source.reader.io.jdbc.iowrapper.config.SQLDialect;
 import com.google.cloud.teleport.v2.spanner.ddl.Ddl;
 import com.google.cloud.teleport.v2.spanner.migrations.exceptions.InvalidOptionsException;
@@ -31,6 +32,7 @@ import com.google.cloud.teleport.v2.spanner.migrations.schema.SessionBasedMapper
 import com.google.cloud.teleport.v2.spanner.migrations.shard.Shard;
 import com.google.cloud.teleport.v2.spanner.migrations.spanner.SpannerSchema;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -40,6 +42,7 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.apache.beam.repackaged.core.org.apache.commons.lang3.StringUtils;
 import org.apache.beam.sdk.Pipeline;
 import org.apache.beam.sdk.PipelineResult;
@@ -73,9 +76,16 @@ public class PipelineController {
     List<String> spannerTablesToMigrate =
         listSpannerTablesToMigrate(ddl, schemaMapper, tablesToMigrateSet);
 
+    MigrationCheckpointStore checkpointStore = getCheckpointStore(options);
+    Set<String> completedTables = new HashSet<>();
     Map<String, PCollection<Void>> outputs = new HashMap<>();
     for (String spTable : spannerTablesToMigrate) {
       String srcTable = schemaMapper.getSourceTableName("", spTable);
+      if (checkpointStore != null && checkpointStore.isTableComplete("", srcTable)) {
+        LOG.info("skipping table completed by a previous run: {}", srcTable);
+        completedTables.add(srcTable);
+        continue;
+      }
       List<PCollection<?>> parentOutputs = new ArrayList<>();
       for (String parentSpTable : ddl.tablesReferenced(spTable)) {
         String parentSrcName;
@@ -106,6 +116,10 @@ public class PipelineController {
                   + " could fail, check DLQ for failed records.");
           continue;
         }
+        // The parent was already migrated by a previous run.
+        if (completedTables.contains(parentSrcName)) {
+          continue;
+        }
         PCollection<Void> parentOutputPcollection = outputs.get(parentSrcName);
         // Since we are iterating the tables topologically, all parents should have been
         // processed.
@@ -137,7 +151,8 @@ public class PipelineController {
     Map<String, Wait.OnSignal<?>> waitOnsMap =
         outputs.entrySet().stream()
             .collect(Collectors.toMap(Map.Entry::getKey, entry -> Wait.on(entry.getValue())));
-    pipeline.apply("Increment_table_counters", new IncrementTableCounter(waitOnsMap, ""));
+    pipeline.apply(
+        "Increment_table_counters", new IncrementTableCounter(waitOnsMap, "", checkpointStore));
 
     return pipeline.run();
   }
@@ -202,6 +217,10 @@ public class PipelineController {
     // Take connection properties map
     // Write to common DLQ ?
 
+    if (options.getReadShardsWithSingleReader()) {
+      return executeShardedMigrationWithSingleReader(options, pipeline, shards, spannerConfig);
+    }
+
     SQLDialect sqlDialect = SQLDialect.valueOf(options.getSourceDbDialect());
     Ddl ddl = SpannerSchema.getInformationSchemaAsDdl(spannerConfig);
     ISchemaMapper schemaMapper = PipelineController.getSchemaMapper(options, ddl);
@@ -212,6 +231,7 @@ public class PipelineController {
     List<String> spannerTablesToMigrate =
         listSpannerTablesToMigrate(ddl, schemaMapper, tablesToMigrateSet);
 
+    MigrationCheckpointStore checkpointStore = getCheckpointStore(options);
     LOG.info(
         "running migration for shards: {}",
         shards.stream().map(s -> s.getHost()).collect(Collectors.toList()));
@@ -219,9 +239,16 @@ public class PipelineController {
       for (Map.Entry<String, String> entry : shard.getDbNameToLogicalShardIdMap().entrySet()) {
         // Read data from source
         String shardId = entry.getValue();
+        Set<String> completedTables = new HashSet<>();
         Map<String, PCollection<Void>> outputs = new HashMap<>();
         for (String spTable : spannerTablesToMigrate) {
           String srcTable = schemaMapper.getSourceTableName("", spTable);
+          if (checkpointStore != null && checkpointStore.isTableComplete(shardId, srcTable)) {
+            LOG.info(
+                "skipping table completed by a previous run: {} shard: {}", srcTable, shardId);
+            completedTables.add(srcTable);
+            continue;
+          }
           List<PCollection<?>> parentOutputs = new ArrayList<>();
           for (String parentSpTable : ddl.tablesReferenced(spTable)) {
             String parentSrcName;
@@ -236,6 +263,10 @@ public class PipelineController {
             if (!tablesToMigrateSet.contains(parentSrcName)) {
               continue;
             }
+            // The parent was already migrated by a previous run.
+            if (completedTables.contains(parentSrcName)) {
+              continue;
+            }
             PCollection<Void> parentOutputPcollection = outputs.get(parentSrcName);
             // Since we are iterating the tables topologically, all parents should have been
             // processed.
@@ -246,21 +277,13 @@ public class PipelineController {
           }
           JdbcIoWrapper jdbcIoWrapper =
               JdbcIoWrapper.of(
-                  OptionsToConfigBuilder.getJdbcIOWrapperConfig(
+                  getShardJdbcIOWrapperConfig(
+                      options,
                       sqlDialect,
-                      List.of(srcTable),
-                      null,
-                      shard.getHost(),
-                      shard.getConnectionProperties(),
-                      Integer.parseInt(shard.getPort()),
-                      shard.getUserName(),
-                      shard.getPassword(),
+                      srcTable,
+                      shard,
                       entry.getKey(),
                       shardId,
-                      options.getJdbcDriverClassName(),
-                      options.getJdbcDriverJars(),
-                      options.getMaxConnections(),
-                      options.getNumPartitions(),
                       Wait.on(parentOutputs)));
           if (jdbcIoWrapper.getTableReaders().isEmpty()) {
             LOG.info(
@@ -287,17 +310,164 @@ public class PipelineController {
                 .collect(
                     Collectors.toMap(Map.Entry::getKey, mapEntry -> Wait.on(mapEntry.getValue())));
         pipeline.apply(
-            "Increment_table_counters_" + shardId, new IncrementTableCounter(waitOnsMap, shardId));
+            "Increment_table_counters_" + shardId,
+            new IncrementTableCounter(waitOnsMap, shardId, checkpointStore));
       }
     }
     return pipeline.run();
   }
 
+  /**
+   * Runs a sharded migration with a single reader per table, which reads the table from all the
+   * shards. Unlike {@link #executeShardedMigration}, the size of the job graph does not grow with
+   * the number of shards. A table waits for its parent tables to complete on all the shards,
+   * instead of only on its own shard.
+   */
+  static PipelineResult executeShardedMigrationWithSingleReader(
+      SourceDbToSpannerOptions options,
+      Pipeline pipeline,
+      List<Shard> shards,
+      SpannerConfig spannerConfig) {
+    SQLDialect sqlDialect = SQLDialect.valueOf(options.getSourceDbDialect());
+    Ddl ddl = SpannerSchema.getInformationSchemaAsDdl(spannerConfig);
+    ISchemaMapper schemaMapper = PipelineController.getSchemaMapper(options, ddl);
+
+    List<String> srcTablesToMigrate = listTablesToMigrate(options.getTables(), schemaMapper, ddl);
+    Set<String> tablesToMigrateSet = new HashSet<>(srcTablesToMigrate);
+
+    List<String> spannerTablesToMigrate =
+        listSpannerTablesToMigrate(ddl, schemaMapper, tablesToMigrateSet);
+
+    MigrationCheckpointStore checkpointStore = getCheckpointStore(options);
+    LOG.info(
+        "running migration with a single reader per table for shards: {}",
+        shards.stream().map(s -> s.getHost()).collect(Collectors.toList()));
+    Set<String> completedTables = new HashSet<>();
+    Map<String, PCollection<Void>> outputs = new HashMap<>();
+    Map<String, List<String>> tableShardIds = new HashMap<>();
+    for (String spTable : spannerTablesToMigrate) {
+      String srcTable = schemaMapper.getSourceTableName("", spTable);
+      List<PCollection<?>> parentOutputs = new ArrayList<>();
+      for (String parentSpTable : ddl.tablesReferenced(spTable)) {
+        String parentSrcName;
+        try {
+          parentSrcName = schemaMapper.getSourceTableName("", parentSpTable);
+        } catch (NoSuchElementException e) {
+          // This will occur when the spanner table name does not exist in source for
+          // sessionBasedMapper.
+          continue;
+        }
+        // This parent is not in tables selected for migration, or was already migrated from all
+        // the shards by a previous run.
+        if (!tablesToMigrateSet.contains(parentSrcName)
+            || completedTables.contains(parentSrcName)) {
+          continue;
+        }
+        PCollection<Void> parentOutputPcollection = outputs.get(parentSrcName);
+        // Since we are iterating the tables topologically, all parents should have been
+        // processed.
+        Preconditions.checkState(
+            parentOutputPcollection != null,
+            "Output PCollection for parent table should not be null.");
+        parentOutputs.add(parentOutputPcollection);
+      }
+
+      List<JdbcIOWrapperConfig> shardConfigs = new ArrayList<>();
+      for (Shard shard : shards) {
+        for (Map.Entry<String, String> entry : shard.getDbNameToLogicalShardIdMap().entrySet()) {
+          String shardId = entry.getValue();
+          if (checkpointStore != null && checkpointStore.isTableComplete(shardId, srcTable)) {
+            LOG.info("skipping table completed by a previous run: {} shard: {}", srcTable, shardId);
+            continue;
+          }
+          shardConfigs.add(
+              getShardJdbcIOWrapperConfig(
+                  options,
+                  sqlDialect,
+                  srcTable,
+                  shard,
+                  entry.getKey(),
+                  shardId,
+                  Wait.on(parentOutputs)));
+        }
+      }
+      if (shardConfigs.isEmpty()) {
+        completedTables.add(srcTable);
+        continue;
+      }
+      JdbcIoWrapper jdbcIoWrapper = JdbcIoWrapper.ofShards(ImmutableList.copyOf(shardConfigs));
+      if (jdbcIoWrapper.getTableReaders().isEmpty()) {
+        LOG.info("not creating reader as table is not found at source: {}", srcTable);
+        continue;
+      }
+      ReaderImpl reader = ReaderImpl.of(jdbcIoWrapper);
+      String shardIdColumn =
+          schemaMapper.getShardIdColumnName(
+              reader.getSourceSchema().schemaReference().namespace(), srcTable);
+      List<String> shardIds =
+          shardConfigs.stream().map(JdbcIOWrapperConfig::shardID).collect(Collectors.toList());
+      PCollection<Void> output =
+          pipeline.apply(
+              "Migrate" + generateSuffix("", srcTable),
+              new MigrateTableTransform(
+                  options, spannerConfig, ddl, schemaMapper, reader, shardIds, shardIdColumn));
+      outputs.put(srcTable, output);
+      tableShardIds.put(srcTable, shardIds);
+    }
+
+    // Add transform to increment table counter
+    Map<String, Wait.OnSignal<?>> waitOnsMap =
+        outputs.entrySet().stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, entry -> Wait.on(entry.getValue())));
+    pipeline.apply(
+        "Increment_table_counters",
+        new IncrementTableCounter(waitOnsMap, tableShardIds, checkpointStore));
+    return pipeline.run();
+  }
+
+  private static JdbcIOWrapperConfig getShardJdbcIOWrapperConfig(
+      SourceDbToSpannerOptions options,
+      SQLDialect sqlDialect,
+      String srcTable,
+      Shard shard,
+      String dbName,
+      String shardId,
+      Wait.OnSignal<?> waitOn) {
+    return OptionsToConfigBuilder.getJdbcIOWrapperConfig(
+            sqlDialect,
+            List.of(srcTable),
+            null,
+            shard.getHost(),
+            shard.getConnectionProperties(),
+            Integer.parseInt(shard.getPort()),
+            shard.getUserName(),
+            shard.getPassword(),
+            dbName,
+            shardId,
+            options.getJdbcDriverClassName(),
+            options.getJdbcDriverJars(),
+            options.getMaxConnections(),
+            options.getNumPartitions(),
+            waitOn)
+        .toBuilder()
+        .setSplitWithColumnStatistics(options.getSplitWithColumnStatistics())
+        .build();
+  }
+
   // Calculate the total number of logical shards in the list of physical shards.
   private static long findNumLogicalshards(List<Shard> shards) {
     return shards.stream().mapToLong(shard -> shard.getDbNameToLogicalShardIdMap().size()).sum();
   }
 
+  /** Returns the store of completed tables, or null if checkpointing is disabled. */
+  @Nullable
+  static MigrationCheckpointStore getCheckpointStore(SourceDbToSpannerOptions options) {
+    if (StringUtils.isBlank(options.getCheckpointDirectory())) {
+      return null;
+    }
+    return MigrationCheckpointStore.of(options.getCheckpointDirectory());
+  }
+
   @VisibleForTesting
   static SpannerConfig createSpannerConfig(SourceDbToSpannerOptions options) {
     return SpannerConfig.create()
@@ -28,6 +28,7 @@ import com.google.cloud.teleport.v2.spanner.migrations.utils.CustomTransformatio
 import com.google.cloud.teleport.v2.spanner.utils.ISpannerMigrationTransformer;
 import com.google.cloud.teleport.v2.templates.RowContext;
 import java.io.Serializable;
+import java.util.HashMap;
 import java.util.Map;
 import javax.annotation.Nullable;
 import org.apache.avro.generic.GenericRecord;
@@ -52,8 +53,12 @@ public abstract class SourceRowToMutationDoFn extends DoFn<SourceRow, RowContext
   public void setSourceDbToSpannerTransformer(
       ISpannerMigrationTransformer sourceDbToSpannerTransformer) {
     this.sourceDbToSpannerTransformer = sourceDbToSpannerTransformer;
+    this.genericRecordTypeConvertors = null;
   }
 
+  // Convertors by shard id, kept across bundles so that their column conversions are reused.
+  private transient Map<String, GenericRecordTypeConvertor> genericRecordTypeConvertors;
+
   private final Counter transformerErrors =
       Metrics.counter(SourceRowToMutationDoFn.class, MetricCounters.TRANSFORMER_ERRORS);
 
@@ -75,6 +80,7 @@ public abstract class SourceRowToMutationDoFn extends DoFn<SourceRow, RowContext
   public void setup() {
     sourceDbToSpannerTransformer =
         CustomTransformationImplFetcher.getCustomTransformationLogicImpl(customTransformation());
+    genericRecordTypeConvertors = null;
   }
 
   @ProcessElement
@@ -87,8 +93,7 @@ public abstract class SourceRowToMutationDoFn extends DoFn<SourceRow, RowContext
       GenericRecord record = sourceRow.getPayload();
       String srcTableName = sourceRow.tableName();
       GenericRecordTypeConvertor genericRecordTypeConvertor =
-          new GenericRecordTypeConvertor(
-              iSchemaMapper(), "", sourceRow.shardId(), sourceDbToSpannerTransformer);
+          getGenericRecordTypeConvertor(sourceRow.shardId());
       Map<String, Value> values =
           genericRecordTypeConvertor.transformChangeEvent(record, srcTableName);
       if (values == null) {
@@ -114,6 +119,16 @@ public abstract class SourceRowToMutationDoFn extends DoFn<SourceRow, RowContext
     }
   }
 
+  private GenericRecordTypeConvertor getGenericRecordTypeConvertor(String shardId) {
+    if (genericRecordTypeConvertors == null) {
+      genericRecordTypeConvertors = new HashMap<>();
+    }
+    return genericRecordTypeConvertors.computeIfAbsent(
+        shardId,
+        id ->
+            new GenericRecordTypeConvertor(iSchemaMapper(), "", id, sourceDbToSpannerTransformer));
+  }
+
   private Mutation mutationFromMap(String spannerTableName, Map<String, Value> values) {
     Mutation.WriteBuilder builder = Mutation.newInsertOrUpdateBuilder(spannerTableName);
     for (String spannerColName : values.keySet()) {
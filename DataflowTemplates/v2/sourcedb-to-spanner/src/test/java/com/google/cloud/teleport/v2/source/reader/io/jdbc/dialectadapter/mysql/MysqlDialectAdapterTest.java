@@ -46,6 +46,7 @@ import java.sql.SQLNonTransientConnectionException;
 import java.sql.SQLTransientConnectionException;
 import java.sql.Statement;
 import javax.sql.DataSource;
+import org.apache.commons.lang3.tuple.Pair;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
@@ -642,6 +643,24 @@ public class MysqlDialectAdapterTest {
             "select MIN(col3),MAX(col3) from testTable WHERE ((? = FALSE) OR (col_1 >= ? AND (col_1 < ? OR (? = TRUE AND col_1 = ?)))) AND ((? = FALSE) OR (col_2 >= ? AND (col_2 < ? OR (? = TRUE AND col_2 = ?))))");
   }
 
+  @Test
+  public void testParseColumnHistogram() {
+    MysqlDialectAdapter mysqlDialectAdapter = new MysqlDialectAdapter(MySqlVersion.DEFAULT);
+    assertThat(mysqlDialectAdapter.getColumnHistogramQuery()).contains("COLUMN_STATISTICS");
+    assertThat(
+            mysqlDialectAdapter.parseColumnHistogram(
+                "{\"buckets\": [[1, 100, 0.25, 100], [101, 1000, 1.0, 900]],"
+                    + " \"histogram-type\": \"equi-height\"}"))
+        .containsExactly(Pair.of("1", 0.0), Pair.of("100", 0.25), Pair.of("1000", 1.0))
+        .inOrder();
+    assertThat(
+            mysqlDialectAdapter.parseColumnHistogram(
+                "{\"buckets\": [[5, 0.5], [7, 1.0]], \"histogram-type\": \"singleton\"}"))
+        .containsExactly(Pair.of("5", 0.5), Pair.of("7", 1.0))
+        .inOrder();
+    assertThat(mysqlDialectAdapter.parseColumnHistogram("not a histogram")).isEmpty();
+  }
+
   @Test
   public void testCheckTimeoutException() {
     MysqlDialectAdapter mysqlDialectAdapter = new MysqlDialectAdapter(MySqlVersion.DEFAULT);
@@ -39,6 +39,7 @@ import java.sql.SQLNonTransientConnectionException;
 import java.sql.SQLTransientConnectionException;
 import java.sql.Statement;
 import javax.sql.DataSource;
+import org.apache.commons.lang3.tuple.Pair;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -364,6 +365,48 @@ public class PostgreSQLDialectAdapterTest {
         .isTrue();
   }
 
+  @Test
+  public void testParseColumnHistogram() {
+    assertThat(adapter.getColumnHistogramQuery()).contains("pg_stats");
+    assertThat(adapter.parseColumnHistogram("{\"histogram_bounds\": \"{1,50,1000}\"}"))
+        .containsExactly(Pair.of("1", 0.0), Pair.of("50", 0.5), Pair.of("1000", 1.0))
+        .inOrder();
+    assertThat(adapter.parseColumnHistogram("{\"histogram_bounds\": \"{\\\"a b\\\",c}\"}"))
+        .isEmpty();
+    assertThat(adapter.parseColumnHistogram("{\"histogram_bounds\": \"{1}\"}")).isEmpty();
+    assertThat(adapter.parseColumnHistogram("not statistics")).isEmpty();
+  }
+
+  @Test
+  public void testParseColumnHistogramWithMostCommonValues() {
+    // Half of the rows have one of the most common values, a tenth are null, and the histogram
+    // holds the remaining 40%.
+    String statistics =
+        "{\"histogram_bounds\": \"{10,20,30}\", \"most_common_vals\": \"{5,20}\","
+            + " \"most_common_freqs\": [0.2, 0.3], \"null_frac\": 0.1}";
+
+    ImmutableList<Pair<String, Double>> histogram = adapter.parseColumnHistogram(statistics);
+
+    assertThat(histogram.stream().map(Pair::getLeft).toArray())
+        .asList()
+        .containsExactly("5", "10", "20", "30")
+        .inOrder();
+    assertThat(histogram.get(0).getRight()).isWithin(1e-9).of(0.2);
+    assertThat(histogram.get(1).getRight()).isWithin(1e-9).of(0.2);
+    assertThat(histogram.get(2).getRight()).isWithin(1e-9).of(0.7);
+    assertThat(histogram.get(3).getRight()).isWithin(1e-9).of(0.9);
+  }
+
+  @Test
+  public void testParseColumnHistogramWithOnlyMostCommonValues() {
+    assertThat(
+            adapter.parseColumnHistogram(
+                "{\"histogram_bounds\": null, \"most_common_vals\": \"{1,2}\","
+                    + " \"most_common_freqs\": [0.75, 0.25], \"null_frac\": 0}"))
+        .containsExactly(Pair.of("1", 0.75), Pair.of("2", 1.0))
+        .inOrder();
+  }
+
   @Test
   public void testCollationsOrderQueryWithPadSpace() {
     String collationsOrderQuery = adapter.getCollationsOrderQuery("myCharset", "myCollation", true);
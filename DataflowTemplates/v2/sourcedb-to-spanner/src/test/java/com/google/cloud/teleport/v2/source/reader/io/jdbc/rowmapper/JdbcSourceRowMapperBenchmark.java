@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.source.reader.io.jdbc.rowmapper;
+
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.rowmapper.provider.MysqlJdbcValueMappings;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.rowmapper.provider.PostgreSQLJdbcValueMappings;
+import com.google.cloud.teleport.v2.source.reader.io.row.SourceRow;
+import com.google.cloud.teleport.v2.source.reader.io.schema.SchemaTestUtils;
+import com.google.cloud.teleport.v2.source.reader.io.schema.SourceSchemaReference;
+import com.google.cloud.teleport.v2.source.reader.io.schema.SourceTableSchema;
+import com.google.cloud.teleport.v2.source.reader.io.schema.typemapping.UnifiedTypeMapper.MapperType;
+import com.google.cloud.teleport.v2.spanner.migrations.schema.SourceColumnType;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.avro.Schema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark of {@link JdbcSourceRowMapper} for the MySQL and PostgreSQL {@link
+ * JdbcValueMappingsProvider JdbcValueMappings}.
+ *
+ * <p>{@code perColumnLookup} resolves the schema and the value mapper of every column for each
+ * row, like the mapper did before it was backed by a {@link JdbcSourceRowMappingPlan}. The rows
+ * are served by an in-memory {@link ResultSet} so that only the mapping is measured. Run from the
+ * sourcedb-to-spanner module after {@code mvn test-compile} with:
+ *
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) org.openjdk.jmh.Main \
+ *     JdbcSourceRowMapperBenchmark -prof gc
+ * </pre>
+ *
+ * where {@code cp.txt} holds the output of {@code mvn dependency:build-classpath
+ * -Dmdep.outputFile=cp.txt}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JdbcSourceRowMapperBenchmark {
+
+  @Param({"MYSQL", "POSTGRESQL"})
+  public MapperType dialect;
+
+  private JdbcValueMappingsProvider mappingsProvider;
+
+  private SourceSchemaReference sourceSchemaReference;
+
+  private SourceTableSchema sourceTableSchema;
+
+  private JdbcSourceRowMapper mapper;
+
+  private ResultSet resultSet;
+
+  @Setup
+  public void setup() {
+    Long[] noMods = new Long[] {};
+    SourceTableSchema.Builder builder =
+        SourceTableSchema.builder(dialect).setTableName("orders");
+    if (dialect == MapperType.MYSQL) {
+      mappingsProvider = new MysqlJdbcValueMappings();
+      builder
+          .addSourceColumnNameToSourceColumnType("id", new SourceColumnType("BIGINT", noMods, null))
+          .addSourceColumnNameToSourceColumnType(
+              "customer_id", new SourceColumnType("INTEGER", noMods, null))
+          .addSourceColumnNameToSourceColumnType(
+              "status", new SourceColumnType("VARCHAR", new Long[] {20L}, null))
+          .addSourceColumnNameToSourceColumnType(
+              "amount", new SourceColumnType("DECIMAL", new Long[] {10L, 2L}, null))
+          .addSourceColumnNameToSourceColumnType(
+              "discount", new SourceColumnType("DOUBLE", noMods, null))
+          .addSourceColumnNameToSourceColumnType(
+              "delivery_date", new SourceColumnType("DATE", noMods, null))
+          .addSourceColumnNameToSourceColumnType(
+              "created_at", new SourceColumnType("TIMESTAMP", noMods, null))
+          .addSourceColumnNameToSourceColumnType(
+              "notes", new SourceColumnType("TEXT", noMods, null));
+    } else {
+      mappingsProvider = new PostgreSQLJdbcValueMappings();
+      builder
+          .addSourceColumnNameToSourceColumnType("id", new SourceColumnType("INT8", noMods, null))
+          .addSourceColumnNameToSourceColumnType(
+              "customer_id", new SourceColumnType("INT4", noMods, null))
+          .addSourceColumnNameToSourceColumnType(
+              "status", new SourceColumnType("VARCHAR", new Long[] {20L}, null))
+          .addSourceColumnNameToSourceColumnType(
+              "amount", new SourceColumnType("NUMERIC", new Long[] {10L, 2L}, null))
+          .addSourceColumnNameToSourceColumnType(
+              "discount", new SourceColumnType("FLOAT8", noMods, null))
+          .addSourceColumnNameToSourceColumnType(
+              "delivery_date", new SourceColumnType("DATE", noMods, null))
+          .addSourceColumnNameToSourceColumnType(
+              "created_at", new SourceColumnType("TIMESTAMP", noMods, null))
+          .addSourceColumnNameToSourceColumnType(
+              "notes", new SourceColumnType("TEXT", noMods, null));
+    }
+    sourceTableSchema = builder.build();
+    sourceSchemaReference = SchemaTestUtils.generateSchemaReference("public", "shop");
+    mapper =
+        new JdbcSourceRowMapper(
+            mappingsProvider, sourceSchemaReference, sourceTableSchema, "shard1");
+    resultSet = inMemoryRow();
+  }
+
+  @Benchmark
+  public SourceRow mappingPlan() {
+    return mapper.mapRow(resultSet);
+  }
+
+  @Benchmark
+  public SourceRow perColumnLookup() throws SQLException {
+    var builder =
+        SourceRow.builder(
+            sourceSchemaReference, sourceTableSchema, "shard1", mapper.getCurrentTimeMicros());
+    for (Map.Entry<String, SourceColumnType> entry :
+        sourceTableSchema.sourceColumnNameToSourceColumnType().entrySet()) {
+      Schema schema = sourceTableSchema.getAvroPayload().getField(entry.getKey()).schema();
+      if (schema.isUnion()) {
+        schema = schema.getTypes().get(1);
+      }
+      builder.setField(
+          entry.getKey(),
+          mappingsProvider
+              .getMappings()
+              .getOrDefault(entry.getValue().getName().toUpperCase(), JdbcValueMapper.UNSUPPORTED)
+              .mapValue(resultSet, entry.getKey(), schema));
+    }
+    return builder.build();
+  }
+
+  /** A {@link ResultSet} positioned on a single row with a non-null value in every column. */
+  private static ResultSet inMemoryRow() {
+    BigDecimal amount = new BigDecimal("1234.56");
+    Date date = Date.valueOf("2024-05-17");
+    Timestamp timestamp = Timestamp.valueOf("2024-05-17 10:15:30.123456");
+    return (ResultSet)
+        Proxy.newProxyInstance(
+            ResultSet.class.getClassLoader(),
+            new Class<?>[] {ResultSet.class},
+            (proxy, method, args) -> {
+              switch (method.getName()) {
+                case "getLong":
+                  return 123456789L;
+                case "getInt":
+                  return 42;
+                case "getDouble":
+                  return 0.15d;
+                case "getString":
+                  return "PENDING";
+                case "getBigDecimal":
+                case "getObject":
+                  return amount;
+                case "getDate":
+                  return date;
+                case "getTimestamp":
+                  return timestamp;
+                case "wasNull":
+                  return false;
+                default:
+                  throw new UnsupportedOperationException(method.getName());
+              }
+            });
+  }
+}
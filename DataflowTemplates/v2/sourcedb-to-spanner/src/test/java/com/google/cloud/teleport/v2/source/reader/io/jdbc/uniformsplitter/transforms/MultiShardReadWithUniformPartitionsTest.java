@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.transforms;
+
+import static org.junit.Assert.assertThrows;
+
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter.MySqlVersion;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.PartitionColumn;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.transforms.MultiShardReadWithUniformPartitions.ShardSource;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.io.Serializable;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.apache.beam.sdk.io.jdbc.JdbcIO.DataSourceConfiguration;
+import org.apache.beam.sdk.io.jdbc.JdbcIO.RowMapper;
+import org.apache.beam.sdk.testing.PAssert;
+import org.apache.beam.sdk.testing.TestPipeline;
+import org.apache.beam.sdk.values.PCollection;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Test class for {@link MultiShardReadWithUniformPartitions}. */
+@RunWith(JUnit4.class)
+public class MultiShardReadWithUniformPartitionsTest implements Serializable {
+  private static final String tableName = "test_table_multi_shard_read";
+
+  private static final DataSource SHARD_2_DATA_SOURCE =
+      DataSourceConfiguration.create(
+              "org.apache.derby.jdbc.EmbeddedDriver", "jdbc:derby:memory:testShard2DB;create=true")
+          .buildDatasource();
+
+  @Rule public final transient TestPipeline testPipeline = TestPipeline.create();
+
+  @BeforeClass
+  public static void beforeClass() throws SQLException {
+    // by default, derby uses a lock timeout of 60 seconds. In order to speed up the test
+    // and detect the lock faster, we decrease this timeout
+    System.setProperty("derby.locks.waitTimeout", "2");
+    System.setProperty("derby.stream.error.file", "build/derby.log");
+    TransformTestUtils.createDerbyTable(tableName);
+    TransformTestUtils.createDerbyTable(SHARD_2_DATA_SOURCE, tableName);
+  }
+
+  @AfterClass
+  public static void exitDerby() throws SQLException {
+    TransformTestUtils.dropDerbyTable(tableName);
+    try (java.sql.Connection connection = SHARD_2_DATA_SOURCE.getConnection()) {
+      connection.createStatement().executeUpdate("drop table " + tableName);
+    }
+  }
+
+  @Test
+  public void testMultiShardReadReadsAllShards() {
+    PCollection<String> output =
+        testPipeline.apply(
+            MultiShardReadWithUniformPartitions.<String>builder()
+                .setShards(
+                    ImmutableMap.of(
+                        "shard1",
+                        ShardSource.create(
+                            ignored -> TransformTestUtils.DATA_SOURCE, rowMapper("shard1")),
+                        "shard2",
+                        ShardSource.create(ignored -> SHARD_2_DATA_SOURCE, rowMapper("shard2"))))
+                .setDbAdapter(new MysqlDialectAdapter(MySqlVersion.DEFAULT))
+                .setTableName(tableName)
+                .setPartitionColumns(partitionColumns())
+                .setPartitionsPerShard(3L)
+                .build());
+
+    PAssert.that(output)
+        .containsInAnyOrder(
+            "shard1:Data A",
+            "shard1:Data B",
+            "shard1:Data C",
+            "shard1:Data D",
+            "shard1:Data E",
+            "shard1:Data F",
+            "shard2:Data A",
+            "shard2:Data B",
+            "shard2:Data C",
+            "shard2:Data D",
+            "shard2:Data E",
+            "shard2:Data F");
+    testPipeline.run().waitUntilFinish();
+  }
+
+  @Test
+  public void testMultiShardReadBuildValidation() {
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            MultiShardReadWithUniformPartitions.<String>builder()
+                .setShards(ImmutableMap.of())
+                .setDbAdapter(new MysqlDialectAdapter(MySqlVersion.DEFAULT))
+                .setTableName(tableName)
+                .setPartitionColumns(partitionColumns())
+                .setPartitionsPerShard(3L)
+                .build());
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            MultiShardReadWithUniformPartitions.<String>builder()
+                .setShards(
+                    ImmutableMap.of(
+                        "shard1",
+                        ShardSource.create(
+                            ignored -> TransformTestUtils.DATA_SOURCE, rowMapper("shard1"))))
+                .setDbAdapter(new MysqlDialectAdapter(MySqlVersion.DEFAULT))
+                .setTableName(tableName)
+                .setPartitionColumns(partitionColumns())
+                .setPartitionsPerShard(0L)
+                .build());
+  }
+
+  private static ImmutableList<PartitionColumn> partitionColumns() {
+    return ImmutableList.of(
+        PartitionColumn.builder().setColumnName("col1").setColumnClass(Integer.class).build(),
+        PartitionColumn.builder().setColumnName("col2").setColumnClass(Integer.class).build());
+  }
+
+  private static RowMapper<String> rowMapper(String shardId) {
+    return resultSet -> shardId + ":" + resultSet.getString(3);
+  }
+}
@@ -33,6 +33,7 @@ package com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.trans
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.Assert.assertThrows;
 
+import com.google.cloud.teleport.v2.constants.MetricCounters;
 import com.google.cloud.teleport.v2.source.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter;
 import com.google.cloud.teleport.v2.source.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter.MySqlVersion;
 import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.BoundarySplitterFactory;
@@ -44,7 +45,11 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Iterator;
 import javax.sql.DataSource;
+import org.apache.beam.sdk.PipelineResult;
 import org.apache.beam.sdk.io.jdbc.JdbcIO.RowMapper;
+import org.apache.beam.sdk.metrics.MetricNameFilter;
+import org.apache.beam.sdk.metrics.MetricResult;
+import org.apache.beam.sdk.metrics.MetricsFilter;
 import org.apache.beam.sdk.testing.PAssert;
 import org.apache.beam.sdk.testing.TestPipeline;
 import org.apache.beam.sdk.transforms.DoFn;
@@ -158,7 +163,22 @@ public class ReadWithUniformPartitionsTest implements Serializable {
 
     PAssert.that(output)
         .containsInAnyOrder("Data A", "Data B", "Data C", "Data D", "Data E", "Data F");
-    testPipeline.run().waitUntilFinish();
+    PipelineResult result = testPipeline.run();
+    result.waitUntilFinish();
+    assertThat(counterValue(result, UnflattenRangesDoFn.class, MetricCounters.RANGES_TOTAL))
+        .isEqualTo(3L);
+    assertThat(counterValue(result, CountRangesDoneDoFn.class, MetricCounters.RANGES_DONE))
+        .isEqualTo(3L);
+  }
+
+  private static long counterValue(PipelineResult result, Class<?> namespace, String name) {
+    long value = 0;
+    MetricsFilter filter =
+        MetricsFilter.builder().addNameFilter(MetricNameFilter.named(namespace, name)).build();
+    for (MetricResult<Long> counter : result.metrics().queryMetrics(filter).getCounters()) {
+      value += counter.getAttempted();
+    }
+    return value;
   }
 
   @Test
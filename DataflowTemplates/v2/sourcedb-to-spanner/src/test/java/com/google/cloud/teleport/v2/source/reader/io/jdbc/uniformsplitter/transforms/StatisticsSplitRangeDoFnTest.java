@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.transforms;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.UniformSplitterDBAdapter;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.BoundarySplitterFactory;
+import com.google.cloud.teleport.v2.source.reader.io.jdbc.uniformsplitter.range.Range;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.beam.sdk.transforms.DoFn.OutputReceiver;
+import org.apache.beam.sdk.transforms.DoFn.ProcessContext;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/** Test class for {@link StatisticsSplitRangeDoFn}. */
+@RunWith(MockitoJUnitRunner.class)
+public class StatisticsSplitRangeDoFnTest {
+  @Mock OutputReceiver mockOut;
+  @Captor ArgumentCaptor<ImmutableList<Range>> rangeCaptor;
+  @Mock ProcessContext mockProcessContext;
+  @Mock UniformSplitterDBAdapter mockDbAdapter;
+
+  @Test
+  public void testSplitWithSkewedHistogram() {
+    Range range = longRange(0L, 1000L);
+    // Half of the rows have a key below 100.
+    ImmutableList<Pair<String, Double>> histogram =
+        ImmutableList.of(Pair.of("0", 0.0), Pair.of("100", 0.5), Pair.of("1000", 1.0));
+
+    ImmutableList<Range> ranges =
+        StatisticsSplitRangeDoFn.splitWithHistogram(range, histogram, 4, 1000);
+
+    assertThat(ranges.stream().map(Range::start).toArray())
+        .asList()
+        .containsExactly(0L, 50L, 101L, 551L)
+        .inOrder();
+    assertThat(ranges.stream().map(Range::end).toArray())
+        .asList()
+        .containsExactly(50L, 101L, 551L, 1000L)
+        .inOrder();
+    assertThat(ranges.stream().map(Range::count).toArray())
+        .asList()
+        .containsExactly(250L, 250L, 250L, 250L)
+        .inOrder();
+    assertThat(ranges.get(0).isFirst()).isTrue();
+    assertThat(ranges.get(3).isLast()).isTrue();
+    for (int i = 1; i < 3; i++) {
+      assertThat(ranges.get(i).isFirst()).isFalse();
+      assertThat(ranges.get(i).isLast()).isFalse();
+    }
+    List<Range> sortedRanges = new ArrayList<>(ranges);
+    Collections.shuffle(sortedRanges);
+    Collections.sort(sortedRanges);
+    assertThat(sortedRanges).containsExactlyElementsIn(ranges).inOrder();
+  }
+
+  @Test
+  public void testSplitWithSingletonHistogram() {
+    Range range = longRange(1L, 3L);
+    // Half of the rows have key 1, a tenth key 2 and the rest key 3.
+    ImmutableList<Pair<String, Double>> histogram =
+        ImmutableList.of(Pair.of("1", 0.5), Pair.of("2", 0.6), Pair.of("3", 1.0));
+
+    ImmutableList<Range> ranges =
+        StatisticsSplitRangeDoFn.splitWithHistogram(range, histogram, 4, 1000);
+
+    assertThat(ranges.stream().map(Range::start).toArray())
+        .asList()
+        .containsExactly(1L, 2L, 3L)
+        .inOrder();
+    assertThat(ranges.stream().map(Range::count).toArray())
+        .asList()
+        .containsExactly(500L, 100L, 400L)
+        .inOrder();
+  }
+
+  @Test
+  public void testSplitExtrapolatesKeysOutsideHistogram() {
+    Range range = longRange(-10L, 2000L);
+    ImmutableList<Pair<String, Double>> histogram =
+        ImmutableList.of(Pair.of("0", 0.0), Pair.of("1000", 0.8));
+
+    ImmutableList<Range> ranges =
+        StatisticsSplitRangeDoFn.splitWithHistogram(range, histogram, 2, 1000);
+
+    assertThat(ranges.stream().map(Range::start).toArray())
+        .asList()
+        .containsExactly(-10L, 0L, 500L, 1001L, 1501L)
+        .inOrder();
+    // Keys above the histogram are split as densely as the keys within it, but stay uncounted.
+    assertThat(ranges.stream().map(Range::count).toArray())
+        .asList()
+        .containsExactly(
+            Range.INDETERMINATE_COUNT,
+            500L,
+            500L,
+            Range.INDETERMINATE_COUNT,
+            Range.INDETERMINATE_COUNT)
+        .inOrder();
+    assertThat(ranges.get(4).end()).isEqualTo(2000L);
+  }
+
+  @Test
+  public void testSplitWithUnusableHistogram() {
+    Range range = longRange(0L, 1000L);
+
+    assertThat(
+            StatisticsSplitRangeDoFn.splitWithHistogram(
+                range, ImmutableList.of(Pair.of("a", 0.0), Pair.of("b", 1.0)), 4, 1000))
+        .isEmpty();
+    assertThat(
+            StatisticsSplitRangeDoFn.splitWithHistogram(
+                range, ImmutableList.of(Pair.of("10", 0.0), Pair.of("5", 1.0)), 4, 1000))
+        .isEmpty();
+    assertThat(
+            StatisticsSplitRangeDoFn.splitWithHistogram(
+                range, ImmutableList.of(Pair.of("2000", 0.0), Pair.of("3000", 1.0)), 4, 1000))
+        .isEmpty();
+  }
+
+  @Test
+  public void testFallbackToUniformSplit() {
+    when(mockDbAdapter.getColumnHistogramQuery()).thenReturn(null);
+    StatisticsSplitRangeDoFn statisticsSplitRangeDoFn =
+        new StatisticsSplitRangeDoFn(ignored -> null, mockDbAdapter, "testTable", 1000L, 2L);
+
+    statisticsSplitRangeDoFn.processElement(longRange(0L, 8L), mockOut, mockProcessContext);
+
+    verify(mockOut, times(1)).output(rangeCaptor.capture());
+    assertThat(rangeCaptor.getValue().stream().map(Range::start).toArray())
+        .asList()
+        .containsExactly(0L, 2L, 4L, 6L)
+        .inOrder();
+  }
+
+  private static Range longRange(long start, long end) {
+    return Range.builder()
+        .setColName("col1")
+        .setColClass(Long.class)
+        .setStart(start)
+        .setEnd(end)
+        .setBoundarySplitter(BoundarySplitterFactory.create(Long.class))
+        .setIsFirst(true)
+        .setIsLast(true)
+        .build();
+  }
+}
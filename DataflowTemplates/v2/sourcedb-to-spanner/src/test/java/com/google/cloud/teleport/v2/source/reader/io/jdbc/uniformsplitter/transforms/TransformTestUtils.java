@@ -32,7 +32,11 @@ class TransformTestUtils {
   private TransformTestUtils() {}
 
   static void createDerbyTable(String tableName) throws SQLException {
-    try (java.sql.Connection connection = getConnection()) {
+    createDerbyTable(DATA_SOURCE, tableName);
+  }
+
+  static void createDerbyTable(DataSource dataSource, String tableName) throws SQLException {
+    try (java.sql.Connection connection = dataSource.getConnection()) {
       Statement stmtCreateTable = connection.createStatement();
       String createTableSQL =
           "CREATE TABLE "
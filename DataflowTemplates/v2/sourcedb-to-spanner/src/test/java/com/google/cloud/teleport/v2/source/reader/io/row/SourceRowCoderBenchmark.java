@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.source.reader.io.row;
+
+import com.google.cloud.teleport.v2.source.reader.io.schema.SchemaTestUtils;
+import com.google.cloud.teleport.v2.source.reader.io.schema.SourceTableSchema;
+import com.google.common.collect.ImmutableList;
+import java.util.concurrent.TimeUnit;
+import org.apache.beam.sdk.coders.Coder;
+import org.apache.beam.sdk.coders.CoderException;
+import org.apache.beam.sdk.coders.SerializableCoder;
+import org.apache.beam.sdk.util.CoderUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark comparing Java serialization of {@link SourceRow} with {@link SourceRowCoder}.
+ *
+ * <p>The encoded size of a row is printed during setup. Run from the sourcedb-to-spanner module
+ * after {@code mvn test-compile} with:
+ *
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) org.openjdk.jmh.Main \
+ *     SourceRowCoderBenchmark -prof gc
+ * </pre>
+ *
+ * where {@code cp.txt} holds the output of {@code mvn dependency:build-classpath
+ * -Dmdep.outputFile=cp.txt}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SourceRowCoderBenchmark {
+
+  @Param({"serializable", "fingerprinted"})
+  public String coderName;
+
+  private Coder<SourceRow> coder;
+
+  private SourceRow row;
+
+  private byte[] encoded;
+
+  @Setup
+  public void setup() throws CoderException {
+    SourceTableSchema schema = SchemaTestUtils.generateTestTableSchema("testTable");
+    coder =
+        "fingerprinted".equals(coderName)
+            ? SourceRowCoder.of(ImmutableList.of(schema))
+            : SerializableCoder.of(SourceRow.class);
+    row =
+        SourceRow.builder(
+                SchemaTestUtils.generateSchemaReference("public", "mydb"),
+                schema,
+                "shard1",
+                1712751118L)
+            .setField("firstName", "abc")
+            .setField("lastName", "def")
+            .build();
+    encoded = CoderUtils.encodeToByteArray(coder, row);
+    System.out.printf("%n%s: %d bytes per row%n", coderName, encoded.length);
+  }
+
+  @Benchmark
+  public byte[] encode() throws CoderException {
+    return CoderUtils.encodeToByteArray(coder, row);
+  }
+
+  @Benchmark
+  public SourceRow decode() throws CoderException {
+    return CoderUtils.decodeFromByteArray(coder, encoded);
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.source.reader.io.row;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.cloud.teleport.v2.source.reader.io.schema.SchemaTestUtils;
+import com.google.cloud.teleport.v2.source.reader.io.schema.SourceTableSchema;
+import com.google.common.collect.ImmutableList;
+import org.apache.beam.sdk.coders.Coder.NonDeterministicException;
+import org.apache.beam.sdk.coders.SerializableCoder;
+import org.apache.beam.sdk.testing.CoderProperties;
+import org.apache.beam.sdk.util.CoderUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Test class for {@link SourceRowCoder}. */
+@RunWith(JUnit4.class)
+public class SourceRowCoderTest {
+
+  private static final long TEST_READ_TIME = 1712751118L;
+
+  private static SourceRow testRow(SourceTableSchema schema, String shardId) {
+    return SourceRow.builder(
+            SchemaTestUtils.generateSchemaReference("public", "mydb"),
+            schema,
+            shardId,
+            TEST_READ_TIME)
+        .setField("firstName", "abc")
+        .setField("lastName", "def")
+        .build();
+  }
+
+  @Test
+  public void testRegisteredSchemaRoundTrip() throws Exception {
+    SourceTableSchema schema = SchemaTestUtils.generateTestTableSchema("testTable");
+    SourceRowCoder coder = SourceRowCoder.of(ImmutableList.of(schema));
+
+    CoderProperties.coderDecodeEncodeEqual(coder, testRow(schema, "id1"));
+    CoderProperties.coderDecodeEncodeEqual(coder, testRow(schema, null));
+
+    SourceRow decoded =
+        CoderUtils.decodeFromByteArray(
+            coder, CoderUtils.encodeToByteArray(coder, testRow(schema, "id1")));
+    assertThat(decoded.tableName()).isEqualTo("testTable");
+    assertThat(decoded.tableSchemaUUID()).isEqualTo(schema.tableSchemaUUID());
+    assertThat(decoded.getReadTimeMicros()).isEqualTo(TEST_READ_TIME);
+    assertThat(decoded.getPayload().get("firstName").toString()).isEqualTo("abc");
+  }
+
+  @Test
+  public void testUnregisteredSchemaRoundTrip() throws Exception {
+    SourceTableSchema registered = SchemaTestUtils.generateTestTableSchema("testTable");
+    SourceTableSchema unregistered = SchemaTestUtils.generateTestTableSchema("otherTable");
+    SourceRowCoder coder = SourceRowCoder.of(ImmutableList.of(registered));
+
+    CoderProperties.coderDecodeEncodeEqual(coder, testRow(unregistered, "id1"));
+    CoderProperties.coderDecodeEncodeEqual(
+        SourceRowCoder.of(ImmutableList.of()), testRow(registered, null));
+  }
+
+  @Test
+  public void testRegisteredSchemaIsSmallerThanJavaSerialization() throws Exception {
+    SourceTableSchema schema = SchemaTestUtils.generateTestTableSchema("testTable");
+    SourceRow row = testRow(schema, "id1");
+
+    int registeredSize =
+        CoderUtils.encodeToByteArray(SourceRowCoder.of(ImmutableList.of(schema)), row).length;
+    int inlineSize =
+        CoderUtils.encodeToByteArray(SourceRowCoder.of(ImmutableList.of()), row).length;
+    int serializedSize =
+        CoderUtils.encodeToByteArray(SerializableCoder.of(SourceRow.class), row).length;
+
+    assertThat(registeredSize).isLessThan(inlineSize);
+    assertThat(registeredSize).isLessThan(serializedSize);
+  }
+
+  @Test
+  public void testCoderEquality() {
+    SourceTableSchema schema = SchemaTestUtils.generateTestTableSchema("testTable");
+    SourceRowCoder coder = SourceRowCoder.of(ImmutableList.of(schema));
+
+    CoderProperties.coderSerializable(coder);
+    assertThat(coder).isEqualTo(SourceRowCoder.of(ImmutableList.of(schema)));
+    assertThat(coder).isNotEqualTo(SourceRowCoder.of(ImmutableList.of()));
+    assertThrows(NonDeterministicException.class, coder::verifyDeterministic);
+  }
+}
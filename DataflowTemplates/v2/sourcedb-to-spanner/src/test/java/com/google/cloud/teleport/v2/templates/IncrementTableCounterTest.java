@@ -16,23 +16,30 @@
 package com.google.cloud.teleport.v2.templates;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import com.google.cloud.teleport.v2.constants.MetricCounters;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.apache.beam.sdk.PipelineResult;
 import org.apache.beam.sdk.metrics.MetricResult;
 import org.apache.beam.sdk.metrics.MetricsFilter;
+import org.apache.beam.sdk.testing.PAssert;
 import org.apache.beam.sdk.testing.TestPipeline;
 import org.apache.beam.sdk.transforms.Create;
 import org.apache.beam.sdk.transforms.Wait;
 import org.apache.beam.sdk.values.PCollection;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class IncrementTableCounterTest {
   @Rule public final transient TestPipeline pipeline = TestPipeline.create();
 
+  @Rule public final transient TemporaryFolder tempFolder = new TemporaryFolder();
+
   @Test
   public void testIncrementTableCounter() {
     PCollection<Integer> t1 = pipeline.apply("t1", Create.of(1));
@@ -53,4 +60,40 @@ public class IncrementTableCounterTest {
       }
     }
   }
+
+  @Test
+  public void testIncrementTableCounterWithoutTables() {
+    PCollection<Void> output =
+        pipeline.apply(new IncrementTableCounter(new HashMap<>(), "test-shard"));
+    PAssert.that(output).empty();
+    pipeline.run().waitUntilFinish();
+  }
+
+  @Test
+  public void testIncrementTableCounterForTablesReadFromManyShards() {
+    MigrationCheckpointStore checkpointStore =
+        MigrationCheckpointStore.of(tempFolder.getRoot().getAbsolutePath());
+    PCollection<Integer> t1 = pipeline.apply("t1", Create.of(1));
+    PCollection<Integer> t2 = pipeline.apply("t2", Create.of(1));
+    Map<String, Wait.OnSignal<?>> tableWaits = new HashMap<>();
+    tableWaits.put("t1", Wait.on(t1));
+    tableWaits.put("t2", Wait.on(t2));
+    Map<String, List<String>> tableShardIds = new HashMap<>();
+    tableShardIds.put("t1", List.of("shard1", "shard2"));
+    tableShardIds.put("t2", List.of("shard2"));
+    pipeline.apply(new IncrementTableCounter(tableWaits, tableShardIds, checkpointStore));
+    PipelineResult result = pipeline.run();
+    result.waitUntilFinish();
+    for (MetricResult c :
+        result.metrics().queryMetrics(MetricsFilter.builder().build()).getCounters()) {
+      String name = c.getName().getName();
+      if (name.equals(MetricCounters.TABLES_COMPLETED)) {
+        assertEquals(2L, c.getCommitted());
+      }
+    }
+    assertTrue(checkpointStore.isTableComplete("shard1", "t1"));
+    assertTrue(checkpointStore.isTableComplete("shard2", "t1"));
+    assertTrue(checkpointStore.isTableComplete("shard2", "t2"));
+    assertFalse(checkpointStore.isTableComplete("shard1", "t2"));
+  }
 }
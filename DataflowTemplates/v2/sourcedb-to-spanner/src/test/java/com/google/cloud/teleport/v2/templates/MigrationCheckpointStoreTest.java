@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Test class for {@link MigrationCheckpointStore}. */
+@RunWith(JUnit4.class)
+public class MigrationCheckpointStoreTest {
+
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void testMarkTableComplete() throws Exception {
+    String checkpointDirectory = temporaryFolder.getRoot().getAbsolutePath();
+    MigrationCheckpointStore checkpointStore = MigrationCheckpointStore.of(checkpointDirectory);
+
+    assertFalse(checkpointStore.isTableComplete("", "t1"));
+    checkpointStore.markTableComplete("", "t1");
+    assertTrue(checkpointStore.isTableComplete("", "t1"));
+    assertTrue(new File(temporaryFolder.getRoot(), "default/t1.done").exists());
+    // Marking a table again is a no-op.
+    checkpointStore.markTableComplete("", "t1");
+    assertTrue(checkpointStore.isTableComplete("", "t1"));
+    assertFalse(checkpointStore.isTableComplete("", "t2"));
+  }
+
+  @Test
+  public void testCheckpointsAreScopedToShards() throws Exception {
+    MigrationCheckpointStore checkpointStore =
+        MigrationCheckpointStore.of(temporaryFolder.getRoot().getAbsolutePath());
+
+    checkpointStore.markTableComplete("shard1", "t1");
+
+    assertTrue(checkpointStore.isTableComplete("shard1", "t1"));
+    assertFalse(checkpointStore.isTableComplete("shard2", "t1"));
+    assertFalse(checkpointStore.isTableComplete("", "t1"));
+  }
+
+  @Test
+  public void testEmptyDirectory() {
+    assertThrows(IllegalArgumentException.class, () -> MigrationCheckpointStore.of(""));
+  }
+}
@@ -32,9 +32,11 @@ import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import org.apache.arrow.util.VisibleForTesting;
 import org.apache.avro.Conversions;
@@ -46,6 +48,7 @@ import org.apache.avro.data.TimeConversions;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.beam.sdk.metrics.Distribution;
 import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.commons.lang3.tuple.Pair;
 import org.joda.time.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -74,6 +77,13 @@ public class GenericRecordTypeConvertor {
       Metrics.distribution(
           GenericRecordTypeConvertor.class, "apply_custom_transformation_impl_latency_ms");
 
+  private final Distribution conversionLatencyNanos =
+      Metrics.distribution(GenericRecordTypeConvertor.class, "transform_change_event_latency_ns");
+
+  // Column conversions by source table name and record schema.
+  private final Map<Pair<String, Schema>, List<ColumnConversion>> columnConversions =
+      new ConcurrentHashMap<>();
+
   public GenericRecordTypeConvertor(
       ISchemaMapper schemaMapper,
       String namespace,
@@ -90,24 +100,70 @@ public class GenericRecordTypeConvertor {
    * corresponding Spanner column value. This handles the data conversion logic from a GenericRecord
    * field to a Map of Spanner column name to spanner Value.
    *
+   * <p>The Spanner columns, types and converters of a source table are resolved through the {@link
+   * ISchemaMapper} once per table and record schema and then reused for all records of that table
+   * and schema.
+   *
    * <p>This method can return 'null' which indicates the change event needs to be skipped.
    */
   public Map<String, Value> transformChangeEvent(GenericRecord record, String srcTableName)
       throws InvalidTransformationException {
+    long startNanos = System.nanoTime();
     Map<String, Value> result = new HashMap<>();
+    for (ColumnConversion column :
+        getColumnConversions(srcTableName, record == null ? null : record.getSchema())) {
+      try {
+        // If current column is migration shard id, populate value.
+        if (column.isShardId()) {
+          result = populateShardId(result, column.spannerColName);
+          continue;
+        }
+        result.put(column.spannerColName, column.convert(record.get(column.fieldPos)));
+      } catch (NullPointerException e) {
+        throw e;
+      } catch (IllegalArgumentException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new RuntimeException(
+            String.format(
+                "Unable to convert spanner value for spanner col: %s", column.spannerColName),
+            e);
+      }
+    }
+    result = populateCustomTransformations(result, record, srcTableName);
+    conversionLatencyNanos.update(System.nanoTime() - startNanos);
+    return result;
+  }
+
+  /**
+   * Returns the conversions of the columns of a source table for records of the given schema,
+   * resolving them on first use.
+   */
+  private List<ColumnConversion> getColumnConversions(String srcTableName, Schema recordSchema) {
+    Pair<String, Schema> key = Pair.of(srcTableName, recordSchema);
+    List<ColumnConversion> conversions = columnConversions.get(key);
+    if (conversions == null) {
+      conversions = compileColumnConversions(srcTableName, recordSchema);
+      columnConversions.put(key, conversions);
+    }
+    return conversions;
+  }
+
+  private List<ColumnConversion> compileColumnConversions(
+      String srcTableName, Schema recordSchema) {
     String spannerTableName = schemaMapper.getSpannerTableName(namespace, srcTableName);
     List<String> spannerColNames = schemaMapper.getSpannerColumns(namespace, spannerTableName);
     // This is null/blank for identity/non-sharded cases.
     String shardIdCol = schemaMapper.getShardIdColumnName(namespace, spannerTableName);
+    List<ColumnConversion> conversions = new ArrayList<>(spannerColNames.size());
     for (String spannerColName : spannerColNames) {
       /**
        * TODO: Handle columns that will not exist at source - synth id - multi-column
        * transformations - auto-gen keys - Default columns - generated columns
        */
       try {
-        // If current column is migration shard id, populate value.
         if (spannerColName.equals(shardIdCol)) {
-          result = populateShardId(result, shardIdCol);
+          conversions.add(new ColumnConversion(spannerColName, -1, null));
           continue;
         }
         String srcColName =
@@ -115,17 +171,13 @@ public class GenericRecordTypeConvertor {
         Type spannerColumnType =
             schemaMapper.getSpannerColumnType(namespace, spannerTableName, spannerColName);
         LOG.debug(
-            "Transformer processing srcCol: {} spannerColumnType:{}",
-            srcColName,
-            spannerColumnType);
-
-        Value value =
-            getSpannerValue(
-                record.get(srcColName),
-                record.getSchema().getField(srcColName).schema(),
-                srcColName,
-                spannerColumnType);
-        result.put(spannerColName, value);
+            "Transformer compiling srcCol: {} spannerColumnType:{}", srcColName, spannerColumnType);
+        Schema.Field field = recordSchema.getField(srcColName);
+        conversions.add(
+            new ColumnConversion(
+                spannerColName,
+                field.pos(),
+                getValueConverter(field.schema(), srcColName, spannerColumnType)));
       } catch (NullPointerException e) {
         throw e;
       } catch (IllegalArgumentException e) {
@@ -136,8 +188,40 @@ public class GenericRecordTypeConvertor {
             e);
       }
     }
-    result = populateCustomTransformations(result, record, srcTableName);
-    return result;
+    return conversions;
+  }
+
+  /**
+   * Resolves how values of a field are converted to @spannerType. Primitive values that Spanner
+   * accepts as they are skip the conversion through strings.
+   */
+  private ValueConverter getValueConverter(
+      Schema fieldSchema, String recordColName, Type spannerType) {
+    Schema schema = filterNullSchema(fieldSchema, recordColName, null);
+    AvroToValueMapper.AvroToValueFunction function =
+        getAvroToValueFunction(recordColName, spannerType);
+    if (schema.getLogicalType() != null
+        || schema.getProp(LOGICAL_TYPE) != null
+        || schema.getType().equals(Schema.Type.RECORD)) {
+      return recordValue ->
+          function.apply(handleNonPrimitiveAvroTypes(recordValue, schema, recordColName), schema);
+    }
+    Schema.Type avroType = schema.getType();
+    boolean isInteger = avroType == Schema.Type.INT || avroType == Schema.Type.LONG;
+    if (isInteger && (spannerType.equals(Type.int64()) || spannerType.equals(Type.pgInt8()))) {
+      return recordValue ->
+          Value.int64(recordValue == null ? null : ((Number) recordValue).longValue());
+    }
+    if ((isInteger || avroType == Schema.Type.DOUBLE)
+        && (spannerType.equals(Type.float64()) || spannerType.equals(Type.pgFloat8()))) {
+      return recordValue ->
+          Value.float64(recordValue == null ? null : ((Number) recordValue).doubleValue());
+    }
+    if (avroType == Schema.Type.BOOLEAN
+        && (spannerType.equals(Type.bool()) || spannerType.equals(Type.pgBool()))) {
+      return recordValue -> Value.bool((Boolean) recordValue);
+    }
+    return recordValue -> function.apply(recordValue, schema);
   }
 
   /**
@@ -332,22 +416,55 @@ public class GenericRecordTypeConvertor {
   /** Converts an avro object to Spanner Value of the specified type. */
   private Value getSpannerValueFromObject(
       Object value, Schema fieldSchema, String recordColName, Type spannerType) {
+    return getAvroToValueFunction(recordColName, spannerType).apply(value, fieldSchema);
+  }
+
+  private AvroToValueMapper.AvroToValueFunction getAvroToValueFunction(
+      String recordColName, Type spannerType) {
     Dialect dialect = schemaMapper.getDialect();
     if (dialect == null) {
       throw new NullPointerException("schemaMapper returned null spanner dialect.");
     }
-    if (AvroToValueMapper.convertorMap().get(dialect).containsKey(spannerType)) {
-      return AvroToValueMapper.convertorMap()
-          .get(dialect)
-          .get(spannerType)
-          .apply(value, fieldSchema);
-    } else {
+    AvroToValueMapper.AvroToValueFunction function =
+        AvroToValueMapper.convertorMap().get(dialect).get(spannerType);
+    if (function == null) {
       throw new IllegalArgumentException(
           "Found unsupported Spanner column type("
               + spannerType.getCode()
               + ") for column "
               + recordColName);
     }
+    return function;
+  }
+
+  /** Converts the values of a single record field to a Spanner {@link Value}. */
+  private interface ValueConverter {
+    Value convert(Object recordValue);
+  }
+
+  /** Resolved conversion of a record field to a Spanner column. */
+  private static final class ColumnConversion {
+
+    private final String spannerColName;
+
+    // Position of the source field in the record, -1 for the migration shard id column.
+    private final int fieldPos;
+
+    private final ValueConverter converter;
+
+    ColumnConversion(String spannerColName, int fieldPos, ValueConverter converter) {
+      this.spannerColName = spannerColName;
+      this.fieldPos = fieldPos;
+      this.converter = converter;
+    }
+
+    boolean isShardId() {
+      return fieldPos < 0;
+    }
+
+    Value convert(Object recordValue) {
+      return converter.convert(recordValue);
+    }
   }
 
   static class CustomAvroTypes {
@@ -17,6 +17,7 @@ package com.google.cloud.teleport.v2.spanner.migrations.convertors;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.cloud.spanner.Mutation;
+import com.google.cloud.spanner.Struct;
 import com.google.cloud.spanner.Value;
 import com.google.cloud.teleport.v2.spanner.ddl.Column;
 import com.google.cloud.teleport.v2.spanner.ddl.Ddl;
@@ -214,4 +215,56 @@ public class ChangeEventSpannerConvertor {
       throw new ChangeEventConvertorException(e);
     }
   }
+
+  /**
+   * Rebuilds the primary key of a row read from a table with the key columns of {@code table}, such
+   * as a shadow table. The key parts have the same types as those of {@link
+   * #changeEventToPrimaryKey}, so that the keys compare equal.
+   *
+   * @return the primary key, or null if a key column is null or of a type that is not rebuilt.
+   */
+  public static com.google.cloud.spanner.Key rowToPrimaryKey(Table table, Struct row) {
+    com.google.cloud.spanner.Key.Builder pk = com.google.cloud.spanner.Key.newBuilder();
+    for (IndexColumn keyColumn : table.primaryKeys()) {
+      String keyColName = table.column(keyColumn.name()).name();
+      if (row.isNull(keyColName)) {
+        return null;
+      }
+      switch (table.column(keyColumn.name()).type().getCode()) {
+        case BOOL:
+        case PG_BOOL:
+          pk.append(row.getBoolean(keyColName));
+          break;
+        case INT64:
+        case PG_INT8:
+          pk.append(row.getLong(keyColName));
+          break;
+        case FLOAT64:
+        case PG_FLOAT8:
+          pk.append(row.getDouble(keyColName));
+          break;
+        case STRING:
+        case PG_VARCHAR:
+        case PG_TEXT:
+          pk.append(row.getString(keyColName));
+          break;
+        case BYTES:
+        case PG_BYTEA:
+          pk.append(row.getBytes(keyColName));
+          break;
+        case TIMESTAMP:
+        case PG_TIMESTAMPTZ:
+          pk.append(row.getTimestamp(keyColName));
+          break;
+        case DATE:
+        case PG_DATE:
+          pk.append(row.getDate(keyColName));
+          break;
+        default:
+          // NUMERIC keys may be read back with another scale, and JSON keys in another format.
+          return null;
+      }
+    }
+    return pk.build();
+  }
 }
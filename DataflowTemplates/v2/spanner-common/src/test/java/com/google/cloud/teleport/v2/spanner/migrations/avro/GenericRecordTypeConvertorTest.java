@@ -19,7 +19,9 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 
 import com.google.cloud.ByteArray;
@@ -633,4 +635,71 @@ public class GenericRecordTypeConvertorTest {
     // Shard id should not be present.
     assertEquals(Map.of("new_name", Value.string("name1")), actual);
   }
+
+  @Test
+  public void transformChangeEventTest_reusesColumnConversionsPerSchema()
+      throws InvalidTransformationException {
+    ISchemaMapper mockSchemaMapper = mock(ISchemaMapper.class);
+    when(mockSchemaMapper.getDialect()).thenReturn(Dialect.GOOGLE_STANDARD_SQL);
+    when(mockSchemaMapper.getSpannerTableName(anyString(), anyString())).thenReturn("test");
+    when(mockSchemaMapper.getSpannerColumns(anyString(), anyString()))
+        .thenReturn(List.of("id", "price"));
+    when(mockSchemaMapper.getSourceColumnName(anyString(), anyString(), eq("id")))
+        .thenReturn("id");
+    when(mockSchemaMapper.getSourceColumnName(anyString(), anyString(), eq("price")))
+        .thenReturn("price");
+    when(mockSchemaMapper.getSpannerColumnType(anyString(), anyString(), eq("id")))
+        .thenReturn(Type.int64());
+    when(mockSchemaMapper.getSpannerColumnType(anyString(), anyString(), eq("price")))
+        .thenReturn(Type.float64());
+    Schema schema =
+        SchemaBuilder.record("prices")
+            .fields()
+            .name("id")
+            .type(unionNullType(Schema.create(Schema.Type.INT)))
+            .noDefault()
+            .name("price")
+            .type(unionNullType(Schema.create(Schema.Type.DOUBLE)))
+            .noDefault()
+            .endRecord();
+    GenericRecordTypeConvertor genericRecordTypeConvertor =
+        new GenericRecordTypeConvertor(mockSchemaMapper, "", null, null);
+
+    GenericRecord first = new GenericData.Record(schema);
+    first.put("id", 1);
+    first.put("price", 9.99);
+    GenericRecord second = new GenericData.Record(schema);
+    second.put("id", 2);
+    second.put("price", null);
+
+    assertEquals(
+        Map.of("id", Value.int64(1), "price", Value.float64(9.99)),
+        genericRecordTypeConvertor.transformChangeEvent(first, "prices"));
+    assertEquals(
+        Map.of("id", Value.int64(2), "price", Value.float64(null)),
+        genericRecordTypeConvertor.transformChangeEvent(second, "prices"));
+    Mockito.verify(mockSchemaMapper, times(1))
+        .getSourceColumnName(anyString(), anyString(), eq("id"));
+
+    // A new version of the schema is resolved again.
+    Schema newSchema =
+        SchemaBuilder.record("prices")
+            .fields()
+            .name("price")
+            .type(unionNullType(Schema.create(Schema.Type.STRING)))
+            .noDefault()
+            .name("id")
+            .type(unionNullType(Schema.create(Schema.Type.LONG)))
+            .noDefault()
+            .endRecord();
+    GenericRecord third = new GenericData.Record(newSchema);
+    third.put("id", 3L);
+    third.put("price", "1.5");
+
+    assertEquals(
+        Map.of("id", Value.int64(3), "price", Value.float64(1.5)),
+        genericRecordTypeConvertor.transformChangeEvent(third, "prices"));
+    Mockito.verify(mockSchemaMapper, times(2))
+        .getSourceColumnName(anyString(), anyString(), eq("id"));
+  }
 }
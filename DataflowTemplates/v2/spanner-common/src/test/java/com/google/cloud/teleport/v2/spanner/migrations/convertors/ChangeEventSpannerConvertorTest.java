@@ -16,6 +16,7 @@
 package com.google.cloud.teleport.v2.spanner.migrations.convertors;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
@@ -26,6 +27,7 @@ import com.google.cloud.Date;
 import com.google.cloud.Timestamp;
 import com.google.cloud.spanner.Key;
 import com.google.cloud.spanner.Mutation;
+import com.google.cloud.spanner.Struct;
 import com.google.cloud.spanner.Value;
 import com.google.cloud.teleport.v2.spanner.ddl.Ddl;
 import com.google.cloud.teleport.v2.spanner.ddl.Table;
@@ -296,6 +298,44 @@ public class ChangeEventSpannerConvertorTest {
     assertThat(keyParts, is(expectedKeyParts));
   }
 
+  @Test
+  public void canConvertRowToPrimaryKey() {
+    Table table =
+        Ddl.builder()
+            .createTable("Users")
+            .column("first_name")
+            .string()
+            .max()
+            .endColumn()
+            .column("age")
+            .int64()
+            .endColumn()
+            .column("score")
+            .float64()
+            .endColumn()
+            .primaryKey()
+            .asc("first_name")
+            .asc("age")
+            .end()
+            .endTable()
+            .build()
+            .table("Users");
+    Struct row =
+        Struct.newBuilder()
+            .set("first_name")
+            .to("A")
+            .set("age")
+            .to(10L)
+            .set("score")
+            .to(1.5)
+            .build();
+    Struct rowWithNullKey =
+        Struct.newBuilder().set("first_name").to((String) null).set("age").to(10L).build();
+
+    assertThat(ChangeEventSpannerConvertor.rowToPrimaryKey(table, row), is(Key.of("A", 10L)));
+    assertThat(ChangeEventSpannerConvertor.rowToPrimaryKey(table, rowWithNullKey), is(nullValue()));
+  }
+
   @Test(expected = ChangeEventConvertorException.class)
   public void cannotConvertChangeEventWithMissingKeyColToPrimaryKey() throws Exception {
     Ddl ddl = getTestDdlForPrimaryKeyTest();
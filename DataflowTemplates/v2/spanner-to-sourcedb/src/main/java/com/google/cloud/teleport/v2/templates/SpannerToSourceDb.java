@@ -356,6 +356,19 @@ public class SpannerToSourceDb {
     Integer getDlqRetryMinutes();
 
     void setDlqRetryMinutes(Integer value);
+
+    @TemplateParameter.Integer(
+        order = 24,
+        optional = true,
+        description = "Source write batch size",
+        helpText =
+            "The maximum number of records written to a shard in one source transaction. Changes to"
+                + " the same primary key within a batch are coalesced into a single statement."
+                + " Defaults to 1, which writes each record in its own transaction.")
+    @Default.Integer(1)
+    Integer getSourceWriteBatchSize();
+
+    void setSourceWriteBatchSize(Integer value);
   }
 
   /**
@@ -559,7 +572,8 @@ public class SpannerToSourceDb {
                     ddl,
                     options.getShadowTablePrefix(),
                     options.getSkipDirectoryName(),
-                    connectionPoolSizePerWorker));
+                    connectionPoolSizePerWorker,
+                    options.getSourceWriteBatchSize()));
 
     PCollection<FailsafeElement<String, String>> dlqPermErrorRecords =
         reconsumedElements
@@ -0,0 +1,373 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates.transforms;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.cloud.spanner.Key;
+import com.google.cloud.spanner.Mutation;
+import com.google.cloud.teleport.v2.spanner.ddl.Ddl;
+import com.google.cloud.teleport.v2.spanner.migrations.convertors.ChangeEventSpannerConvertor;
+import com.google.cloud.teleport.v2.spanner.migrations.schema.Schema;
+import com.google.cloud.teleport.v2.spanner.migrations.shard.Shard;
+import com.google.cloud.teleport.v2.templates.changestream.ChangeStreamErrorRecord;
+import com.google.cloud.teleport.v2.templates.changestream.TrimmedShardedDataChangeRecord;
+import com.google.cloud.teleport.v2.templates.constants.Constants;
+import com.google.cloud.teleport.v2.templates.utils.ConnectionHelper;
+import com.google.cloud.teleport.v2.templates.utils.DMLGenerator;
+import com.google.cloud.teleport.v2.templates.utils.InputRecordProcessor;
+import com.google.cloud.teleport.v2.templates.utils.MySqlDao;
+import com.google.cloud.teleport.v2.templates.utils.PreparedDMLStatement;
+import com.google.cloud.teleport.v2.templates.utils.ShadowTableRecord;
+import com.google.cloud.teleport.v2.templates.utils.SpannerDao;
+import com.google.gson.Gson;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.apache.beam.sdk.io.gcp.spanner.SpannerConfig;
+import org.apache.beam.sdk.io.gcp.spanner.changestreams.model.ModType;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Distribution;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.TupleTag;
+import org.apache.commons.lang3.tuple.Pair;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes batches of change stream records to the source, with one source transaction per shard.
+ *
+ * <p>For each shard in a batch, the shadow table records of all the keys are read at once and the
+ * records that the source is already ahead of are dropped. The remaining changes to a key are
+ * coalesced into their net change, the net changes are written with parameterized statements in a
+ * single source transaction and the shadow tables are then updated in a single Spanner commit. If
+ * any of this fails, the records of the shard are written one at a time like {@link
+ * SourceWriterFn} does, so that errors are reported per record.
+ */
+public class SourceBatchWriterFn
+    extends DoFn<KV<Long, Iterable<TrimmedShardedDataChangeRecord>>, String>
+    implements Serializable {
+  private static final Logger LOG = LoggerFactory.getLogger(SourceBatchWriterFn.class);
+  private static Gson gson = new Gson();
+
+  private static final Comparator<TrimmedShardedDataChangeRecord> COMMIT_ORDER =
+      Comparator.comparing(TrimmedShardedDataChangeRecord::getCommitTimestamp)
+          .thenComparingLong(r -> Long.parseLong(r.getRecordSequence()));
+
+  private transient ObjectMapper mapper;
+
+  // Record counts share the metrics of SourceWriterFn, whichever way the records are written.
+  private final Counter successRecordCountMetric =
+      Metrics.counter(SourceWriterFn.class, "success_record_count");
+
+  private final Counter retryableRecordCountMetric =
+      Metrics.counter(SourceWriterFn.class, "retryable_record_count");
+
+  private final Counter skippedRecordCountMetric =
+      Metrics.counter(SourceWriterFn.class, "skipped_record_count");
+
+  private final Distribution batchSizeMetric =
+      Metrics.distribution(SourceBatchWriterFn.class, "source_write_batch_size");
+
+  private final Counter batchFallbackMetric =
+      Metrics.counter(SourceBatchWriterFn.class, "source_write_batch_fallbacks");
+
+  private transient Map<String, MySqlDao> mySqlDaoMap = new HashMap<>();
+
+  private final Schema schema;
+  private final String sourceDbTimezoneOffset;
+  private final List<Shard> shards;
+  private final SpannerConfig spannerConfig;
+  private transient SpannerDao spannerDao;
+  private final Ddl ddl;
+  private final String shadowTablePrefix;
+  private final String skipDirName;
+  private final int maxThreadPerDataflowWorker;
+
+  public SourceBatchWriterFn(
+      List<Shard> shards,
+      Schema schema,
+      SpannerConfig spannerConfig,
+      String sourceDbTimezoneOffset,
+      Ddl ddl,
+      String shadowTablePrefix,
+      String skipDirName,
+      int maxThreadPerDataflowWorker) {
+
+    this.schema = schema;
+    this.sourceDbTimezoneOffset = sourceDbTimezoneOffset;
+    this.shards = shards;
+    this.spannerConfig = spannerConfig;
+    this.ddl = ddl;
+    this.shadowTablePrefix = shadowTablePrefix;
+    this.skipDirName = skipDirName;
+    this.maxThreadPerDataflowWorker = maxThreadPerDataflowWorker;
+  }
+
+  // for unit testing purposes
+  public void setSpannerDao(SpannerDao spannerDao) {
+    this.spannerDao = spannerDao;
+  }
+
+  // for unit testing purposes
+  public void setMySqlDaoMap(Map<String, MySqlDao> mySqlDaoMap) {
+    this.mySqlDaoMap = mySqlDaoMap;
+  }
+
+  // for unit testing purposes
+  public void setObjectMapper(ObjectMapper mapper) {
+    this.mapper = mapper;
+  }
+
+  /** Setup function connects to Cloud Spanner. */
+  @Setup
+  public void setup() {
+    mapper = new ObjectMapper();
+    mapper.enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    ConnectionHelper.init(shards, null, maxThreadPerDataflowWorker);
+    mySqlDaoMap = new HashMap<>();
+    for (Shard shard : shards) {
+      String sourceConnectionUrl =
+          "jdbc:mysql://" + shard.getHost() + ":" + shard.getPort() + "/" + shard.getDbName();
+      mySqlDaoMap.put(
+          shard.getLogicalShardId(),
+          new MySqlDao(sourceConnectionUrl, shard.getUserName(), shard.getPassword()));
+    }
+    spannerDao = new SpannerDao(spannerConfig);
+  }
+
+  /** Teardown function disconnects from the Cloud Spanner. */
+  @Teardown
+  public void teardown() throws Exception {
+    spannerDao.close();
+    mySqlDaoMap.clear();
+  }
+
+  @ProcessElement
+  public void processElement(ProcessContext c) {
+    Map<String, List<TrimmedShardedDataChangeRecord>> recordsByShard = new LinkedHashMap<>();
+    for (TrimmedShardedDataChangeRecord spannerRec : c.element().getValue()) {
+      String shardId = spannerRec.getShard();
+      if (shardId == null) {
+        // no shard found, move to permanent error
+        outputWithTag(
+            c,
+            Constants.PERMANENT_ERROR_TAG,
+            Constants.SHARD_NOT_PRESENT_ERROR_MESSAGE,
+            spannerRec);
+      } else if (shardId.equals(skipDirName)) {
+        // the record is skipped
+        skippedRecordCountMetric.inc();
+        outputWithTag(c, Constants.SKIPPED_TAG, Constants.SKIPPED_TAG_MESSAGE, spannerRec);
+      } else {
+        recordsByShard.computeIfAbsent(shardId, k -> new ArrayList<>()).add(spannerRec);
+      }
+    }
+
+    for (Map.Entry<String, List<TrimmedShardedDataChangeRecord>> entry :
+        recordsByShard.entrySet()) {
+      String shardId = entry.getKey();
+      List<TrimmedShardedDataChangeRecord> records = entry.getValue();
+      batchSizeMetric.update(records.size());
+      try {
+        writeBatch(shardId, records);
+      } catch (Exception e) {
+        LOG.warn(
+            "Failed to write a batch of {} records to shard {}, writing them one at a time",
+            records.size(),
+            shardId,
+            e);
+        batchFallbackMetric.inc();
+        for (TrimmedShardedDataChangeRecord spannerRec : records) {
+          writeRecord(c, shardId, spannerRec);
+        }
+        continue;
+      }
+      for (TrimmedShardedDataChangeRecord spannerRec : records) {
+        outputSuccess(c, spannerRec);
+      }
+    }
+  }
+
+  private void writeBatch(String shardId, List<TrimmedShardedDataChangeRecord> records)
+      throws Exception {
+    records.sort(COMMIT_ORDER);
+    // Changes by table and primary key, with the keys in the order of their first change.
+    Map<Pair<String, Key>, List<TrimmedShardedDataChangeRecord>> changesByKey =
+        new LinkedHashMap<>();
+    Map<Pair<String, Key>, JsonNode> keysJsonByKey = new HashMap<>();
+    for (TrimmedShardedDataChangeRecord spannerRec : records) {
+      JsonNode keysJson = mapper.readTree(spannerRec.getMod().getKeysJson());
+      String tableName = spannerRec.getTableName();
+      Key primaryKey =
+          ChangeEventSpannerConvertor.changeEventToPrimaryKey(
+              tableName, ddl, keysJson, /* convertNameToLowerCase= */ false);
+      Pair<String, Key> key = Pair.of(tableName, primaryKey);
+      changesByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(spannerRec);
+      keysJsonByKey.putIfAbsent(key, keysJson);
+    }
+
+    Map<String, List<Key>> keysByTable =
+        changesByKey.keySet().stream()
+            .collect(
+                Collectors.groupingBy(
+                    Pair::getLeft, Collectors.mapping(Pair::getRight, Collectors.toList())));
+    Map<String, Map<Key, ShadowTableRecord>> shadowTableRecords = new HashMap<>();
+    for (Map.Entry<String, List<Key>> entry : keysByTable.entrySet()) {
+      String tableName = entry.getKey();
+      shadowTableRecords.put(
+          tableName,
+          spannerDao.getShadowTableRecords(
+              shadowTablePrefix + tableName, ddl.table(tableName), entry.getValue()));
+    }
+
+    List<PreparedDMLStatement> statements = new ArrayList<>();
+    List<Mutation> shadowTableMutations = new ArrayList<>();
+    List<TrimmedShardedDataChangeRecord> writtenRecords = new ArrayList<>();
+    for (Map.Entry<Pair<String, Key>, List<TrimmedShardedDataChangeRecord>> entry :
+        changesByKey.entrySet()) {
+      String tableName = entry.getKey().getLeft();
+      ShadowTableRecord shadowTableRecord =
+          shadowTableRecords.get(tableName).get(entry.getKey().getRight());
+      List<TrimmedShardedDataChangeRecord> changes =
+          entry.getValue().stream()
+              .filter(r -> !SourceWriterFn.isSourceAhead(shadowTableRecord, r))
+              .collect(Collectors.toList());
+      if (changes.isEmpty()) {
+        continue;
+      }
+
+      PreparedDMLStatement statement = getNetChangeStatement(tableName, changes);
+      if (statement == null) {
+        LOG.warn("DML statement is empty for table: " + tableName);
+      } else {
+        statements.add(statement);
+        writtenRecords.addAll(changes);
+      }
+      TrimmedShardedDataChangeRecord lastChange = changes.get(changes.size() - 1);
+      shadowTableMutations.add(
+          SourceWriterFn.getShadowTableMutation(
+              ddl,
+              tableName,
+              shadowTablePrefix + tableName,
+              keysJsonByKey.get(entry.getKey()),
+              lastChange.getCommitTimestamp(),
+              lastChange.getRecordSequence()));
+    }
+
+    if (!statements.isEmpty()) {
+      mySqlDaoMap.get(shardId).writeBatch(statements);
+    }
+    if (!shadowTableMutations.isEmpty()) {
+      spannerDao.updateShadowTables(shadowTableMutations);
+    }
+    for (TrimmedShardedDataChangeRecord spannerRec : writtenRecords) {
+      InputRecordProcessor.updateWriteMetrics(spannerRec, shardId);
+    }
+  }
+
+  /**
+   * Returns the statement that applies the changes to a key, in commit order, at once. Change
+   * streams capture only the changed columns of an update, so updates are merged over the values
+   * of the changes before them, while inserts and deletes replace them.
+   */
+  private PreparedDMLStatement getNetChangeStatement(
+      String tableName, List<TrimmedShardedDataChangeRecord> changes) {
+    String modType = null;
+    JSONObject newValuesJson = null;
+    for (TrimmedShardedDataChangeRecord change : changes) {
+      JSONObject changeValuesJson = new JSONObject(change.getMod().getNewValuesJson());
+      if (change.getModType() == ModType.UPDATE
+          && newValuesJson != null
+          && !ModType.DELETE.name().equals(modType)) {
+        for (String column : changeValuesJson.keySet()) {
+          newValuesJson.put(column, changeValuesJson.get(column));
+        }
+      } else {
+        modType = change.getModType().name();
+        newValuesJson = changeValuesJson;
+      }
+    }
+    JSONObject keysJson = new JSONObject(changes.get(changes.size() - 1).getMod().getKeysJson());
+    return DMLGenerator.getPreparedDMLStatement(
+        modType, tableName, schema, newValuesJson, keysJson, sourceDbTimezoneOffset);
+  }
+
+  /** Writes a single record the way {@link SourceWriterFn} does. */
+  private void writeRecord(
+      ProcessContext c, String shardId, TrimmedShardedDataChangeRecord spannerRec) {
+    try {
+      JsonNode keysJson = mapper.readTree(spannerRec.getMod().getKeysJson());
+      String tableName = spannerRec.getTableName();
+      Key primaryKey =
+          ChangeEventSpannerConvertor.changeEventToPrimaryKey(
+              tableName, ddl, keysJson, /* convertNameToLowerCase= */ false);
+      String shadowTableName = shadowTablePrefix + tableName;
+      ShadowTableRecord shadowTableRecord =
+          spannerDao.getShadowTableRecord(shadowTableName, primaryKey);
+
+      if (!SourceWriterFn.isSourceAhead(shadowTableRecord, spannerRec)) {
+        InputRecordProcessor.processRecord(
+            spannerRec, schema, mySqlDaoMap.get(shardId), shardId, sourceDbTimezoneOffset);
+
+        spannerDao.updateShadowTable(
+            SourceWriterFn.getShadowTableMutation(
+                ddl,
+                tableName,
+                shadowTableName,
+                keysJson,
+                spannerRec.getCommitTimestamp(),
+                spannerRec.getRecordSequence()));
+      }
+      outputSuccess(c, spannerRec);
+    } catch (Exception ex) {
+      outputWithTag(c, SourceWriterFn.getErrorTag(ex), ex.getMessage(), spannerRec);
+    }
+  }
+
+  private void outputSuccess(ProcessContext c, TrimmedShardedDataChangeRecord spannerRec) {
+    successRecordCountMetric.inc();
+    if (spannerRec.isRetryRecord()) {
+      retryableRecordCountMetric.dec();
+    }
+    com.google.cloud.Timestamp timestamp = com.google.cloud.Timestamp.now();
+    c.output(Constants.SUCCESS_TAG, timestamp.toString());
+  }
+
+  void outputWithTag(
+      ProcessContext c,
+      TupleTag<String> tag,
+      String message,
+      TrimmedShardedDataChangeRecord record) {
+    String jsonRec = gson.toJson(record, TrimmedShardedDataChangeRecord.class);
+    ChangeStreamErrorRecord errorRecord = new ChangeStreamErrorRecord(jsonRec, message);
+
+    // Permanent error metrics are inceremented differently based on regular or retryDLQ mode
+    if (!record.isRetryRecord() && tag.equals(Constants.RETRYABLE_ERROR_TAG)) {
+      retryableRecordCountMetric.inc();
+    }
+    c.output(tag, gson.toJson(errorRecord, ChangeStreamErrorRecord.class));
+  }
+}
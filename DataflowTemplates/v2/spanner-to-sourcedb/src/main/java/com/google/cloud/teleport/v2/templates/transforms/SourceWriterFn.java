@@ -169,25 +169,10 @@ public class SourceWriterFn extends DoFn<KV<Long, TrimmedShardedDataChangeRecord
             ChangeEventSpannerConvertor.changeEventToPrimaryKey(
                 tableName, ddl, keysJson, /* convertNameToLowerCase= */ false);
         String shadowTableName = shadowTablePrefix + tableName;
-        boolean isSourceAhead = false;
         ShadowTableRecord shadowTableRecord =
             spannerDao.getShadowTableRecord(shadowTableName, primaryKey);
-        isSourceAhead =
-            shadowTableRecord != null
-                && ((shadowTableRecord
-                            .getProcessedCommitTimestamp()
-                            .compareTo(spannerRec.getCommitTimestamp())
-                        > 0) // either the source already has record with greater commit
-                    // timestamp
-                    || (shadowTableRecord // or the source has the same commit timestamp but
-                                // greater record sequence
-                                .getProcessedCommitTimestamp()
-                                .compareTo(spannerRec.getCommitTimestamp())
-                            == 0
-                        && shadowTableRecord.getRecordSequence()
-                            > Long.parseLong(spannerRec.getRecordSequence())));
 
-        if (!isSourceAhead) {
+        if (!isSourceAhead(shadowTableRecord, spannerRec)) {
           MySqlDao mySqlDao = mySqlDaoMap.get(shardId);
 
           InputRecordProcessor.processRecord(
@@ -195,6 +180,7 @@ public class SourceWriterFn extends DoFn<KV<Long, TrimmedShardedDataChangeRecord
 
           spannerDao.updateShadowTable(
               getShadowTableMutation(
+                  ddl,
                   tableName,
                   shadowTableName,
                   keysJson,
@@ -207,31 +193,58 @@ public class SourceWriterFn extends DoFn<KV<Long, TrimmedShardedDataChangeRecord
         }
         com.google.cloud.Timestamp timestamp = com.google.cloud.Timestamp.now();
         c.output(Constants.SUCCESS_TAG, timestamp.toString());
-      } catch (ChangeEventConvertorException ex) {
-        outputWithTag(c, Constants.PERMANENT_ERROR_TAG, ex.getMessage(), spannerRec);
-      } catch (SpannerException
-          | IllegalStateException
-          | com.mysql.cj.jdbc.exceptions.CommunicationsException
-          | java.sql.SQLIntegrityConstraintViolationException
-          | java.sql.SQLTransientConnectionException
-          | ConnectionException ex) {
-        outputWithTag(c, Constants.RETRYABLE_ERROR_TAG, ex.getMessage(), spannerRec);
-      } catch (java.sql.SQLNonTransientConnectionException ex) {
-        // https://dev.mysql.com/doc/mysql-errors/8.0/en/server-error-reference.html
-        // error codes 1053,1161 and 1159 can be retried
-        if (ex.getErrorCode() == 1053 || ex.getErrorCode() == 1159 || ex.getErrorCode() == 1161) {
-          outputWithTag(c, Constants.RETRYABLE_ERROR_TAG, ex.getMessage(), spannerRec);
-        } else {
-          outputWithTag(c, Constants.PERMANENT_ERROR_TAG, ex.getMessage(), spannerRec);
-        }
       } catch (Exception ex) {
-        LOG.error("Failed to write to source", ex);
-        outputWithTag(c, Constants.PERMANENT_ERROR_TAG, ex.getMessage(), spannerRec);
+        outputWithTag(c, getErrorTag(ex), ex.getMessage(), spannerRec);
+      }
+    }
+  }
+
+  /** Returns the tag of the output that a record failing with the exception is sent to. */
+  static TupleTag<String> getErrorTag(Exception ex) {
+    if (ex instanceof ChangeEventConvertorException) {
+      return Constants.PERMANENT_ERROR_TAG;
+    }
+    if (ex instanceof SpannerException
+        || ex instanceof IllegalStateException
+        || ex instanceof com.mysql.cj.jdbc.exceptions.CommunicationsException
+        || ex instanceof java.sql.SQLIntegrityConstraintViolationException
+        || ex instanceof java.sql.SQLTransientConnectionException
+        || ex instanceof ConnectionException) {
+      return Constants.RETRYABLE_ERROR_TAG;
+    }
+    if (ex instanceof java.sql.SQLNonTransientConnectionException) {
+      // https://dev.mysql.com/doc/mysql-errors/8.0/en/server-error-reference.html
+      // error codes 1053,1161 and 1159 can be retried
+      int errorCode = ((java.sql.SQLNonTransientConnectionException) ex).getErrorCode();
+      if (errorCode == 1053 || errorCode == 1159 || errorCode == 1161) {
+        return Constants.RETRYABLE_ERROR_TAG;
       }
+      return Constants.PERMANENT_ERROR_TAG;
     }
+    LOG.error("Failed to write to source", ex);
+    return Constants.PERMANENT_ERROR_TAG;
   }
 
-  private Mutation getShadowTableMutation(
+  /** Returns whether the source already has a change to the key at or after the record. */
+  static boolean isSourceAhead(
+      ShadowTableRecord shadowTableRecord, TrimmedShardedDataChangeRecord spannerRec) {
+    return shadowTableRecord != null
+        && ((shadowTableRecord
+                    .getProcessedCommitTimestamp()
+                    .compareTo(spannerRec.getCommitTimestamp())
+                > 0) // either the source already has record with greater commit
+            // timestamp
+            || (shadowTableRecord // or the source has the same commit timestamp but
+                        // greater record sequence
+                        .getProcessedCommitTimestamp()
+                        .compareTo(spannerRec.getCommitTimestamp())
+                    == 0
+                && shadowTableRecord.getRecordSequence()
+                    > Long.parseLong(spannerRec.getRecordSequence())));
+  }
+
+  static Mutation getShadowTableMutation(
+      Ddl ddl,
       String tableName,
       String shadowTableName,
       JsonNode keysJson,
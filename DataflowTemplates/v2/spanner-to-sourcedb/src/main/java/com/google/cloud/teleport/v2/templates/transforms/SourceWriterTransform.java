@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 import org.apache.beam.sdk.Pipeline;
 import org.apache.beam.sdk.io.gcp.spanner.SpannerConfig;
+import org.apache.beam.sdk.transforms.GroupIntoBatches;
 import org.apache.beam.sdk.transforms.PTransform;
 import org.apache.beam.sdk.transforms.ParDo;
 import org.apache.beam.sdk.values.KV;
@@ -37,6 +38,7 @@ import org.apache.beam.sdk.values.POutput;
 import org.apache.beam.sdk.values.PValue;
 import org.apache.beam.sdk.values.TupleTag;
 import org.apache.beam.sdk.values.TupleTagList;
+import org.joda.time.Duration;
 
 /** Takes an input of change stream events and writes them to the source database. */
 public class SourceWriterTransform
@@ -51,6 +53,7 @@ public class SourceWriterTransform
   private final String shadowTablePrefix;
   private final String skipDirName;
   private final int maxThreadPerDataflowWorker;
+  private final int batchSize;
 
   public SourceWriterTransform(
       List<Shard> shards,
@@ -61,6 +64,33 @@ public class SourceWriterTransform
       String shadowTablePrefix,
       String skipDirName,
       int maxThreadPerDataflowWorker) {
+    this(
+        shards,
+        schema,
+        spannerConfig,
+        sourceDbTimezoneOffset,
+        ddl,
+        shadowTablePrefix,
+        skipDirName,
+        maxThreadPerDataflowWorker,
+        1);
+  }
+
+  /**
+   * Creates a transform that writes up to {@code batchSize} records of a key in one source
+   * transaction, see {@link SourceBatchWriterFn}. A batch size of 1 writes each record on its own.
+   */
+  public SourceWriterTransform(
+      List<Shard> shards,
+      Schema schema,
+      SpannerConfig spannerConfig,
+      String sourceDbTimezoneOffset,
+      Ddl ddl,
+      String shadowTablePrefix,
+      String skipDirName,
+      int maxThreadPerDataflowWorker,
+      int batchSize) {
+    Preconditions.checkArgument(batchSize > 0, "batchSize must be greater than 0.");
 
     this.schema = schema;
     this.sourceDbTimezoneOffset = sourceDbTimezoneOffset;
@@ -70,29 +100,55 @@ public class SourceWriterTransform
     this.shadowTablePrefix = shadowTablePrefix;
     this.skipDirName = skipDirName;
     this.maxThreadPerDataflowWorker = maxThreadPerDataflowWorker;
+    this.batchSize = batchSize;
   }
 
   @Override
   public SourceWriterTransform.Result expand(
       PCollection<KV<Long, TrimmedShardedDataChangeRecord>> input) {
-    PCollectionTuple sourceWriteResults =
-        input.apply(
-            "Write to sourcedb",
-            ParDo.of(
-                    new SourceWriterFn(
-                        this.shards,
-                        this.schema,
-                        this.spannerConfig,
-                        this.sourceDbTimezoneOffset,
-                        this.ddl,
-                        this.shadowTablePrefix,
-                        this.skipDirName,
-                        this.maxThreadPerDataflowWorker))
-                .withOutputTags(
-                    Constants.SUCCESS_TAG,
-                    TupleTagList.of(Constants.PERMANENT_ERROR_TAG)
-                        .and(Constants.RETRYABLE_ERROR_TAG)
-                        .and(Constants.SKIPPED_TAG)));
+    TupleTagList additionalOutputTags =
+        TupleTagList.of(Constants.PERMANENT_ERROR_TAG)
+            .and(Constants.RETRYABLE_ERROR_TAG)
+            .and(Constants.SKIPPED_TAG);
+    PCollectionTuple sourceWriteResults;
+    if (batchSize > 1) {
+      // Keys are already bounded by the number of source connections, so batching per key keeps
+      // the records of a primary key in the same batch.
+      sourceWriteResults =
+          input
+              .apply(
+                  "Batch records",
+                  GroupIntoBatches.<Long, TrimmedShardedDataChangeRecord>ofSize(batchSize)
+                      .withMaxBufferingDuration(Duration.standardSeconds(1)))
+              .apply(
+                  "Write batches to sourcedb",
+                  ParDo.of(
+                          new SourceBatchWriterFn(
+                              this.shards,
+                              this.schema,
+                              this.spannerConfig,
+                              this.sourceDbTimezoneOffset,
+                              this.ddl,
+                              this.shadowTablePrefix,
+                              this.skipDirName,
+                              this.maxThreadPerDataflowWorker))
+                      .withOutputTags(Constants.SUCCESS_TAG, additionalOutputTags));
+    } else {
+      sourceWriteResults =
+          input.apply(
+              "Write to sourcedb",
+              ParDo.of(
+                      new SourceWriterFn(
+                          this.shards,
+                          this.schema,
+                          this.spannerConfig,
+                          this.sourceDbTimezoneOffset,
+                          this.ddl,
+                          this.shadowTablePrefix,
+                          this.skipDirName,
+                          this.maxThreadPerDataflowWorker))
+                  .withOutputTags(Constants.SUCCESS_TAG, additionalOutputTags));
+    }
 
     return Result.create(
         sourceWriteResults.get(Constants.SUCCESS_TAG),
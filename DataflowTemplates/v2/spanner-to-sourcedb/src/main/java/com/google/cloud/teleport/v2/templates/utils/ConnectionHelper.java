@@ -52,6 +52,8 @@ public class ConnectionHelper {
       config.setMaximumPoolSize(maxConnections);
       config.setConnectionInitSql(
           "SET SESSION net_read_timeout=1200"); // to avoid timeouts at network level layer
+      // Lets the driver send a batch of prepared statements as multi-row statements.
+      config.addDataSourceProperty("rewriteBatchedStatements", "true");
       Properties jdbcProperties = new Properties();
       if (properties != null && !properties.isEmpty()) {
         try (StringReader reader = new StringReader(properties)) {
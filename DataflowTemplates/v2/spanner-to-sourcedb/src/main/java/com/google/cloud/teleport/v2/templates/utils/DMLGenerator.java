@@ -21,7 +21,11 @@ import com.google.cloud.teleport.v2.spanner.migrations.schema.SourceColumnDefini
 import com.google.cloud.teleport.v2.spanner.migrations.schema.SourceTable;
 import com.google.cloud.teleport.v2.spanner.migrations.schema.SpannerColumnDefinition;
 import com.google.cloud.teleport.v2.spanner.migrations.schema.SpannerTable;
+import com.google.common.collect.Maps;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -41,12 +45,92 @@ public class DMLGenerator {
       JSONObject newValuesJson,
       JSONObject keyValuesJson,
       String sourceDbTimezoneOffset) {
+    DMLValues values =
+        getDMLValues(
+            modType,
+            spannerTableName,
+            schema,
+            newValuesJson,
+            keyValuesJson,
+            sourceDbTimezoneOffset);
+    if (values == null) {
+      return "";
+    }
+    Map<String, String> pkcolumnNameValues =
+        Maps.transformValues(values.pkcolumnNameValues, v -> v.literal);
+    if (values.columnNameValues == null) {
+      return getDeleteStatement(values.sourceTable.getName(), pkcolumnNameValues);
+    }
+    return getUpsertStatement(
+        values.sourceTable.getName(),
+        values.sourceTable.getPrimaryKeySet(),
+        Maps.transformValues(values.columnNameValues, v -> v.literal),
+        pkcolumnNameValues);
+  }
+
+  /**
+   * Creates the same statement as {@link #getDMLStatement}, with the column values bound as JDBC
+   * parameters instead of inlined as SQL literals. Records of a table that set the same columns get
+   * the same SQL, so that their statements can be executed as one JDBC batch.
+   *
+   * @return the statement, or null for records that {@link #getDMLStatement} drops.
+   */
+  public static PreparedDMLStatement getPreparedDMLStatement(
+      String modType,
+      String spannerTableName,
+      Schema schema,
+      JSONObject newValuesJson,
+      JSONObject keyValuesJson,
+      String sourceDbTimezoneOffset) {
+    DMLValues values =
+        getDMLValues(
+            modType,
+            spannerTableName,
+            schema,
+            newValuesJson,
+            keyValuesJson,
+            sourceDbTimezoneOffset);
+    if (values == null) {
+      return null;
+    }
+    // Parameters follow the order in which the statements below place the column expressions.
+    Map<String, String> pkcolumnNameValues =
+        Maps.transformValues(values.pkcolumnNameValues, v -> v.expression);
+    List<Object> parameters = new ArrayList<>();
+    values.pkcolumnNameValues.values().forEach(v -> parameters.addAll(v.parameters));
+    if (values.columnNameValues == null) {
+      return new PreparedDMLStatement(
+          getDeleteStatement(values.sourceTable.getName(), pkcolumnNameValues), parameters);
+    }
+    Set<String> primaryKeys = values.sourceTable.getPrimaryKeySet();
+    values.columnNameValues.values().forEach(v -> parameters.addAll(v.parameters));
+    for (Map.Entry<String, ColumnValue> entry : values.columnNameValues.entrySet()) {
+      if (!primaryKeys.contains(entry.getKey())) {
+        parameters.addAll(entry.getValue().parameters);
+      }
+    }
+    String sql =
+        getUpsertStatement(
+            values.sourceTable.getName(),
+            primaryKeys,
+            Maps.transformValues(values.columnNameValues, v -> v.expression),
+            pkcolumnNameValues);
+    return new PreparedDMLStatement(sql, parameters);
+  }
+
+  private static DMLValues getDMLValues(
+      String modType,
+      String spannerTableName,
+      Schema schema,
+      JSONObject newValuesJson,
+      JSONObject keyValuesJson,
+      String sourceDbTimezoneOffset) {
 
     if (schema.getSpannerToID().get(spannerTableName) == null) {
       LOG.warn(
           "The spanner table {} was not found in session file, dropping the record",
           spannerTableName);
-      return "";
+      return null;
     }
 
     String spannerTableId = schema.getSpannerToID().get(spannerTableName).getName();
@@ -56,55 +140,51 @@ public class DMLGenerator {
       LOG.warn(
           "The spanner table {} was not found in session file, dropping the record",
           spannerTableName);
-      return "";
+      return null;
     }
 
     SourceTable sourceTable = schema.getSrcSchema().get(spannerTableId);
     if (sourceTable == null) {
       LOG.warn("The table {} was not found in source", spannerTableName);
-      return "";
+      return null;
     }
 
     if (sourceTable.getPrimaryKeys() == null || sourceTable.getPrimaryKeys().length == 0) {
       LOG.warn(
           "Cannot reverse replicate for table {} without primary key, skipping the record",
           sourceTable.getName());
-      return "";
+      return null;
     }
 
     if ("INSERT".equals(modType) || "UPDATE".equals(modType)) {
-      Map<String, String> pkcolumnNameValues =
+      Map<String, ColumnValue> pkcolumnNameValues =
           getPkColumnValues(
               spannerTable, sourceTable, newValuesJson, keyValuesJson, sourceDbTimezoneOffset);
       if (pkcolumnNameValues == null) {
         LOG.warn(
             "Cannot reverse replicate for table {} without primary key, skipping the record",
             sourceTable.getName());
-        return "";
+        return null;
       }
-      Map<String, String> columnNameValues =
+      Map<String, ColumnValue> columnNameValues =
           getColumnValues(
               spannerTable, sourceTable, newValuesJson, keyValuesJson, sourceDbTimezoneOffset);
-      return getUpsertStatement(
-          sourceTable.getName(),
-          sourceTable.getPrimaryKeySet(),
-          columnNameValues,
-          pkcolumnNameValues);
+      return new DMLValues(sourceTable, pkcolumnNameValues, columnNameValues);
     } else if ("DELETE".equals(modType)) {
 
-      Map<String, String> pkcolumnNameValues =
+      Map<String, ColumnValue> pkcolumnNameValues =
           getPkColumnValues(
               spannerTable, sourceTable, newValuesJson, keyValuesJson, sourceDbTimezoneOffset);
       if (pkcolumnNameValues == null) {
         LOG.warn(
             "Cannot reverse replicate for table {} without primary key, skipping the record",
             sourceTable.getName());
-        return "";
+        return null;
       }
-      return getDeleteStatement(sourceTable.getName(), pkcolumnNameValues);
+      return new DMLValues(sourceTable, pkcolumnNameValues, null);
     } else {
       LOG.warn("Unsupported modType: " + modType);
-      return "";
+      return null;
     }
   }
 
@@ -188,13 +268,13 @@ public class DMLGenerator {
     return returnVal;
   }
 
-  private static Map<String, String> getColumnValues(
+  private static Map<String, ColumnValue> getColumnValues(
       SpannerTable spannerTable,
       SourceTable sourceTable,
       JSONObject newValuesJson,
       JSONObject keyValuesJson,
       String sourceDbTimezoneOffset) {
-    Map<String, String> response = new HashMap<>();
+    Map<String, ColumnValue> response = new HashMap<>();
 
     /*
     Get all non-primary key col ids from source table
@@ -224,11 +304,11 @@ public class DMLGenerator {
         continue;
       }
       String spannerColumnName = spannerColDef.getName();
-      String columnValue = "";
+      ColumnValue columnValue;
       if (keyValuesJson.has(spannerColumnName)) {
         // get the value based on Spanner and Source type
         if (keyValuesJson.isNull(spannerColumnName)) {
-          response.put(sourceColDef.getName(), "NULL");
+          response.put(sourceColDef.getName(), ColumnValue.NULL);
           continue;
         }
         columnValue =
@@ -237,7 +317,7 @@ public class DMLGenerator {
       } else if (newValuesJson.has(spannerColumnName)) {
         // get the value based on Spanner and Source type
         if (newValuesJson.isNull(spannerColumnName)) {
-          response.put(sourceColDef.getName(), "NULL");
+          response.put(sourceColDef.getName(), ColumnValue.NULL);
           continue;
         }
         columnValue =
@@ -253,13 +333,13 @@ public class DMLGenerator {
     return response;
   }
 
-  private static Map<String, String> getPkColumnValues(
+  private static Map<String, ColumnValue> getPkColumnValues(
       SpannerTable spannerTable,
       SourceTable sourceTable,
       JSONObject newValuesJson,
       JSONObject keyValuesJson,
       String sourceDbTimezoneOffset) {
-    Map<String, String> response = new HashMap<>();
+    Map<String, ColumnValue> response = new HashMap<>();
     /*
     Get all primary key col ids from source table
     For each - get the corresponding column name from spanner Schema
@@ -285,11 +365,11 @@ public class DMLGenerator {
         return null;
       }
       String spannerColumnName = spannerColDef.getName();
-      String columnValue = "";
+      ColumnValue columnValue;
       if (keyValuesJson.has(spannerColumnName)) {
         // get the value based on Spanner and Source type
         if (keyValuesJson.isNull(spannerColumnName)) {
-          response.put(sourceColDef.getName(), "NULL");
+          response.put(sourceColDef.getName(), ColumnValue.NULL);
           continue;
         }
         columnValue =
@@ -298,7 +378,7 @@ public class DMLGenerator {
       } else if (newValuesJson.has(spannerColumnName)) {
         // get the value based on Spanner and Source type
         if (newValuesJson.isNull(spannerColumnName)) {
-          response.put(sourceColDef.getName(), "NULL");
+          response.put(sourceColDef.getName(), ColumnValue.NULL);
           continue;
         }
         columnValue =
@@ -315,40 +395,50 @@ public class DMLGenerator {
     return response;
   }
 
-  private static String getMappedColumnValue(
+  private static ColumnValue getMappedColumnValue(
       SpannerColumnDefinition spannerColDef,
       SourceColumnDefinition sourceColDef,
       JSONObject valuesJson,
       String sourceDbTimezoneOffset) {
 
     String colInputValue = "";
+    Object parameter;
     String colType = spannerColDef.getType().getName();
     String colName = spannerColDef.getName();
     if ("FLOAT64".equals(colType)) {
       colInputValue = valuesJson.getBigDecimal(colName).toString();
+      parameter = colInputValue;
     } else if ("BOOL".equals(colType)) {
-      colInputValue = (new Boolean(valuesJson.getBoolean(colName))).toString();
+      parameter = valuesJson.getBoolean(colName);
+      colInputValue = parameter.toString();
     } else if ("STRING".equals(colType) && spannerColDef.getType().getIsArray()) {
       colInputValue =
           valuesJson.getJSONArray(colName).toList().stream()
               .map(String::valueOf)
               .collect(Collectors.joining(","));
+      parameter = colInputValue;
     } else if ("BYTES".equals(colType)) {
-      colInputValue = "FROM_BASE64('" + valuesJson.getString(colName) + "')";
+      parameter = valuesJson.getString(colName);
+      colInputValue = "FROM_BASE64('" + parameter + "')";
     } else {
       colInputValue = valuesJson.getString(colName);
+      parameter = colInputValue;
     }
-    String response =
-        getColumnValueByType(
-            sourceColDef.getType().getName(), colInputValue, sourceDbTimezoneOffset, colType);
-    return response;
+    return getColumnValueByType(
+        sourceColDef.getType().getName(),
+        colInputValue,
+        parameter,
+        sourceDbTimezoneOffset,
+        colType);
   }
 
-  private static String getColumnValueByType(
-      String columnType, String colValue, String sourceDbTimezoneOffset, String spannerColType) {
-    String response = "";
-    String cleanedNullBytes = "";
-    String decodedString = "";
+  private static ColumnValue getColumnValueByType(
+      String columnType,
+      String colValue,
+      Object parameter,
+      String sourceDbTimezoneOffset,
+      String spannerColType) {
+    String placeholder = "BYTES".equals(spannerColType) ? "FROM_BASE64(?)" : "?";
     switch (columnType) {
       case "varchar":
       case "char":
@@ -374,28 +464,41 @@ public class DMLGenerator {
       case "mediumblob":
       case "blob":
       case "longblob":
-        response = getQuotedEscapedString(colValue, spannerColType);
-        break;
+        return new ColumnValue(
+            getQuotedEscapedString(colValue, spannerColType),
+            placeholder,
+            getStringParameter(colValue, parameter, spannerColType));
       case "timestamp":
       case "datetime":
         colValue = colValue.substring(0, colValue.length() - 1); // trim the Z for mysql
-        response =
+        return new ColumnValue(
             " CONVERT_TZ("
                 + getQuotedEscapedString(colValue, spannerColType)
                 + ",'+00:00','"
                 + sourceDbTimezoneOffset
-                + "')";
-
-        break;
+                + "')",
+            "CONVERT_TZ(" + placeholder + ",'+00:00',?)",
+            getStringParameter(colValue, parameter, spannerColType),
+            sourceDbTimezoneOffset);
       case "binary":
       case "varbinary":
       case "bit":
-        response = getBinaryString(colValue, spannerColType);
-        break;
+        return new ColumnValue(
+            getBinaryString(colValue, spannerColType),
+            "BINARY(" + placeholder + ")",
+            getStringParameter(colValue, parameter, spannerColType));
       default:
-        response = colValue;
+        return new ColumnValue(colValue, placeholder, parameter);
     }
-    return response;
+  }
+
+  /** Returns the parameter bound in place of a quoted string literal. */
+  private static Object getStringParameter(
+      String colValue, Object parameter, String spannerColType) {
+    if ("BYTES".equals(spannerColType)) {
+      return parameter;
+    }
+    return StringUtils.replace(colValue, "\u0000", "");
   }
 
   private static String escapeString(String input) {
@@ -418,4 +521,44 @@ public class DMLGenerator {
     String response = "BINARY(" + getQuotedEscapedString(input, spannerColType) + ")";
     return response;
   }
+
+  /** Resolved values of a record, with {@code columnNameValues} null for deletes. */
+  private static final class DMLValues {
+
+    private final SourceTable sourceTable;
+
+    private final Map<String, ColumnValue> pkcolumnNameValues;
+
+    private final Map<String, ColumnValue> columnNameValues;
+
+    DMLValues(
+        SourceTable sourceTable,
+        Map<String, ColumnValue> pkcolumnNameValues,
+        Map<String, ColumnValue> columnNameValues) {
+      this.sourceTable = sourceTable;
+      this.pkcolumnNameValues = pkcolumnNameValues;
+      this.columnNameValues = columnNameValues;
+    }
+  }
+
+  /**
+   * A column value both as an SQL literal and as an SQL expression over JDBC parameters, along
+   * with the parameters in the order of their placeholders.
+   */
+  private static final class ColumnValue {
+
+    private static final ColumnValue NULL = new ColumnValue("NULL", "NULL");
+
+    private final String literal;
+
+    private final String expression;
+
+    private final List<Object> parameters;
+
+    ColumnValue(String literal, String expression, Object... parameters) {
+      this.literal = literal;
+      this.expression = expression;
+      this.parameters = Arrays.asList(parameters);
+    }
+  }
 }
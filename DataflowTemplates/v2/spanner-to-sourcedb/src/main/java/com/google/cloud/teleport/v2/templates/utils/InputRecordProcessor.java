@@ -59,18 +59,7 @@ public class InputRecordProcessor {
 
       dao.write(dmlStatement);
 
-      Counter numRecProcessedMetric =
-          Metrics.counter(shardId, "records_written_to_source_" + shardId);
-
-      numRecProcessedMetric.inc(1); // update the number of records processed metric
-      Distribution lagMetric =
-          Metrics.distribution(shardId, "replication_lag_in_seconds_" + shardId);
-
-      Instant instTime = Instant.now();
-      Instant commitTsInst = spannerRecord.getCommitTimestamp().toSqlTimestamp().toInstant();
-      long replicationLag = ChronoUnit.SECONDS.between(commitTsInst, instTime);
-
-      lagMetric.update(replicationLag); // update the lag metric
+      updateWriteMetrics(spannerRecord, shardId);
 
     } catch (Exception e) {
       LOG.error(
@@ -80,4 +69,20 @@ public class InputRecordProcessor {
       throw e; // throw the original exception since it needs to go to DLQ
     }
   }
+
+  /** Updates the per shard metrics for a record that was written to the source. */
+  public static void updateWriteMetrics(
+      TrimmedShardedDataChangeRecord spannerRecord, String shardId) {
+    Counter numRecProcessedMetric =
+        Metrics.counter(shardId, "records_written_to_source_" + shardId);
+
+    numRecProcessedMetric.inc(1); // update the number of records processed metric
+    Distribution lagMetric = Metrics.distribution(shardId, "replication_lag_in_seconds_" + shardId);
+
+    Instant instTime = Instant.now();
+    Instant commitTsInst = spannerRecord.getCommitTimestamp().toSqlTimestamp().toInstant();
+    long replicationLag = ChronoUnit.SECONDS.between(commitTsInst, instTime);
+
+    lagMetric.update(replicationLag); // update the lag metric
+  }
 }
@@ -17,8 +17,10 @@ package com.google.cloud.teleport.v2.templates.utils;
 
 import java.io.Serializable;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -67,4 +69,55 @@ public class MySqlDao implements Serializable {
       }
     }
   }
+
+  /**
+   * Executes the statements in order, in a single transaction. Runs of consecutive statements with
+   * the same SQL are sent as one JDBC batch.
+   */
+  public void writeBatch(List<PreparedDMLStatement> statements)
+      throws SQLException, ConnectionException {
+    Connection connObj = null;
+
+    try {
+
+      connObj = ConnectionHelper.getConnection(this.sqlUrl, this.sqlUser, this.sqlPasswd);
+      if (connObj == null) {
+        throw new ConnectionException("Connection is null");
+      }
+      connObj.setAutoCommit(false);
+      try {
+        int start = 0;
+        while (start < statements.size()) {
+          String sql = statements.get(start).getSql();
+          int end = start + 1;
+          while (end < statements.size() && statements.get(end).getSql().equals(sql)) {
+            end++;
+          }
+          try (PreparedStatement statement = connObj.prepareStatement(sql)) {
+            for (PreparedDMLStatement dml : statements.subList(start, end)) {
+              List<Object> parameters = dml.getParameters();
+              for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+              }
+              statement.addBatch();
+            }
+            statement.executeBatch();
+          }
+          start = end;
+        }
+        connObj.commit();
+      } catch (SQLException | RuntimeException e) {
+        connObj.rollback();
+        throw e;
+      } finally {
+        connObj.setAutoCommit(true);
+      }
+
+    } finally {
+
+      if (connObj != null) {
+        connObj.close();
+      }
+    }
+  }
 }
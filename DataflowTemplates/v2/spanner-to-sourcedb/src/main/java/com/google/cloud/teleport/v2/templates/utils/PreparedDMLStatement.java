@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates.utils;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Objects;
+
+/** A DML statement with JDBC parameter placeholders and the values bound to them. */
+public class PreparedDMLStatement implements Serializable {
+
+  private final String sql;
+
+  private final List<Object> parameters;
+
+  public PreparedDMLStatement(String sql, List<Object> parameters) {
+    this.sql = sql;
+    this.parameters = parameters;
+  }
+
+  public String getSql() {
+    return sql;
+  }
+
+  public List<Object> getParameters() {
+    return parameters;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof PreparedDMLStatement)) {
+      return false;
+    }
+    PreparedDMLStatement that = (PreparedDMLStatement) o;
+    return sql.equals(that.sql) && parameters.equals(that.parameters);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(sql, parameters);
+  }
+
+  @Override
+  public String toString() {
+    return "PreparedDMLStatement{sql='" + sql + "', parameters=" + parameters + "}";
+  }
+}
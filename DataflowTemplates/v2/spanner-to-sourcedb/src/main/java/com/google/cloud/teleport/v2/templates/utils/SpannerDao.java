@@ -16,12 +16,21 @@
 package com.google.cloud.teleport.v2.templates.utils;
 
 import com.google.cloud.spanner.DatabaseClient;
+import com.google.cloud.spanner.KeySet;
 import com.google.cloud.spanner.Mutation;
+import com.google.cloud.spanner.ResultSet;
 import com.google.cloud.spanner.Struct;
+import com.google.cloud.teleport.v2.spanner.ddl.IndexColumn;
+import com.google.cloud.teleport.v2.spanner.ddl.Table;
+import com.google.cloud.teleport.v2.spanner.migrations.convertors.ChangeEventSpannerConvertor;
 import com.google.cloud.teleport.v2.templates.constants.Constants;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.apache.beam.sdk.io.gcp.spanner.SpannerAccessor;
 import org.apache.beam.sdk.io.gcp.spanner.SpannerConfig;
 import org.slf4j.Logger;
@@ -81,6 +90,67 @@ public class SpannerDao {
     }
   }
 
+  /**
+   * Reads the shadow table records of several primary keys of a data table with a single read.
+   *
+   * <p>Keys whose columns cannot be rebuilt exactly from the read rows are read one at a time.
+   *
+   * @return the records by primary key, without the keys that have no record yet.
+   */
+  public Map<com.google.cloud.spanner.Key, ShadowTableRecord> getShadowTableRecords(
+      String tableName, Table dataTable, List<com.google.cloud.spanner.Key> primaryKeys) {
+    Set<com.google.cloud.spanner.Key> requestedKeys = new HashSet<>(primaryKeys);
+    Map<com.google.cloud.spanner.Key, ShadowTableRecord> records = new HashMap<>();
+    List<String> columns = new ArrayList<>();
+    for (IndexColumn keyColumn : dataTable.primaryKeys()) {
+      columns.add(dataTable.column(keyColumn.name()).name());
+    }
+    columns.add(Constants.PROCESSED_COMMIT_TS_COLUMN_NAME);
+    columns.add(Constants.RECORD_SEQ_COLUMN_NAME);
+    int keyColumnCount = columns.size() - 2;
+
+    KeySet.Builder keySet = KeySet.newBuilder();
+    requestedKeys.forEach(keySet::addKey);
+    try (ResultSet resultSet =
+        spannerAccessor.getDatabaseClient().singleUse().read(tableName, keySet.build(), columns)) {
+      while (resultSet.next()) {
+        Struct row = resultSet.getCurrentRowAsStruct();
+        com.google.cloud.spanner.Key primaryKey =
+            ChangeEventSpannerConvertor.rowToPrimaryKey(dataTable, row);
+        if (primaryKey == null || !requestedKeys.contains(primaryKey)) {
+          records = null;
+          break;
+        }
+        records.put(
+            primaryKey,
+            new ShadowTableRecord(
+                row.getTimestamp(keyColumnCount), row.getLong(keyColumnCount + 1)));
+      }
+    } catch (Exception e) {
+      LOG.warn("The " + tableName + " table could not be read. ", e);
+      // We need to throw the original exception such that the caller can
+      // look at SpannerException class to take decision
+      throw e;
+    }
+    if (records != null) {
+      return records;
+    }
+
+    records = new HashMap<>();
+    for (com.google.cloud.spanner.Key primaryKey : requestedKeys) {
+      ShadowTableRecord record = getShadowTableRecord(tableName, primaryKey);
+      if (record != null) {
+        records.put(primaryKey, record);
+      }
+    }
+    return records;
+  }
+
+  /** Writes the shadow table mutations of several records in a single Spanner commit. */
+  public void updateShadowTables(List<Mutation> mutations) {
+    spannerAccessor.getDatabaseClient().write(mutations);
+  }
+
   public void updateShadowTable(Mutation mutation) {
     List<Mutation> mutations = new ArrayList<>();
     mutations.add(mutation);
@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates.transforms;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.cloud.Timestamp;
+import com.google.cloud.spanner.Key;
+import com.google.cloud.spanner.Mutation;
+import com.google.cloud.teleport.v2.spanner.migrations.shard.Shard;
+import com.google.cloud.teleport.v2.spanner.migrations.utils.SessionFileReader;
+import com.google.cloud.teleport.v2.templates.changestream.ChangeStreamErrorRecord;
+import com.google.cloud.teleport.v2.templates.changestream.TrimmedShardedDataChangeRecord;
+import com.google.cloud.teleport.v2.templates.constants.Constants;
+import com.google.cloud.teleport.v2.templates.utils.MySqlDao;
+import com.google.cloud.teleport.v2.templates.utils.PreparedDMLStatement;
+import com.google.cloud.teleport.v2.templates.utils.ShadowTableRecord;
+import com.google.cloud.teleport.v2.templates.utils.SpannerDao;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.gson.Gson;
+import java.util.List;
+import java.util.Map;
+import org.apache.beam.sdk.io.gcp.spanner.SpannerConfig;
+import org.apache.beam.sdk.io.gcp.spanner.changestreams.model.Mod;
+import org.apache.beam.sdk.io.gcp.spanner.changestreams.model.ModType;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.values.KV;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+public class SourceBatchWriterFnTest {
+  @Rule public final MockitoRule mocktio = MockitoJUnit.rule();
+  @Mock private MySqlDao mockMySqlDao;
+  @Mock private SpannerDao mockSpannerDao;
+  @Mock private Map<String, MySqlDao> mockMySqlDaoMap;
+  @Mock private SpannerConfig mockSpannerConfig;
+  @Mock private DoFn.ProcessContext processContext;
+  private static Gson gson = new Gson();
+
+  private SourceBatchWriterFn sourceBatchWriterFn;
+
+  @Before
+  public void doBeforeEachTest() throws Exception {
+    when(mockMySqlDaoMap.get(any())).thenReturn(mockMySqlDao);
+    when(mockSpannerDao.getShadowTableRecords(eq("shadow_parent1"), any(), any()))
+        .thenReturn(ImmutableMap.of());
+    Shard testShard = new Shard();
+    testShard.setLogicalShardId("shardA");
+    testShard.setUser("test");
+    testShard.setHost("test");
+    testShard.setPassword("test");
+    testShard.setPort("1234");
+    testShard.setDbName("test");
+
+    sourceBatchWriterFn =
+        new SourceBatchWriterFn(
+            ImmutableList.of(testShard),
+            SessionFileReader.read("src/test/resources/sourceWriterUTSession.json"),
+            mockSpannerConfig,
+            "+00:00",
+            SourceWriterFnTest.getTestDdl(),
+            "shadow_",
+            "skip",
+            500);
+    ObjectMapper mapper = new ObjectMapper();
+    mapper.enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    sourceBatchWriterFn.setObjectMapper(mapper);
+    sourceBatchWriterFn.setSpannerDao(mockSpannerDao);
+    sourceBatchWriterFn.setMySqlDaoMap(mockMySqlDaoMap);
+  }
+
+  @Test
+  public void testCoalescesChangesPerKey() throws Exception {
+    when(processContext.element())
+        .thenReturn(
+            KV.of(
+                1L,
+                ImmutableList.of(
+                    getParent1Record("43", "2024-12-01T10:15:30Z", ModType.INSERT, "{}"),
+                    getParent1Record(
+                        "42",
+                        "2024-12-01T10:15:31Z",
+                        ModType.UPDATE,
+                        "{\"update_ts\": \"2024-01-01T00:00:00Z\"}"),
+                    getParent1Record("42", "2024-12-01T10:15:29Z", ModType.INSERT, "{}"),
+                    getParent1Record("43", "2024-12-01T10:15:32Z", ModType.DELETE, "{}"))));
+
+    sourceBatchWriterFn.processElement(processContext);
+
+    ArgumentCaptor<List<PreparedDMLStatement>> statements = ArgumentCaptor.forClass(List.class);
+    verify(mockMySqlDao).writeBatch(statements.capture());
+    assertEquals(2, statements.getValue().size());
+    PreparedDMLStatement upsert = statements.getValue().get(0);
+    assertTrue(upsert.getSql().startsWith("INSERT INTO parent1"));
+    assertTrue(upsert.getSql().contains("update_ts = CONVERT_TZ(?,'+00:00',?)"));
+    assertTrue(upsert.getParameters().contains("2024-01-01T00:00:00"));
+    assertEquals("DELETE FROM parent1 WHERE  id = ?", statements.getValue().get(1).getSql());
+
+    ArgumentCaptor<List<Mutation>> mutations = ArgumentCaptor.forClass(List.class);
+    verify(mockSpannerDao).updateShadowTables(mutations.capture());
+    assertEquals(2, mutations.getValue().size());
+    verify(mockMySqlDao, never()).write(anyString());
+    verify(processContext, times(4)).output(eq(Constants.SUCCESS_TAG), anyString());
+  }
+
+  @Test
+  public void testSourceIsAhead() throws Exception {
+    when(mockSpannerDao.getShadowTableRecords(eq("shadow_parent1"), any(), any()))
+        .thenReturn(
+            ImmutableMap.of(
+                Key.of(42L),
+                new ShadowTableRecord(Timestamp.parseTimestamp("2025-02-02T00:00:00Z"), 1)));
+    when(processContext.element())
+        .thenReturn(
+            KV.of(
+                1L,
+                ImmutableList.of(
+                    getParent1Record("42", "2024-12-01T10:15:30Z", ModType.INSERT, "{}"))));
+
+    sourceBatchWriterFn.processElement(processContext);
+
+    verify(mockMySqlDao, never()).writeBatch(any());
+    verify(mockSpannerDao, never()).updateShadowTables(any());
+    verify(processContext).output(eq(Constants.SUCCESS_TAG), anyString());
+  }
+
+  @Test
+  public void testFallsBackToSingleRecordWrites() throws Exception {
+    doThrow(new java.sql.SQLIntegrityConstraintViolationException("a foreign key constraint fails"))
+        .when(mockMySqlDao)
+        .writeBatch(any());
+    when(processContext.element())
+        .thenReturn(
+            KV.of(
+                1L,
+                ImmutableList.of(
+                    getParent1Record("42", "2024-12-01T10:15:30Z", ModType.INSERT, "{}"),
+                    getParent1Record("43", "2024-12-01T10:15:31Z", ModType.INSERT, "{}"))));
+
+    sourceBatchWriterFn.processElement(processContext);
+
+    verify(mockMySqlDao, times(2)).write(anyString());
+    verify(mockSpannerDao, times(2)).updateShadowTable(any());
+    verify(mockSpannerDao, never()).updateShadowTables(any());
+    verify(processContext, times(2)).output(eq(Constants.SUCCESS_TAG), anyString());
+  }
+
+  @Test
+  public void testNoShardAndSkipShard() throws Exception {
+    TrimmedShardedDataChangeRecord noShardRecord =
+        getParent1Record("42", "2024-12-01T10:15:30Z", ModType.INSERT, "{}");
+    noShardRecord.setShard(null);
+    TrimmedShardedDataChangeRecord skippedRecord =
+        getParent1Record("43", "2024-12-01T10:15:30Z", ModType.INSERT, "{}");
+    skippedRecord.setShard("skip");
+    when(processContext.element())
+        .thenReturn(KV.of(1L, ImmutableList.of(noShardRecord, skippedRecord)));
+
+    sourceBatchWriterFn.processElement(processContext);
+
+    verify(processContext)
+        .output(
+            Constants.PERMANENT_ERROR_TAG,
+            getErrorRecordJson(noShardRecord, Constants.SHARD_NOT_PRESENT_ERROR_MESSAGE));
+    verify(processContext)
+        .output(
+            Constants.SKIPPED_TAG,
+            getErrorRecordJson(skippedRecord, Constants.SKIPPED_TAG_MESSAGE));
+    verify(mockMySqlDao, never()).writeBatch(any());
+  }
+
+  private static String getErrorRecordJson(TrimmedShardedDataChangeRecord record, String message) {
+    String jsonRec = gson.toJson(record, TrimmedShardedDataChangeRecord.class);
+    ChangeStreamErrorRecord errorRecord = new ChangeStreamErrorRecord(jsonRec, message);
+    return gson.toJson(errorRecord, ChangeStreamErrorRecord.class);
+  }
+
+  private static TrimmedShardedDataChangeRecord getParent1Record(
+      String id, String commitTimestamp, ModType modType, String newValuesJson) {
+    TrimmedShardedDataChangeRecord record =
+        new TrimmedShardedDataChangeRecord(
+            Timestamp.parseTimestamp(commitTimestamp),
+            "serverTxnId",
+            "0",
+            "parent1",
+            new Mod("{\"id\": \"" + id + "\"}", "{}", newValuesJson),
+            modType,
+            1,
+            "");
+    record.setShard("shardA");
+    return record;
+  }
+}
@@ -15,6 +15,9 @@
  */
 package com.google.cloud.teleport.v2.templates.utils;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -34,10 +37,12 @@ import com.google.gson.GsonBuilder;
 import java.io.InputStream;
 import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.beam.sdk.io.FileSystems;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.json.JSONObject;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -904,6 +909,92 @@ public final class DMLGeneratorTest {
     assertTrue(sql.isEmpty());
   }
 
+  @Test
+  public void preparedUpsertBindsColumnValues() {
+    Schema schema = SessionFileReader.read("src/test/resources/allMatchSession.json");
+    String tableName = "Singers";
+    JSONObject newValuesJson = new JSONObject("{\"FirstName\":\"kk\",\"LastName\":\"ll\"}");
+    JSONObject keyValuesJson = new JSONObject("{\"SingerId\":\"999\"}");
+
+    PreparedDMLStatement statement =
+        DMLGenerator.getPreparedDMLStatement(
+            "INSERT", tableName, schema, newValuesJson, keyValuesJson, "+00:00");
+    PreparedDMLStatement otherStatement =
+        DMLGenerator.getPreparedDMLStatement(
+            "UPDATE",
+            tableName,
+            schema,
+            new JSONObject("{\"FirstName\":\"mm\",\"LastName\":\"nn\"}"),
+            new JSONObject("{\"SingerId\":\"1000\"}"),
+            "+00:00");
+
+    assertTrue(statement.getSql().contains("FirstName = ?"));
+    assertTrue(statement.getSql().contains("LastName = ?"));
+    assertFalse(statement.getSql().contains("kk"));
+    assertEquals(statement.getSql(), otherStatement.getSql());
+    assertEquals(
+        StringUtils.countMatches(statement.getSql(), '?'), statement.getParameters().size());
+    assertEquals("999", statement.getParameters().get(0));
+    assertTrue(statement.getParameters().containsAll(Arrays.asList("kk", "ll")));
+  }
+
+  @Test
+  public void preparedDeleteBindsPrimaryKey() {
+    Schema schema = SessionFileReader.read("src/test/resources/allMatchSession.json");
+    JSONObject newValuesJson = new JSONObject("{\"FirstName\":\"kk\",\"LastName\":\"ll\"}");
+    JSONObject keyValuesJson = new JSONObject("{\"SingerId\":\"999\"}");
+
+    PreparedDMLStatement statement =
+        DMLGenerator.getPreparedDMLStatement(
+            "DELETE", "Singers", schema, newValuesJson, keyValuesJson, "+00:00");
+
+    assertEquals("DELETE FROM Singers WHERE  SingerId = ?", statement.getSql());
+    assertEquals(Arrays.asList("999"), statement.getParameters());
+  }
+
+  @Test
+  public void preparedAllDatatypesDML() throws Exception {
+    Schema schema = SessionFileReader.read("src/test/resources/allDatatypeSession.json");
+
+    InputStream stream =
+        Channels.newInputStream(
+            FileSystems.open(
+                FileSystems.matchNewResource(
+                    "src/test/resources/bufferInputAllDatatypes.json", false)));
+    String record = IOUtils.toString(stream, StandardCharsets.UTF_8);
+    TrimmedShardedDataChangeRecord chrec =
+        new GsonBuilder()
+            .setFieldNamingPolicy(FieldNamingPolicy.IDENTITY)
+            .create()
+            .fromJson(record, TrimmedShardedDataChangeRecord.class);
+
+    PreparedDMLStatement statement =
+        DMLGenerator.getPreparedDMLStatement(
+            chrec.getModType().name(),
+            chrec.getTableName(),
+            schema,
+            new JSONObject(chrec.getMod().getNewValuesJson()),
+            new JSONObject(chrec.getMod().getKeysJson()),
+            "+00:00");
+
+    assertTrue(statement.getSql().contains("timestamp_column = CONVERT_TZ(?,'+00:00',?)"));
+    assertTrue(statement.getSql().contains("FROM_BASE64(?)"));
+    assertTrue(statement.getParameters().contains("2023-05-18T12:01:13.088397258"));
+    assertEquals(
+        StringUtils.countMatches(statement.getSql(), '?'), statement.getParameters().size());
+  }
+
+  @Test
+  public void preparedStatementIsNullForDroppedRecord() {
+    Schema schema = SessionFileReader.read("src/test/resources/allMatchSession.json");
+    JSONObject newValuesJson = new JSONObject("{\"FirstName\":\"kk\",\"LastName\":\"ll\"}");
+    JSONObject keyValuesJson = new JSONObject("{\"SingerId\":\"999\"}");
+
+    assertNull(
+        DMLGenerator.getPreparedDMLStatement(
+            "INSERT", "Unknown", schema, newValuesJson, keyValuesJson, "+00:00"));
+  }
+
   public static Schema getSchemaObject() {
     Map<String, SyntheticPKey> syntheticPKeys = new HashMap<String, SyntheticPKey>();
     Map<String, SourceTable> srcSchema = new HashMap<String, SourceTable>();